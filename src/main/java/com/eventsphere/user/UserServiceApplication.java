@@ -1,13 +1,16 @@
 package com.eventsphere.user;
 
+import com.eventsphere.user.config.UserServiceRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @RefreshScope
+@ImportRuntimeHints(UserServiceRuntimeHints.class)
 public class UserServiceApplication {
 
     /**
@@ -0,0 +1,508 @@
+package com.eventsphere.user.cache;
+
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.model.User;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Directory of the columns of users, kept in direct memory so that millions of them cost neither heap nor
+ * garbage collection.
+ *
+ * <p>Each user is encoded as one record: its length, ID, creation and modification dates in microseconds, date
+ * of birth in days and the time it was stored, followed by the UTF-8 bytes of its username, password, email, first and last name,
+ * each prefixed by its length. Records are appended to slabs of direct memory of up to 1 GiB, allocated up
+ * front for the whole capacity. Their offsets are found through an open-addressing hash table with linear
+ * probing, also in direct memory, mapping each ID to the offset of its record in 16 bytes.</p>
+ *
+ * <p>A {@link UserChangedEvent} removes the user once the change is committed, leaving its record dead. When
+ * the slabs are full and at least a quarter of them is dead, live records are compacted to the start of the
+ * slabs, blocking readers meanwhile. Otherwise users that do not fit are not stored, so size the directory to
+ * hold the active users. Like {@link UserResponseCache}, each put carries the version of the user read before
+ * it was loaded, so a user loaded before a change is never stored after it.</p>
+ *
+ * <p>Events only reach the instance that made the change: other instances serve the user they stored until it
+ * expires, {@code expireAfterWrite} after it was stored. Expired users are replaced when loaded again, and dropped
+ * by compactions.</p>
+ */
+public class OffHeapUserDirectory implements MeterBinder {
+
+    static final int MAXIMUM_SLAB_SIZE = 1 << 30;
+    static final int MAXIMUM_INDEX_SLOTS = 1 << 26;
+
+    private static final int SLOT_SIZE = 16;
+    // Length, ID, creation date, modification date, date of birth and storage time
+    private static final int FIXED_SIZE = 4 + 8 + 8 + 8 + 4 + 8;
+    private static final int STRINGS = 5;
+    private static final int NULL_STRING = 0xFFFF;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final int VERSION_STRIPES = 4096;
+    private static final int COMPACTION_DEAD_RATIO = 4;
+
+    private final ByteBuffer[] slabs;
+    private final int[] slabEnds;
+    private final long capacity;
+    private final ByteBuffer index;
+    private final int indexBits;
+    private final int indexMask;
+    private final int maximumEntries;
+    private final long expireAfterWriteNanos;
+    private final Ticker ticker;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private int writeSlab;
+    private int entries;
+    private long liveBytes;
+    private long compactions;
+
+    /**
+     * Creates a directory, allocating all its memory.
+     *
+     * @param capacity       the bytes of the records, at most the direct memory of the JVM minus the index.
+     * @param maximumEntries   the maximum number of users, which sizes the index so that it is at most three
+     *                         quarters full, at 16 bytes per slot.
+     * @param expireAfterWrite how long a user is served after it was stored.
+     */
+    public OffHeapUserDirectory(final long capacity, final int maximumEntries, final Duration expireAfterWrite) {
+        this(capacity, maximumEntries, MAXIMUM_SLAB_SIZE, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    OffHeapUserDirectory(final long capacity, final int maximumEntries, final int slabSize,
+                         final Duration expireAfterWrite, final Ticker ticker) {
+        if (capacity < 1 || maximumEntries < 1 || slabSize < 1 || slabSize > MAXIMUM_SLAB_SIZE) {
+            throw new IllegalArgumentException("Capacity, maximum entries and slab size must be positive");
+        }
+        if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("Expire after write must be positive");
+        }
+        long slots = Long.highestOneBit(Math.max((maximumEntries * 4L + 2) / 3, 2) - 1) << 1;
+        if (slots > MAXIMUM_INDEX_SLOTS) {
+            throw new IllegalArgumentException("At most " + MAXIMUM_INDEX_SLOTS / 4 * 3 + " entries are supported");
+        }
+
+        int slabCount = (int) ((capacity + slabSize - 1) / slabSize);
+        this.slabs = new ByteBuffer[slabCount];
+        for (int i = 0; i < slabCount; i++) {
+            slabs[i] = ByteBuffer.allocateDirect((int) Math.min(slabSize, capacity - (long) i * slabSize));
+        }
+        this.slabEnds = new int[slabCount];
+        this.capacity = capacity;
+        this.index = ByteBuffer.allocateDirect((int) slots * SLOT_SIZE);
+        this.indexBits = Long.numberOfTrailingZeros(slots);
+        this.indexMask = (int) slots - 1;
+        this.maximumEntries = maximumEntries;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the current version of a user, to be read before the user is loaded.
+     *
+     * @param userId The ID of the user.
+     * @return The current version.
+     */
+    public long version(final long userId) {
+        return versions.get(stripe(userId));
+    }
+
+    /**
+     * Returns a copy of a user, decoded from its record.
+     *
+     * @param userId The ID of the user.
+     * @return The user, without relations or deletion date, or null if it is not in the directory or expired.
+     */
+    public User get(final long userId) {
+        User user = null;
+        long now = ticker.read();
+        lock.readLock().lock();
+        try {
+            int slot = userId > 0 ? findSlot(userId) : -1;
+            if (slot >= 0) {
+                long offset = index.getLong(slot * SLOT_SIZE + 8);
+                if (!expired(offset, now)) {
+                    user = decode(offset);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        (user != null ? hits : misses).increment();
+        return user;
+    }
+
+    /**
+     * Stores a loaded user, unless it has changed since {@code version} was read, it is already stored and not
+     * expired, or it does not fit.
+     *
+     * @param user    The user, with its ID.
+     * @param version The version of the user read before it was loaded.
+     */
+    public void put(final User user, final long version) {
+        if (user.getId() == null || user.getId() <= 0) {
+            return;
+        }
+        long userId = user.getId();
+        byte[][] strings = {utf8(user.getUsername()), utf8(user.getPassword()), utf8(user.getEmail()),
+                utf8(user.getFirstName()), utf8(user.getLastName())};
+        int length = FIXED_SIZE;
+        for (byte[] string : strings) {
+            if (string != null && string.length >= NULL_STRING) {
+                rejections.increment();
+                return;
+            }
+            length += 2 + (string != null ? string.length : 0);
+        }
+
+        long now = ticker.read();
+        lock.writeLock().lock();
+        try {
+            if (version != version(userId)) {
+                return;
+            }
+            int slot = findSlot(userId);
+            if (slot >= 0) {
+                if (!expired(index.getLong(slot * SLOT_SIZE + 8), now)) {
+                    return;
+                }
+                removeSlot(slot);
+            }
+            long offset = entries < maximumEntries ? allocate(length) : -1;
+            if (offset < 0 && entries < maximumEntries && deadBytes() * COMPACTION_DEAD_RATIO >= capacity) {
+                compact(now);
+                offset = allocate(length);
+            }
+            if (offset < 0) {
+                rejections.increment();
+                return;
+            }
+
+            ByteBuffer slab = slabs[(int) (offset >>> 32)];
+            int position = (int) offset;
+            slab.putInt(position, length);
+            slab.putLong(position + 4, userId);
+            slab.putLong(position + 12, micros(user.getCreatedAt()));
+            slab.putLong(position + 20, micros(user.getUpdatedAt()));
+            slab.putInt(position + 28, user.getDateOfBirth() != null
+                    ? (int) user.getDateOfBirth().toLocalDate().toEpochDay() : NULL_DATE);
+            slab.putLong(position + 32, now);
+            position += FIXED_SIZE;
+            for (byte[] string : strings) {
+                slab.putShort(position, (short) (string != null ? string.length : NULL_STRING));
+                position += 2;
+                if (string != null) {
+                    slab.put(position, string);
+                    position += string.length;
+                }
+            }
+
+            slot = -findSlot(userId) - 1;
+            index.putLong(slot * SLOT_SIZE, userId);
+            index.putLong(slot * SLOT_SIZE + 8, offset);
+            entries++;
+            liveBytes += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user, leaving its record dead until the next compaction.
+     *
+     * @param userId The ID of the user.
+     */
+    public void remove(final long userId) {
+        lock.writeLock().lock();
+        try {
+            int slot = userId > 0 ? findSlot(userId) : -1;
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a changed user once the change is committed.
+     *
+     * @param event The change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(final UserChangedEvent event) {
+        versions.incrementAndGet(stripe(event.getUserId()));
+        remove(event.getUserId());
+    }
+
+    /**
+     * Returns the occupancy of the directory.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            return new Snapshot(entries, maximumEntries, liveBytes, capacity - free(), capacity, compactions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("user_service.user_directory.entries", this, directory -> directory.snapshot().getEntries())
+                .description("Users in the off-heap user directory")
+                .register(registry);
+        Gauge.builder("user_service.user_directory.live", this, directory -> directory.snapshot().getLiveBytes())
+                .description("Bytes of the records of the users in the off-heap user directory")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("user_service.user_directory.used", this, directory -> directory.snapshot().getUsedBytes())
+                .description("Bytes of the off-heap user directory used by live and dead records")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("user_service.user_directory.capacity", this, directory -> directory.capacity)
+                .description("Bytes of the off-heap user directory available to records")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        FunctionCounter.builder("user_service.user_directory.gets", hits, LongAdder::sum)
+                .description("Lookups in the off-heap user directory")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("user_service.user_directory.gets", misses, LongAdder::sum)
+                .description("Lookups in the off-heap user directory")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("user_service.user_directory.rejections", rejections, LongAdder::sum)
+                .description("Users not stored in the off-heap user directory as it was full")
+                .register(registry);
+    }
+
+    /**
+     * Finds the slot of a user in the index.
+     *
+     * @return The slot, or {@code -(the empty slot ending its probe) - 1} if the user is not in the index.
+     */
+    private int findSlot(final long userId) {
+        int slot = home(userId);
+        while (true) {
+            long key = index.getLong(slot * SLOT_SIZE);
+            if (key == userId) {
+                return slot;
+            }
+            if (key == 0) {
+                return -slot - 1;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    /**
+     * Removes the entry of a slot from the index, leaving its record dead.
+     */
+    private void removeSlot(final int slot) {
+        long offset = index.getLong(slot * SLOT_SIZE + 8);
+        liveBytes -= slabs[(int) (offset >>> 32)].getInt((int) offset);
+        entries--;
+
+        // Shift back the following entries of the cluster that the empty slot would hide from their home
+        int empty = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & indexMask;
+            long key = index.getLong(next * SLOT_SIZE);
+            if (key == 0) {
+                break;
+            }
+            int home = home(key);
+            boolean reachable = empty <= next ? empty < home && home <= next : empty < home || home <= next;
+            if (!reachable) {
+                index.putLong(empty * SLOT_SIZE, key);
+                index.putLong(empty * SLOT_SIZE + 8, index.getLong(next * SLOT_SIZE + 8));
+                empty = next;
+            }
+        }
+        index.putLong(empty * SLOT_SIZE, 0);
+        index.putLong(empty * SLOT_SIZE + 8, 0);
+    }
+
+    private boolean expired(final long offset, final long now) {
+        return now - slabs[(int) (offset >>> 32)].getLong((int) offset + 32) >= expireAfterWriteNanos;
+    }
+
+    private int home(final long userId) {
+        return (int) ((userId * 0x9E3779B97F4A7C15L) >>> (64 - indexBits));
+    }
+
+    /**
+     * Reserves room for a record at the end of the slabs, skipping the rest of a slab it does not fit in.
+     *
+     * @return The slab in the upper 32 bits and the position in the lower 32 bits, or -1 if it does not fit.
+     */
+    private long allocate(final int length) {
+        while (writeSlab < slabs.length) {
+            if (length <= slabs[writeSlab].capacity() - slabEnds[writeSlab]) {
+                int position = slabEnds[writeSlab];
+                slabEnds[writeSlab] += length;
+                return (long) writeSlab << 32 | position;
+            }
+            if (writeSlab == slabs.length - 1) {
+                break;
+            }
+            writeSlab++;
+        }
+        return -1;
+    }
+
+    /**
+     * Moves the live records to the start of the slabs, in order, updating their offsets in the index, and drops
+     * the expired ones.
+     */
+    private void compact(final long now) {
+        int target = 0;
+        int targetEnd = 0;
+        byte[] buffer = new byte[256];
+        for (int source = 0; source <= writeSlab; source++) {
+            ByteBuffer slab = slabs[source];
+            int end = slabEnds[source];
+            int position = 0;
+            while (position < end) {
+                int length = slab.getInt(position);
+                long offset = (long) source << 32 | position;
+                int slot = findSlot(slab.getLong(position + 4));
+                boolean live = slot >= 0 && index.getLong(slot * SLOT_SIZE + 8) == offset;
+                if (live && expired(offset, now)) {
+                    removeSlot(slot);
+                } else if (live) {
+                    if (length > slabs[target].capacity() - targetEnd) {
+                        slabEnds[target++] = targetEnd;
+                        targetEnd = 0;
+                    }
+                    if (target != source || targetEnd != position) {
+                        if (buffer.length < length) {
+                            buffer = new byte[length];
+                        }
+                        slab.get(position, buffer, 0, length);
+                        slabs[target].put(targetEnd, buffer, 0, length);
+                        index.putLong(slot * SLOT_SIZE + 8, (long) target << 32 | targetEnd);
+                    }
+                    targetEnd += length;
+                }
+                position += length;
+            }
+        }
+        slabEnds[target] = targetEnd;
+        for (int slab = target + 1; slab <= writeSlab; slab++) {
+            slabEnds[slab] = 0;
+        }
+        writeSlab = target;
+        compactions++;
+    }
+
+    private User decode(final long offset) {
+        ByteBuffer slab = slabs[(int) (offset >>> 32)];
+        int position = (int) offset;
+        User user = new User();
+        user.setId(slab.getLong(position + 4));
+        user.setCreatedAt(timestamp(slab.getLong(position + 12)));
+        user.setUpdatedAt(timestamp(slab.getLong(position + 20)));
+        int dateOfBirth = slab.getInt(position + 28);
+        user.setDateOfBirth(dateOfBirth != NULL_DATE ? Date.valueOf(LocalDate.ofEpochDay(dateOfBirth)) : null);
+        position += FIXED_SIZE;
+        String[] strings = new String[STRINGS];
+        for (int i = 0; i < STRINGS; i++) {
+            int length = slab.getShort(position) & 0xFFFF;
+            position += 2;
+            if (length != NULL_STRING) {
+                byte[] bytes = new byte[length];
+                slab.get(position, bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        user.setUsername(strings[0]);
+        user.setPassword(strings[1]);
+        user.setEmail(strings[2]);
+        user.setFirstName(strings[3]);
+        user.setLastName(strings[4]);
+        return user;
+    }
+
+    private long deadBytes() {
+        return capacity - free() - liveBytes;
+    }
+
+    /**
+     * Returns the bytes after the end of the last slab written to and in the slabs after it.
+     */
+    private long free() {
+        long free = 0;
+        for (int slab = writeSlab; slab < slabs.length; slab++) {
+            free += slabs[slab].capacity() - slabEnds[slab];
+        }
+        return free;
+    }
+
+    private static byte[] utf8(final String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static long micros(final Timestamp timestamp) {
+        if (timestamp == null) {
+            return NULL_TIMESTAMP;
+        }
+        Instant instant = timestamp.toInstant();
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static Timestamp timestamp(final long micros) {
+        if (micros == NULL_TIMESTAMP) {
+            return null;
+        }
+        return Timestamp.from(Instant.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000), Math.floorMod(micros, 1_000_000) * 1_000L));
+    }
+
+    private static int stripe(final long userId) {
+        return Long.hashCode(userId * 0x9E3779B97F4A7C15L) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * The occupancy of the directory. Used bytes include the dead records and the ends of slabs skipped
+     * because a record did not fit.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        private final int entries;
+        private final int maximumEntries;
+        private final long liveBytes;
+        private final long usedBytes;
+        private final long capacityBytes;
+        private final long compactions;
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventsphere.user.cache;
+
+import com.eventsphere.user.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache of serialized {@code GET v1/users/{id}} responses.
+ *
+ * <p>Entries are keyed by user ID, {@code Accept} header and base URL, since the HATEOAS links in the body
+ * are absolute. Each entry records the version of its user from before the response was rendered. A
+ * {@link UserChangedEvent} bumps the version once the change is committed, so a response rendered from the
+ * old state is never served again, even if it is stored after the change.</p>
+ *
+ * <p>Versions live in a fixed number of stripes, so a change to one user also drops the cached responses
+ * of the users sharing its stripe.</p>
+ *
+ * <p>Events only reach the instance that made the change: the responses cached by other instances are dropped
+ * when they expire, {@code expireAfterWrite} after they were stored.</p>
+ */
+public class UserResponseCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final Cache<Key, CachedResponse> responses;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    /**
+     * Creates a cache holding at most the given number of responses.
+     *
+     * @param maximumSize      The maximum number of cached responses.
+     * @param expireAfterWrite How long a response is served after it was stored.
+     */
+    public UserResponseCache(final long maximumSize, final Duration expireAfterWrite) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Returns the current version of a user, to be read before the response is rendered.
+     *
+     * @param userId The ID of the user.
+     * @return The current version.
+     */
+    public long version(final long userId) {
+        return versions.get(stripe(userId));
+    }
+
+    /**
+     * Returns the cached response for a user, if it is still current.
+     *
+     * @param userId  The ID of the user.
+     * @param accept  The {@code Accept} header of the request.
+     * @param baseUrl The base URL of the request.
+     * @return The cached response, or null if there is none or it is stale.
+     */
+    public CachedResponse get(final long userId, final String accept, final String baseUrl) {
+        CachedResponse response = responses.getIfPresent(new Key(userId, accept, baseUrl));
+        return response != null && response.getVersion() == version(userId) ? response : null;
+    }
+
+    /**
+     * Stores a rendered response, unless the user has changed since {@code version} was read.
+     *
+     * @param userId      The ID of the user.
+     * @param accept      The {@code Accept} header of the request.
+     * @param baseUrl     The base URL of the request.
+     * @param version     The version of the user read before rendering the response.
+     * @param contentType The content type of the response.
+     * @param body        The serialized body of the response.
+     */
+    public void put(final long userId, final String accept, final String baseUrl, final long version,
+                    final String contentType, final byte[] body) {
+        if (version == version(userId)) {
+            responses.put(new Key(userId, accept, baseUrl), new CachedResponse(version, contentType, body));
+        }
+    }
+
+    /**
+     * Invalidates the cached responses of a changed user once the change is committed.
+     *
+     * @param event The change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(final UserChangedEvent event) {
+        versions.incrementAndGet(stripe(event.getUserId()));
+    }
+
+    private static int stripe(final long userId) {
+        return Long.hashCode(userId * 0x9E3779B97F4A7C15L) & (VERSION_STRIPES - 1);
+    }
+
+    private record Key(long userId, String accept, String baseUrl) {
+    }
+
+    /**
+     * A serialized response.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+
+        private final long version;
+        private final String contentType;
+        private final byte[] body;
+    }
+}
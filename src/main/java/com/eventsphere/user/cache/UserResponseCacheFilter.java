@@ -0,0 +1,94 @@
+package com.eventsphere.user.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores the responses of {@code GET v1/users/{id}} in a {@link UserResponseCache}.
+ *
+ * <p>The filter records the user of the request before it is dispatched, and stores a successful response once it
+ * is rendered. Cached responses are served by {@link UserResponseCacheInterceptor}, after the rate and concurrency
+ * limits. Requests with a query string are not cached.</p>
+ */
+public class UserResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String LOOKUP_ATTRIBUTE = UserResponseCacheFilter.class.getName() + ".lookup";
+
+    private static final Pattern USER_PATH = Pattern.compile("^/v1/users/(\\d{1,18})$");
+
+    private final UserResponseCache cache;
+
+    public UserResponseCacheFilter(final UserResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !USER_PATH.matcher(pathWithinApplication(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        Matcher matcher = USER_PATH.matcher(pathWithinApplication(request));
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long userId = Long.parseLong(matcher.group(1));
+        Lookup lookup = new Lookup(userId, String.join(", ", Collections.list(request.getHeaders(HttpHeaders.ACCEPT))),
+                ServletUriComponentsBuilder.fromContextPath(request).toUriString(), cache.version(userId));
+        request.setAttribute(LOOKUP_ATTRIBUTE, lookup);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+
+            if (!lookup.served && responseWrapper.getStatus() == HttpServletResponse.SC_OK
+                    && responseWrapper.getContentType() != null) {
+                cache.put(userId, lookup.accept, lookup.baseUrl, lookup.version,
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+            }
+        } finally {
+            request.removeAttribute(LOOKUP_ATTRIBUTE);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String pathWithinApplication(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * The cache key of a request, and the version of its user read before it was dispatched.
+     */
+    static final class Lookup {
+
+        final long userId;
+        final String accept;
+        final String baseUrl;
+        final long version;
+        boolean served;
+
+        private Lookup(final long userId, final String accept, final String baseUrl, final long version) {
+            this.userId = userId;
+            this.accept = accept;
+            this.baseUrl = baseUrl;
+            this.version = version;
+        }
+    }
+}
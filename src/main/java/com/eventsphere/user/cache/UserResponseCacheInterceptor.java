@@ -0,0 +1,44 @@
+package com.eventsphere.user.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Serves {@code GET v1/users/{id}} from a {@link UserResponseCache}, for the requests recorded by
+ * {@link UserResponseCacheFilter}.
+ *
+ * <p>Registered after the rate and concurrency limit interceptors, so cached responses are limited like the
+ * others. On a hit the cached bytes are written straight to the response, without the controller, HATEOAS link
+ * building or Jackson.</p>
+ */
+public class UserResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final UserResponseCache cache;
+
+    public UserResponseCacheInterceptor(final UserResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) throws IOException {
+        if (!(request.getAttribute(UserResponseCacheFilter.LOOKUP_ATTRIBUTE)
+                instanceof UserResponseCacheFilter.Lookup lookup)) {
+            return true;
+        }
+        UserResponseCache.CachedResponse cached = cache.get(lookup.userId, lookup.accept, lookup.baseUrl);
+        if (cached == null) {
+            return true;
+        }
+
+        lookup.served = true;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+        return false;
+    }
+}
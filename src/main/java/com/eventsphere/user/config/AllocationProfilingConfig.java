@@ -0,0 +1,68 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.UserServiceApplication;
+import com.eventsphere.user.profiling.AllocationAccountingFilter;
+import com.eventsphere.user.profiling.AllocationProfiler;
+import com.eventsphere.user.profiling.AllocationsEndpoint;
+import com.eventsphere.user.profiling.RequestAllocations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Allocation profiling, a diagnostic mode disabled by default; enable it with
+ * {@code user-service.allocation-profiling.enabled=true}.
+ *
+ * <p>The bytes allocated by each request are published per endpoint as {@code user_service.request.allocated}
+ * and shown by {@code /actuator/allocations}, which also records JFR allocation profiles on demand, for up to
+ * {@code user-service.allocation-profiling.maximum-duration} (5 minutes by default) at up to
+ * {@code user-service.allocation-profiling.throttle} samples ({@code 300/s} by default). Recordings are
+ * written to {@code user-service.allocation-profiling.directory}, the temporary directory by default.</p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = AllocationProfilingConfig.ENABLED_PROPERTY, havingValue = "true")
+public class AllocationProfilingConfig {
+
+    public static final String PREFIX = "user-service.allocation-profiling.";
+    public static final String ENABLED_PROPERTY = PREFIX + "enabled";
+
+    private static final Duration DEFAULT_MAXIMUM_DURATION = Duration.ofMinutes(5);
+
+    @Bean
+    public RequestAllocations requestAllocations() {
+        return new RequestAllocations();
+    }
+
+    @Bean
+    public FilterRegistrationBean<AllocationAccountingFilter> allocationAccountingFilter(
+            final RequestAllocations requestAllocations) {
+        FilterRegistrationBean<AllocationAccountingFilter> registration =
+                new FilterRegistrationBean<>(new AllocationAccountingFilter(requestAllocations));
+        // Outside every other filter, so the whole request is counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        if (!AllocationAccountingFilter.isSupported()) {
+            log.warn("This JVM does not count allocated bytes per thread, request allocations are not recorded");
+            registration.setEnabled(false);
+        }
+        return registration;
+    }
+
+    @Bean
+    public AllocationsEndpoint allocationsEndpoint(final RequestAllocations requestAllocations,
+                                                   final Environment environment) {
+        AllocationProfiler profiler = new AllocationProfiler(
+                Path.of(environment.getProperty(PREFIX + "directory", System.getProperty("java.io.tmpdir"))),
+                environment.getProperty(PREFIX + "throttle", "300/s"),
+                UserServiceApplication.class.getPackageName() + ".");
+        return new AllocationsEndpoint(requestAllocations, profiler,
+                environment.getProperty(PREFIX + "maximum-duration", Duration.class, DEFAULT_MAXIMUM_DURATION));
+    }
+}
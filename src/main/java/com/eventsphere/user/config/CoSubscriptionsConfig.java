@@ -0,0 +1,63 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.repository.BulkSubscriptionRepository;
+import com.eventsphere.user.repository.CoSubscriptionRepository;
+import com.eventsphere.user.similarity.CoSubscriptionIndex;
+import com.eventsphere.user.similarity.CoSubscriptionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Co-subscription configuration, disabled by default; enable it with
+ * {@code user-service.co-subscriptions.enabled=true}.
+ *
+ * <p>{@code GET /v1/users/subscriptions/events/{id}/related} and {@code .../categories/{id}/related} then find
+ * the events and categories most often subscribed to by the subscribers of an event or category, in a
+ * {@link CoSubscriptionIndex} of the {@code user-service.co-subscriptions.top} (50 by default) most often
+ * co-subscribed items of each item, held on the heap. Rebuilds read the subscriptions on a fork-join pool of
+ * {@code user-service.co-subscriptions.parallelism} threads (4 by default), each holding a database connection
+ * while it reads. Bulk subscription changes then return the ids of the changed users, whose other subscriptions
+ * are read in the background once the change is committed, which scans the subscription tables for large
+ * changes; concurrent changes to the same users drift until the next rebuild, see {@link CoSubscriptionService}.
+ * The pool and the executor of the index are shut down with it.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = CoSubscriptionsConfig.ENABLED_PROPERTY, havingValue = "true")
+public class CoSubscriptionsConfig {
+
+    public static final String PREFIX = "user-service.co-subscriptions.";
+    public static final String ENABLED_PROPERTY = PREFIX + "enabled";
+
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final int DEFAULT_TOP = 50;
+
+    @Bean
+    public CoSubscriptionIndex coSubscriptionIndex(final Environment environment) {
+        return new CoSubscriptionIndex(
+                new ForkJoinPool(environment.getProperty(PREFIX + "parallelism", Integer.class, DEFAULT_PARALLELISM)),
+                environment.getProperty(PREFIX + "top", Integer.class, DEFAULT_TOP));
+    }
+
+    @Bean
+    public CoSubscriptionRepository coSubscriptionRepository(final DataSource dataSource) {
+        return new CoSubscriptionRepository(dataSource);
+    }
+
+    @Bean
+    public CoSubscriptionService coSubscriptionService(final CoSubscriptionIndex coSubscriptionIndex,
+                                                       final CoSubscriptionRepository coSubscriptionRepository,
+                                                       final BulkSubscriptionRepository bulkSubscriptionRepository) {
+        return new CoSubscriptionService(coSubscriptionIndex, coSubscriptionRepository, bulkSubscriptionRepository,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "co-subscription-index");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+}
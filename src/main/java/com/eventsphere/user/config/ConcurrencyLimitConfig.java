@@ -0,0 +1,75 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.limit.AdaptiveConcurrencyLimiter;
+import com.eventsphere.user.limit.ConcurrencyLimitInterceptor;
+import com.eventsphere.user.limit.ConcurrencyLimits;
+import com.eventsphere.user.limit.ConcurrencyLimitsEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limiting of the {@code v1/users} endpoints, with separate budgets for reads and writes.
+ *
+ * <p>Each class is configured under {@code user-service.concurrency-limit.read.*} and
+ * {@code user-service.concurrency-limit.write.*} with {@code initial-limit}, {@code min-limit},
+ * {@code max-limit} and {@code latency-threshold}. Keep the write {@code max-limit} below the Hikari
+ * {@code maximum-pool-size}, so writes always leave connections for reads. Disable limiting with
+ * {@code user-service.concurrency-limit.enabled=false}.</p>
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    public static final String PREFIX = "user-service.concurrency-limit.";
+    public static final String ENABLED_PROPERTY = PREFIX + "enabled";
+
+    private final Environment environment;
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public ConcurrencyLimitConfig(final Environment environment) {
+        this.environment = environment;
+
+        Map<ConcurrencyLimits.EndpointClass, AdaptiveConcurrencyLimiter> limiters =
+                new EnumMap<>(ConcurrencyLimits.EndpointClass.class);
+        limiters.put(ConcurrencyLimits.EndpointClass.READ, limiter("read", 50, 5, 200, Duration.ofMillis(250)));
+        limiters.put(ConcurrencyLimits.EndpointClass.WRITE, limiter("write", 4, 1, 8, Duration.ofMillis(500)));
+        this.concurrencyLimits = new ConcurrencyLimits(limiters);
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        if (environment.getProperty(ENABLED_PROPERTY, Boolean.class, true)) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimits))
+                    .addPathPatterns("/v1/users", "/v1/users/**")
+                    // Bulk imports and exports run for seconds by design; they would only drive the limits down
+                    .excludePathPatterns("/v1/users/subscriptions/**", "/v1/users/export");
+        }
+    }
+
+    @Bean
+    public ConcurrencyLimits concurrencyLimits() {
+        return concurrencyLimits;
+    }
+
+    @Bean
+    public ConcurrencyLimitsEndpoint concurrencyLimitsEndpoint() {
+        return new ConcurrencyLimitsEndpoint(concurrencyLimits);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(final String endpointClass, final int initialLimit,
+                                               final int minLimit, final int maxLimit,
+                                               final Duration latencyThreshold) {
+        String prefix = PREFIX + endpointClass + ".";
+        return new AdaptiveConcurrencyLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+                environment.getProperty(prefix + "latency-threshold", Duration.class, latencyThreshold));
+    }
+}
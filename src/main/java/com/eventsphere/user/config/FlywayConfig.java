@@ -0,0 +1,36 @@
+package com.eventsphere.user.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Flyway configuration.
+ *
+ * <p>Only the instance with {@code user-service.flyway.role=migrator} (the default) migrates and validates
+ * the schema. Instances with {@code user-service.flyway.role=replica} skip Flyway entirely and trust the
+ * migrator, which saves the history table scan and checksum validation on every replica start.</p>
+ *
+ * <p>The role is read at runtime rather than through a condition, so it can still be switched
+ * on an AOT-processed build.</p>
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    public static final String ROLE_PROPERTY = "user-service.flyway.role";
+    public static final String REPLICA_ROLE = "replica";
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(final Environment environment) {
+        return flyway -> {
+            if (REPLICA_ROLE.equals(environment.getProperty(ROLE_PROPERTY))) {
+                log.info("Skipping Flyway migration and validation on replica");
+            } else {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.idempotency.IdempotencyFilter;
+import com.eventsphere.user.idempotency.IdempotencyStore;
+import com.eventsphere.user.idempotency.InMemoryIdempotencyStore;
+import com.eventsphere.user.idempotency.JdbcIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency key configuration.
+ *
+ * <p>The first response to each {@code Idempotency-Key} of {@code POST v1/users} and the {@code PATCH} endpoints is
+ * kept for {@code user-service.idempotency.ttl} (24 hours by default), up to
+ * {@code user-service.idempotency.maximum-size} keys in memory (10000 by default). Retries arriving while the first
+ * request runs wait up to {@code user-service.idempotency.wait-timeout} (5 seconds by default) before getting a 409.
+ * Keys are scoped to the caller, and request bodies above {@code user-service.idempotency.max-body-size} (64KB by
+ * default) are rejected with 413. The bulk subscription endpoints stream their bodies and ignore the header.
+ * Set {@code user-service.idempotency.jdbc.enabled=true} to also persist responses in Postgres, which makes them
+ * survive restarts and shared between instances. Disable the feature with
+ * {@code user-service.idempotency.enabled=false}.</p>
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    public static final String ENABLED_PROPERTY = "user-service.idempotency.enabled";
+    public static final String TTL_PROPERTY = "user-service.idempotency.ttl";
+    public static final String MAXIMUM_SIZE_PROPERTY = "user-service.idempotency.maximum-size";
+    public static final String WAIT_TIMEOUT_PROPERTY = "user-service.idempotency.wait-timeout";
+    public static final String MAX_BODY_SIZE_PROPERTY = "user-service.idempotency.max-body-size";
+    public static final String JDBC_ENABLED_PROPERTY = "user-service.idempotency.jdbc.enabled";
+
+    private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(5);
+    private static final DataSize DEFAULT_MAX_BODY_SIZE = DataSize.ofKilobytes(64);
+    private static final List<String> EXCLUDED_PATHS = List.of("/v1/users/subscriptions/**");
+
+    @Bean
+    public IdempotencyStore idempotencyStore(final Environment environment,
+                                             final ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        Duration timeToLive = environment.getProperty(TTL_PROPERTY, Duration.class, DEFAULT_TTL);
+        IdempotencyStore memory = new InMemoryIdempotencyStore(timeToLive,
+                environment.getProperty(MAXIMUM_SIZE_PROPERTY, Long.class, DEFAULT_MAXIMUM_SIZE));
+
+        if (!environment.getProperty(JDBC_ENABLED_PROPERTY, Boolean.class, false)) {
+            return memory;
+        }
+        return new JdbcIdempotencyStore(jdbcTemplate.getObject(), memory, timeToLive);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            final IdempotencyStore idempotencyStore, final ObjectMapper objectMapper, final Environment environment) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                idempotencyStore, objectMapper,
+                environment.getProperty(WAIT_TIMEOUT_PROPERTY, Duration.class, DEFAULT_WAIT_TIMEOUT),
+                Math.toIntExact(environment.getProperty(MAX_BODY_SIZE_PROPERTY, DataSize.class, DEFAULT_MAX_BODY_SIZE)
+                        .toBytes()),
+                EXCLUDED_PATHS));
+        registration.addUrlPatterns("/v1/users", "/v1/users/*");
+        registration.setEnabled(environment.getProperty(ENABLED_PROPERTY, Boolean.class, true));
+        return registration;
+    }
+}
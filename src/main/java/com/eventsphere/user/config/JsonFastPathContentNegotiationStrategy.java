@@ -0,0 +1,49 @@
+package com.eventsphere.user.config;
+
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ContentNegotiationStrategy} that resolves the {@code Accept} headers sent by JSON clients
+ * without parsing them.
+ *
+ * <p>Negotiation runs at least twice per request, once for the {@code produces} condition of the handler
+ * mapping and once to pick the message converter. A missing header, {@code *}{@code /*} and the plain JSON
+ * media types map to pre-built lists; any other header falls back to {@link HeaderContentNegotiationStrategy},
+ * with the same result as before.</p>
+ */
+public class JsonFastPathContentNegotiationStrategy implements ContentNegotiationStrategy {
+
+    private static final Map<String, List<MediaType>> COMMON_ACCEPT_HEADERS = Map.of(
+            MediaType.ALL_VALUE, MEDIA_TYPE_ALL_LIST,
+            MediaType.APPLICATION_JSON_VALUE, List.of(MediaType.APPLICATION_JSON),
+            MediaTypes.HAL_JSON_VALUE, List.of(MediaTypes.HAL_JSON)
+    );
+
+    private final ContentNegotiationStrategy delegate = new HeaderContentNegotiationStrategy();
+
+    @Override
+    public List<MediaType> resolveMediaTypes(final NativeWebRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+
+        if (accept == null) {
+            return MEDIA_TYPE_ALL_LIST;
+        }
+        if (accept.length == 1) {
+            List<MediaType> mediaTypes = COMMON_ACCEPT_HEADERS.get(accept[0]);
+            if (mediaTypes != null) {
+                return mediaTypes;
+            }
+        }
+        return delegate.resolveMediaTypes(request);
+    }
+}
@@ -0,0 +1,83 @@
+package com.eventsphere.user.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks the springdoc beans as lazy, so the OpenAPI machinery is built on the first request
+ * to the API docs instead of during startup.
+ *
+ * <p>Enabled unless {@code user-service.startup.lazy-springdoc=false}. The Swagger UI beans are left
+ * eager, as the UI configuration resolves the webjar version while it is initialized. Bean and bean
+ * factory post-processors are left eager as well, since the container has to instantiate them anyway.</p>
+ */
+@Component
+public class LazySpringdocBeanFactoryPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+    private static final List<String> SWAGGER_UI_PREFIXES = List.of(
+            "org.springdoc.ui.",
+            "org.springdoc.webmvc.ui.",
+            "org.springdoc.core.configuration.SpringDocUIConfiguration",
+            "org.springdoc.core.properties.SwaggerUi"
+    );
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(final Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+        if (!environment.getProperty("user-service.startup.lazy-springdoc", Boolean.class, true)) {
+            return;
+        }
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+
+            if (isSpringdocBean(beanDefinition) && !isPostProcessor(beanFactory, beanName)) {
+                beanDefinition.setLazyInit(true);
+            }
+        }
+    }
+
+    private static boolean isSpringdocBean(final BeanDefinition beanDefinition) {
+        String className = beanDefinition.getBeanClassName();
+
+        if (beanDefinition instanceof AnnotatedBeanDefinition annotatedBeanDefinition) {
+            MethodMetadata factoryMethod = annotatedBeanDefinition.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                className = factoryMethod.getDeclaringClassName();
+            }
+        }
+
+        if (className == null || !className.startsWith(SPRINGDOC_PACKAGE)) {
+            return false;
+        }
+
+        for (String prefix : SWAGGER_UI_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isPostProcessor(final ConfigurableListableBeanFactory beanFactory, final String beanName) {
+        return beanFactory.isTypeMatch(beanName, BeanPostProcessor.class)
+                || beanFactory.isTypeMatch(beanName, BeanFactoryPostProcessor.class);
+    }
+}
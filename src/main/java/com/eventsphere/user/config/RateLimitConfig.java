@@ -0,0 +1,110 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.limit.RateLimitInterceptor;
+import com.eventsphere.user.limit.RateLimits;
+import com.eventsphere.user.limit.RateLimitsEndpoint;
+import com.eventsphere.user.limit.TokenBucketLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate limiting of the endpoints open to abuse: {@code POST v1/users}, which tells through 409s whether a
+ * username or email is taken, and {@code PATCH v1/users/{id}/change-password}, which checks the old password.
+ *
+ * <p>Both are limited per client address and per API key (the {@code user-service.rate-limit.api-key-header}
+ * header, {@code X-API-Key} by default); password changes also per target user. Each limiter is configured
+ * under {@code user-service.rate-limit.<endpoint>.<key>.*}, e.g.
+ * {@code user-service.rate-limit.change-password.user.capacity}, with {@code capacity}, {@code period} and
+ * {@code maximum-keys}. Rate limiting runs before concurrency limiting, so rejected requests take no permit.
+ * Disable it with {@code user-service.rate-limit.enabled=false}.</p>
+ *
+ * <p>The client address is the one forwarded by the gateway in {@code X-Forwarded-For}, which requires
+ * {@code server.forward-headers-strategy} (set to {@code native} in {@code bootstrap.properties}); a warning is
+ * logged at startup when it is {@code none}, since every client then shares the gateway's bucket.</p>
+ */
+@Configuration
+@Slf4j
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    public static final String PREFIX = "user-service.rate-limit.";
+    public static final String ENABLED_PROPERTY = PREFIX + "enabled";
+    public static final String API_KEY_HEADER_PROPERTY = PREFIX + "api-key-header";
+    public static final String FORWARD_HEADERS_STRATEGY_PROPERTY = "server.forward-headers-strategy";
+
+    static final String CREATE_USER = "create-user";
+    static final String CHANGE_PASSWORD = "change-password";
+
+    private static final long DEFAULT_MAXIMUM_KEYS = 100_000;
+
+    private final Environment environment;
+    private final Map<String, TokenBucketLimiter> limiters = new HashMap<>();
+    private final Map<RateLimitInterceptor.Key, TokenBucketLimiter> createUserLimiters =
+            new EnumMap<>(RateLimitInterceptor.Key.class);
+    private final Map<RateLimitInterceptor.Key, TokenBucketLimiter> changePasswordLimiters =
+            new EnumMap<>(RateLimitInterceptor.Key.class);
+    private final RateLimits rateLimits;
+
+    public RateLimitConfig(final Environment environment) {
+        this.environment = environment;
+
+        limiter(createUserLimiters, CREATE_USER, RateLimitInterceptor.Key.CLIENT, 20, Duration.ofMinutes(1));
+        limiter(createUserLimiters, CREATE_USER, RateLimitInterceptor.Key.API_KEY, 200, Duration.ofMinutes(1));
+        limiter(changePasswordLimiters, CHANGE_PASSWORD, RateLimitInterceptor.Key.CLIENT, 20, Duration.ofMinutes(1));
+        limiter(changePasswordLimiters, CHANGE_PASSWORD, RateLimitInterceptor.Key.API_KEY, 200, Duration.ofMinutes(1));
+        limiter(changePasswordLimiters, CHANGE_PASSWORD, RateLimitInterceptor.Key.USER, 5, Duration.ofMinutes(15));
+        this.rateLimits = new RateLimits(limiters);
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        if (environment.getProperty(ENABLED_PROPERTY, Boolean.class, true)) {
+            if (environment.getProperty(FORWARD_HEADERS_STRATEGY_PROPERTY, "none").equalsIgnoreCase("none")) {
+                log.warn("{} is none: client rate limits key on the connection address, which behind a proxy is "
+                        + "the same for every client", FORWARD_HEADERS_STRATEGY_PROPERTY);
+            }
+            String apiKeyHeader = environment.getProperty(API_KEY_HEADER_PROPERTY, "X-API-Key");
+            registry.addInterceptor(new RateLimitInterceptor(HttpMethod.POST, CREATE_USER,
+                            createUserLimiters, apiKeyHeader))
+                    .addPathPatterns("/v1/users")
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+            registry.addInterceptor(new RateLimitInterceptor(HttpMethod.PATCH, CHANGE_PASSWORD,
+                            changePasswordLimiters, apiKeyHeader))
+                    .addPathPatterns("/v1/users/*/change-password")
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+
+    @Bean
+    public RateLimits rateLimits() {
+        return rateLimits;
+    }
+
+    @Bean
+    public RateLimitsEndpoint rateLimitsEndpoint() {
+        return new RateLimitsEndpoint(rateLimits);
+    }
+
+    private void limiter(final Map<RateLimitInterceptor.Key, TokenBucketLimiter> endpointLimiters,
+                         final String endpoint, final RateLimitInterceptor.Key key,
+                         final int capacity, final Duration period) {
+        String name = endpoint + "." + key.getId();
+        String prefix = PREFIX + name + ".";
+        TokenBucketLimiter limiter = new TokenBucketLimiter(
+                environment.getProperty(prefix + "capacity", Integer.class, capacity),
+                environment.getProperty(prefix + "period", Duration.class, period),
+                environment.getProperty(prefix + "maximum-keys", Long.class, DEFAULT_MAXIMUM_KEYS));
+        endpointLimiters.put(key, limiter);
+        limiters.put(name, limiter);
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.cache.UserResponseCache;
+import com.eventsphere.user.cache.UserResponseCacheFilter;
+import com.eventsphere.user.cache.UserResponseCacheInterceptor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Response cache configuration, disabled by default; enable it with
+ * {@code user-service.response-cache.enabled=true}.
+ *
+ * <p>Serialized {@code GET v1/users/{id}} responses are cached, up to {@code user-service.response-cache.maximum-size}
+ * entries (10000 by default), for {@code user-service.response-cache.expire-after-write} (30 seconds by default).
+ * Changes drop the cached responses of the instance that made them right away; with several instances, the others
+ * serve a changed or deleted user until its responses expire. Hits are served after the rate and concurrency
+ * limits.</p>
+ */
+@Configuration
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    public static final String ENABLED_PROPERTY = "user-service.response-cache.enabled";
+    public static final String MAXIMUM_SIZE_PROPERTY = "user-service.response-cache.maximum-size";
+    public static final String EXPIRE_AFTER_WRITE_PROPERTY = "user-service.response-cache.expire-after-write";
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofSeconds(30);
+
+    private final Environment environment;
+    private final UserResponseCache userResponseCache;
+
+    public ResponseCacheConfig(final Environment environment) {
+        this.environment = environment;
+        this.userResponseCache = new UserResponseCache(
+                environment.getProperty(MAXIMUM_SIZE_PROPERTY, Long.class, DEFAULT_MAXIMUM_SIZE),
+                environment.getProperty(EXPIRE_AFTER_WRITE_PROPERTY, Duration.class, DEFAULT_EXPIRE_AFTER_WRITE));
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        if (isEnabled()) {
+            // After the rate and concurrency limit interceptors
+            registry.addInterceptor(new UserResponseCacheInterceptor(userResponseCache))
+                    .addPathPatterns("/v1/users/*")
+                    .order(Ordered.LOWEST_PRECEDENCE);
+        }
+    }
+
+    @Bean
+    public UserResponseCache userResponseCache() {
+        return userResponseCache;
+    }
+
+    @Bean
+    public FilterRegistrationBean<UserResponseCacheFilter> userResponseCacheFilter() {
+        FilterRegistrationBean<UserResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new UserResponseCacheFilter(userResponseCache));
+        registration.addUrlPatterns("/v1/users/*");
+        registration.setEnabled(isEnabled());
+        return registration;
+    }
+
+    private boolean isEnabled() {
+        return environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.eventsphere.user.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping jobs, such as purging expired idempotency keys and deleted users.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,56 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.repository.UserFeatureRepository;
+import com.eventsphere.user.similarity.MinHashIndex;
+import com.eventsphere.user.similarity.SimilarUsersService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Similar users configuration, disabled by default; enable it with {@code user-service.similar-users.enabled=true}.
+ *
+ * <p>{@code GET /v1/users/{id}/similar} then finds the users with the most similar interests and subscriptions
+ * in a {@link MinHashIndex} of about 200 bytes per active user with any, held on the heap. Rebuilds run on a
+ * fork-join pool of {@code user-service.similar-users.parallelism} threads (the number of processors by
+ * default), and the changed users are folded into the index by {@code user-service.similar-users.merge-threshold}
+ * (10000 by default).</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = SimilarUsersConfig.ENABLED_PROPERTY, havingValue = "true")
+public class SimilarUsersConfig {
+
+    public static final String PREFIX = "user-service.similar-users.";
+    public static final String ENABLED_PROPERTY = PREFIX + "enabled";
+
+    private static final int DEFAULT_MERGE_THRESHOLD = 10_000;
+
+    @Bean
+    public MinHashIndex similarUsersIndex(final Environment environment) {
+        int parallelism = environment.getProperty(PREFIX + "parallelism", Integer.class,
+                Runtime.getRuntime().availableProcessors());
+        return new MinHashIndex(new ForkJoinPool(parallelism),
+                environment.getProperty(PREFIX + "merge-threshold", Integer.class, DEFAULT_MERGE_THRESHOLD));
+    }
+
+    @Bean
+    public UserFeatureRepository userFeatureRepository(final DataSource dataSource) {
+        return new UserFeatureRepository(dataSource);
+    }
+
+    @Bean
+    public SimilarUsersService similarUsersService(final MinHashIndex similarUsersIndex,
+                                                   final UserFeatureRepository userFeatureRepository) {
+        return new SimilarUsersService(similarUsersIndex, userFeatureRepository,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "similar-users-index");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+}
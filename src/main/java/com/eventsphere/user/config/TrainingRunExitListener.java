@@ -0,0 +1,27 @@
+package com.eventsphere.user.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exits the application as soon as it is ready when {@code user-service.startup.exit-when-ready=true}.
+ *
+ * <p>Used by the {@code fast-startup} build profile for the training run that records the
+ * class-data-sharing archive: every class needed to reach a ready context has been loaded by then.</p>
+ */
+@Component
+@Slf4j
+public class TrainingRunExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getEnvironment()
+                .getProperty("user-service.startup.exit-when-ready", Boolean.class, false)) {
+            log.info("Training run finished, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.cache.OffHeapUserDirectory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Off-heap user directory configuration, disabled by default; enable it with
+ * {@code user-service.user-directory.enabled=true}.
+ *
+ * <p>User lookups by ID are then served from an {@link OffHeapUserDirectory} of
+ * {@code user-service.user-directory.capacity} (256MB by default) holding up to
+ * {@code user-service.user-directory.maximum-entries} users (2000000 by default, 16 bytes of index each plus
+ * headroom). The memory is allocated at startup and counts against {@code -XX:MaxDirectMemorySize}, which
+ * defaults to the maximum heap size.</p>
+ *
+ * <p>Changes remove the user from the directory of the instance that made them right away; with several
+ * instances, the others serve a changed or deleted user until it expires,
+ * {@code user-service.user-directory.expire-after-write} (30 seconds by default) after they stored it. Updates
+ * and password changes always read the user from the database.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = UserDirectoryConfig.ENABLED_PROPERTY, havingValue = "true")
+public class UserDirectoryConfig {
+
+    public static final String PREFIX = "user-service.user-directory.";
+    public static final String ENABLED_PROPERTY = PREFIX + "enabled";
+
+    private static final DataSize DEFAULT_CAPACITY = DataSize.ofMegabytes(256);
+    private static final int DEFAULT_MAXIMUM_ENTRIES = 2_000_000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofSeconds(30);
+
+    @Bean
+    public OffHeapUserDirectory userDirectory(final Environment environment) {
+        return new OffHeapUserDirectory(
+                environment.getProperty(PREFIX + "capacity", DataSize.class, DEFAULT_CAPACITY).toBytes(),
+                environment.getProperty(PREFIX + "maximum-entries", Integer.class, DEFAULT_MAXIMUM_ENTRIES),
+                environment.getProperty(PREFIX + "expire-after-write", Duration.class, DEFAULT_EXPIRE_AFTER_WRITE));
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.job.DeactivateInactiveUsersJob;
+import com.eventsphere.user.job.NormalizeEmailsJob;
+import com.eventsphere.user.job.UserJob;
+import com.eventsphere.user.job.UserJobRunner;
+import com.eventsphere.user.job.UserJobsEndpoint;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk job configuration.
+ *
+ * <p>Jobs are started, paused and resumed through {@code /actuator/userjobs}. Their chunks are processed by a
+ * pool of {@code user-service.jobs.parallelism} threads (4 by default), shared by all jobs.</p>
+ *
+ * <p>The {@code deactivate-inactive-users} job deletes the users not modified for
+ * {@code user-service.jobs.deactivate-inactive-users.inactivity} (2 years by default). As subscribing or signing
+ * in does not modify a user, it is only available with
+ * {@code user-service.jobs.deactivate-inactive-users.enabled=true}.</p>
+ */
+@Configuration
+public class UserJobsConfig {
+
+    public static final String PREFIX = "user-service.jobs.";
+    public static final String DEACTIVATE_INACTIVE_USERS_ENABLED_PROPERTY =
+            PREFIX + "deactivate-inactive-users.enabled";
+
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final Duration DEFAULT_INACTIVITY = Duration.ofDays(730);
+
+    @Bean
+    public UserJobRunner userJobRunner(final JdbcTemplate jdbcTemplate,
+                                       final PlatformTransactionManager transactionManager,
+                                       final ApplicationEventPublisher eventPublisher,
+                                       final Environment environment) {
+        int parallelism = environment.getProperty(PREFIX + "parallelism", Integer.class, DEFAULT_PARALLELISM);
+        List<UserJob> jobs = new ArrayList<>(List.of(new NormalizeEmailsJob()));
+        if (environment.getProperty(DEACTIVATE_INACTIVE_USERS_ENABLED_PROPERTY, Boolean.class, false)) {
+            jobs.add(new DeactivateInactiveUsersJob(environment.getProperty(
+                    PREFIX + "deactivate-inactive-users.inactivity", Duration.class, DEFAULT_INACTIVITY)));
+        }
+        AtomicInteger threads = new AtomicInteger();
+        return new UserJobRunner(jobs, jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher,
+                Executors.newFixedThreadPool(parallelism, runnable -> {
+                    Thread thread = new Thread(runnable, "user-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                parallelism);
+    }
+
+    @Bean
+    public UserJobsEndpoint userJobsEndpoint(final UserJobRunner userJobRunner) {
+        return new UserJobsEndpoint(userJobRunner);
+    }
+}
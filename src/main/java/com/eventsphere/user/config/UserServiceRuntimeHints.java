@@ -0,0 +1,58 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.exception.BeanValidationErrorDetails;
+import com.eventsphere.user.exception.ErrorDetails;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Runtime hints for the native image that Spring's AOT processing cannot infer on its own.
+ *
+ * <ul>
+ *     <li>Request and response bodies: Jackson binds them reflectively and Hibernate Validator reads their
+ *     constraint annotations, which AOT only partly discovers from the controller signatures.</li>
+ *     <li>Error bodies: {@link BeanValidationErrorDetails} is returned as a plain {@code Object} and is
+ *     invisible to AOT.</li>
+ *     <li>XML: jackson-dataformat-xml finds the Woodstox StAX factories through {@code ServiceLoader}.</li>
+ *     <li>Configuration: AOT-processed builds import {@code bootstrap.properties} as regular config data,
+ *     which is not one of the locations AOT registers by default.</li>
+ * </ul>
+ */
+public class UserServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] BODY_TYPES = {
+            User.class,
+            UserDto.class,
+            ChangePasswordDto.class,
+            ErrorDetails.class,
+            BeanValidationErrorDetails.class
+    };
+
+    private static final String[] STAX_FACTORIES = {
+            "com.ctc.wstx.stax.WstxInputFactory",
+            "com.ctc.wstx.stax.WstxOutputFactory",
+            "com.ctc.wstx.stax.WstxEventFactory"
+    };
+
+    @Override
+    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+        for (Class<?> type : BODY_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        for (String factory : STAX_FACTORIES) {
+            hints.reflection().registerType(TypeReference.of(factory),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/javax.xml.stream.*");
+        hints.resources().registerPattern("bootstrap.properties");
+    }
+}
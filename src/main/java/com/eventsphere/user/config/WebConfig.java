@@ -0,0 +1,54 @@
+package com.eventsphere.user.config;
+
+import com.eventsphere.user.validation.UserValidator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Web MVC configuration.
+ *
+ * <p>Content negotiation goes through {@link JsonFastPathContentNegotiationStrategy}. Responses are also
+ * available as CBOR ({@code application/cbor}) on the endpoints that declare it, a compact binary format
+ * for service-to-service calls. Clients opt in through the {@code Accept} header, JSON stays the default.</p>
+ *
+ * <p>{@code @Valid} request bodies are checked by {@link UserValidator}, which validates users and their DTOs
+ * without reflection and hands other types to Bean Validation.</p>
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final jakarta.validation.Validator validator;
+
+    public WebConfig(final jakarta.validation.Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public void configureContentNegotiation(final ContentNegotiationConfigurer configurer) {
+        configurer.strategies(List.of(new JsonFastPathContentNegotiationStrategy()));
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new UserValidator(validator);
+    }
+
+    /**
+     * CBOR converter built from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so it honours the same
+     * {@code spring.jackson.*} settings and modules as the JSON output. Replaces the default CBOR converter,
+     * which uses a plain object mapper.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,158 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.exception.ErrorDetails;
+import com.eventsphere.user.model.dto.BulkSubscriptionResultDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller interface for subscribing and unsubscribing many users at once.
+ * <p>
+ * The request body lists user ids, one per line, as {@code text/plain} or {@code text/csv}
+ * ({@code text/csv; header=present} when the first line is a header). The number of subscribers of many
+ * categories or events is read at once.
+ */
+public interface BulkSubscriptionController {
+
+    /**
+     * Subscribes users to a category.
+     *
+     * @param categoryId  The ID of the category.
+     * @param userIds     The user ids, one per line.
+     * @param contentType The content type of the user ids.
+     * @return ResponseEntity with the numbers of ids received, subscriptions inserted and ids skipped.
+     */
+    @Operation(summary = "Subscribes users to a category", description = "Subscribes the users listed in the " +
+            "body, one id per line, to a category. Unknown users and existing subscriptions are skipped",
+            requestBody = @RequestBody(description = "User ids, one per line", required = true))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    schema = @Schema(implementation = BulkSubscriptionResultDto.class)
+            )),
+            @ApiResponse(responseCode = "400", description = "A line is not a user id", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<BulkSubscriptionResultDto> subscribeToCategory(
+            @Parameter(description = "ID of the category", required = true) final Long categoryId,
+            final InputStream userIds, final String contentType
+    );
+
+    /**
+     * Unsubscribes users from a category.
+     *
+     * @param categoryId  The ID of the category.
+     * @param userIds     The user ids, one per line.
+     * @param contentType The content type of the user ids.
+     * @return ResponseEntity with the numbers of ids received, subscriptions deleted and ids skipped.
+     */
+    @Operation(summary = "Unsubscribes users from a category", description = "Unsubscribes the users listed in " +
+            "the body, one id per line, from a category. Unknown and deleted users and users without a " +
+            "subscription are skipped",
+            requestBody = @RequestBody(description = "User ids, one per line", required = true))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    schema = @Schema(implementation = BulkSubscriptionResultDto.class)
+            )),
+            @ApiResponse(responseCode = "400", description = "A line is not a user id", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<BulkSubscriptionResultDto> unsubscribeFromCategory(
+            @Parameter(description = "ID of the category", required = true) final Long categoryId,
+            final InputStream userIds, final String contentType
+    );
+
+    /**
+     * Subscribes users to an event.
+     *
+     * @param eventId     The ID of the event.
+     * @param userIds     The user ids, one per line.
+     * @param contentType The content type of the user ids.
+     * @return ResponseEntity with the numbers of ids received, subscriptions inserted and ids skipped.
+     */
+    @Operation(summary = "Subscribes users to an event", description = "Subscribes the users listed in the " +
+            "body, one id per line, to an event. Unknown users and existing subscriptions are skipped",
+            requestBody = @RequestBody(description = "User ids, one per line", required = true))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    schema = @Schema(implementation = BulkSubscriptionResultDto.class)
+            )),
+            @ApiResponse(responseCode = "400", description = "A line is not a user id", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<BulkSubscriptionResultDto> subscribeToEvent(
+            @Parameter(description = "ID of the event", required = true) final Long eventId,
+            final InputStream userIds, final String contentType
+    );
+
+    /**
+     * Unsubscribes users from an event.
+     *
+     * @param eventId     The ID of the event.
+     * @param userIds     The user ids, one per line.
+     * @param contentType The content type of the user ids.
+     * @return ResponseEntity with the numbers of ids received, subscriptions deleted and ids skipped.
+     */
+    @Operation(summary = "Unsubscribes users from an event", description = "Unsubscribes the users listed in " +
+            "the body, one id per line, from an event. Unknown and deleted users and users without a " +
+            "subscription are skipped",
+            requestBody = @RequestBody(description = "User ids, one per line", required = true))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    schema = @Schema(implementation = BulkSubscriptionResultDto.class)
+            )),
+            @ApiResponse(responseCode = "400", description = "A line is not a user id", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<BulkSubscriptionResultDto> unsubscribeFromEvent(
+            @Parameter(description = "ID of the event", required = true) final Long eventId,
+            final InputStream userIds, final String contentType
+    );
+
+    /**
+     * Retrieves the number of subscribers of many categories.
+     *
+     * @param ids The IDs of the categories.
+     * @return ResponseEntity with the number of active subscribers of each category, by ID.
+     */
+    @Operation(summary = "Counts the subscribers of categories", description = "Counts the active subscribers of " +
+            "a list of categories, at most 1000. Changes of the last second may not be counted yet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "No ids or too many ids",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<Map<Long, Long>> getCategorySubscribers(
+            @Parameter(description = "IDs of the categories", required = true) final List<Long> ids
+    );
+
+    /**
+     * Retrieves the number of subscribers of many events.
+     *
+     * @param ids The IDs of the events.
+     * @return ResponseEntity with the number of active subscribers of each event, by ID.
+     */
+    @Operation(summary = "Counts the subscribers of events", description = "Counts the active subscribers of " +
+            "a list of events, at most 1000. Changes of the last second may not be counted yet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "No ids or too many ids",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<Map<Long, Long>> getEventSubscribers(
+            @Parameter(description = "IDs of the events", required = true) final List<Long> ids
+    );
+}
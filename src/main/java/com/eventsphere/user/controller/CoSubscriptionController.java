@@ -0,0 +1,75 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.exception.ErrorDetails;
+import com.eventsphere.user.model.dto.RelatedItemDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Controller interface for finding the events and categories subscribed to together: users who follow an event
+ * or category also follow these ones.
+ */
+public interface CoSubscriptionController {
+
+    /**
+     * Retrieves the events and categories most often subscribed to by the subscribers of a category.
+     *
+     * @param categoryId The ID of the category.
+     * @param limit      The maximum number of related items, or null for 10.
+     * @return ResponseEntity with the related items, the most often co-subscribed first.
+     */
+    @Operation(summary = "Finds items related to a category", description = "Finds the events and categories " +
+            "most often subscribed to by the subscribers of a category, with the number and share of its " +
+            "subscribers following them. Categories without subscribers have no related items")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = RelatedItemDto.class))
+            )),
+            @ApiResponse(responseCode = "400", description = "Limit out of range", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            )),
+            @ApiResponse(responseCode = "503", description = "The index is being built", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<List<RelatedItemDto>> getRelatedToCategory(
+            @Parameter(description = "ID of the category", required = true) final Long categoryId,
+            @Parameter(description = "Maximum number of related items, from 1 to 50. 10 by default")
+            final Integer limit
+    );
+
+    /**
+     * Retrieves the events and categories most often subscribed to by the subscribers of an event.
+     *
+     * @param eventId The ID of the event.
+     * @param limit   The maximum number of related items, or null for 10.
+     * @return ResponseEntity with the related items, the most often co-subscribed first.
+     */
+    @Operation(summary = "Finds items related to an event", description = "Finds the events and categories " +
+            "most often subscribed to by the subscribers of an event, with the number and share of its " +
+            "subscribers following them. Events without subscribers have no related items")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = RelatedItemDto.class))
+            )),
+            @ApiResponse(responseCode = "400", description = "Limit out of range", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            )),
+            @ApiResponse(responseCode = "503", description = "The index is being built", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<List<RelatedItemDto>> getRelatedToEvent(
+            @Parameter(description = "ID of the event", required = true) final Long eventId,
+            @Parameter(description = "Maximum number of related items, from 1 to 50. 10 by default")
+            final Integer limit
+    );
+}
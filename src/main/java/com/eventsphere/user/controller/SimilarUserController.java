@@ -0,0 +1,47 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.exception.ErrorDetails;
+import com.eventsphere.user.model.dto.SimilarUserDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Controller interface for finding users with similar interests and subscriptions.
+ */
+public interface SimilarUserController {
+
+    /**
+     * Retrieves the users most similar to a user.
+     *
+     * @param id    The ID of the user.
+     * @param limit The maximum number of similar users, or null for 10.
+     * @return ResponseEntity with the similar users, the most similar first.
+     */
+    @Operation(summary = "Finds similar users", description = "Finds the users whose interests and " +
+            "subscriptions are the most similar to those of a user, with their estimated Jaccard similarity. " +
+            "Unknown users and users without interests or subscriptions have no similar users")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = SimilarUserDto.class))
+            )),
+            @ApiResponse(responseCode = "400", description = "Limit out of range", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            )),
+            @ApiResponse(responseCode = "503", description = "The index is being built", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    ResponseEntity<List<SimilarUserDto>> getSimilarUsers(
+            @Parameter(description = "ID of the user", required = true) final Long id,
+            @Parameter(description = "Maximum number of similar users, from 1 to 100. 10 by default")
+            final Integer limit
+    );
+}
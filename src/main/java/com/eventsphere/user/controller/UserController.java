@@ -4,7 +4,9 @@ import com.eventsphere.user.exception.BeanValidationErrorDetails;
 import com.eventsphere.user.exception.ErrorDetails;
 import com.eventsphere.user.model.User;
 import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserChangeDto;
 import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.model.dto.UserFieldsDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +17,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 /**
  * Controller interface for managing user-related operations.
  */
@@ -29,12 +33,16 @@ public interface UserController {
     ResponseEntity<CollectionModel<User>> getAllUsers();
 
     /**
-     * Retrieves a specific user by their ID.
+     * Retrieves a specific user by their ID. With the opt-in response cache or user directory and several
+     * instances, a changed or deleted user may be returned until its cached copy expires.
      *
      * @param id The ID of the user to retrieve.
      * @return ResponseEntity with the user object and HTTP status OK.
      */
-    @Operation(summary = "Finds user by id", description = "Finds user by id from path variable")
+    @Operation(summary = "Finds user by id", description = "Finds user by id from path variable. When the " +
+            "response cache or the user directory is enabled and several instances are running, a changed or " +
+            "deleted user may still be returned by the other instances for up to their expire-after-write " +
+            "(30 seconds by default)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(
                     schema = @Schema(implementation = User.class)
@@ -45,6 +53,129 @@ public interface UserController {
     })
     ResponseEntity<User> getUser(@Parameter(description = "ID of user to return", required = true) final Long id);
 
+    /**
+     * Retrieves the users with the given IDs.
+     *
+     * @param ids The IDs of the users to retrieve.
+     * @return ResponseEntity with the list of found users, ordered by ID, and HTTP status OK.
+     */
+    @Operation(summary = "Finds users by ids", description = "Finds users by a list of ids, at most 100. " +
+            "Ids that do not exist are skipped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "No ids or too many ids",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<CollectionModel<User>> getUsersByIds(
+            @Parameter(description = "Comma-separated ids of users to return", required = true) final List<Long> ids
+    );
+
+    /**
+     * Searches users by prefix and fuzzy match over username, first name, last name and email.
+     *
+     * @param query The search query.
+     * @param after The ID of the last user from the previous page, if any.
+     * @param limit The maximum number of users to return.
+     * @return ResponseEntity with the list of matching users, ordered by ID, and HTTP status OK.
+     */
+    @Operation(summary = "Searches users", description = "Searches users by prefix and fuzzy match over username, " +
+            "first name, last name and email. Results are ordered by id; follow the next link to continue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "Query too short or invalid limit",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<CollectionModel<User>> searchUsers(
+            @Parameter(description = "Search query, at least 3 characters", required = true) final String query,
+            @Parameter(description = "ID of the last user from the previous page") final Long after,
+            @Parameter(description = "Maximum number of users to return, at most 100") final Integer limit
+    );
+
+    /**
+     * Retrieves the users modified after a position of the change feed, deleted users included as tombstones.
+     *
+     * @param after The cursor of the last change from the previous page, if any.
+     * @param limit The maximum number of changes to return.
+     * @return ResponseEntity with the list of changes, in commit order, and HTTP status OK.
+     */
+    @Operation(summary = "Retrieves users modified since a cursor", description = "Retrieves the users modified " +
+            "after the given cursor, in commit order, deleted users as tombstones. Follow the next link until a " +
+            "page has fewer changes than the limit, then poll the last next link for more. Tombstones are purged " +
+            "7 days after the deletion by default: a cursor from before a purged tombstone gets 410, and all users " +
+            "must then be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor or invalid limit",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "410", description = "Cursor before purged tombstones, or from an earlier " +
+                    "version of the feed", content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<CollectionModel<UserChangeDto>> getModifiedUsers(
+            @Parameter(description = "Cursor of the last change from the previous page, <changeXid>,<changeSeq>")
+            final String after,
+            @Parameter(description = "Maximum number of changes to return, at most 1000") final Integer limit
+    );
+
+    /**
+     * Retrieves the requested properties of all users.
+     *
+     * @param fields The properties to return, plus {@code _links} to include links.
+     * @return ResponseEntity with the list of sparse users, ordered by ID, and HTTP status OK.
+     */
+    @Operation(summary = "Retrieves some properties of all users", description = "Retrieves only the requested " +
+            "properties of all users, loading only those from the database. Links are included if _links is requested")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "No field or unknown field",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<CollectionModel<UserFieldsDto>> getAllUserFields(
+            @Parameter(description = "Comma-separated properties to return, and _links for links", required = true)
+            final List<String> fields
+    );
+
+    /**
+     * Retrieves the requested properties of a specific user.
+     *
+     * @param id     The ID of the user to retrieve.
+     * @param fields The properties to return, plus {@code _links} to include links.
+     * @return ResponseEntity with the sparse user and HTTP status OK.
+     */
+    @Operation(summary = "Finds some properties of a user by id", description = "Finds only the requested " +
+            "properties of a user, loading only those from the database. Links are included if _links is requested")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "No field or unknown field",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<UserFieldsDto> getUserFields(
+            @Parameter(description = "ID of user to return", required = true) final Long id,
+            @Parameter(description = "Comma-separated properties to return, and _links for links", required = true)
+            final List<String> fields
+    );
+
+    /**
+     * Retrieves the requested properties of the users with the given IDs.
+     *
+     * @param ids    The IDs of the users to retrieve.
+     * @param fields The properties to return, plus {@code _links} to include links.
+     * @return ResponseEntity with the list of found sparse users, ordered by ID, and HTTP status OK.
+     */
+    @Operation(summary = "Finds some properties of users by ids", description = "Finds only the requested " +
+            "properties of users by a list of ids, at most 100. Ids that do not exist are skipped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "No ids, too many ids, no field or unknown field",
+                    content = @Content(schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    ResponseEntity<CollectionModel<UserFieldsDto>> getUserFieldsByIds(
+            @Parameter(description = "Comma-separated ids of users to return", required = true) final List<Long> ids,
+            @Parameter(description = "Comma-separated properties to return, and _links for links", required = true)
+            final List<String> fields
+    );
+
     /**
      * Creates a new user.
      *
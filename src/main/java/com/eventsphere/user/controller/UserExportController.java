@@ -0,0 +1,43 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.exception.ErrorDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controller interface for exporting users in bulk, for analytics.
+ */
+public interface UserExportController {
+
+    /**
+     * Streams all active users, ordered by ID, as NDJSON or CSV.
+     *
+     * @param format         The export format, {@code ndjson} or {@code csv}.
+     * @param columns        The columns to export, or null for all.
+     * @param acceptEncoding The encodings accepted by the client; the export is gzipped if gzip is accepted.
+     * @param response       The response to stream the users to.
+     * @throws IOException if writing the response fails.
+     */
+    @Operation(summary = "Exports users", description = "Streams all users, ordered by id, as NDJSON (one JSON " +
+            "object per line) or CSV, gzipped if the client accepts it. Passwords are not exported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation"),
+            @ApiResponse(responseCode = "400", description = "Unknown format or column", content = @Content(
+                    schema = @Schema(implementation = ErrorDetails.class)
+            ))
+    })
+    void exportUsers(
+            @Parameter(description = "Export format: ndjson (default) or csv") final String format,
+            @Parameter(description = "Comma-separated columns to export: id, username, email, firstName, " +
+                    "lastName, dateOfBirth, createdAt, updatedAt. All by default") final List<String> columns,
+            final String acceptEncoding, final HttpServletResponse response
+    ) throws IOException;
+}
@@ -0,0 +1,103 @@
+package com.eventsphere.user.controller.implementation;
+
+import com.eventsphere.user.controller.BulkSubscriptionController;
+import com.eventsphere.user.model.dto.BulkSubscriptionResultDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.service.BulkSubscriptionService;
+import com.eventsphere.user.service.BulkSubscriptionService.Format;
+import com.eventsphere.user.service.SubscriberCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Default implementation of {@link BulkSubscriptionController}
+ */
+@RestController
+@RequestMapping("v1/users/subscriptions")
+@RequiredArgsConstructor
+public class BulkSubscriptionControllerImpl implements BulkSubscriptionController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final BulkSubscriptionService bulkSubscriptionService;
+    private final SubscriberCounters subscriberCounters;
+
+    @Override
+    @PostMapping(value = "/categories/{categoryId}/subscribe",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, TEXT_CSV_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<BulkSubscriptionResultDto> subscribeToCategory(
+            @PathVariable final Long categoryId, final InputStream userIds,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType) {
+        return ResponseEntity.ok(
+                bulkSubscriptionService.subscribe(Target.CATEGORY, categoryId, userIds, format(contentType)));
+    }
+
+    @Override
+    @PostMapping(value = "/categories/{categoryId}/unsubscribe",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, TEXT_CSV_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<BulkSubscriptionResultDto> unsubscribeFromCategory(
+            @PathVariable final Long categoryId, final InputStream userIds,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType) {
+        return ResponseEntity.ok(
+                bulkSubscriptionService.unsubscribe(Target.CATEGORY, categoryId, userIds, format(contentType)));
+    }
+
+    @Override
+    @PostMapping(value = "/events/{eventId}/subscribe",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, TEXT_CSV_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<BulkSubscriptionResultDto> subscribeToEvent(
+            @PathVariable final Long eventId, final InputStream userIds,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType) {
+        return ResponseEntity.ok(
+                bulkSubscriptionService.subscribe(Target.EVENT, eventId, userIds, format(contentType)));
+    }
+
+    @Override
+    @PostMapping(value = "/events/{eventId}/unsubscribe",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, TEXT_CSV_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<BulkSubscriptionResultDto> unsubscribeFromEvent(
+            @PathVariable final Long eventId, final InputStream userIds,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType) {
+        return ResponseEntity.ok(
+                bulkSubscriptionService.unsubscribe(Target.EVENT, eventId, userIds, format(contentType)));
+    }
+
+    @Override
+    @GetMapping(value = "/categories/subscribers", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<Map<Long, Long>> getCategorySubscribers(@RequestParam("ids") final List<Long> ids) {
+        return ResponseEntity.ok(subscriberCounters.get(Target.CATEGORY, ids));
+    }
+
+    @Override
+    @GetMapping(value = "/events/subscribers", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<Map<Long, Long>> getEventSubscribers(@RequestParam("ids") final List<Long> ids) {
+        return ResponseEntity.ok(subscriberCounters.get(Target.EVENT, ids));
+    }
+
+    /**
+     * Resolves the format of the user id list from its content type.
+     */
+    private static Format format(final String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (!TEXT_CSV.isCompatibleWith(mediaType)) {
+            return Format.TEXT;
+        }
+        return "present".equalsIgnoreCase(mediaType.getParameter("header")) ? Format.CSV_WITH_HEADER : Format.CSV;
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventsphere.user.controller.implementation;
+
+import com.eventsphere.user.config.CoSubscriptionsConfig;
+import com.eventsphere.user.controller.CoSubscriptionController;
+import com.eventsphere.user.model.dto.RelatedItemDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.similarity.CoSubscriptionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Default implementation of {@link CoSubscriptionController}
+ */
+@RestController
+@ConditionalOnProperty(name = CoSubscriptionsConfig.ENABLED_PROPERTY, havingValue = "true")
+@RequestMapping("v1/users/subscriptions")
+@RequiredArgsConstructor
+public class CoSubscriptionControllerImpl implements CoSubscriptionController {
+
+    private final CoSubscriptionService coSubscriptionService;
+
+    @Override
+    @GetMapping(value = "/categories/{categoryId}/related", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<List<RelatedItemDto>> getRelatedToCategory(
+            @PathVariable final Long categoryId,
+            @RequestParam(value = "limit", required = false) final Integer limit) {
+        return ResponseEntity.ok(coSubscriptionService.related(Target.CATEGORY, categoryId, limit));
+    }
+
+    @Override
+    @GetMapping(value = "/events/{eventId}/related", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<List<RelatedItemDto>> getRelatedToEvent(
+            @PathVariable final Long eventId,
+            @RequestParam(value = "limit", required = false) final Integer limit) {
+        return ResponseEntity.ok(coSubscriptionService.related(Target.EVENT, eventId, limit));
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventsphere.user.controller.implementation;
+
+import com.eventsphere.user.config.SimilarUsersConfig;
+import com.eventsphere.user.controller.SimilarUserController;
+import com.eventsphere.user.model.dto.SimilarUserDto;
+import com.eventsphere.user.similarity.SimilarUsersService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Default implementation of {@link SimilarUserController}
+ */
+@RestController
+@ConditionalOnProperty(name = SimilarUsersConfig.ENABLED_PROPERTY, havingValue = "true")
+@RequestMapping("v1/users")
+@RequiredArgsConstructor
+public class SimilarUserControllerImpl implements SimilarUserController {
+
+    private final SimilarUsersService similarUsersService;
+
+    @Override
+    @GetMapping(value = "/{id}/similar", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<List<SimilarUserDto>> getSimilarUsers(
+            @PathVariable final Long id,
+            @RequestParam(value = "limit", required = false) final Integer limit) {
+        return ResponseEntity.ok(similarUsersService.similar(id, limit));
+    }
+}
@@ -3,11 +3,14 @@ package com.eventsphere.user.controller.implementation;
 import com.eventsphere.user.controller.UserController;
 import com.eventsphere.user.model.User;
 import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserChangeDto;
 import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.model.dto.UserFieldsDto;
 import com.eventsphere.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -33,13 +37,15 @@ public class UserControllerImpl implements UserController {
     private static final String CREATE_USER_REL = "create-user";
     private static final String GET_ALL_USERS_REL = "get-all-users";
     private static final String SELF_REL = "self";
+    private static final String NEXT_REL = "next";
 
     private final UserService userService;
 
     @Override
     @GetMapping(produces = {
             MediaType.APPLICATION_JSON_VALUE,
-            MediaType.APPLICATION_XML_VALUE
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE
     })
     @ResponseStatus(value = HttpStatus.OK)
     public ResponseEntity<CollectionModel<User>> getAllUsers() {
@@ -66,7 +72,8 @@ public class UserControllerImpl implements UserController {
     @Override
     @GetMapping(value = "/{id}", produces = {
             MediaType.APPLICATION_JSON_VALUE,
-            MediaType.APPLICATION_XML_VALUE
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE
     })
     @ResponseStatus(value = HttpStatus.OK)
     public ResponseEntity<User> getUser(@PathVariable final Long id) {
@@ -82,6 +89,158 @@ public class UserControllerImpl implements UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Override
+    @GetMapping(params = "ids", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE
+    })
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<CollectionModel<User>> getUsersByIds(@RequestParam("ids") final List<Long> ids) {
+        List<User> users = userService.getAllById(ids);
+
+        for (User user : users) {
+            user.add(
+                    linkTo(methodOn(UserControllerImpl.class).getUser(user.getId()))
+                            .withRel(GET_USER_REL),
+                    linkTo(methodOn(UserControllerImpl.class).changePassword(user.getId(), new ChangePasswordDto()))
+                            .withRel(CHANGE_PASSWORD_REL)
+            );
+        }
+
+        CollectionModel<User> userCollectionModel = CollectionModel.of(users);
+        userCollectionModel.add(
+                linkTo(methodOn(UserControllerImpl.class).getUsersByIds(ids)).withRel(SELF_REL)
+        );
+
+        return ResponseEntity.ok(userCollectionModel);
+    }
+
+    @Override
+    @GetMapping(value = "/search", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE
+    })
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<CollectionModel<User>> searchUsers(
+            @RequestParam("q") final String query,
+            @RequestParam(value = "after", required = false) final Long after,
+            @RequestParam(value = "limit", required = false) final Integer limit
+    ) {
+        List<User> users = userService.search(query, after, limit);
+
+        for (User user : users) {
+            user.add(
+                    linkTo(methodOn(UserControllerImpl.class).getUser(user.getId()))
+                            .withRel(GET_USER_REL),
+                    linkTo(methodOn(UserControllerImpl.class).changePassword(user.getId(), new ChangePasswordDto()))
+                            .withRel(CHANGE_PASSWORD_REL)
+            );
+        }
+
+        CollectionModel<User> userCollectionModel = CollectionModel.of(users);
+        userCollectionModel.add(
+                linkTo(methodOn(UserControllerImpl.class).searchUsers(query, after, limit)).withRel(SELF_REL)
+        );
+
+        if (users.size() == UserService.searchLimit(limit)) {
+            Long lastId = users.get(users.size() - 1).getId();
+            userCollectionModel.add(
+                    linkTo(methodOn(UserControllerImpl.class).searchUsers(query, lastId, limit)).withRel(NEXT_REL)
+            );
+        }
+
+        return ResponseEntity.ok(userCollectionModel);
+    }
+
+    @Override
+    @GetMapping(value = "/modified", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE
+    })
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<CollectionModel<UserChangeDto>> getModifiedUsers(
+            @RequestParam(value = "after", required = false) final String after,
+            @RequestParam(value = "limit", required = false) final Integer limit
+    ) {
+        List<User> users = userService.getModified(after, limit);
+
+        List<UserChangeDto> changes = new ArrayList<>(users.size());
+        for (User user : users) {
+            UserChangeDto change = new UserChangeDto(user, UserService.cursor(user));
+            if (!change.isDeleted()) {
+                change.add(linkTo(methodOn(UserControllerImpl.class).getUser(user.getId())).withRel(GET_USER_REL));
+            }
+            changes.add(change);
+        }
+
+        CollectionModel<UserChangeDto> changeCollectionModel = CollectionModel.of(changes);
+        changeCollectionModel.add(
+                linkTo(methodOn(UserControllerImpl.class).getModifiedUsers(after, limit)).withRel(SELF_REL)
+        );
+
+        // Always present, with the limit expanded so it can be polled as is: a replica polls the next link of
+        // its last page until it returns changes again
+        String next = changes.isEmpty() ? after : changes.get(changes.size() - 1).getCursor();
+        changeCollectionModel.add(linkTo(methodOn(UserControllerImpl.class)
+                .getModifiedUsers(next, UserService.changesLimit(limit))).withRel(NEXT_REL));
+
+        return ResponseEntity.ok(changeCollectionModel);
+    }
+
+    @Override
+    @GetMapping(params = "fields", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE
+    })
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<CollectionModel<UserFieldsDto>> getAllUserFields(
+            @RequestParam("fields") final List<String> fields) {
+        List<UserFieldsDto> users = userService.getAllFields(UserService.projectedFields(fields));
+
+        return ResponseEntity.ok(userFieldsCollection(users, fields,
+                linkTo(methodOn(UserControllerImpl.class).getAllUserFields(fields)).withRel(SELF_REL)));
+    }
+
+    @Override
+    @GetMapping(value = "/{id}", params = "fields", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE
+    })
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<UserFieldsDto> getUserFields(@PathVariable final Long id,
+                                                       @RequestParam("fields") final List<String> fields) {
+        UserFieldsDto user = userService.getFields(id, UserService.projectedFields(fields));
+
+        if (fields.contains(UserService.LINKS_FIELD)) {
+            user.add(
+                    linkTo(methodOn(UserControllerImpl.class).getUser(id)).withRel(SELF_REL),
+                    linkTo(methodOn(UserControllerImpl.class).getAllUsers()).withRel(GET_ALL_USERS_REL),
+                    linkTo(methodOn(UserControllerImpl.class).createUser(new User())).withRel(CREATE_USER_REL),
+                    linkTo(methodOn(UserControllerImpl.class).changePassword(id, new ChangePasswordDto())).withRel(CHANGE_PASSWORD_REL)
+            );
+        }
+
+        return ResponseEntity.ok(user);
+    }
+
+    @Override
+    @GetMapping(params = {"ids", "fields"}, produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE
+    })
+    @ResponseStatus(value = HttpStatus.OK)
+    public ResponseEntity<CollectionModel<UserFieldsDto>> getUserFieldsByIds(
+            @RequestParam("ids") final List<Long> ids, @RequestParam("fields") final List<String> fields) {
+        List<UserFieldsDto> users = userService.getAllFieldsById(ids, UserService.projectedFields(fields));
+
+        return ResponseEntity.ok(userFieldsCollection(users, fields,
+                linkTo(methodOn(UserControllerImpl.class).getUserFieldsByIds(ids, fields)).withRel(SELF_REL)));
+    }
+
     @Override
     @PostMapping(produces = {
             MediaType.APPLICATION_JSON_VALUE,
@@ -152,4 +311,25 @@ public class UserControllerImpl implements UserController {
         userService.delete(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Wraps sparse users in a collection, with links only if {@value UserService#LINKS_FIELD} was requested.
+     */
+    private static CollectionModel<UserFieldsDto> userFieldsCollection(final List<UserFieldsDto> users,
+                                                                       final List<String> fields, final Link self) {
+        CollectionModel<UserFieldsDto> userCollectionModel = CollectionModel.of(users);
+        if (!fields.contains(UserService.LINKS_FIELD)) {
+            return userCollectionModel;
+        }
+
+        for (UserFieldsDto user : users) {
+            user.add(
+                    linkTo(methodOn(UserControllerImpl.class).getUser(user.getId()))
+                            .withRel(GET_USER_REL),
+                    linkTo(methodOn(UserControllerImpl.class).changePassword(user.getId(), new ChangePasswordDto()))
+                            .withRel(CHANGE_PASSWORD_REL)
+            );
+        }
+        return userCollectionModel.add(self);
+    }
 }
@@ -0,0 +1,92 @@
+package com.eventsphere.user.controller.implementation;
+
+import com.eventsphere.user.controller.UserExportController;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.service.UserExportService;
+import com.eventsphere.user.service.UserExportService.Format;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Default implementation of {@link UserExportController}
+ */
+@RestController
+@RequestMapping("v1/users")
+@RequiredArgsConstructor
+public class UserExportControllerImpl implements UserExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserExportService userExportService;
+
+    /**
+     * Writes straight to the response on the request thread, rather than through an asynchronous
+     * {@code StreamingResponseBody}, so long exports are not cut by the async request timeout.
+     */
+    @Override
+    @GetMapping("/export")
+    @ResponseStatus(value = HttpStatus.OK)
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") final String format,
+                            @RequestParam(required = false) final List<String> columns,
+                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                            final String acceptEncoding,
+                            final HttpServletResponse response) throws IOException {
+        Format exportFormat = format(format);
+        List<String> names = UserExportService.columnNames(columns);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)
+                : new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE)) {
+            userExportService.export(exportFormat, names, out);
+        }
+    }
+
+    private static Format format(final String format) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParameterException("Unknown format " + format + ", expected ndjson or csv");
+        }
+    }
+
+    /**
+     * Whether the {@code Accept-Encoding} header lists gzip, without a zero quality.
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim().replace(" ", "");
+                    if (parameter.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
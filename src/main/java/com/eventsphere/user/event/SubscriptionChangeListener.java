@@ -0,0 +1,16 @@
+package com.eventsphere.user.event;
+
+/**
+ * Listener of the users whose subscriptions changed. Bulk subscription changes only record the ids of the changed
+ * users in their {@link SubscriptionsChangedEvent} while a bean implementing it exists, as returning them adds to a
+ * large write.
+ */
+public interface SubscriptionChangeListener {
+
+    /**
+     * Handles a committed subscription change.
+     *
+     * @param event The subscription change, with the ids of the changed users of bulk changes.
+     */
+    void onSubscriptionsChanged(SubscriptionsChangedEvent event);
+}
@@ -0,0 +1,32 @@
+package com.eventsphere.user.event;
+
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Event published after subscriptions to a category or an event have been added or removed.
+ */
+@Getter
+@AllArgsConstructor
+public class SubscriptionsChangedEvent {
+
+    private final Target target;
+    private final long itemId;
+
+    /**
+     * The number of subscriptions added, negative if they were removed.
+     */
+    private final long delta;
+
+    /**
+     * The ids of the users whose subscriptions changed, one per subscription, or null if they were not recorded.
+     */
+    @Nullable
+    private final long[] userIds;
+
+    public SubscriptionsChangedEvent(final Target target, final long itemId, final long delta) {
+        this(target, itemId, delta, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.eventsphere.user.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a position of the change feed is too old to continue from.
+ *
+ * <p>Example situations for this exception include:</p>
+ * <ul>
+ *   <li>A cursor before tombstones that have since been purged</li>
+ *   <li>A cursor in the format of an earlier version of the feed</li>
+ * </ul>
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class CursorExpiredException extends RuntimeException {
+
+    /**
+     * Constructs a new instance of {@code CursorExpiredException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
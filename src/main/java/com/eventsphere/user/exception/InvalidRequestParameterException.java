@@ -0,0 +1,27 @@
+package com.eventsphere.user.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request parameter has an invalid value.
+ *
+ * <p>Example situations for this exception include:</p>
+ * <ul>
+ *   <li>A search query that is too short</li>
+ *   <li>A result limit that is not positive</li>
+ *   <li>A bulk subscription body with a line that is not a user id</li>
+ * </ul>
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestParameterException extends RuntimeException {
+
+    /**
+     * Constructs a new instance of {@code InvalidRequestParameterException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventsphere.user.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request cannot be served in time because the service is overloaded.
+ *
+ * <p>Example situations for this exception include:</p>
+ * <ul>
+ *   <li>Timing out while waiting for a load of the same user that is already in flight</li>
+ * </ul>
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new instance of {@code ServiceUnavailableException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
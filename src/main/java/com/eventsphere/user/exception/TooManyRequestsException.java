@@ -0,0 +1,26 @@
+package com.eventsphere.user.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a client exceeds the rate limit of an endpoint.
+ *
+ * <p>Example situations for this exception include:</p>
+ * <ul>
+ *   <li>Creating users from one client address faster than allowed</li>
+ *   <li>Trying to change the password of the same user too often</li>
+ * </ul>
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Constructs a new instance of {@code TooManyRequestsException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -57,13 +57,14 @@ public class UserServiceResponseEntityExceptionHandler extends ResponseEntityExc
     }
 
     /**
-     * Handles UserNotValidException and PasswordException and returns an error response with a bad request status.
+     * Handles UserNotValidException, PasswordException and InvalidRequestParameterException
+     * and returns an error response with a bad request status.
      *
      * @param ex      the exception to handle.
      * @param request the current request.
      * @return a ResponseEntity containing the error details and status.
      */
-    @ExceptionHandler({UserNotValidException.class, PasswordException.class})
+    @ExceptionHandler({UserNotValidException.class, PasswordException.class, InvalidRequestParameterException.class})
     public final ResponseEntity<ErrorDetails> handleUserNotValidExceptionException(Exception ex, WebRequest request) {
         ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(),
                 ex.getMessage(), request.getDescription(false));
@@ -90,6 +91,57 @@ public class UserServiceResponseEntityExceptionHandler extends ResponseEntityExc
         return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles TooManyRequestsException and returns an error response with a too many requests status.
+     *
+     * @param ex      the exception to handle.
+     * @param request the current request.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public final ResponseEntity<ErrorDetails> handleTooManyRequestsException(Exception ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(),
+                ex.getMessage(), request.getDescription(false));
+
+        log.warn(ex.getMessage());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Handles CursorExpiredException and returns an error response with a gone status.
+     *
+     * @param ex      the exception to handle.
+     * @param request the current request.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler(CursorExpiredException.class)
+    public final ResponseEntity<ErrorDetails> handleCursorExpiredException(Exception ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(),
+                ex.getMessage(), request.getDescription(false));
+
+        log.warn(ex.getMessage());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.GONE);
+    }
+
+    /**
+     * Handles ServiceUnavailableException and returns an error response with a service unavailable status.
+     *
+     * @param ex      the exception to handle.
+     * @param request the current request.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public final ResponseEntity<ErrorDetails> handleServiceUnavailableException(Exception ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(),
+                ex.getMessage(), request.getDescription(false));
+
+        log.warn(ex.getMessage());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles MethodArgumentNotValidException and returns an error response with a bad request status.
      *
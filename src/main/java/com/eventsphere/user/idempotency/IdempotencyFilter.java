@@ -0,0 +1,323 @@
+package com.eventsphere.user.idempotency;
+
+import com.eventsphere.user.exception.ErrorDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes {@code POST} and {@code PATCH} requests carrying an {@code Idempotency-Key} header safe to retry.
+ *
+ * <p>The first response to a key is kept in an {@link IdempotencyStore} and replayed to every retry, with an
+ * {@code Idempotent-Replayed: true} header, without touching the user tables. A retry that arrives while the
+ * first request is still running waits for it. Reusing a key for a different request, including one accepting
+ * another media type, is rejected with 422. Server errors and 429 responses are not stored, so such requests run
+ * again when retried.</p>
+ *
+ * <p>Keys are scoped to the caller: the authenticated principal, else the {@code Authorization} header, else the
+ * client address, so two callers picking the same key do not see each other's responses. The request body is
+ * buffered to fingerprint it and rejected with 413 above a maximum size; streaming endpoints such as the bulk
+ * subscription uploads are excluded by path and never buffered.</p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration waitTimeout;
+    private final int maxBodySize;
+    private final List<PathPattern> excludedPaths;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a filter.
+     *
+     * @param store         the store of first responses.
+     * @param objectMapper  the mapper to write error details with.
+     * @param waitTimeout   how long a retry waits for the first request with the same key.
+     * @param maxBodySize   the maximum size of a buffered request body, in bytes.
+     * @param excludedPaths the patterns of the paths left to the controllers, e.g. {@code /v1/users/subscriptions/**}.
+     */
+    public IdempotencyFilter(final IdempotencyStore store, final ObjectMapper objectMapper,
+                             final Duration waitTimeout, final int maxBodySize,
+                             final Collection<String> excludedPaths) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+        this.excludedPaths = excludedPaths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        if (!(HttpMethod.POST.matches(request.getMethod()) || HttpMethod.PATCH.matches(request.getMethod()))
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        return excludedPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, tooLargeMessage());
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, tooLargeMessage());
+            return;
+        }
+
+        CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request, body);
+        byte[] fingerprint = fingerprint(request, body);
+        String storeKey = scopedKey(request, key);
+
+        while (true) {
+            StoredResponse stored = store.get(storeKey);
+            if (stored != null) {
+                replay(request, response, stored, fingerprint);
+                return;
+            }
+
+            CompletableFuture<Void> flight = new CompletableFuture<>();
+            CompletableFuture<Void> first = inFlight.putIfAbsent(storeKey, flight);
+            if (first == null) {
+                try {
+                    execute(storeKey, fingerprint, cachedBodyRequest, response, filterChain);
+                } finally {
+                    inFlight.remove(storeKey, flight);
+                    flight.complete(null);
+                }
+                return;
+            }
+
+            if (!awaitFirst(first)) {
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with the same " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+                return;
+            }
+            // The first request either stored its response or failed without storing one: look again
+        }
+    }
+
+    private void execute(final String key, final byte[] fingerprint, final HttpServletRequest request,
+                         final HttpServletResponse response, final FilterChain filterChain)
+            throws ServletException, IOException {
+        // A request with the same key may have stored its response between the lookup and taking the key
+        StoredResponse stored = store.get(key);
+        if (stored != null) {
+            replay(request, response, stored, fingerprint);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+
+            if (isFinal(responseWrapper.getStatus())) {
+                store.put(key, new StoredResponse(fingerprint, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getHeader(HttpHeaders.LOCATION),
+                        responseWrapper.getContentAsByteArray()));
+            }
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean awaitFirst(final CompletableFuture<Void> first) throws ServletException {
+        try {
+            first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for a request with the same "
+                    + IDEMPOTENCY_KEY_HEADER, e);
+        } catch (ExecutionException e) {
+            // The flight is only ever completed normally
+            return true;
+        }
+    }
+
+    private void replay(final HttpServletRequest request, final HttpServletResponse response,
+                        final StoredResponse stored, final byte[] fingerprint) throws IOException {
+        if (!stored.matches(fingerprint)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+
+        response.setStatus(stored.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void writeError(final HttpServletRequest request, final HttpServletResponse response,
+                            final HttpStatus status, final String message) throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), message, "uri=" + request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(errorDetails));
+    }
+
+    private String tooLargeMessage() {
+        return "Requests with an " + IDEMPOTENCY_KEY_HEADER + " must have a body of at most " + maxBodySize + " bytes";
+    }
+
+    /**
+     * Whether a response is the outcome of the request, rather than a failure worth retrying.
+     */
+    private static boolean isFinal(final int status) {
+        return status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static byte[] fingerprint(final HttpServletRequest request, final byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String query = request.getQueryString() != null ? "?" + request.getQueryString() : "";
+            String accept = request.getHeader(HttpHeaders.ACCEPT) != null ? request.getHeader(HttpHeaders.ACCEPT) : "";
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + query + '\n' + accept + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Scopes a key to the caller of a request, as a digest that fits the {@code idempotency_key} column.
+     */
+    private static String scopedKey(final HttpServletRequest request, final String key) {
+        Principal principal = request.getUserPrincipal();
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String caller = principal != null ? "principal " + principal.getName()
+                : authorization != null ? "authorization " + authorization
+                : "address " + request.getRemoteAddr();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((caller + '\n').getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Request whose body has been read up front, to fingerprint it and still hand it to the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(final HttpServletRequest request, final byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener readListener) {
+                    // The whole body is already available
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
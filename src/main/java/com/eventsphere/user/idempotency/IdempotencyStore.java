@@ -0,0 +1,24 @@
+package com.eventsphere.user.idempotency;
+
+/**
+ * Store of the first responses to requests made with an {@code Idempotency-Key}. Entries expire after a
+ * configured time to live.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the stored response for a key.
+     *
+     * @param key the idempotency key.
+     * @return the stored response, or null if there is none or it has expired.
+     */
+    StoredResponse get(String key);
+
+    /**
+     * Stores the response for a key, unless one is already stored.
+     *
+     * @param key      the idempotency key.
+     * @param response the response.
+     */
+    void put(String key, StoredResponse response);
+}
@@ -0,0 +1,37 @@
+package com.eventsphere.user.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * {@link IdempotencyStore} kept in memory, local to one instance.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> responses;
+
+    /**
+     * Creates a store holding at most the given number of responses, each for the given time.
+     *
+     * @param timeToLive  how long a response is kept after it is stored.
+     * @param maximumSize the maximum number of stored responses.
+     */
+    public InMemoryIdempotencyStore(final Duration timeToLive, final long maximumSize) {
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public StoredResponse get(final String key) {
+        return responses.getIfPresent(key);
+    }
+
+    @Override
+    public void put(final String key, final StoredResponse response) {
+        responses.asMap().putIfAbsent(key, response);
+    }
+}
@@ -0,0 +1,78 @@
+package com.eventsphere.user.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link IdempotencyStore} persisted in the {@code idempotency_key} table, so stored responses survive restarts
+ * and are shared between instances. Reads go through an in-memory store first.
+ */
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String TABLE = "user_service_schema.idempotency_key";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyStore memory;
+    private final Duration timeToLive;
+
+    /**
+     * Creates a store.
+     *
+     * @param jdbcTemplate the template to access the table with.
+     * @param memory       the in-memory store in front of the table.
+     * @param timeToLive   how long a response is kept after it is stored.
+     */
+    public JdbcIdempotencyStore(final JdbcTemplate jdbcTemplate, final IdempotencyStore memory,
+                                final Duration timeToLive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.memory = memory;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public StoredResponse get(final String key) {
+        StoredResponse response = memory.get(key);
+        if (response != null) {
+            return response;
+        }
+
+        List<StoredResponse> responses = jdbcTemplate.query(
+                "SELECT fingerprint, status, content_type, location, body FROM " + TABLE
+                        + " WHERE idempotency_key = ? AND expires_at > CURRENT_TIMESTAMP",
+                (rs, rowNum) -> new StoredResponse(rs.getBytes("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getString("location"), rs.getBytes("body")),
+                key);
+        if (responses.isEmpty()) {
+            return null;
+        }
+
+        memory.put(key, responses.get(0));
+        return responses.get(0);
+    }
+
+    @Override
+    public void put(final String key, final StoredResponse response) {
+        memory.put(key, response);
+        jdbcTemplate.update("INSERT INTO " + TABLE
+                        + " (idempotency_key, fingerprint, status, content_type, location, body, expires_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP + ? * INTERVAL '1 second')"
+                        + " ON CONFLICT (idempotency_key) DO NOTHING",
+                key, response.getFingerprint(), response.getStatus(), response.getContentType(),
+                response.getLocation(), response.getBody(), timeToLive.toSeconds());
+    }
+
+    /**
+     * Deletes the expired responses.
+     */
+    @Scheduled(fixedDelayString = "${user-service.idempotency.jdbc.purge-interval:PT10M}",
+            initialDelayString = "${user-service.idempotency.jdbc.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE expires_at <= CURRENT_TIMESTAMP");
+        log.debug("Purged {} expired idempotency keys", purged);
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventsphere.user.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.MessageDigest;
+
+/**
+ * The response to the first request made with an {@code Idempotency-Key}, replayed to its retries.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredResponse {
+
+    /**
+     * SHA-256 of the request method, URI and body, to tell a retry from another request reusing the key.
+     */
+    private final byte[] fingerprint;
+    private final int status;
+    private final String contentType;
+    private final String location;
+    private final byte[] body;
+
+    /**
+     * Checks whether a request is a retry of the stored one.
+     *
+     * @param requestFingerprint the fingerprint of the request.
+     * @return true if the request has the same fingerprint.
+     */
+    public boolean matches(final byte[] requestFingerprint) {
+        return MessageDigest.isEqual(fingerprint, requestFingerprint);
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventsphere.user.job;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes the users not modified for a given time before the job was started, the same way as
+ * {@code DELETE v1/users/{id}}: they are marked as deleted, their interests and subscriptions are removed by the
+ * next run of the {@link com.eventsphere.user.service.UserPurger}, and they are kept as tombstones of
+ * {@code GET v1/users/modified} until the purger removes them too.
+ *
+ * <p>The modification date is the only activity recorded for users: a user who signs in and subscribes to events
+ * without changing their profile is inactive to this job, so it is only registered when enabled explicitly.</p>
+ */
+public class DeactivateInactiveUsersJob implements UserJob {
+
+    public static final String NAME = "deactivate-inactive-users";
+
+    private static final String SQL = "UPDATE user_service_schema.\"user\" u"
+            + " SET deleted_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP"
+            + " WHERE u.id >= ? AND u.id < ? AND u.deleted_at IS NULL AND u.updated_at < ?"
+            + " RETURNING u.id";
+
+    private final Duration inactivity;
+
+    /**
+     * Creates the job.
+     *
+     * @param inactivity How long users must not have been modified to be deleted.
+     */
+    public DeactivateInactiveUsersJob(final Duration inactivity) {
+        this.inactivity = inactivity;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<Long> process(final JdbcTemplate jdbcTemplate, final long fromId, final long toId,
+                              final LocalDateTime startedAt) {
+        return jdbcTemplate.queryForList(SQL, Long.class, fromId, toId, Timestamp.valueOf(startedAt.minus(inactivity)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventsphere.user.job;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Trims and lower-cases the emails of active users. Users whose normalized email is also the normalized email of
+ * another active user are left as they are, whether the other email is normalized or not, so that two variants of
+ * an email are never both normalized into a duplicate. Chunks with emails to normalize read all active users once
+ * to find those collisions.
+ */
+public class NormalizeEmailsJob implements UserJob {
+
+    public static final String NAME = "normalize-emails";
+
+    private static final String SQL = "UPDATE user_service_schema.\"user\" u"
+            + " SET email = lower(trim(u.email)), updated_at = CURRENT_TIMESTAMP"
+            + " WHERE u.id >= ? AND u.id < ? AND u.deleted_at IS NULL AND u.email <> lower(trim(u.email))"
+            + " AND NOT EXISTS (SELECT 1 FROM user_service_schema.\"user\" o"
+            + " WHERE lower(trim(o.email)) = lower(trim(u.email)) AND o.deleted_at IS NULL AND o.id <> u.id)"
+            + " RETURNING u.id";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<Long> process(final JdbcTemplate jdbcTemplate, final long fromId, final long toId,
+                              final LocalDateTime startedAt) {
+        return jdbcTemplate.queryForList(SQL, Long.class, fromId, toId);
+    }
+}
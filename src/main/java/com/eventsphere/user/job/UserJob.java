@@ -0,0 +1,34 @@
+package com.eventsphere.user.job;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A bulk operation over all users, run by the {@link UserJobRunner} one chunk of IDs at a time.
+ *
+ * <p>A chunk must only touch the users of its ID range, so chunks can run in parallel, and must be repeatable
+ * from the state it left, in case the job is resumed after the transaction of a chunk was rolled back.</p>
+ */
+public interface UserJob {
+
+    /**
+     * Returns the name the job is started with, such as {@code normalize-emails}.
+     *
+     * @return The name.
+     */
+    String name();
+
+    /**
+     * Processes the users with {@code fromId <= id < toId}, in the transaction of the chunk.
+     *
+     * @param jdbcTemplate The template, bound to the transaction of the chunk.
+     * @param fromId       The first ID of the chunk.
+     * @param toId         The ID after the last one of the chunk.
+     * @param startedAt    When the job was started, the same for every chunk, even after a resume.
+     * @return The IDs of the changed users, published as {@link com.eventsphere.user.event.UserChangedEvent}s once
+     * the chunk is committed.
+     */
+    List<Long> process(JdbcTemplate jdbcTemplate, long fromId, long toId, LocalDateTime startedAt);
+}
@@ -0,0 +1,349 @@
+package com.eventsphere.user.job;
+
+import com.eventsphere.user.event.UserChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@link UserJob}s over the ID range of the users, in chunks.
+ *
+ * <p>A job splits the IDs between the lowest and highest ones when it is started into chunks of
+ * {@code chunkSize} IDs. Workers of a pool shared by all jobs take the chunks in order and process each one in
+ * its own short transaction, which also inserts the checkpoint of the chunk into {@code user_job_chunk}, so
+ * a chunk is committed with its checkpoint or not at all. Users created after the job was started are not
+ * processed.</p>
+ *
+ * <p>A paused job stops once the chunks in progress are committed. Resuming it, or a job interrupted by a
+ * failure or a restart, skips the checkpointed chunks. Jobs run on the instance they were started or resumed
+ * on; should two instances process the same job, the checkpoint of a chunk makes the second one skip it.</p>
+ */
+@Slf4j
+public class UserJobRunner implements AutoCloseable {
+
+    public static final int MAXIMUM_CHUNK_SIZE = 100_000;
+
+    static final String RUNNING = "RUNNING";
+    static final String PAUSED = "PAUSED";
+    static final String COMPLETED = "COMPLETED";
+    static final String FAILED = "FAILED";
+
+    private static final String SCHEMA = "user_service_schema";
+    private static final int MAXIMUM_ERROR_LENGTH = 1000;
+    private static final String PROGRESS_QUERY = "SELECT j.*,"
+            + " (SELECT count(*) FROM " + SCHEMA + ".user_job_chunk c WHERE c.job_id = j.id) AS completed_chunks,"
+            + " (SELECT coalesce(sum(c.changed), 0) FROM " + SCHEMA + ".user_job_chunk c WHERE c.job_id = j.id)"
+            + " AS changed FROM " + SCHEMA + ".user_job j";
+
+    private final Map<String, UserJob> jobs;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a runner.
+     *
+     * @param jobs                The jobs that can be started.
+     * @param jdbcTemplate        The template the jobs and checkpoints use.
+     * @param transactionTemplate The template of the chunk transactions.
+     * @param eventPublisher      The publisher of the {@link UserChangedEvent}s of changed users.
+     * @param workers             The pool the chunks are processed by.
+     * @param parallelism         The number of chunks of a job processed at once, at most the size of the pool.
+     */
+    public UserJobRunner(final List<UserJob> jobs, final JdbcTemplate jdbcTemplate,
+                         final TransactionTemplate transactionTemplate, final ApplicationEventPublisher eventPublisher,
+                         final ExecutorService workers, final int parallelism) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(UserJob::name, Function.identity()));
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.workers = workers;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the names of the jobs that can be started.
+     *
+     * @return The names, sorted.
+     */
+    public Set<String> jobNames() {
+        return new TreeSet<>(jobs.keySet());
+    }
+
+    /**
+     * Starts a job over the users existing now.
+     *
+     * @param name      The name of the job.
+     * @param chunkSize The number of IDs of each chunk, at most {@value #MAXIMUM_CHUNK_SIZE}.
+     * @return The progress of the started job.
+     * @throws IllegalArgumentException if the job is unknown or the chunk size is out of range.
+     */
+    public Progress start(final String name, final int chunkSize) {
+        if (!jobs.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown job " + name + ", expected one of " + jobNames());
+        }
+        if (chunkSize < 1 || chunkSize > MAXIMUM_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAXIMUM_CHUNK_SIZE);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO " + SCHEMA
+                    + ".user_job (name, status, min_id, max_id, chunk_size)"
+                    + " SELECT ?, ?, coalesce(min(id), 1), coalesce(max(id), 0), ? FROM " + SCHEMA + ".\"user\"",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, name);
+            statement.setString(2, RUNNING);
+            statement.setInt(3, chunkSize);
+            return statement;
+        }, keyHolder);
+        long id = ((Number) keyHolder.getKeys().get("id")).longValue();
+
+        Progress progress = progress(id);
+        log.info("Started job {} #{} over {} chunks of {} IDs", name, id, progress.getChunks(), chunkSize);
+        run(progress, Set.of());
+        return progress(id);
+    }
+
+    /**
+     * Pauses a running job, once the chunks in progress are committed.
+     *
+     * @param id The ID of the job.
+     * @return The progress of the job.
+     * @throws IllegalStateException if the job is not running on this instance.
+     */
+    public Progress pause(final long id) {
+        Run run = runs.get(id);
+        if (run == null || run.stopped) {
+            throw new IllegalStateException("Job #" + id + " is not running on this instance");
+        }
+        run.stopped = true;
+        setStatus(id, PAUSED, null);
+        log.info("Pausing job {} #{}", run.job.name(), id);
+        return progress(id);
+    }
+
+    /**
+     * Resumes a paused or failed job, or a running one no instance is processing anymore, after a restart.
+     *
+     * @param id The ID of the job.
+     * @return The progress of the job, or null if there is no such job.
+     * @throws IllegalStateException if the job is completed or still running on this instance.
+     */
+    public Progress resume(final long id) {
+        Progress progress = progress(id);
+        if (progress == null) {
+            return null;
+        }
+        if (COMPLETED.equals(progress.getStatus()) || runs.containsKey(id)) {
+            throw new IllegalStateException("Job #" + id + " is " + progress.getStatus().toLowerCase(Locale.ROOT)
+                    + (runs.containsKey(id) ? " on this instance" : ""));
+        }
+        if (!jobs.containsKey(progress.getName())) {
+            throw new IllegalStateException("Job #" + id + " runs " + progress.getName() + ", which is unknown");
+        }
+
+        setStatus(id, RUNNING, null);
+        Set<Long> completed = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT from_id FROM " + SCHEMA + ".user_job_chunk WHERE job_id = ?", Long.class, id));
+        log.info("Resuming job {} #{}, {} of {} chunks done", progress.getName(), id, completed.size(),
+                progress.getChunks());
+        run(progress, completed);
+        return progress(id);
+    }
+
+    /**
+     * Returns the progress of a job.
+     *
+     * @param id The ID of the job.
+     * @return The progress, or null if there is no such job.
+     */
+    public Progress progress(final long id) {
+        List<Progress> progress = jdbcTemplate.query(PROGRESS_QUERY + " WHERE j.id = ?", this::mapProgress, id);
+        return progress.isEmpty() ? null : progress.get(0);
+    }
+
+    /**
+     * Returns the progress of all jobs.
+     *
+     * @return The progress of each job, the latest first.
+     */
+    public List<Progress> progress() {
+        return jdbcTemplate.query(PROGRESS_QUERY + " ORDER BY j.id DESC", this::mapProgress);
+    }
+
+    /**
+     * Stops the jobs running on this instance, leaving them running in the database so they can be resumed.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        runs.values().forEach(run -> run.stopped = true);
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Jobs did not stop within 30 seconds: {}", runs.keySet());
+        }
+    }
+
+    private void run(final Progress progress, final Set<Long> completed) {
+        Run run = new Run(progress.getId(), jobs.get(progress.getName()), progress.getMinId(),
+                progress.getChunkSize(), progress.getChunks(), progress.getCreatedAt(), completed);
+        runs.put(run.id, run);
+        int runWorkers = (int) Math.max(1, Math.min(parallelism, run.chunks));
+        run.workers.set(runWorkers);
+        for (int i = 0; i < runWorkers; i++) {
+            workers.execute(() -> work(run));
+        }
+    }
+
+    private void work(final Run run) {
+        try {
+            long chunk;
+            while (!run.stopped && (chunk = run.nextChunk.getAndIncrement()) < run.chunks) {
+                long fromId = run.minId + chunk * run.chunkSize;
+                if (run.completed.contains(fromId)) {
+                    continue;
+                }
+                List<Long> changed = transactionTemplate.execute(status -> processChunk(run, fromId));
+                if (changed != null) {
+                    changed.forEach(userId -> eventPublisher.publishEvent(new UserChangedEvent(userId)));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!run.stopped) {
+                run.stopped = true;
+                log.error("Job {} #{} failed", run.job.name(), run.id, e);
+                String error = String.valueOf(e.getMessage());
+                setStatus(run.id, FAILED, error.substring(0, Math.min(error.length(), MAXIMUM_ERROR_LENGTH)));
+            }
+        } finally {
+            if (run.workers.decrementAndGet() == 0) {
+                finish(run);
+            }
+        }
+    }
+
+    /**
+     * Processes a chunk unless it is checkpointed already, in the transaction of the chunk.
+     *
+     * @return The IDs of the changed users, or null if the chunk was checkpointed already.
+     */
+    private List<Long> processChunk(final Run run, final long fromId) {
+        // Blocks until a concurrent transaction processing the same chunk ends, then skips it if it committed
+        int claimed = jdbcTemplate.update("INSERT INTO " + SCHEMA + ".user_job_chunk (job_id, from_id, changed)"
+                + " VALUES (?, ?, 0) ON CONFLICT DO NOTHING", run.id, fromId);
+        if (claimed == 0) {
+            return null;
+        }
+        List<Long> changed = run.job.process(jdbcTemplate, fromId, fromId + run.chunkSize, run.startedAt);
+        jdbcTemplate.update("UPDATE " + SCHEMA + ".user_job_chunk SET changed = ? WHERE job_id = ? AND from_id = ?",
+                changed.size(), run.id, fromId);
+        return changed;
+    }
+
+    private void finish(final Run run) {
+        runs.remove(run.id, run);
+        if (run.stopped) {
+            return;
+        }
+        Progress progress = progress(run.id);
+        if (progress.getCompletedChunks() == progress.getChunks()) {
+            setStatus(run.id, COMPLETED, null);
+            log.info("Completed job {} #{}, {} users changed", run.job.name(), run.id, progress.getChangedUsers());
+        }
+    }
+
+    private void setStatus(final long id, final String status, final String error) {
+        jdbcTemplate.update("UPDATE " + SCHEMA + ".user_job SET status = ?, error = ?, updated_at = CURRENT_TIMESTAMP"
+                + " WHERE id = ?", status, error, id);
+    }
+
+    private Progress mapProgress(final ResultSet resultSet, final int rowNumber) throws SQLException {
+        long id = resultSet.getLong("id");
+        long minId = resultSet.getLong("min_id");
+        long maxId = resultSet.getLong("max_id");
+        int chunkSize = resultSet.getInt("chunk_size");
+        long chunks = maxId < minId ? 0 : (maxId - minId) / chunkSize + 1;
+        long completedChunks = resultSet.getLong("completed_chunks");
+        return new Progress(id, resultSet.getString("name"), resultSet.getString("status"), runs.containsKey(id),
+                minId, maxId, chunkSize, chunks, completedChunks,
+                chunks == 0 ? 100 : Math.floor(completedChunks * 1000.0 / chunks) / 10,
+                resultSet.getLong("changed"), resultSet.getString("error"),
+                resultSet.getTimestamp("created_at").toLocalDateTime(),
+                resultSet.getTimestamp("updated_at").toLocalDateTime());
+    }
+
+    private static final class Run {
+
+        private final long id;
+        private final UserJob job;
+        private final long minId;
+        private final long chunkSize;
+        private final long chunks;
+        private final LocalDateTime startedAt;
+        private final Set<Long> completed;
+        private final AtomicLong nextChunk = new AtomicLong();
+        private final AtomicInteger workers = new AtomicInteger();
+        private volatile boolean stopped;
+
+        private Run(final long id, final UserJob job, final long minId, final long chunkSize, final long chunks,
+                    final LocalDateTime startedAt, final Set<Long> completed) {
+            this.id = id;
+            this.job = job;
+            this.minId = minId;
+            this.chunkSize = chunkSize;
+            this.chunks = chunks;
+            this.startedAt = startedAt;
+            this.completed = completed;
+        }
+    }
+
+    /**
+     * The progress of a job. {@code running} tells whether this instance is processing it.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Progress {
+
+        private final long id;
+        private final String name;
+        private final String status;
+        private final boolean running;
+        private final long minId;
+        private final long maxId;
+        private final int chunkSize;
+        private final long chunks;
+        private final long completedChunks;
+        private final double percent;
+        private final long changedUsers;
+        private final String error;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+    }
+}
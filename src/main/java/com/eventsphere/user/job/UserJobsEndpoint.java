@@ -0,0 +1,71 @@
+package com.eventsphere.user.job;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/userjobs}) showing the progress of the bulk jobs. A {@code POST} starts a
+ * job, e.g. with {@code {"job": "normalize-emails", "chunkSize": 1000}}, and a {@code POST} to
+ * {@code /actuator/userjobs/{id}} with {@code {"action": "pause"}} or {@code {"action": "resume"}} pauses or
+ * resumes it, with 409 if the job is not in a state allowing it.
+ * Needs to be exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "userjobs")
+public class UserJobsEndpoint {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final UserJobRunner runner;
+
+    public UserJobsEndpoint(final UserJobRunner runner) {
+        this.runner = runner;
+    }
+
+    @ReadOperation
+    public List<UserJobRunner.Progress> jobs() {
+        return runner.progress();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<UserJobRunner.Progress> job(@Selector final long id) {
+        UserJobRunner.Progress progress = runner.progress(id);
+        if (progress == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(progress);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<UserJobRunner.Progress> start(final String job, @Nullable final Integer chunkSize) {
+        try {
+            return new WebEndpointResponse<>(runner.start(job, chunkSize != null ? chunkSize : DEFAULT_CHUNK_SIZE));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<UserJobRunner.Progress> control(@Selector final long id, final String action) {
+        try {
+            UserJobRunner.Progress progress = switch (action) {
+                case "pause" -> runner.progress(id) != null ? runner.pause(id) : null;
+                case "resume" -> runner.resume(id);
+                default -> throw new IllegalArgumentException("Unknown action " + action);
+            };
+            if (progress == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(progress);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(409);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.eventsphere.user.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limiter whose limit adapts to the observed latency (AIMD).
+ *
+ * <p>A request is admitted while fewer than {@code limit} requests are in flight and rejected otherwise; it is
+ * never queued. Each completed request adjusts the limit: a request slower than the latency threshold
+ * multiplies it by {@value #BACKOFF_RATIO}, a fast request adds one if at least half of the limit was in use.
+ * The limit stays between the configured minimum and maximum.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private double estimatedLimit;
+    private volatile int limit;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit     the limit to start with.
+     * @param minLimit         the lowest the limit can go.
+     * @param maxLimit         the highest the limit can go.
+     * @param latencyThreshold the latency above which a request counts as a sign of overload.
+     */
+    public AdaptiveConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+                                      final Duration latencyThreshold) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if the limit allows it. An admitted request must be {@linkplain #release released}.
+     *
+     * @return true if the request is admitted, false if it is rejected.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit to its latency.
+     *
+     * @param latencyNanos how long the request took.
+     */
+    public void release(final long latencyNanos) {
+        int requestsInFlight = inFlight.getAndDecrement();
+        adjust(latencyNanos, requestsInFlight);
+    }
+
+    /**
+     * Returns the current state of the limiter.
+     *
+     * @return a snapshot of the limiter.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(limit, inFlight.get(), rejected.sum(), minLimit, maxLimit,
+                Duration.ofNanos(latencyThresholdNanos).toMillis());
+    }
+
+    private synchronized void adjust(final long latencyNanos, final int requestsInFlight) {
+        if (latencyNanos > latencyThresholdNanos) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+        } else if (requestsInFlight * 2 >= estimatedLimit) {
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + 1);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * The state of a limiter at one point in time.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        private final int limit;
+        private final int inFlight;
+        private final long rejected;
+        private final int minLimit;
+        private final int maxLimit;
+        private final long latencyThresholdMillis;
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventsphere.user.limit;
+
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Locale;
+
+/**
+ * Admits requests through the limiter of their {@link ConcurrencyLimits.EndpointClass}: {@code GET} and
+ * {@code HEAD} requests are reads, everything else is a write.
+ *
+ * <p>A request over the limit fails right away with a {@link ServiceUnavailableException} (503) and a
+ * {@code Retry-After} header, instead of waiting for a database connection.</p>
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public ConcurrencyLimitInterceptor(final ConcurrencyLimits concurrencyLimits) {
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+        ConcurrencyLimits.EndpointClass endpointClass = endpointClass(request);
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimits.get(endpointClass);
+
+        if (!limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            throw new ServiceUnavailableException("Too many concurrent "
+                    + endpointClass.name().toLowerCase(Locale.ROOT) + " requests, retry later");
+        }
+
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        if (request.getAttribute(LIMITER_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter limiter) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            limiter.release(System.nanoTime() - (long) request.getAttribute(START_ATTRIBUTE));
+        }
+    }
+
+    private static ConcurrencyLimits.EndpointClass endpointClass(final HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? ConcurrencyLimits.EndpointClass.READ
+                : ConcurrencyLimits.EndpointClass.WRITE;
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventsphere.user.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The concurrency limiters of the API, one per {@link EndpointClass}, so a burst of writes cannot use up the
+ * budget of reads and the other way round.
+ *
+ * <p>Publishes the limit, the requests in flight and the rejected requests of each class as the
+ * {@code user_service.concurrency.limit}, {@code user_service.concurrency.in_flight} and
+ * {@code user_service.concurrency.rejected} meters, tagged with the class.</p>
+ */
+public class ConcurrencyLimits implements MeterBinder {
+
+    /**
+     * Classes of endpoints with separate concurrency budgets.
+     */
+    public enum EndpointClass {
+        READ,
+        WRITE
+    }
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters;
+
+    public ConcurrencyLimits(final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters) {
+        this.limiters = Collections.unmodifiableMap(new EnumMap<>(limiters));
+    }
+
+    /**
+     * Returns the limiter of an endpoint class.
+     *
+     * @param endpointClass the endpoint class.
+     * @return the limiter.
+     */
+    public AdaptiveConcurrencyLimiter get(final EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    /**
+     * Returns all limiters by endpoint class.
+     *
+     * @return the limiters.
+     */
+    public Map<EndpointClass, AdaptiveConcurrencyLimiter> getAll() {
+        return limiters;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("user_service.concurrency.limit", limiter, l -> l.snapshot().getLimit())
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("user_service.concurrency.in_flight", limiter, l -> l.snapshot().getInFlight())
+                    .tag("class", tag)
+                    .register(registry);
+            FunctionCounter.builder("user_service.concurrency.rejected", limiter, l -> l.snapshot().getRejected())
+                    .tag("class", tag)
+                    .register(registry);
+        });
+    }
+}
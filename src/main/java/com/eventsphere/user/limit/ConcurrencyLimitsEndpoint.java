@@ -0,0 +1,30 @@
+package com.eventsphere.user.limit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint ({@code /actuator/concurrencylimits}) showing the state of the concurrency limiters.
+ * Needs to be exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitsEndpoint {
+
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public ConcurrencyLimitsEndpoint(final ConcurrencyLimits concurrencyLimits) {
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
+    @ReadOperation
+    public Map<String, AdaptiveConcurrencyLimiter.Snapshot> limits() {
+        Map<String, AdaptiveConcurrencyLimiter.Snapshot> limits = new TreeMap<>();
+        concurrencyLimits.getAll().forEach((endpointClass, limiter) ->
+                limits.put(endpointClass.name().toLowerCase(Locale.ROOT), limiter.snapshot()));
+        return limits;
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventsphere.user.limit;
+
+import com.eventsphere.user.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the requests of one endpoint, with one {@link TokenBucketLimiter} per {@link Key}: a request
+ * takes a token from each bucket it has a key for.
+ *
+ * <p>A request over a limit fails right away with a {@link TooManyRequestsException} (429) and a
+ * {@code Retry-After} header, before the controller, and so the database, sees it. Requests with another
+ * method than the endpoint's pass through.</p>
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    /**
+     * What the buckets of a limiter are keyed by.
+     */
+    @Getter
+    public enum Key {
+        /**
+         * The client address: the one forwarded by a trusted proxy when {@code server.forward-headers-strategy}
+         * is set, else the address of the connection.
+         */
+        CLIENT("client", "client"),
+        /**
+         * The API key header; requests without one are not limited by it.
+         */
+        API_KEY("api-key", "API key"),
+        /**
+         * The {@code id} path variable, i.e. the user the request acts on.
+         */
+        USER("user", "user");
+
+        private final String id;
+        private final String description;
+
+        Key(final String id, final String description) {
+            this.id = id;
+            this.description = description;
+        }
+    }
+
+    private final HttpMethod method;
+    private final String endpoint;
+    private final Map<Key, TokenBucketLimiter> limiters;
+    private final String apiKeyHeader;
+
+    /**
+     * Creates an interceptor.
+     *
+     * @param method       the method of the endpoint.
+     * @param endpoint     the name of the endpoint, for error messages.
+     * @param limiters     the limiters to take a token from, by key.
+     * @param apiKeyHeader the header carrying the API key.
+     */
+    public RateLimitInterceptor(final HttpMethod method, final String endpoint,
+                                final Map<Key, TokenBucketLimiter> limiters, final String apiKeyHeader) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.limiters = Collections.unmodifiableMap(new EnumMap<>(limiters));
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+        if (!method.matches(request.getMethod())) {
+            return true;
+        }
+
+        for (Map.Entry<Key, TokenBucketLimiter> entry : limiters.entrySet()) {
+            String key = key(entry.getKey(), request);
+            if (key == null) {
+                continue;
+            }
+
+            long waitNanos = entry.getValue().tryAcquire(key);
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                        / TimeUnit.SECONDS.toNanos(1));
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                throw new TooManyRequestsException("Too many " + endpoint + " requests for this "
+                        + entry.getKey().getDescription() + ", retry in " + retryAfterSeconds + " seconds");
+            }
+        }
+        return true;
+    }
+
+    private String key(final Key key, final HttpServletRequest request) {
+        return switch (key) {
+            case CLIENT -> request.getRemoteAddr();
+            case API_KEY -> request.getHeader(apiKeyHeader);
+            case USER -> userId(request);
+        };
+    }
+
+    private static String userId(final HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get("id") instanceof String id) {
+            return id;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventsphere.user.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The rate limiters of the API by name, such as {@code create-user.client}: the endpoint and what the buckets
+ * are keyed by.
+ *
+ * <p>Publishes the buckets in use, the admitted and the rejected requests of each limiter as the
+ * {@code user_service.rate_limit.keys}, {@code user_service.rate_limit.admitted} and
+ * {@code user_service.rate_limit.rejected} meters, tagged with the limiter name.</p>
+ */
+public class RateLimits implements MeterBinder {
+
+    private final Map<String, TokenBucketLimiter> limiters;
+
+    public RateLimits(final Map<String, TokenBucketLimiter> limiters) {
+        this.limiters = Collections.unmodifiableMap(new TreeMap<>(limiters));
+    }
+
+    /**
+     * Returns a limiter by name.
+     *
+     * @param name the limiter name.
+     * @return the limiter, or null if there is none with this name.
+     */
+    public TokenBucketLimiter get(final String name) {
+        return limiters.get(name);
+    }
+
+    /**
+     * Returns all limiters by name.
+     *
+     * @return the limiters.
+     */
+    public Map<String, TokenBucketLimiter> getAll() {
+        return limiters;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        limiters.forEach((name, limiter) -> {
+            Gauge.builder("user_service.rate_limit.keys", limiter, l -> l.snapshot().getKeys())
+                    .tag("limit", name)
+                    .register(registry);
+            FunctionCounter.builder("user_service.rate_limit.admitted", limiter, l -> l.snapshot().getAdmitted())
+                    .tag("limit", name)
+                    .register(registry);
+            FunctionCounter.builder("user_service.rate_limit.rejected", limiter, l -> l.snapshot().getRejected())
+                    .tag("limit", name)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventsphere.user.limit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/ratelimits}) showing the configuration and state of the rate limiters.
+ * Needs to be exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "ratelimits")
+public class RateLimitsEndpoint {
+
+    private final RateLimits rateLimits;
+
+    public RateLimitsEndpoint(final RateLimits rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+
+    @ReadOperation
+    public Map<String, TokenBucketLimiter.Snapshot> limits() {
+        Map<String, TokenBucketLimiter.Snapshot> limits = new LinkedHashMap<>();
+        rateLimits.getAll().forEach((name, limiter) -> limits.put(name, limiter.snapshot()));
+        return limits;
+    }
+}
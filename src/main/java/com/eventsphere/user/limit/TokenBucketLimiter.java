@@ -0,0 +1,122 @@
+package com.eventsphere.user.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limiter with one token bucket per key, such as a client address or a user ID.
+ *
+ * <p>Each bucket holds up to {@code capacity} tokens and refills completely in {@code period}, one token every
+ * {@code period / capacity}. A request takes a token or is rejected; it is never queued. A bucket is stored
+ * as the single time at which it will be full again, so taking a token is one comparison.</p>
+ *
+ * <p>Buckets live in a Caffeine cache bounded to {@code maximumKeys}. A bucket left alone for {@code period}
+ * is full again, which is the same as having no bucket, so it expires then without losing anything. Only
+ * when more than {@code maximumKeys} keys are active at once are buckets evicted early.</p>
+ */
+public class TokenBucketLimiter {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long maximumKeys;
+    private final Ticker ticker;
+
+    private final Cache<String, Bucket> buckets;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param capacity    the tokens of a full bucket, i.e. the largest burst of a key.
+     * @param period      the time a bucket takes to refill completely.
+     * @param maximumKeys the number of buckets kept at most.
+     */
+    public TokenBucketLimiter(final int capacity, final Duration period, final long maximumKeys) {
+        this(capacity, period, maximumKeys, Ticker.systemTicker());
+    }
+
+    TokenBucketLimiter(final int capacity, final Duration period, final long maximumKeys, final Ticker ticker) {
+        if (capacity < 1 || period.toNanos() < capacity || maximumKeys < 1) {
+            throw new IllegalArgumentException("Expected a capacity and maximum keys of at least 1 and a period"
+                    + " of at least capacity nanoseconds, got " + capacity + ", " + period + ", " + maximumKeys);
+        }
+        this.capacity = capacity;
+        this.intervalNanos = period.toNanos() / capacity;
+        this.burstNanos = intervalNanos * capacity;
+        this.maximumKeys = maximumKeys;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .maximumSize(maximumKeys)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of a key.
+     *
+     * @param key the key, such as a client address.
+     * @return 0 if a token was taken, otherwise how many nanoseconds until the bucket has a token again.
+     */
+    public long tryAcquire(final String key) {
+        Bucket bucket = buckets.get(key, k -> new Bucket());
+        long now = ticker.read();
+
+        long waitNanos;
+        synchronized (bucket) {
+            long next = Math.max(bucket.fullAt, now) + intervalNanos;
+            waitNanos = next - now - burstNanos;
+            if (waitNanos <= 0) {
+                bucket.fullAt = next;
+            }
+        }
+
+        if (waitNanos > 0) {
+            rejected.increment();
+            return waitNanos;
+        }
+        admitted.increment();
+        return 0;
+    }
+
+    /**
+     * Returns the current state of the limiter.
+     *
+     * @return a snapshot of the limiter.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(capacity, Duration.ofNanos(burstNanos).toMillis(), maximumKeys,
+                buckets.estimatedSize(), admitted.sum(), rejected.sum());
+    }
+
+    private static final class Bucket {
+
+        /**
+         * When the bucket is full again; a full bucket has any time up to now.
+         */
+        private long fullAt = Long.MIN_VALUE;
+    }
+
+    /**
+     * The state of a limiter at one point in time.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        private final int capacity;
+        private final long periodMillis;
+        private final long maximumKeys;
+        private final long keys;
+        private final long admitted;
+        private final long rejected;
+    }
+}
@@ -10,6 +10,7 @@ import lombok.ToString;
 import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.Where;
 import org.springframework.hateoas.RepresentationModel;
 
 import java.sql.Date;
@@ -18,14 +19,23 @@ import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.eventsphere.user.validation.UserConstraints.*;
+
 @Entity
 @Table(name = "user", schema = "user_service_schema", catalog = "event_sphere")
+@Where(clause = User.ACTIVE_CLAUSE)
 @Getter
 @Setter
 @ToString
 @RequiredArgsConstructor
 public class User extends RepresentationModel<User> {
 
+    /**
+     * Condition matching users that are not deleted. Deleted users stay in the table, with a {@code deleted_at}
+     * date, until they are purged.
+     */
+    public static final String ACTIVE_CLAUSE = "deleted_at IS NULL";
+
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
     @Column(name = "id", nullable = false)
@@ -33,54 +43,80 @@ public class User extends RepresentationModel<User> {
 
     @Basic
     @Column(name = "username", nullable = false, length = 50)
-    @NotNull(message = "Provide a username")
-    @Size(min = 3, message = "Username must be at least 3 characters")
-    @Size(max = 50, message = "Username must be no more than 50 characters")
+    @NotNull(message = USERNAME_REQUIRED)
+    @Size(min = USERNAME_MIN_LENGTH, message = USERNAME_TOO_SHORT)
+    @Size(max = USERNAME_MAX_LENGTH, message = USERNAME_TOO_LONG)
     private String username;
 
     @Basic
     @Column(name = "password", nullable = false)
-    @NotNull(message = "Provide a password")
-    @Size(min = 6, message = "Password must be at least 6 characters")
-    @Size(max = 255, message = "Password must be no more than 255 characters")
-    @Pattern(regexp = "^(?=.*[a-zA-Z])(?=.*[0-9]).+$", message = "Password must have at least 1 number and 1 letter")
+    @NotNull(message = PASSWORD_REQUIRED)
+    @Size(min = PASSWORD_MIN_LENGTH, message = PASSWORD_TOO_SHORT)
+    @Size(max = PASSWORD_MAX_LENGTH, message = PASSWORD_TOO_LONG)
+    @Pattern(regexp = PASSWORD_PATTERN, message = PASSWORD_TOO_WEAK)
     private String password;
 
     @Basic
     @Column(name = "email", nullable = false, length = 100)
-    @NotNull(message = "Provide an email")
-    @Email(message = "Provide a valid email")
+    @NotNull(message = EMAIL_REQUIRED)
+    @Email(message = EMAIL_INVALID)
     private String email;
 
     @Basic
     @Column(name = "first_name", length = 50)
-    @Size(min = 3, message = "First name must be at least 3 characters")
-    @Size(max = 50, message = "First name must be no more than 50 characters")
+    @Size(min = NAME_MIN_LENGTH, message = FIRST_NAME_TOO_SHORT)
+    @Size(max = NAME_MAX_LENGTH, message = FIRST_NAME_TOO_LONG)
     private String firstName;
 
     @Basic
     @Column(name = "last_name", length = 50)
-    @Size(min = 3, message = "Last name must be at least 3 characters")
-    @Size(max = 50, message = "Last name must be no more than 50 characters")
+    @Size(min = NAME_MIN_LENGTH, message = LAST_NAME_TOO_SHORT)
+    @Size(max = NAME_MAX_LENGTH, message = LAST_NAME_TOO_LONG)
     private String lastName;
 
     @Basic
     @Column(name = "date_of_birth")
-    @Past(message = "Birth date must be in the past")
+    @Past(message = DATE_OF_BIRTH_NOT_PAST)
     private Date dateOfBirth;
 
     @Basic
     @Column(name = "created_at", updatable = false)
     @CreationTimestamp
-    @Null(message = "Cannot manually set creation date")
+    @Null(message = CREATED_AT_SET)
     private Timestamp createdAt;
 
     @Basic
     @Column(name = "updated_at")
     @UpdateTimestamp
-    @Null(message = "Cannot manually set modification date")
+    @Null(message = UPDATED_AT_SET)
     private Timestamp updatedAt;
 
+    /**
+     * When the user was deleted, only ever set on the tombstones of {@code GET v1/users/modified}, as deleted
+     * users are not loaded otherwise.
+     */
+    @Basic
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    @JsonIgnore
+    private Timestamp deletedAt;
+
+    /**
+     * Position of the user in the change feed of {@code GET v1/users/modified}: the transaction that last wrote
+     * it, set by the database.
+     */
+    @Basic
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long changeXid;
+
+    /**
+     * Order of the last write of the user in the change feed, after {@link #changeXid}, set by the database.
+     */
+    @Basic
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long changeSeq;
+
     @OneToMany(mappedBy = "user")
     @ToString.Exclude
     @JsonIgnore
@@ -96,6 +132,23 @@ public class User extends RepresentationModel<User> {
     @JsonIgnore
     private Set<UserInterest> userInterests = new LinkedHashSet<>();
 
+    /**
+     * Creates a copy of the given user's columns, without its links and relations.
+     *
+     * @param user the user to copy.
+     */
+    public User(User user) {
+        this.id = user.id;
+        this.username = user.username;
+        this.password = user.password;
+        this.email = user.email;
+        this.firstName = user.firstName;
+        this.lastName = user.lastName;
+        this.dateOfBirth = user.dateOfBirth;
+        this.createdAt = user.createdAt;
+        this.updatedAt = user.updatedAt;
+    }
+
     // For testing purposes only
     public User(Long id, @NotNull String username, @NotNull String password, @NotNull String email) {
         this.id = id;
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.sql.Timestamp;
 import java.util.Objects;
@@ -28,12 +29,19 @@ public class UserEventSubscription {
     @ToString.Exclude
     private User user;
 
+    /**
+     * Partition key of the table, so it is always set.
+     */
     @Basic
-    @Column(name = "event_id")
+    @Column(name = "event_id", nullable = false)
     private Long eventId;
 
+    /**
+     * Subscriptions are expired by the {@link com.eventsphere.user.service.SubscriptionExpirer} on this date.
+     */
     @Basic
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
     private Timestamp createdAt;
 
     @Override
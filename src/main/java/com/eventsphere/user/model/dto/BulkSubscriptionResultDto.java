@@ -0,0 +1,32 @@
+package com.eventsphere.user.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a bulk subscribe or unsubscribe.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkSubscriptionResultDto {
+
+    /**
+     * Number of user ids in the request body.
+     */
+    private final long received;
+
+    /**
+     * Number of subscriptions created.
+     */
+    private final long inserted;
+
+    /**
+     * Number of subscriptions removed.
+     */
+    private final long deleted;
+
+    /**
+     * Number of user ids that changed nothing: duplicates, users already (un)subscribed and unknown users.
+     */
+    private final long skipped;
+}
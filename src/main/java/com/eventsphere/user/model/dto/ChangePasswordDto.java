@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import static com.eventsphere.user.validation.UserConstraints.*;
+
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,9 +18,9 @@ public class ChangePasswordDto {
     private String oldPassword;
 
     @JsonProperty("new")
-    @Size(min = 6, message = "Password must be at least 6 characters")
-    @Size(max = 255, message = "Password must be no more than 255 characters")
-    @Pattern(regexp = "^(?=.*[a-zA-Z])(?=.*[0-9]).+$", message = "Password must have at least 1 number and 1 letter")
+    @Size(min = PASSWORD_MIN_LENGTH, message = PASSWORD_TOO_SHORT)
+    @Size(max = PASSWORD_MAX_LENGTH, message = PASSWORD_TOO_LONG)
+    @Pattern(regexp = PASSWORD_PATTERN, message = PASSWORD_TOO_WEAK)
     private String newPassword;
 
     @JsonProperty("confirm")
@@ -0,0 +1,33 @@
+package com.eventsphere.user.model.dto;
+
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An event or category often subscribed to by the subscribers of another one.
+ */
+@Getter
+@AllArgsConstructor
+public class RelatedItemDto {
+
+    /**
+     * Whether the related item is an event or a category.
+     */
+    private final Target target;
+
+    /**
+     * ID of the related event or category.
+     */
+    private final long itemId;
+
+    /**
+     * Number of users subscribed to both items.
+     */
+    private final long coSubscribers;
+
+    /**
+     * Share of the subscribers of the other item also subscribed to this one, from 0 to 1.
+     */
+    private final double share;
+}
@@ -0,0 +1,22 @@
+package com.eventsphere.user.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A user similar to another one, by interests and subscriptions.
+ */
+@Getter
+@AllArgsConstructor
+public class SimilarUserDto {
+
+    /**
+     * ID of the similar user.
+     */
+    private final long userId;
+
+    /**
+     * Estimated Jaccard similarity of the interests and subscriptions of both users, from 0 to 1.
+     */
+    private final double similarity;
+}
@@ -0,0 +1,48 @@
+package com.eventsphere.user.model.dto;
+
+import com.eventsphere.user.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.sql.Timestamp;
+
+/**
+ * A change of the user feed: the user as it is now, or a tombstone if it was deleted.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Relation(itemRelation = "change", collectionRelation = "userChangeList")
+public class UserChangeDto extends RepresentationModel<UserChangeDto> {
+
+    private final Long id;
+
+    private final boolean deleted;
+
+    private final Timestamp updatedAt;
+
+    /**
+     * The position of this change in the feed, to pass as {@code after} to continue after it.
+     */
+    private final String cursor;
+
+    /**
+     * The user, null for a tombstone.
+     */
+    private final User user;
+
+    /**
+     * Creates the change of a modified or deleted user.
+     *
+     * @param user   the user, with its deletion date if it was deleted.
+     * @param cursor the position of the change in the feed.
+     */
+    public UserChangeDto(final User user, final String cursor) {
+        this.id = user.getId();
+        this.deleted = user.getDeletedAt() != null;
+        this.updatedAt = user.getUpdatedAt();
+        this.cursor = cursor;
+        this.user = deleted ? null : user;
+    }
+}
@@ -7,24 +7,26 @@ import lombok.Data;
 
 import java.sql.Date;
 
+import static com.eventsphere.user.validation.UserConstraints.*;
+
 @Data
 public class UserDto {
 
-    @Size(min = 3, message = "Username must be at least 3 characters")
-    @Size(max = 50, message = "Username must be no more than 50 characters")
+    @Size(min = USERNAME_MIN_LENGTH, message = USERNAME_TOO_SHORT)
+    @Size(max = USERNAME_MAX_LENGTH, message = USERNAME_TOO_LONG)
     private String username;
 
-    @Email(message = "Provide a valid email")
+    @Email(message = EMAIL_INVALID)
     private String email;
 
-    @Size(min = 3, message = "First name must be at least 3 characters")
-    @Size(max = 50, message = "First name must be no more than 50 characters")
+    @Size(min = NAME_MIN_LENGTH, message = FIRST_NAME_TOO_SHORT)
+    @Size(max = NAME_MAX_LENGTH, message = FIRST_NAME_TOO_LONG)
     private String firstName;
 
-    @Size(min = 3, message = "Last name must be at least 3 characters")
-    @Size(max = 50, message = "Last name must be no more than 50 characters")
+    @Size(min = NAME_MIN_LENGTH, message = LAST_NAME_TOO_SHORT)
+    @Size(max = NAME_MAX_LENGTH, message = LAST_NAME_TOO_LONG)
     private String lastName;
 
-    @Past(message = "Birth date must be in the past")
+    @Past(message = DATE_OF_BIRTH_NOT_PAST)
     private Date dateOfBirth;
 }
@@ -0,0 +1,41 @@
+package com.eventsphere.user.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.Map;
+
+/**
+ * A sparse fieldset of a user: only the requested properties are serialized.
+ */
+@Getter
+@Relation(itemRelation = "user", collectionRelation = "userList")
+public class UserFieldsDto extends RepresentationModel<UserFieldsDto> {
+
+    /**
+     * The ID of the user, always loaded to build links, but only serialized when requested.
+     */
+    @JsonIgnore
+    private final Long id;
+
+    private final Map<String, Object> fields;
+
+    /**
+     * Creates a sparse fieldset.
+     *
+     * @param id     the ID of the user.
+     * @param fields the requested properties, in order.
+     */
+    public UserFieldsDto(final Long id, final Map<String, Object> fields) {
+        this.id = id;
+        this.fields = fields;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+}
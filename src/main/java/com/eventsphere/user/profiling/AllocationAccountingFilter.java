@@ -0,0 +1,82 @@
+package com.eventsphere.user.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records the bytes the request thread allocates while serving each request in {@link RequestAllocations}, from
+ * this filter to the written response, by the thread allocation counter of the JVM. While a JFR recording
+ * enables it, each request is also recorded as a {@link RequestEvent}.
+ *
+ * <p>Requests are tagged with the URI template they matched, taken from the observation context like the
+ * {@code uri} tag of {@code http.server.requests}, so responses served by a filter without reaching a handler,
+ * such as cached users, are still attributed to their endpoint. Allocations on other threads, such as the
+ * writer of an asynchronous export, are not counted.</p>
+ */
+public class AllocationAccountingFilter extends OncePerRequestFilter {
+
+    static final String UNKNOWN_URI = "UNKNOWN";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final RequestAllocations allocations;
+
+    public AllocationAccountingFilter(final RequestAllocations allocations) {
+        this.allocations = allocations;
+    }
+
+    /**
+     * Returns whether the JVM counts the bytes allocated by each thread, enabling the counter if needed.
+     *
+     * @return true if the filter can record allocations.
+     */
+    public static boolean isSupported() {
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        if (!THREADS.isThreadAllocatedMemoryEnabled()) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+            String uri = uri(request);
+            allocations.record(request.getMethod(), uri, allocated);
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.uri = uri;
+                event.allocated = allocated;
+                event.commit();
+            }
+        }
+    }
+
+    private static String uri(final HttpServletRequest request) {
+        String pattern = ServerHttpObservationFilter.findObservationContext(request)
+                .map(context -> context.getPathPattern())
+                .orElse(null);
+        if (pattern == null) {
+            pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        }
+        return pattern != null ? pattern : UNKNOWN_URI;
+    }
+}
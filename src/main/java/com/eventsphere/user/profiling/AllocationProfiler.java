@@ -0,0 +1,266 @@
+package com.eventsphere.user.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records allocations with Java Flight Recorder on demand and summarizes where they come from.
+ *
+ * <p>A profile samples allocations with the {@code jdk.ObjectAllocationSample} event for a given duration, at
+ * most {@code throttle} samples per second; each sample is weighted with the bytes allocated since the previous
+ * one, so the sums estimate all allocations. The samples are summed three ways: by the endpoint of the request
+ * the thread was serving, from the {@link RequestEvent}s of the same recording; by allocation site, the
+ * allocated type and the frame allocating it; and by the first frame of the application, such as a method of
+ * {@code UserControllerImpl} or {@code UserService}, which attributes allocations in Spring, Hibernate or
+ * Jackson to the code path that caused them. The recording is also written to a {@code .jfr} file for JDK
+ * Mission Control.</p>
+ *
+ * <p>JFR keeps 64 frames of each stack by default; application frames below them, under deep Hibernate or
+ * Jackson stacks, need {@code -XX:FlightRecorderOptions:stackdepth=256}. One profile runs at a time.</p>
+ */
+public class AllocationProfiler {
+
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    static final String NO_APPLICATION_FRAME = "(no application frame)";
+    static final String OUTSIDE_REQUESTS = "(outside requests)";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final String throttle;
+    private final String applicationPackage;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates a profiler.
+     *
+     * @param directory          the directory the recordings are written to.
+     * @param throttle           the samples per second at most, such as {@code 300/s}.
+     * @param applicationPackage the package prefix of the application frames, such as {@code com.eventsphere.}.
+     */
+    public AllocationProfiler(final Path directory, final String throttle, final String applicationPackage) {
+        this.directory = directory;
+        this.throttle = throttle;
+        this.applicationPackage = applicationPackage;
+    }
+
+    /**
+     * Records allocations for a duration and summarizes them.
+     *
+     * @param duration how long to record.
+     * @param top      the number of endpoints, sites and application frames to return.
+     * @return the profile, or null if another profile is running.
+     * @throws IOException          if the recording can't be written.
+     * @throws InterruptedException if interrupted while recording.
+     */
+    public Profile profile(final Duration duration, final int top) throws IOException, InterruptedException {
+        if (!lock.tryLock()) {
+            return null;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path recording = directory.resolve("allocations-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            Samples samples = new Samples(applicationPackage);
+
+            long start = System.nanoTime();
+            try (RecordingStream stream = new RecordingStream()) {
+                stream.enable(ALLOCATION_SAMPLE).with("throttle", throttle).withStackTrace();
+                stream.enable(RequestEvent.NAME);
+                stream.onEvent(ALLOCATION_SAMPLE, samples::add);
+                stream.onEvent(RequestEvent.NAME, samples::addRequest);
+                stream.startAsync();
+                Thread.sleep(duration.toMillis());
+                stream.dump(recording);
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            return samples.summarize(elapsedMillis, recording.toAbsolutePath().toString(), top);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sums the allocation samples by site and by application frame, and keeps them until the end of the profile
+     * to attribute them to the requests their threads were serving.
+     */
+    static final class Samples {
+
+        private static final String PROFILING_PACKAGE = AllocationProfiler.class.getPackageName() + ".";
+
+        private final String applicationPackage;
+        private final Map<String, long[]> sites = new HashMap<>();
+        private final Map<String, long[]> applicationFrames = new HashMap<>();
+        private final List<Sample> samples = new ArrayList<>();
+        private final Map<Long, List<Span>> requests = new HashMap<>();
+        private long bytes;
+
+        Samples(final String applicationPackage) {
+            this.applicationPackage = applicationPackage;
+        }
+
+        synchronized void add(final RecordedEvent event) {
+            long weight = event.getLong("weight");
+            String objectClass = typeName(event.getClass("objectClass").getName());
+            RecordedStackTrace stackTrace = event.getStackTrace();
+            List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+
+            String site = frames.isEmpty() ? objectClass : objectClass + " at " + format(frames.get(0));
+            String applicationFrame = NO_APPLICATION_FRAME;
+            for (RecordedFrame frame : frames) {
+                String type = frame.isJavaFrame() ? frame.getMethod().getType().getName() : "";
+                // The filter of this package is the outermost application frame of every request
+                if (type.startsWith(applicationPackage) && !type.startsWith(PROFILING_PACKAGE)) {
+                    applicationFrame = format(frame);
+                    break;
+                }
+            }
+
+            add(sites, site, weight);
+            add(applicationFrames, applicationFrame, weight);
+            samples.add(new Sample(threadId(event), epochNanos(event.getStartTime()), weight));
+            bytes += weight;
+        }
+
+        synchronized void addRequest(final RecordedEvent event) {
+            requests.computeIfAbsent(threadId(event), id -> new ArrayList<>()).add(new Span(
+                    epochNanos(event.getStartTime()), epochNanos(event.getEndTime()),
+                    event.getString("method") + " " + event.getString("uri")));
+        }
+
+        synchronized Profile summarize(final long durationMillis, final String recording, final int top) {
+            requests.values().forEach(spans -> spans.sort(Comparator.comparingLong(Span::start)));
+            Map<String, long[]> endpoints = new HashMap<>();
+            for (Sample sample : samples) {
+                add(endpoints, endpoint(sample), sample.weight());
+            }
+            return new Profile(durationMillis, samples.size(), bytes, recording,
+                    top(endpoints, top), top(sites, top), top(applicationFrames, top));
+        }
+
+        private String endpoint(final Sample sample) {
+            List<Span> spans = requests.getOrDefault(sample.threadId(), List.of());
+            int low = 0;
+            int high = spans.size() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (spans.get(middle).start() <= sample.time()) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            // The last request started before the sample, if it had not ended yet
+            if (high >= 0 && spans.get(high).end() >= sample.time()) {
+                return spans.get(high).endpoint();
+            }
+            return OUTSIDE_REQUESTS;
+        }
+
+        private static void add(final Map<String, long[]> totals, final String key, final long weight) {
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] += weight;
+        }
+
+        private List<Site> top(final Map<String, long[]> totals, final int top) {
+            return totals.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                    .limit(top)
+                    .map(entry -> new Site(entry.getKey(), entry.getValue()[0], entry.getValue()[1],
+                            bytes == 0 ? 0 : Math.round(entry.getValue()[1] * 1000.0 / bytes) / 10.0))
+                    .toList();
+        }
+
+        private static long threadId(final RecordedEvent event) {
+            return event.getThread() != null ? event.getThread().getJavaThreadId() : -1;
+        }
+
+        private static long epochNanos(final Instant instant) {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+
+        private static String format(final RecordedFrame frame) {
+            return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+        }
+
+        /**
+         * Turns the descriptor of an array type, such as {@code [Ljava.lang.Object;}, into its source name.
+         */
+        static String typeName(final String name) {
+            int dimensions = 0;
+            while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+                dimensions++;
+            }
+            if (dimensions == 0) {
+                return name;
+            }
+            String element = switch (name.charAt(dimensions)) {
+                case 'Z' -> "boolean";
+                case 'B' -> "byte";
+                case 'C' -> "char";
+                case 'S' -> "short";
+                case 'I' -> "int";
+                case 'J' -> "long";
+                case 'F' -> "float";
+                case 'D' -> "double";
+                default -> name.substring(dimensions + 1, name.length() - 1);
+            };
+            return element + "[]".repeat(dimensions);
+        }
+
+        private record Sample(long threadId, long time, long weight) {
+        }
+
+        private record Span(long start, long end, String endpoint) {
+        }
+    }
+
+    /**
+     * The allocations recorded by a profile.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Profile {
+
+        private final long durationMillis;
+        private final long samples;
+        private final long estimatedBytes;
+        private final String recording;
+        private final List<Site> topEndpoints;
+        private final List<Site> topSites;
+        private final List<Site> topApplicationFrames;
+    }
+
+    /**
+     * Where sampled allocations come from, and their share of all the allocations recorded.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Site {
+
+        private final String frame;
+        private final long samples;
+        private final long estimatedBytes;
+        private final double percent;
+    }
+}
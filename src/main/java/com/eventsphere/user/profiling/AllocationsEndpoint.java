@@ -0,0 +1,58 @@
+package com.eventsphere.user.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/allocations}) showing the bytes allocated per request by endpoint, and
+ * recording an allocation profile on {@code POST}, e.g. with {@code {"duration": "30s", "top": 20}}. The
+ * {@code POST} returns when the profile is done, with 409 if another one is running.
+ * Needs to be exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "allocations")
+public class AllocationsEndpoint {
+
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+    private static final int DEFAULT_TOP = 20;
+
+    private final RequestAllocations requestAllocations;
+    private final AllocationProfiler profiler;
+    private final Duration maximumDuration;
+
+    public AllocationsEndpoint(final RequestAllocations requestAllocations, final AllocationProfiler profiler,
+                               final Duration maximumDuration) {
+        this.requestAllocations = requestAllocations;
+        this.profiler = profiler;
+        this.maximumDuration = maximumDuration;
+    }
+
+    @ReadOperation
+    public Map<String, RequestAllocations.Snapshot> requests() {
+        return requestAllocations.snapshot();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<AllocationProfiler.Profile> profile(@Nullable final Duration duration,
+                                                                   @Nullable final Integer top)
+            throws IOException, InterruptedException {
+        Duration profileDuration = duration != null ? duration : DEFAULT_DURATION;
+        int profileTop = top != null ? top : DEFAULT_TOP;
+        if (profileDuration.isNegative() || profileDuration.isZero() || profileDuration.compareTo(maximumDuration) > 0
+                || profileTop < 1) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        AllocationProfiler.Profile profile = profiler.profile(profileDuration, profileTop);
+        if (profile == null) {
+            return new WebEndpointResponse<>(409);
+        }
+        return new WebEndpointResponse<>(profile);
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventsphere.user.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The bytes allocated while serving requests, by endpoint: the HTTP method and the URI template, such as
+ * {@code GET /v1/users/{id}}.
+ *
+ * <p>Publishes them as the {@code user_service.request.allocated} distribution summary, tagged with
+ * {@code method} and {@code uri} like {@code http.server.requests}, so the two can be divided.</p>
+ */
+public class RequestAllocations implements MeterBinder {
+
+    static final String METER_NAME = "user_service.request.allocated";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Records the bytes allocated by one request.
+     *
+     * @param method the HTTP method.
+     * @param uri    the URI template the request matched.
+     * @param bytes  the bytes allocated.
+     */
+    public void record(final String method, final String uri, final long bytes) {
+        Endpoint endpoint = endpoints.get(method + " " + uri);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(method + " " + uri, key -> register(new Endpoint(method, uri)));
+        }
+        endpoint.record(bytes);
+    }
+
+    /**
+     * Returns the allocations of each endpoint, the endpoint allocating the most first.
+     *
+     * @return the snapshots by endpoint.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().snapshot()))
+                .sorted(Map.Entry.<String, Snapshot>comparingByValue(
+                        Comparator.comparingLong(Snapshot::getBytes)).reversed())
+                .forEach(entry -> snapshots.put(entry.getKey(), entry.getValue()));
+        return snapshots;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+        endpoints.values().forEach(this::register);
+    }
+
+    private Endpoint register(final Endpoint endpoint) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            endpoint.summary = DistributionSummary.builder(METER_NAME)
+                    .description("Bytes allocated by the request thread while serving a request")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("method", endpoint.method)
+                    .tag("uri", endpoint.uri)
+                    .register(meterRegistry);
+        }
+        return endpoint;
+    }
+
+    private static final class Endpoint {
+
+        private final String method;
+        private final String uri;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAccumulator maxBytes = new LongAccumulator(Long::max, 0);
+        private volatile DistributionSummary summary;
+
+        private Endpoint(final String method, final String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        private void record(final long allocated) {
+            requests.increment();
+            bytes.add(allocated);
+            maxBytes.accumulate(allocated);
+            DistributionSummary endpointSummary = summary;
+            if (endpointSummary != null) {
+                endpointSummary.record(allocated);
+            }
+        }
+
+        private Snapshot snapshot() {
+            long count = requests.sum();
+            long total = bytes.sum();
+            return new Snapshot(count, total, count == 0 ? 0 : total / count, maxBytes.get());
+        }
+    }
+
+    /**
+     * The allocations of one endpoint since startup.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        private final long requests;
+        private final long bytes;
+        private final long meanBytes;
+        private final long maxBytes;
+    }
+}
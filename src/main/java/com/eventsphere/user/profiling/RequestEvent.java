@@ -0,0 +1,32 @@
+package com.eventsphere.user.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning a request, committed by {@link AllocationAccountingFilter} while a recording enables it.
+ * It lets allocation samples be attributed to the endpoint their thread was serving, by
+ * {@link AllocationProfiler} and in JDK Mission Control.
+ */
+@Name(RequestEvent.NAME)
+@Label("User Service Request")
+@Category("User Service")
+@Description("A request served by the user service")
+class RequestEvent extends Event {
+
+    static final String NAME = "com.eventsphere.user.Request";
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
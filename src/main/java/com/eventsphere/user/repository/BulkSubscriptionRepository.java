@@ -0,0 +1,266 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Bulk writes of category and event subscriptions. User ids are streamed with {@code COPY} into a staging table,
+ * which is then applied to the subscription table in a single statement, returning the ids of the users whose
+ * subscriptions changed only when asked to.
+ * <p>
+ * Staging and writes must run in the same transaction: the staging table is dropped when it commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkSubscriptionRepository {
+
+    /**
+     * Subscription tables, with the column of the subscribed item.
+     */
+    public enum Target {
+        CATEGORY("user_category_subscription", "category_id"),
+        EVENT("user_event_subscription", "event_id");
+
+        private final String table;
+        private final String column;
+
+        Target(final String table, final String column) {
+            this.table = "user_service_schema." + table;
+            this.column = column;
+        }
+
+        /**
+         * Returns the subscription table, qualified with its schema.
+         *
+         * @return the table.
+         */
+        public String table() {
+            return table;
+        }
+
+        /**
+         * Returns the column of the subscribed item.
+         *
+         * @return the column.
+         */
+        public String column() {
+            return column;
+        }
+    }
+
+    /**
+     * Handler of the number of users subscribed to an item.
+     */
+    @FunctionalInterface
+    public interface CoSubscriptionHandler {
+
+        /**
+         * Handles the number of users subscribed to an item.
+         *
+         * @param target the subscription table of the item.
+         * @param itemId the ID of the category or event.
+         * @param users  the number of users.
+         */
+        void handle(Target target, long itemId, long users);
+    }
+
+    private static final String STAGING_TABLE = "bulk_subscription_user_id";
+    private static final String STAGED_ACTIVE_USERS = "SELECT DISTINCT s.user_id FROM " + STAGING_TABLE + " s"
+            + " JOIN user_service_schema.\"user\" u ON u.id = s.user_id AND u." + User.ACTIVE_CLAUSE;
+    private static final String DATA_EXCEPTION_CLASS = "22";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the staging table, and copies user ids into it, one per line.
+     *
+     * @param userIds the user ids, in {@code COPY} text format, or CSV.
+     * @param csv     whether the ids are CSV.
+     * @param header  whether the CSV starts with a header line.
+     * @return the number of ids copied.
+     * @throws InvalidRequestParameterException if a line is not a user id.
+     */
+    public long stage(final InputStream userIds, final boolean csv, final boolean header) {
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE " + STAGING_TABLE + " (user_id BIGINT) ON COMMIT DROP");
+
+        String options = csv ? " WITH (FORMAT csv, HEADER " + header + ")" : "";
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY " + STAGING_TABLE + " (user_id) FROM STDIN" + options, userIds);
+            } catch (PSQLException ex) {
+                if (ex.getSQLState() != null && ex.getSQLState().startsWith(DATA_EXCEPTION_CLASS)) {
+                    throw new InvalidRequestParameterException("Invalid user id list: " + describe(ex));
+                }
+                throw ex;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        // Without statistics the planner assumes a tiny staging table
+        jdbcTemplate.execute("ANALYZE " + STAGING_TABLE);
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * Subscribes the staged users that exist to an item. Existing subscriptions are kept.
+     *
+     * @param target the subscription table.
+     * @param itemId the ID of the category or event.
+     * @return the number of subscriptions created.
+     */
+    public long subscribe(final Target target, final long itemId) {
+        return jdbcTemplate.update(subscribeSql(target), itemId);
+    }
+
+    /**
+     * Subscribes the staged users that exist to an item, like {@link #subscribe}, returning their ids.
+     *
+     * @param target the subscription table.
+     * @param itemId the ID of the category or event.
+     * @return the ids of the users subscribed, one per subscription created.
+     */
+    public long[] subscribeReturningUsers(final Target target, final long itemId) {
+        return userIds(subscribeSql(target) + " RETURNING user_id", itemId);
+    }
+
+    /**
+     * Unsubscribes the staged users that exist from an item. The subscriptions of deleted users are left to the
+     * purge, as they are no longer counted.
+     *
+     * @param target the subscription table.
+     * @param itemId the ID of the category or event.
+     * @return the number of subscriptions removed.
+     */
+    public long unsubscribe(final Target target, final long itemId) {
+        return jdbcTemplate.update(unsubscribeSql(target), itemId);
+    }
+
+    /**
+     * Unsubscribes the staged users from an item, like {@link #unsubscribe}, returning their ids.
+     *
+     * @param target the subscription table.
+     * @param itemId the ID of the category or event.
+     * @return the ids of the users unsubscribed, one per subscription removed.
+     */
+    public long[] unsubscribeReturningUsers(final Target target, final long itemId) {
+        return userIds(unsubscribeSql(target) + " RETURNING t.user_id", itemId);
+    }
+
+    /**
+     * Counts, for each other category and event, the given users subscribed to it, skipping the users subscribed
+     * to more than {@code maximumOtherItems} other items. Runs in a transaction of its own or none: the users are
+     * passed as an array, not staged.
+     *
+     * @param target            the subscription table of the changed item.
+     * @param itemId            the ID of the changed category or event, not counted.
+     * @param userIds           the ids of the users whose subscriptions to the item changed.
+     * @param maximumOtherItems the maximum number of other items of a user counted.
+     * @param handler           the handler of the number of users of each other item.
+     * @return the number of users counted.
+     */
+    public long coSubscriptions(final Target target, final long itemId, final long[] userIds,
+                                final int maximumOtherItems, final CoSubscriptionHandler handler) {
+        StringBuilder subscriptions = new StringBuilder();
+        List<Object> arguments = new ArrayList<>();
+        Long[] users = Arrays.stream(userIds).boxed().toArray(Long[]::new);
+        for (Target other : Target.values()) {
+            subscriptions.append(subscriptions.length() > 0 ? " UNION ALL " : "")
+                    .append("SELECT '").append(other.name()).append("' AS target, t.").append(other.column)
+                    .append(" AS item_id, t.user_id FROM ").append(other.table).append(" t")
+                    .append(" WHERE t.user_id = ANY (?) AND t.").append(other.column).append(" IS NOT NULL");
+            arguments.add(users);
+            if (other == target) {
+                subscriptions.append(" AND t.").append(other.column).append(" <> ?");
+                arguments.add(itemId);
+            }
+        }
+        arguments.add(maximumOtherItems);
+        String sql = "WITH subscription AS (" + subscriptions + "),"
+                + " skipped AS (SELECT user_id FROM subscription GROUP BY user_id HAVING count(*) > ?)"
+                + " SELECT target, item_id, count(*) AS users FROM subscription s"
+                + " WHERE NOT EXISTS (SELECT 1 FROM skipped k WHERE k.user_id = s.user_id) GROUP BY target, item_id"
+                + " UNION ALL SELECT NULL, NULL, count(*) FROM skipped";
+
+        long[] skipped = {0};
+        jdbcTemplate.query(statement(sql, arguments.toArray()), resultSet -> {
+            String other = resultSet.getString("target");
+            if (other == null) {
+                skipped[0] = resultSet.getLong("users");
+            } else {
+                handler.handle(Target.valueOf(other), resultSet.getLong("item_id"), resultSet.getLong("users"));
+            }
+        });
+        return userIds.length - skipped[0];
+    }
+
+    /**
+     * Returns the statement subscribing the staged users to an item, deduplicated against the unique constraint
+     * of the subscription table.
+     */
+    private static String subscribeSql(final Target target) {
+        return "INSERT INTO " + target.table + " (user_id, " + target.column + ")"
+                + " SELECT user_id, ? FROM (" + STAGED_ACTIVE_USERS + ") s"
+                + " ON CONFLICT (user_id, " + target.column + ") DO NOTHING";
+    }
+
+    /**
+     * Returns the statement unsubscribing the staged users from an item, skipping deleted users like
+     * {@link #subscribeSql}, so subscriber counts only lose the subscriptions they counted.
+     */
+    private static String unsubscribeSql(final Target target) {
+        // A subscription matched by several staged ids is still deleted once, so they need no deduplication
+        return "DELETE FROM " + target.table + " t USING " + STAGING_TABLE + " s, user_service_schema.\"user\" u"
+                + " WHERE t.user_id = s.user_id AND t." + target.column + " = ?"
+                + " AND u.id = s.user_id AND u." + User.ACTIVE_CLAUSE;
+    }
+
+    private long[] userIds(final String sql, final Object... arguments) {
+        LongStream.Builder userIds = LongStream.builder();
+        jdbcTemplate.query(sql, resultSet -> {
+            userIds.add(resultSet.getLong(1));
+        }, arguments);
+        return userIds.build().toArray();
+    }
+
+    /**
+     * Binds arrays of ids as {@code bigint[]}, and other arguments as they are.
+     */
+    private static PreparedStatementCreator statement(final String sql, final Object[] arguments) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            for (int i = 0; i < arguments.length; i++) {
+                statement.setObject(i + 1, arguments[i] instanceof Long[] ids
+                        ? connection.createArrayOf("bigint", ids) : arguments[i]);
+            }
+            return statement;
+        };
+    }
+
+    private static String describe(final PSQLException ex) {
+        ServerErrorMessage error = ex.getServerErrorMessage();
+        if (error == null) {
+            return ex.getMessage();
+        }
+        return error.getWhere() == null ? error.getMessage() : error.getMessage() + " (" + error.getWhere() + ")";
+    }
+}
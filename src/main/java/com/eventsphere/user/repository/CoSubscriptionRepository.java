@@ -0,0 +1,66 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.similarity.CoSubscriptionIndex;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads the subscribed events and categories of active users counted by the co-subscription index, as
+ * {@link CoSubscriptionIndex#item(Target, long) items}.
+ */
+public class CoSubscriptionRepository {
+
+    public static final int FETCH_SIZE = 10_000;
+
+    private static final String ACTIVE_USERS = "user_service_schema.\"user\" u WHERE u." + User.ACTIVE_CLAUSE;
+    private static final String ITEMS = "SELECT s.user_id, s.target, s.item_id FROM ("
+            + "SELECT user_id, '" + Target.EVENT.name() + "' AS target, event_id AS item_id"
+            + " FROM " + Target.EVENT.table() + " WHERE event_id IS NOT NULL AND user_id BETWEEN ? AND ?"
+            + " UNION ALL SELECT user_id, '" + Target.CATEGORY.name() + "', category_id"
+            + " FROM " + Target.CATEGORY.table() + " WHERE category_id IS NOT NULL AND user_id BETWEEN ? AND ?"
+            + ") s JOIN user_service_schema.\"user\" u ON u.id = s.user_id AND u." + User.ACTIVE_CLAUSE
+            + " ORDER BY s.user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CoSubscriptionRepository(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Reads the lowest and highest IDs of active users.
+     *
+     * @return the lowest and highest IDs, or null if there are no active users.
+     */
+    @Nullable
+    public long[] activeUserIdRange() {
+        return jdbcTemplate.query("SELECT min(u.id), max(u.id) FROM " + ACTIVE_USERS, resultSet -> {
+            resultSet.next();
+            long min = resultSet.getLong(1);
+            return resultSet.wasNull() ? null : new long[]{min, resultSet.getLong(2)};
+        });
+    }
+
+    /**
+     * Streams the subscribed items of active users in a range of IDs, in ascending order of ID. Users without
+     * subscriptions are skipped.
+     *
+     * @param fromId  the lowest user ID, inclusive.
+     * @param toId    the highest user ID, inclusive.
+     * @param handler the handler of the items of each user.
+     * @return the number of users read.
+     */
+    @Transactional(readOnly = true)
+    public long forEachUser(final long fromId, final long toId, final UserValuesHandler handler) {
+        UserRowGrouping grouping = new UserRowGrouping(resultSet -> CoSubscriptionIndex.item(
+                Target.valueOf(resultSet.getString(2)), resultSet.getLong(3)), handler);
+        jdbcTemplate.query(ITEMS, grouping, fromId, toId, fromId, toId);
+        return grouping.finish();
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Reads users for export straight from a forward-only cursor, without building entities.
+ * <p>
+ * Postgres only streams a result set in fetch-size chunks inside a transaction, so callers must run in one.
+ */
+@Repository
+public class UserExportRepository {
+
+    /**
+     * Receives the exported rows.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * Handles a row.
+         *
+         * @param values the values of the exported columns, in order. The array is reused for the next row.
+         * @throws IOException if the row cannot be written.
+         */
+        void handle(Object[] values) throws IOException;
+    }
+
+    public static final int FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserExportRepository(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Streams the active users, ordered by ID.
+     *
+     * @param columns the columns to read. They must be trusted column names.
+     * @param handler the handler of each row.
+     * @return the number of rows read.
+     * @throws IOException if the handler fails to write a row.
+     */
+    public long export(final List<String> columns, final RowHandler handler) throws IOException {
+        Object[] values = new Object[columns.size()];
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query("SELECT " + String.join(", ", columns) + " FROM user_service_schema.\"user\""
+                    + " WHERE " + User.ACTIVE_CLAUSE + " ORDER BY id", resultSet -> {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                try {
+                    handler.handle(values);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return rows[0];
+    }
+}
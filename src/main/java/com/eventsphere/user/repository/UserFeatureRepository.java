@@ -0,0 +1,58 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.similarity.MinHashIndex;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+
+/**
+ * Reads the features of active users compared by the similar users index: their interests and their subscribed
+ * events and categories, as {@link MinHashIndex#feature(int, long) features}.
+ */
+public class UserFeatureRepository {
+
+    public static final int FETCH_SIZE = 10_000;
+
+    private static final String FEATURES = "SELECT f.user_id, f.kind, f.item FROM ("
+            + "SELECT user_id, " + MinHashIndex.EVENT + " AS kind, event_id AS item"
+            + " FROM user_service_schema.user_event_subscription WHERE event_id IS NOT NULL"
+            + " UNION ALL SELECT user_id, " + MinHashIndex.CATEGORY + ", category_id"
+            + " FROM user_service_schema.user_category_subscription WHERE category_id IS NOT NULL"
+            + " UNION ALL SELECT user_id, " + MinHashIndex.INTEREST + ", hashtextextended(lower(interest), 0)"
+            + " FROM user_service_schema.user_interest WHERE interest IS NOT NULL"
+            + ") f JOIN user_service_schema.\"user\" u ON u.id = f.user_id AND u." + User.ACTIVE_CLAUSE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserFeatureRepository(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Streams the features of active users, in ascending order of ID. Users without features are skipped.
+     *
+     * @param userIds the IDs of the users to read, or null for all users.
+     * @param handler the handler of the features of each user.
+     * @return the number of users read.
+     */
+    @Transactional(readOnly = true)
+    public long forEachUser(@Nullable final Collection<Long> userIds, final UserValuesHandler handler) {
+        UserRowGrouping grouping = new UserRowGrouping(
+                resultSet -> MinHashIndex.feature(resultSet.getInt(2), resultSet.getLong(3)), handler);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    FEATURES + (userIds != null ? " WHERE f.user_id = ANY (?)" : "") + " ORDER BY f.user_id");
+            if (userIds != null) {
+                statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            }
+            return statement;
+        }, grouping);
+        return grouping.finish();
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.model.dto.UserFieldsDto;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Projections of {@link com.eventsphere.user.model.User}, selecting only the requested properties in SQL.
+ */
+public interface UserProjectionRepository {
+
+    /**
+     * Finds the given properties of users, ordered by ID.
+     *
+     * @param fields the properties to select; they must be attributes of the user entity.
+     * @param ids    the IDs of the users to find, or null for all users.
+     * @return the sparse fieldsets of the found users.
+     */
+    List<UserFieldsDto> findFields(List<String> fields, Collection<Long> ids);
+}
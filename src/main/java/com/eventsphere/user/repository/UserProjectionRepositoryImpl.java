@@ -0,0 +1,58 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.UserFieldsDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria implementation of {@link UserProjectionRepository}, picked up by Spring Data as a fragment of
+ * {@link UserRepository}.
+ */
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserFieldsDto> findFields(final List<String> fields, final Collection<Long> ids) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<User> user = query.from(User.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(user.get(ID).alias(ID));
+        for (String field : fields) {
+            if (!ID.equals(field)) {
+                selections.add(user.get(field).alias(field));
+            }
+        }
+        query.multiselect(selections).orderBy(criteriaBuilder.asc(user.get(ID)));
+        if (ids != null) {
+            query.where(user.get(ID).in(ids));
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (String field : fields) {
+                        values.put(field, tuple.get(field));
+                    }
+                    return new UserFieldsDto(tuple.get(ID, Long.class), values);
+                })
+                .toList();
+    }
+}
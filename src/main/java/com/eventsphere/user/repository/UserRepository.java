@@ -2,10 +2,16 @@ package com.eventsphere.user.repository;
 
 import com.eventsphere.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserProjectionRepository {
 
     /**
      * Check if a user with the given username exists.
@@ -22,4 +28,89 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Native SQL of {@link #search}, shared with the reactive repository.
+     */
+    String SEARCH_QUERY = """
+            SELECT * FROM user_service_schema."user" u
+            WHERE u.id > :after
+              AND u.deleted_at IS NULL
+              AND (lower(u.username) LIKE :prefix OR lower(u.username) % :term
+                OR lower(u.first_name) LIKE :prefix OR lower(u.first_name) % :term
+                OR lower(u.last_name) LIKE :prefix OR lower(u.last_name) % :term
+                OR lower(u.email) LIKE :prefix OR lower(u.email) % :term)
+            ORDER BY u.id
+            LIMIT :limit
+            """;
+
+    /**
+     * Search users whose username, first name, last name or email starts with the given prefix
+     * or is similar to the given term. Results are ordered by id, so the last returned id can be
+     * passed as {@code after} to continue the search.
+     *
+     * @param term   the lower-cased search term, matched by trigram similarity
+     * @param prefix the lower-cased {@code LIKE} pattern, matched as a prefix
+     * @param after  only users with an id greater than this are returned
+     * @param limit  the maximum number of users to return
+     * @return the matching users ordered by id
+     */
+    @Query(value = SEARCH_QUERY, nativeQuery = true)
+    List<User> search(@Param("term") String term, @Param("prefix") String prefix,
+                      @Param("after") long after, @Param("limit") int limit);
+
+    /**
+     * Find the users, deleted ones included, changed after the given position of the change feed, which is
+     * ordered by the transaction that last wrote each user, then by the order of the writes. Only the writes of
+     * transactions older than every transaction still running are returned, so a transaction committing after a
+     * newer one is returned after it rather than skipped; a long running transaction holds the feed back.
+     *
+     * @param changeXid the transaction of the last user from the previous page
+     * @param changeSeq the order of the write of the last user from the previous page
+     * @param limit     the maximum number of users to return
+     * @return the changed users ordered by position in the feed, with their deletion date if deleted
+     */
+    @Query(value = """
+            SELECT * FROM user_service_schema."user" u
+            WHERE (u.change_xid, u.change_seq) > (:changeXid, :changeSeq)
+              AND u.change_xid < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)
+            ORDER BY u.change_xid, u.change_seq
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> findModifiedAfter(@Param("changeXid") long changeXid, @Param("changeSeq") long changeSeq,
+                                 @Param("limit") int limit);
+
+    /**
+     * Check whether users deleted after the given position of the change feed have been purged, so their
+     * tombstones can no longer be returned.
+     *
+     * @param changeXid the transaction of the position
+     * @param changeSeq the order of the write of the position
+     * @return true if a user purged from the table was changed after the position
+     */
+    @Query(value = """
+            SELECT EXISTS (SELECT 1 FROM user_service_schema.user_change_horizon h
+                           WHERE (h.change_xid, h.change_seq) > (:changeXid, :changeSeq))
+            """, nativeQuery = true)
+    boolean isPurgedAfter(@Param("changeXid") long changeXid, @Param("changeSeq") long changeSeq);
+
+    /**
+     * Native SQL of {@link #softDeleteById}, shared with the reactive repository. The modification date is set
+     * as well, and the update moves the user to the end of {@code GET v1/users/modified}, as a tombstone.
+     */
+    String SOFT_DELETE_QUERY = """
+            UPDATE user_service_schema."user" SET deleted_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP
+            WHERE id = :id AND deleted_at IS NULL
+            """;
+
+    /**
+     * Mark a user as deleted. The user and its dependent rows are removed later, in batches, by the purger.
+     *
+     * @param id the ID of the user to delete
+     * @return the number of users marked, 0 if there is no active user with the ID
+     */
+    @Transactional
+    @Modifying
+    @Query(value = SOFT_DELETE_QUERY, nativeQuery = true)
+    int softDeleteById(@Param("id") long id);
 }
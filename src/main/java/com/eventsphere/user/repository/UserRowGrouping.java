@@ -0,0 +1,65 @@
+package com.eventsphere.user.repository;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Groups rows ordered by user ID, the first column, into the values of each user.
+ */
+final class UserRowGrouping implements RowCallbackHandler {
+
+    /**
+     * Reads the value of a row.
+     */
+    @FunctionalInterface
+    interface ValueReader {
+
+        long read(ResultSet resultSet) throws SQLException;
+    }
+
+    private final ValueReader reader;
+    private final UserValuesHandler handler;
+    private long[] values = new long[16];
+    private int size;
+    private long userId;
+    private long users;
+
+    UserRowGrouping(final ValueReader reader, final UserValuesHandler handler) {
+        this.reader = reader;
+        this.handler = handler;
+    }
+
+    @Override
+    public void processRow(final ResultSet resultSet) throws SQLException {
+        long rowUserId = resultSet.getLong(1);
+        if (rowUserId != userId) {
+            flush();
+            userId = rowUserId;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = reader.read(resultSet);
+    }
+
+    /**
+     * Handles the values of the last user, once all rows are processed.
+     *
+     * @return the number of users handled.
+     */
+    long finish() {
+        flush();
+        return users;
+    }
+
+    private void flush() {
+        if (size > 0) {
+            handler.handle(userId, Arrays.copyOf(values, size));
+            users++;
+            size = 0;
+        }
+    }
+}
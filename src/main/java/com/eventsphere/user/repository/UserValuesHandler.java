@@ -0,0 +1,16 @@
+package com.eventsphere.user.repository;
+
+/**
+ * Handler of the values read for a user, such as its features or subscribed items.
+ */
+@FunctionalInterface
+public interface UserValuesHandler {
+
+    /**
+     * Handles the values of a user.
+     *
+     * @param userId the ID of the user.
+     * @param values the values of the user, at least one.
+     */
+    void handle(long userId, long[] values);
+}
@@ -0,0 +1,109 @@
+package com.eventsphere.user.service;
+
+import com.eventsphere.user.event.SubscriptionChangeListener;
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.model.dto.BulkSubscriptionResultDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+
+/**
+ * Service class for subscribing and unsubscribing many users at once to a category or an event.
+ * <p>
+ * The user ids are streamed into the database with {@code COPY} and applied in one statement, in a single
+ * transaction: either all subscriptions of a request are written, or none. The number of subscriptions added or
+ * removed is published as a {@link SubscriptionsChangedEvent}, counted by {@link SubscriberCounters}. The event
+ * only carries the ids of the changed users when a {@link SubscriptionChangeListener}, such as the similar users or
+ * co-subscriptions index, is enabled, as returning them adds to a large write.
+ */
+@Service
+@Slf4j
+public class BulkSubscriptionService {
+
+    private final BulkSubscriptionRepository bulkSubscriptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean returnUsers;
+
+    public BulkSubscriptionService(final BulkSubscriptionRepository bulkSubscriptionRepository,
+                                   final ApplicationEventPublisher eventPublisher,
+                                   final ObjectProvider<SubscriptionChangeListener> subscriptionChangeListeners) {
+        this.bulkSubscriptionRepository = bulkSubscriptionRepository;
+        this.eventPublisher = eventPublisher;
+        this.returnUsers = subscriptionChangeListeners.stream().findAny().isPresent();
+    }
+
+    /**
+     * Subscribes users to a category or an event. Unknown users and existing subscriptions are skipped.
+     *
+     * @param target  The subscription table.
+     * @param itemId  The ID of the category or event.
+     * @param userIds The user ids, one per line.
+     * @param format  The format of the user ids.
+     * @return The numbers of ids received, subscriptions inserted and ids skipped.
+     * @throws InvalidRequestParameterException if a line is not a user id.
+     */
+    @Transactional
+    public BulkSubscriptionResultDto subscribe(final Target target, final long itemId, final InputStream userIds,
+                                               final Format format) {
+        long received = bulkSubscriptionRepository.stage(userIds, format.csv, format.header);
+        long[] subscribed = returnUsers ? bulkSubscriptionRepository.subscribeReturningUsers(target, itemId) : null;
+        long inserted = subscribed != null ? subscribed.length : bulkSubscriptionRepository.subscribe(target, itemId);
+        if (inserted > 0) {
+            eventPublisher.publishEvent(new SubscriptionsChangedEvent(target, itemId, inserted, subscribed));
+        }
+
+        log.info("Subscribed {} of {} users to {} {}", inserted, received, target, itemId);
+        return new BulkSubscriptionResultDto(received, inserted, 0, received - inserted);
+    }
+
+    /**
+     * Unsubscribes users from a category or an event. Unknown and deleted users and users without a subscription
+     * are skipped.
+     *
+     * @param target  The subscription table.
+     * @param itemId  The ID of the category or event.
+     * @param userIds The user ids, one per line.
+     * @param format  The format of the user ids.
+     * @return The numbers of ids received, subscriptions deleted and ids skipped.
+     * @throws InvalidRequestParameterException if a line is not a user id.
+     */
+    @Transactional
+    public BulkSubscriptionResultDto unsubscribe(final Target target, final long itemId, final InputStream userIds,
+                                                 final Format format) {
+        long received = bulkSubscriptionRepository.stage(userIds, format.csv, format.header);
+        long[] unsubscribed = returnUsers
+                ? bulkSubscriptionRepository.unsubscribeReturningUsers(target, itemId) : null;
+        long deleted = unsubscribed != null
+                ? unsubscribed.length : bulkSubscriptionRepository.unsubscribe(target, itemId);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new SubscriptionsChangedEvent(target, itemId, -deleted, unsubscribed));
+        }
+
+        log.info("Unsubscribed {} of {} users from {} {}", deleted, received, target, itemId);
+        return new BulkSubscriptionResultDto(received, 0, deleted, Math.max(received - deleted, 0));
+    }
+
+    /**
+     * Formats of the user id list.
+     */
+    public enum Format {
+        TEXT(false, false),
+        CSV(true, false),
+        CSV_WITH_HEADER(true, true);
+
+        private final boolean csv;
+        private final boolean header;
+
+        Format(final boolean csv, final boolean header) {
+            this.csv = csv;
+            this.header = header;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.eventsphere.user.service;
+
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Number of active users subscribed to each event and category.
+ * <p>
+ * Counts are kept in {@code subscriber_count}, but a committed subscription change is only added to the pending
+ * change of its item in memory, so popular items take thousands of subscriptions a second without contending on
+ * their row. Pending changes are one map entry per item, merged atomically: changes to the same item wait on each
+ * other for the duration of an addition rather than being spread over several accumulators. Every
+ * {@code user-service.subscriber-counters.flush-interval} (1 second by default) the changes are added to the table
+ * in one batch; a flush that fails is retried with the next one. Reads add the changes of this instance not flushed
+ * yet, but not those of other instances. Items are only held in memory while they have changes to flush.
+ * <p>
+ * Changes only cover the subscriptions of active users, the ones counted. Subscriptions of users deleted since they
+ * were counted, and those purged with them, are only accounted for by the recount, which
+ * recomputes all counts from the subscription tables on {@code user-service.subscriber-counters.recount-cron}
+ * (every night by default). Changes not flushed yet when it runs are counted twice until the next one.
+ */
+@Service
+@Slf4j
+public class SubscriberCounters {
+
+    public static final int MAX_IDS = 1000;
+
+    private static final String TABLE = "user_service_schema.subscriber_count";
+    private static final String FLUSH_SQL = "INSERT INTO " + TABLE + " AS c (target, item_id, subscribers)"
+            + " VALUES (?, ?, ?) ON CONFLICT (target, item_id) DO UPDATE SET subscribers = c.subscribers + ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Target, Map<Long, Long>> pending = new EnumMap<>(Target.class);
+
+    public SubscriberCounters(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Target target : Target.values()) {
+            pending.put(target, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Adds committed subscription changes to the counter of their item.
+     *
+     * @param event The change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsChanged(final SubscriptionsChangedEvent event) {
+        pending.get(event.getTarget()).merge(event.getItemId(), event.getDelta(), SubscriberCounters::sum);
+    }
+
+    /**
+     * Retrieves the number of subscribers of many categories or events at once.
+     *
+     * @param target  The subscription table.
+     * @param itemIds The IDs of the categories or events, at most {@value #MAX_IDS}.
+     * @return The number of subscribers of each item, in the order of the IDs; 0 for unknown items.
+     * @throws InvalidRequestParameterException if no IDs or too many IDs are given.
+     */
+    public Map<Long, Long> get(final Target target, final Collection<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            throw new InvalidRequestParameterException("Provide at least one id");
+        }
+        if (itemIds.size() > MAX_IDS) {
+            throw new InvalidRequestParameterException("At most " + MAX_IDS + " ids can be requested at once");
+        }
+
+        Map<Long, Long> stored = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT item_id, subscribers FROM " + TABLE + " WHERE target = ? AND item_id = ANY (?)");
+            statement.setString(1, target.name());
+            statement.setArray(2, connection.createArrayOf("bigint", itemIds.toArray()));
+            return statement;
+        }, resultSet -> {
+            stored.put(resultSet.getLong("item_id"), resultSet.getLong("subscribers"));
+        });
+
+        Map<Long, Long> targetPending = pending.get(target);
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        for (Long itemId : itemIds) {
+            long count = stored.getOrDefault(itemId, 0L) + targetPending.getOrDefault(itemId, 0L);
+            counts.put(itemId, Math.max(count, 0));
+        }
+        return counts;
+    }
+
+    /**
+     * Adds the pending changes to {@code subscriber_count}, in one batch per target.
+     */
+    @Scheduled(fixedDelayString = "${user-service.subscriber-counters.flush-interval:PT1S}")
+    @PreDestroy
+    public synchronized void flush() {
+        for (Target target : Target.values()) {
+            List<Long> itemIds = new ArrayList<>();
+            List<Object[]> batch = new ArrayList<>();
+            Map<Long, Long> targetPending = pending.get(target);
+            // Sorted, so concurrent flushes of several instances lock the rows in the same order
+            targetPending.keySet().stream().sorted().forEach(itemId -> {
+                Long delta = targetPending.get(itemId);
+                if (delta != null) {
+                    itemIds.add(itemId);
+                    batch.add(new Object[]{target.name(), itemId, delta, delta});
+                }
+            });
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            } catch (DataAccessException ex) {
+                log.warn("Could not flush {} {} subscriber counts, retrying with the next flush",
+                        batch.size(), target, ex);
+                continue;
+            }
+            // Changes added since their sum was read stay pending, items without any are removed
+            for (int i = 0; i < itemIds.size(); i++) {
+                long flushed = (long) batch.get(i)[2];
+                targetPending.computeIfPresent(itemIds.get(i), (itemId, delta) -> sum(delta, -flushed));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items with changes to flush.
+     */
+    int pendingItems(final Target target) {
+        return pending.get(target).size();
+    }
+
+    /**
+     * Adds two pending changes, or returns null to remove the item when they cancel out.
+     */
+    private static Long sum(final Long delta, final Long added) {
+        long sum = delta + added;
+        return sum != 0 ? sum : null;
+    }
+
+    /**
+     * Recomputes the counts of all items from the subscriptions of active users.
+     */
+    @Scheduled(cron = "${user-service.subscriber-counters.recount-cron:0 30 3 * * *}")
+    public void recount() {
+        for (Target target : Target.values()) {
+            String subscribers = " FROM " + target.table() + " s JOIN user_service_schema.\"user\" u"
+                    + " ON u.id = s.user_id AND u." + User.ACTIVE_CLAUSE;
+            int updated = jdbcTemplate.update("INSERT INTO " + TABLE + " AS c (target, item_id, subscribers)"
+                    + " SELECT ?, s." + target.column() + ", count(*)" + subscribers
+                    + " WHERE s." + target.column() + " IS NOT NULL GROUP BY s." + target.column()
+                    + " ON CONFLICT (target, item_id) DO UPDATE SET subscribers = EXCLUDED.subscribers"
+                    + " WHERE c.subscribers <> EXCLUDED.subscribers", target.name());
+            int emptied = jdbcTemplate.update("UPDATE " + TABLE + " c SET subscribers = 0"
+                    + " WHERE c.target = ? AND c.subscribers <> 0 AND NOT EXISTS (SELECT 1" + subscribers
+                    + " WHERE s." + target.column() + " = c.item_id)", target.name());
+            log.info("Recounted {} subscribers, {} counts corrected", target, updated + emptied);
+        }
+    }
+}
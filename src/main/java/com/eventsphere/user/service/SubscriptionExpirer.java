@@ -0,0 +1,91 @@
+package com.eventsphere.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Expires old event subscriptions in the background, so {@code user_event_subscription} does not keep the
+ * subscriptions to past events forever.
+ * <p>
+ * The table is partitioned by hash of {@code event_id}, so lookups of an event read a single partition. Every
+ * {@code user-service.subscription-expiry.interval} (6 hours by default), starting
+ * {@code user-service.subscription-expiry.initial-delay} (5 minutes by default) after startup, the expirer deletes
+ * the subscriptions created more than {@code user-service.subscription-expiry.retention-months} ago (24 by default;
+ * 0 keeps everything), partition by partition, in batches of {@code user-service.subscription-expiry.batch-size}
+ * rows (10000 by default). Each batch is its own short transaction.
+ * <p>
+ * Subscriber counts and the co-subscription index still include expired subscriptions until their next recount
+ * or rebuild.
+ */
+@Service
+@Slf4j
+public class SubscriptionExpirer {
+
+    static final String TABLE = "user_event_subscription";
+
+    private static final String SCHEMA = UserPurger.SCHEMA;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionMonths;
+    private final int batchSize;
+
+    public SubscriptionExpirer(
+            final JdbcTemplate jdbcTemplate,
+            @Value("${user-service.subscription-expiry.retention-months:24}") final int retentionMonths,
+            @Value("${user-service.subscription-expiry.batch-size:10000}") final int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionMonths = retentionMonths;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Deletes the subscriptions past the retention period.
+     */
+    @Scheduled(fixedDelayString = "${user-service.subscription-expiry.interval:PT6H}",
+            initialDelayString = "${user-service.subscription-expiry.initial-delay:PT5M}")
+    public void expire() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        long expired = 0;
+        for (String partition : partitions()) {
+            // The creation date is compared with the database clock, which is also the one it defaults to; an array
+            // rather than IN (...) has the batch deleted through the primary key instead of a scan of the partition
+            String table = SCHEMA + "." + partition;
+            expired += deleteInBatches("DELETE FROM " + table + " WHERE id = ANY (ARRAY(SELECT id FROM " + table
+                    + " WHERE created_at < LOCALTIMESTAMP - make_interval(months => ?) LIMIT ?))");
+        }
+        if (expired > 0) {
+            log.info("Expired {} subscriptions older than {} months", expired, retentionMonths);
+        }
+    }
+
+    /**
+     * Lists the partitions of the table.
+     */
+    List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE n.nspname = ? AND p.relname = ?
+                ORDER BY c.relname
+                """, String.class, SCHEMA, TABLE);
+    }
+
+    private long deleteInBatches(final String sql) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, retentionMonths, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,194 @@
+package com.eventsphere.user.service;
+
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.repository.UserExportRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for exporting users, for analytics, as NDJSON or CSV.
+ * <p>
+ * Rows are written as they are read from the database, so memory use does not depend on the number of users.
+ * Passwords are never exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportService {
+
+    /**
+     * Export formats, with their content type.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(final String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * Exportable columns, by the name used in the API.
+     */
+    public static final Map<String, String> COLUMNS = columns();
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final UserExportRepository userExportRepository;
+
+    /**
+     * Writes the active users, ordered by ID.
+     *
+     * @param format  The export format.
+     * @param columns The names of the columns to export, or null or empty for all.
+     * @param out     The stream to write to. It is flushed, not closed.
+     * @return The number of exported users.
+     * @throws InvalidRequestParameterException if a column is unknown.
+     * @throws IOException                      if writing fails, typically because the client went away.
+     */
+    @Transactional(readOnly = true)
+    public long export(final Format format, final List<String> columns, final OutputStream out) throws IOException {
+        List<String> names = columnNames(columns);
+        List<String> dbColumns = names.stream().map(COLUMNS::get).toList();
+
+        long rows;
+        if (format == Format.NDJSON) {
+            rows = exportNdjson(names, dbColumns, out);
+        } else {
+            rows = exportCsv(names, dbColumns, out);
+        }
+
+        log.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+
+    /**
+     * Checks the requested column names.
+     *
+     * @param columns The requested names, or null or empty for all.
+     * @return The names to export.
+     * @throws InvalidRequestParameterException if a column is unknown.
+     */
+    public static List<String> columnNames(final List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return List.copyOf(COLUMNS.keySet());
+        }
+        for (String column : columns) {
+            if (!COLUMNS.containsKey(column)) {
+                throw new InvalidRequestParameterException(
+                        "Unknown column " + column + ", expected some of " + String.join(",", COLUMNS.keySet()));
+            }
+        }
+        return columns.stream().distinct().toList();
+    }
+
+    private long exportNdjson(final List<String> names, final List<String> dbColumns, final OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            return userExportRepository.export(dbColumns, values -> {
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    generator.writeFieldName(names.get(i));
+                    Object value = values[i];
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Number number) {
+                        generator.writeNumber(number.longValue());
+                    } else {
+                        generator.writeString(text(value));
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private long exportCsv(final List<String> names, final List<String> dbColumns, final OutputStream out)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(String.join(",", names));
+        writer.write("\r\n");
+
+        long rows = userExportRepository.export(dbColumns, values -> {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeCsvField(writer, text(values[i]));
+                }
+            }
+            writer.write("\r\n");
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvField(final Writer writer, final String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Formats a value as text: dates and times in ISO-8601, everything else as is.
+     */
+    private static String text(final Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        } else if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+
+    private static Map<String, String> columns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "id");
+        columns.put("username", "username");
+        columns.put("email", "email");
+        columns.put("firstName", "first_name");
+        columns.put("lastName", "last_name");
+        columns.put("dateOfBirth", "date_of_birth");
+        columns.put("createdAt", "created_at");
+        columns.put("updatedAt", "updated_at");
+        return Collections.unmodifiableMap(columns);
+    }
+}
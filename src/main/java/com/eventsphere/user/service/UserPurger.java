@@ -0,0 +1,85 @@
+package com.eventsphere.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Removes deleted users, and the interests and subscriptions referencing them, in the background.
+ * <p>
+ * {@link UserService#delete} only marks a user as deleted, so a delete takes the same time however many rows
+ * reference the user. Every {@code user-service.purge.interval} (1 minute by default) the purger deletes the
+ * dependent rows, then the users, in batches of {@code user-service.purge.batch-size} rows (1000 by default).
+ * Each batch is its own short transaction.
+ * <p>
+ * Deleted users are kept for {@code user-service.purge.tombstone-retention} (7 days by default), as tombstones
+ * of {@code GET v1/users/modified}, and are gone from it afterwards. The database records the position of the
+ * last purged user, and the feed answers 410 to cursors before it: replicas polling less often than that must
+ * reload all users.
+ */
+@Service
+@Slf4j
+public class UserPurger {
+
+    static final String SCHEMA = "user_service_schema";
+    static final List<String> DEPENDENT_TABLES =
+            List.of("user_interest", "user_event_subscription", "user_category_subscription");
+
+    private static final String USERS = SCHEMA + ".\"user\" u";
+    private static final String DELETED = "u.deleted_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final String expiredTombstone;
+
+    public UserPurger(final JdbcTemplate jdbcTemplate,
+                      @Value("${user-service.purge.batch-size:1000}") final int batchSize,
+                      @Value("${user-service.purge.tombstone-retention:P7D}") final Duration tombstoneRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.expiredTombstone = "u.deleted_at < LOCALTIMESTAMP - make_interval(secs => "
+                + tombstoneRetention.toSeconds() + ")";
+    }
+
+    /**
+     * Purges the deleted users and the rows referencing them.
+     */
+    @Scheduled(fixedDelayString = "${user-service.purge.interval:PT1M}",
+            initialDelayString = "${user-service.purge.interval:PT1M}")
+    public void purge() {
+        long dependents = 0;
+        for (String table : DEPENDENT_TABLES) {
+            dependents += deleteInBatches("DELETE FROM " + SCHEMA + "." + table + " WHERE id IN ("
+                    + "SELECT d.id FROM " + SCHEMA + "." + table + " d JOIN " + USERS + " ON u.id = d.user_id"
+                    + " WHERE " + DELETED + " LIMIT ?)");
+        }
+
+        // Users still referenced, by a row added since the dependents were purged, are left for the next run
+        StringBuilder unreferenced = new StringBuilder();
+        for (String table : DEPENDENT_TABLES) {
+            unreferenced.append(" AND NOT EXISTS (SELECT 1 FROM ").append(SCHEMA).append('.').append(table)
+                    .append(" d WHERE d.user_id = u.id)");
+        }
+        long users = deleteInBatches("DELETE FROM " + SCHEMA + ".\"user\" WHERE id IN ("
+                + "SELECT u.id FROM " + USERS + " WHERE " + expiredTombstone + unreferenced + " LIMIT ?)");
+
+        if (users > 0 || dependents > 0) {
+            log.info("Purged {} deleted users and {} rows referencing them", users, dependents);
+        }
+    }
+
+    private long deleteInBatches(final String sql) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
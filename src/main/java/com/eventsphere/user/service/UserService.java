@@ -1,29 +1,94 @@
 package com.eventsphere.user.service;
 
+import com.eventsphere.user.cache.OffHeapUserDirectory;
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.exception.CursorExpiredException;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
 import com.eventsphere.user.exception.PasswordException;
+import com.eventsphere.user.exception.ServiceUnavailableException;
 import com.eventsphere.user.exception.UserAlreadyExistsException;
 import com.eventsphere.user.exception.UserNotFoundException;
 import com.eventsphere.user.exception.UserNotValidException;
 import com.eventsphere.user.model.User;
 import com.eventsphere.user.model.dto.ChangePasswordDto;
 import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.model.dto.UserFieldsDto;
 import com.eventsphere.user.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.eventsphere.user.util.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * Service class for managing user-related operations.
+ * <p>
+ * Every write publishes a {@link UserChangedEvent} once it has been saved.
+ * <p>
+ * Concurrent loads of the same user, and concurrent username or email probes for the same value, share a
+ * single database call (see {@link SingleFlight}). Callers joining a call in flight wait up to
+ * {@code user-service.single-flight.timeout} (2s by default).
+ * <p>
+ * When the {@link OffHeapUserDirectory} is enabled, users looked up by ID are read from it first, and stored in
+ * it once loaded from the database. Updates and password changes always read the user from the database, as the
+ * directory of an instance may hold a user changed or deleted by another.
+ * <p>
+ * The change feed of {@link #getModified} is ordered by the database, by transaction then write, and only
+ * returns the writes of transactions older than every transaction still running, so no write is skipped however
+ * late it commits. Tombstones of deleted users are purged after {@code user-service.purge.tombstone-retention}
+ * (7 days by default, see {@link UserPurger}): cursors from before a purged tombstone are rejected, and the
+ * replica must reload all users.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    public static final int SEARCH_MIN_QUERY_LENGTH = 3;
+    public static final int SEARCH_DEFAULT_LIMIT = 20;
+    public static final int SEARCH_MAX_LIMIT = 100;
+    public static final int BULK_MAX_IDS = 100;
+    public static final int CHANGES_DEFAULT_LIMIT = 100;
+    public static final int CHANGES_MAX_LIMIT = 1000;
+
+    /**
+     * Properties that can be requested in a sparse fieldset, plus {@value #LINKS_FIELD} for the links.
+     */
+    public static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "username", "email", "firstName", "lastName",
+            "dateOfBirth", "createdAt", "updatedAt");
+    public static final String LINKS_FIELD = "_links";
+
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<Long, User> userLoads;
+    private final SingleFlight<String, Boolean> usernameProbes;
+    private final SingleFlight<String, Boolean> emailProbes;
+    private final OffHeapUserDirectory userDirectory;
+
+    public UserService(final UserRepository userRepository, final ApplicationEventPublisher eventPublisher,
+                       @Value("${user-service.single-flight.timeout:2s}") final Duration singleFlightTimeout,
+                       @Nullable final OffHeapUserDirectory userDirectory) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.userDirectory = userDirectory;
+        this.userLoads = new SingleFlight<>(singleFlightTimeout, User::new);
+        this.usernameProbes = new SingleFlight<>(singleFlightTimeout, UnaryOperator.identity());
+        this.emailProbes = new SingleFlight<>(singleFlightTimeout, UnaryOperator.identity());
+    }
 
     /**
      * Retrieves a list of all users.
@@ -39,10 +104,229 @@ public class UserService {
      *
      * @param id The ID of the user to retrieve.
      * @return The {@link User} object.
-     * @throws UserNotFoundException if the user with the given ID is not found.
+     * @throws UserNotFoundException       if the user with the given ID is not found.
+     * @throws ServiceUnavailableException if waiting for a concurrent load of the same user times out.
      */
     public User get(final Long id) throws UserNotFoundException {
-        return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+        if (userDirectory == null) {
+            return load(id);
+        }
+        User user = userDirectory.get(id);
+        if (user == null) {
+            long version = userDirectory.version(id);
+            user = load(id);
+            userDirectory.put(user, version);
+        }
+        return user;
+    }
+
+    /**
+     * Retrieves the users with the given IDs. IDs that do not exist are skipped.
+     *
+     * @param ids The IDs of the users to retrieve, at most {@value #BULK_MAX_IDS}.
+     * @return List of {@link User} objects, ordered by ID.
+     * @throws InvalidRequestParameterException if no IDs or too many IDs are given.
+     */
+    public List<User> getAllById(final Collection<Long> ids) {
+        checkBulkIds(ids);
+
+        if (userDirectory == null) {
+            return userRepository.findAllById(ids).stream()
+                    .sorted(Comparator.comparing(User::getId))
+                    .toList();
+        }
+
+        List<User> users = new ArrayList<>(ids.size());
+        Map<Long, Long> missingVersions = new HashMap<>();
+        for (Long id : ids) {
+            User user = userDirectory.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingVersions.putIfAbsent(id, userDirectory.version(id));
+            }
+        }
+        if (!missingVersions.isEmpty()) {
+            for (User user : userRepository.findAllById(missingVersions.keySet())) {
+                userDirectory.put(user, missingVersions.get(user.getId()));
+                users.add(user);
+            }
+        }
+        return users.stream()
+                .distinct()
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+    }
+
+    /**
+     * Retrieves the given properties of all users, selecting only those in SQL.
+     *
+     * @param fields The properties to retrieve, as given by {@link #projectedFields}.
+     * @return List of {@link UserFieldsDto} objects, ordered by ID.
+     */
+    public List<UserFieldsDto> getAllFields(final List<String> fields) {
+        return userRepository.findFields(fields, null);
+    }
+
+    /**
+     * Retrieves the given properties of a specific user, selecting only those in SQL.
+     *
+     * @param id     The ID of the user to retrieve.
+     * @param fields The properties to retrieve, as given by {@link #projectedFields}.
+     * @return The {@link UserFieldsDto} object.
+     * @throws UserNotFoundException if the user with the given ID is not found.
+     */
+    public UserFieldsDto getFields(final Long id, final List<String> fields) throws UserNotFoundException {
+        return userRepository.findFields(fields, List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    /**
+     * Retrieves the given properties of the users with the given IDs. IDs that do not exist are skipped.
+     *
+     * @param ids    The IDs of the users to retrieve, at most {@value #BULK_MAX_IDS}.
+     * @param fields The properties to retrieve, as given by {@link #projectedFields}.
+     * @return List of {@link UserFieldsDto} objects, ordered by ID.
+     * @throws InvalidRequestParameterException if no IDs or too many IDs are given.
+     */
+    public List<UserFieldsDto> getAllFieldsById(final Collection<Long> ids, final List<String> fields) {
+        checkBulkIds(ids);
+
+        return userRepository.findFields(fields, ids);
+    }
+
+    /**
+     * Resolves the properties of a sparse fieldset request, without {@value #LINKS_FIELD}.
+     *
+     * @param fields The requested fields.
+     * @return The requested properties, in order and without duplicates.
+     * @throws InvalidRequestParameterException if no field or an unknown field is requested.
+     */
+    public static List<String> projectedFields(final List<String> fields) {
+        List<String> properties = fields == null ? List.of() : fields.stream()
+                .map(String::trim)
+                .filter(field -> !field.isEmpty() && !LINKS_FIELD.equals(field))
+                .distinct()
+                .toList();
+
+        if (properties.isEmpty()) {
+            throw new InvalidRequestParameterException("Provide at least one field");
+        }
+        for (String property : properties) {
+            if (!PROJECTABLE_FIELDS.contains(property)) {
+                throw new InvalidRequestParameterException("Unknown field " + property + ", expected some of "
+                        + String.join(",", PROJECTABLE_FIELDS.stream().sorted().toList()) + " or " + LINKS_FIELD);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Searches users by prefix and fuzzy match over username, first name, last name and email.
+     * Results are ordered by ID; pass the last returned ID as {@code after} to get the next page.
+     *
+     * @param query The search query.
+     * @param after The ID after which to continue the search, or null to start from the beginning.
+     * @param limit The maximum number of users to return, or null for the default. Capped at {@value #SEARCH_MAX_LIMIT}.
+     * @return List of matching {@link User} objects.
+     * @throws InvalidRequestParameterException if the query is too short or the limit is not positive.
+     */
+    public List<User> search(final String query, final Long after, final Integer limit) {
+        String term = searchTerm(query, limit);
+
+        return userRepository.search(
+                term,
+                escapeLikePattern(term) + "%",
+                after == null ? 0L : after,
+                searchLimit(limit)
+        );
+    }
+
+    /**
+     * Resolves the effective result limit of a search.
+     *
+     * @param limit The requested limit, or null for the default.
+     * @return The requested limit capped at {@value #SEARCH_MAX_LIMIT}, or {@value #SEARCH_DEFAULT_LIMIT} if none was requested.
+     */
+    public static int searchLimit(final Integer limit) {
+        return limit == null ? SEARCH_DEFAULT_LIMIT : Math.min(limit, SEARCH_MAX_LIMIT);
+    }
+
+    /**
+     * Retrieves the users changed after a position of the change feed, including the deleted ones with their
+     * deletion date. Users are ordered by their position in the feed, so the {@link #cursor} of the last returned
+     * user can be passed as {@code after} to get the next page.
+     *
+     * @param after The cursor of the last user from the previous page, or null to start from the beginning.
+     * @param limit The maximum number of users to return, or null for the default. Capped at {@value #CHANGES_MAX_LIMIT}.
+     * @return List of changed {@link User} objects, with their deletion date if deleted.
+     * @throws InvalidRequestParameterException if the cursor is malformed or the limit is not positive.
+     * @throws CursorExpiredException           if tombstones after the cursor have been purged, or the cursor is
+     *                                          from an earlier version of the feed.
+     */
+    public List<User> getModified(final String after, final Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestParameterException("Limit must be positive");
+        }
+        if (after == null) {
+            return userRepository.findModifiedAfter(0, 0, changesLimit(limit));
+        }
+
+        int separator = after.lastIndexOf(',');
+        long changeXid;
+        long changeSeq;
+        try {
+            changeXid = Long.parseLong(after.substring(0, Math.max(separator, 0)));
+            changeSeq = Long.parseLong(after.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            if (isUpdatedAtCursor(after, separator)) {
+                throw new CursorExpiredException("The change feed is no longer ordered by modification date, "
+                        + "reload all users and start again without a cursor");
+            }
+            throw new InvalidRequestParameterException(
+                    "Cursor must be <changeXid>,<changeSeq> as returned by a previous page, got " + after);
+        }
+
+        List<User> users = userRepository.findModifiedAfter(changeXid, changeSeq, changesLimit(limit));
+        // Checked after reading the page: a tombstone purged since was either in the page or is caught next time
+        if (userRepository.isPurgedAfter(changeXid, changeSeq)) {
+            throw new CursorExpiredException("Deleted users after cursor " + after + " have been purged, "
+                    + "reload all users and start again without a cursor");
+        }
+        return users;
+    }
+
+    /**
+     * Checks whether a cursor is in the {@code <updatedAt>,<id>} format the feed was first ordered by.
+     */
+    private static boolean isUpdatedAtCursor(final String cursor, final int separator) {
+        try {
+            LocalDateTime.parse(cursor.substring(0, Math.max(separator, 0)));
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the effective result limit of the change feed.
+     *
+     * @param limit The requested limit, or null for the default.
+     * @return The requested limit capped at {@value #CHANGES_MAX_LIMIT}, or {@value #CHANGES_DEFAULT_LIMIT} if none was requested.
+     */
+    public static int changesLimit(final Integer limit) {
+        return limit == null ? CHANGES_DEFAULT_LIMIT : Math.min(limit, CHANGES_MAX_LIMIT);
+    }
+
+    /**
+     * Returns the position of a user in the change feed, to pass as {@code after} to {@link #getModified}.
+     *
+     * @param user A user returned by {@link #getModified}.
+     * @return The transaction that last wrote the user and the order of the write, separated by a comma.
+     */
+    public static String cursor(final User user) {
+        return user.getChangeXid() + "," + user.getChangeSeq();
     }
 
     /**
@@ -53,14 +337,19 @@ public class UserService {
      * @throws UserNotValidException if the user data is invalid.
      */
     public User save(final User user) throws UserNotValidException {
+        User savedUser;
         try {
             user.setCreatedAt(null);
             user.setUpdatedAt(null);
 
-            return userRepository.save(user);
+            savedUser = userRepository.save(user);
         } catch (RuntimeException ex) {
             throw new UserNotValidException("Invalid User data: " + Arrays.toString(ex.getStackTrace()));
         }
+
+        forget(savedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 
     /**
@@ -71,9 +360,9 @@ public class UserService {
      * @throws UserAlreadyExistsException if a user with the same username or email already exists.
      */
     public User create(final User user) throws UserAlreadyExistsException {
-        if (userRepository.existsByUsername(user.getUsername())) {
+        if (usernameExists(user.getUsername())) {
             throw new UserAlreadyExistsException("This username is already registered");
-        } else if (userRepository.existsByEmail(user.getEmail())) {
+        } else if (emailExists(user.getEmail())) {
             throw new UserAlreadyExistsException("This email is already registered");
         } else {
             return save(user);
@@ -90,7 +379,7 @@ public class UserService {
      * @throws UserAlreadyExistsException if a user with the updated username or email already exists.
      */
     public User update(final Long userId, final UserDto userDto) throws UserNotFoundException, UserAlreadyExistsException {
-        User userFromDb = get(userId);
+        User userFromDb = load(userId);
 
         // Username change check
         if (userDto.getUsername() != null &&
@@ -137,7 +426,7 @@ public class UserService {
     public boolean checkEmailUpdate(final String emailFromDb, final String updatedEmail) throws UserAlreadyExistsException {
         if (emailFromDb != null && updatedEmail != null &&
                 !updatedEmail.equals(emailFromDb) &&
-                userRepository.existsByEmail(updatedEmail)) {
+                emailExists(updatedEmail)) {
             throw new UserAlreadyExistsException("This email is already registered");
         }
 
@@ -155,7 +444,7 @@ public class UserService {
     public boolean checkUsernameUpdate(final String usernameFromDb, final String updatedUsername) throws UserAlreadyExistsException {
         if (usernameFromDb != null && updatedUsername != null &&
                 !updatedUsername.equals(usernameFromDb) &&
-                userRepository.existsByUsername(updatedUsername)) {
+                usernameExists(updatedUsername)) {
             throw new UserAlreadyExistsException("This username is already registered");
         }
 
@@ -171,7 +460,7 @@ public class UserService {
      * @throws PasswordException     if the old password is incorrect or the new passwords don't match.
      */
     public void changePassword(final Long userId, final ChangePasswordDto passwordDto) throws UserNotFoundException, PasswordException {
-        User userFromDb = get(userId);
+        User userFromDb = load(userId);
 
         if (!userFromDb.getPassword().equals(passwordDto.getOldPassword())) {
             throw new PasswordException("Incorrect old password");
@@ -184,16 +473,89 @@ public class UserService {
     }
 
     /**
-     * Deletes a user.
+     * Deletes a user. The user is only marked as deleted, in a single statement; it and its interests and
+     * subscriptions are removed later by the {@link UserPurger}.
      *
      * @param id The ID of the user to delete.
      * @throws UserNotFoundException if the user with the given ID is not found.
      */
     public void delete(final Long id) throws UserNotFoundException {
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-        } else {
+        if (userRepository.softDeleteById(id) == 0) {
             throw new UserNotFoundException(id);
         }
+
+        userLoads.forget(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+    }
+
+    private User load(final Long id) throws UserNotFoundException {
+        return userLoads.load(id, () -> userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id)));
+    }
+
+    private boolean usernameExists(final String username) {
+        return usernameProbes.load(username, () -> userRepository.existsByUsername(username));
+    }
+
+    private boolean emailExists(final String email) {
+        return emailProbes.load(email, () -> userRepository.existsByEmail(email));
+    }
+
+    /**
+     * Detaches the loads and probes in flight that a saved user may have changed, so they are not shared
+     * with callers arriving after the change.
+     */
+    private void forget(final User savedUser) {
+        userLoads.forget(savedUser.getId());
+        usernameProbes.forget(savedUser.getUsername());
+        emailProbes.forget(savedUser.getEmail());
+    }
+
+    /**
+     * Checks the IDs of a bulk lookup.
+     *
+     * @param ids The requested IDs.
+     * @throws InvalidRequestParameterException if no IDs or too many IDs are given.
+     */
+    public static void checkBulkIds(final Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestParameterException("Provide at least one id");
+        }
+        if (ids.size() > BULK_MAX_IDS) {
+            throw new InvalidRequestParameterException("At most " + BULK_MAX_IDS + " ids can be requested at once");
+        }
+    }
+
+    /**
+     * Normalizes a search query and checks it together with the requested limit.
+     *
+     * @param query The search query.
+     * @param limit The requested limit, or null for the default.
+     * @return The trimmed, lower-cased search term.
+     * @throws InvalidRequestParameterException if the query is too short or the limit is not positive.
+     */
+    public static String searchTerm(final String query, final Integer limit) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+
+        if (term.length() < SEARCH_MIN_QUERY_LENGTH) {
+            throw new InvalidRequestParameterException(
+                    "Search query must be at least " + SEARCH_MIN_QUERY_LENGTH + " characters");
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestParameterException("Limit must be positive");
+        }
+
+        return term;
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards in the given value, so it is matched literally.
+     *
+     * @param value The value to escape.
+     * @return The escaped value.
+     */
+    public static String escapeLikePattern(final String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,441 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.model.dto.RelatedItemDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Index of the events and categories most often subscribed to by the subscribers of an event or category:
+ * "users who follow X also follow Y".
+ *
+ * <p>A rebuild splits the IDs of users into chunks of {@value #CHUNK_USERS} and counts their subscriptions in a
+ * parallel stream on a {@link ForkJoinPool}: each chunk counts, in a sparse matrix of {@link LongIntHashMap maps
+ * of primitives}, the subscribers of each item and the users subscribed to each pair of items, and the matrices
+ * of the chunks are added together. Users with more than {@value #MAXIMUM_ITEMS_PER_USER} subscriptions are
+ * skipped, as they would add many pairs and little signal. Each row is then pruned to the {@code top} items most
+ * often co-subscribed.</p>
+ *
+ * <p>The pruned rows form a snapshot of flat arrays, never changed: queries read the current one without locking,
+ * and rebuilds and changes replace it with a new one. A committed bulk change of the subscriptions to an item
+ * adds the number of changed users subscribed to each other item to both rows. A row that has ever been pruned
+ * only takes changes of the items it holds: the count of an item pruned from it is unknown, so the item is left
+ * out of the row until the next rebuild rather than re-entering it with its changes alone. Rows never pruned take
+ * all changes, so counts involving items created since the rebuild are exact until their rows fill up. Changes
+ * committed during a rebuild are applied again to its snapshot, and those it already counted are counted twice
+ * until the next rebuild.</p>
+ */
+public class CoSubscriptionIndex implements MeterBinder {
+
+    static final int CHUNK_USERS = 50_000;
+    static final int MAXIMUM_ITEMS_PER_USER = 200;
+
+    /**
+     * Reader of the subscribed items of users, by range of IDs.
+     */
+    @FunctionalInterface
+    public interface ChunkReader {
+
+        /**
+         * Reads the subscribed items of the users in a range of IDs.
+         *
+         * @param fromId  the lowest user ID, inclusive.
+         * @param toId    the highest user ID, inclusive.
+         * @param handler the handler of the {@link #item(Target, long) items} of each user.
+         */
+        void read(long fromId, long toId, ItemsHandler handler);
+    }
+
+    /**
+     * Handler of the subscribed items of a user.
+     */
+    @FunctionalInterface
+    public interface ItemsHandler {
+
+        void handle(long userId, long[] items);
+    }
+
+    private final ForkJoinPool pool;
+    private final int top;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new Row[0]);
+    private volatile boolean ready;
+    private volatile double lastRebuildSeconds;
+    private List<Runnable> changesDuringRebuild;
+
+    /**
+     * Creates an empty index, not ready until it is first rebuilt.
+     *
+     * @param pool the pool counting the subscriptions, shut down with the index.
+     * @param top  the number of co-subscribed items kept per item.
+     */
+    public CoSubscriptionIndex(final ForkJoinPool pool, final int top) {
+        if (top < 1) {
+            throw new IllegalArgumentException("The number of co-subscribed items kept must be positive");
+        }
+        this.pool = pool;
+        this.top = top;
+    }
+
+    /**
+     * Returns the key of an event or category in the index.
+     *
+     * @param target the subscription table of the item.
+     * @param itemId the ID of the event or category.
+     * @return the item.
+     */
+    public static long item(final Target target, final long itemId) {
+        return itemId << 1 | (target == Target.CATEGORY ? 1 : 0);
+    }
+
+    static Target target(final long item) {
+        return (item & 1) != 0 ? Target.CATEGORY : Target.EVENT;
+    }
+
+    static long itemId(final long item) {
+        return item >> 1;
+    }
+
+    /**
+     * Whether the index has been rebuilt at least once, so that it holds all subscriptions.
+     *
+     * @return whether the index is ready.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the items most often co-subscribed with an item.
+     *
+     * @param item  the item.
+     * @param limit the maximum number of items.
+     * @return the co-subscribed items, the most often co-subscribed first; none for unknown items.
+     */
+    public List<RelatedItemDto> related(final long item, final int limit) {
+        Row row = snapshot.row(item);
+        if (row == null) {
+            return List.of();
+        }
+        List<RelatedItemDto> related = new ArrayList<>(Math.min(limit, row.items.length));
+        for (int i = 0; i < row.items.length && i < limit; i++) {
+            double share = row.subscribers > 0 ? Math.min(1.0, (double) row.counts[i] / row.subscribers) : 0;
+            related.add(new RelatedItemDto(target(row.items[i]), itemId(row.items[i]), row.counts[i], share));
+        }
+        return related;
+    }
+
+    /**
+     * Counts the subscriptions of all users, replacing the current snapshot.
+     *
+     * @param fromId the lowest user ID, inclusive.
+     * @param toId   the highest user ID, inclusive.
+     * @param reader reads the subscribed items of users.
+     */
+    public void rebuild(final long fromId, final long toId, final ChunkReader reader) {
+        long start = System.nanoTime();
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long chunks = toId < fromId ? 0 : (toId - fromId) / CHUNK_USERS + 1;
+            // A parallel stream started in a pool runs in that pool
+            Snapshot built = pool.submit(() -> LongStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        long chunkFrom = fromId + chunk * CHUNK_USERS;
+                        return count(reader, chunkFrom, Math.min(toId, chunkFrom + CHUNK_USERS - 1));
+                    })
+                    .reduce(Matrix::merge)
+                    .orElseGet(Matrix::new)
+                    .prune(top)).join();
+
+            synchronized (this) {
+                snapshot = built;
+                changesDuringRebuild.forEach(Runnable::run);
+                ready = true;
+            }
+        } finally {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+        }
+        lastRebuildSeconds = (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * Applies a committed change of the subscriptions to an item.
+     *
+     * @param item          the changed item.
+     * @param subscribers   the number of users subscribed to it, negative for unsubscribed users.
+     * @param coSubscribers the number of changed users subscribed to each other item, negative for unsubscribed
+     *                      users.
+     */
+    synchronized void apply(final long item, final int subscribers, final LongIntHashMap coSubscribers) {
+        Runnable change = () -> snapshot = snapshot.apply(item, subscribers, coSubscribers, top);
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    /**
+     * Shuts down the pool counting the subscriptions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("user_service.co_subscriptions.items", this, index -> index.snapshot.items.length)
+                .description("Events and categories in the co-subscription index")
+                .register(registry);
+        Gauge.builder("user_service.co_subscriptions.pairs", this, index -> index.snapshot.pairs())
+                .description("Co-subscribed pairs of items kept in the co-subscription index")
+                .register(registry);
+        TimeGauge.builder("user_service.co_subscriptions.rebuild.duration", this, TimeUnit.SECONDS,
+                        index -> index.lastRebuildSeconds)
+                .description("Duration of the last rebuild of the co-subscription index")
+                .register(registry);
+    }
+
+    private static Matrix count(final ChunkReader reader, final long fromId, final long toId) {
+        Matrix matrix = new Matrix();
+        reader.read(fromId, toId, (userId, items) -> {
+            if (items.length <= MAXIMUM_ITEMS_PER_USER) {
+                matrix.add(items);
+            }
+        });
+        return matrix;
+    }
+
+    /**
+     * Sparse matrix of the number of subscribers of each item and of each pair of items, while counting.
+     */
+    private static final class Matrix {
+
+        // Position of each item, plus one
+        private final LongIntHashMap positions = new LongIntHashMap();
+        private long[] items = new long[64];
+        private int[] subscribers = new int[64];
+        private LongIntHashMap[] rows = new LongIntHashMap[64];
+        private int size;
+
+        /**
+         * Counts the subscriptions of a user.
+         */
+        private void add(final long[] userItems) {
+            long[] sorted = userItems.clone();
+            Arrays.sort(sorted);
+            int[] userPositions = new int[sorted.length];
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    userPositions[distinct++] = position(sorted[i]);
+                }
+            }
+            for (int i = 0; i < distinct; i++) {
+                subscribers[userPositions[i]]++;
+                LongIntHashMap row = rows[userPositions[i]];
+                for (int j = 0; j < distinct; j++) {
+                    if (j != i) {
+                        row.addTo(items[userPositions[j]], 1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the counts of another matrix to those of this one.
+         */
+        private Matrix merge(final Matrix other) {
+            for (int i = 0; i < other.size; i++) {
+                int position = position(other.items[i]);
+                subscribers[position] += other.subscribers[i];
+                rows[position].addAll(other.rows[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Keeps the most often co-subscribed items of each item, in parallel.
+         */
+        private Snapshot prune(final int top) {
+            long[] sortedItems = Arrays.copyOf(items, size);
+            Arrays.sort(sortedItems);
+            Row[] pruned = IntStream.range(0, size).parallel()
+                    .mapToObj(i -> {
+                        int position = positions.get(sortedItems[i]) - 1;
+                        return Row.of(subscribers[position], rows[position], top, true);
+                    })
+                    .toArray(Row[]::new);
+            return new Snapshot(sortedItems, pruned);
+        }
+
+        private int position(final long item) {
+            int position = positions.get(item) - 1;
+            if (position < 0) {
+                if (size == items.length) {
+                    items = Arrays.copyOf(items, size * 2);
+                    subscribers = Arrays.copyOf(subscribers, size * 2);
+                    rows = Arrays.copyOf(rows, size * 2);
+                }
+                position = size++;
+                positions.addTo(item, position + 1);
+                items[position] = item;
+                rows[position] = new LongIntHashMap();
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Immutable rows of the items, sorted by item.
+     */
+    private static final class Snapshot {
+
+        private final long[] items;
+        private final Row[] rows;
+
+        private Snapshot(final long[] items, final Row[] rows) {
+            this.items = items;
+            this.rows = rows;
+        }
+
+        private Row row(final long item) {
+            int position = Arrays.binarySearch(items, item);
+            return position >= 0 ? rows[position] : null;
+        }
+
+        private long pairs() {
+            long pairs = 0;
+            for (Row row : rows) {
+                pairs += row.items.length;
+            }
+            return pairs;
+        }
+
+        /**
+         * Returns a snapshot with a change of the subscriptions to an item applied to its row and the rows of the
+         * other items, skipping the pairs that may have been pruned from a row.
+         */
+        private Snapshot apply(final long item, final int subscribers, final LongIntHashMap coSubscribers,
+                               final int top) {
+            Map<Long, Row> changed = new HashMap<>();
+            Row row = row(item);
+            boolean complete = row == null || row.complete;
+            LongIntHashMap counts = row != null ? row.counts() : new LongIntHashMap();
+            coSubscribers.forEach((other, delta) -> {
+                if (complete || counts.get(other) != 0) {
+                    counts.addTo(other, delta);
+                }
+                Row otherRow = row(other);
+                LongIntHashMap otherCounts = otherRow != null ? otherRow.counts() : new LongIntHashMap();
+                if (otherRow == null || otherRow.complete || otherCounts.get(item) != 0) {
+                    otherCounts.addTo(item, delta);
+                    changed.put(other, Row.of(otherRow != null ? otherRow.subscribers : 0, otherCounts, top,
+                            otherRow == null || otherRow.complete));
+                }
+            });
+            changed.put(item, Row.of(Math.max(0, (row != null ? row.subscribers : 0) + subscribers), counts, top,
+                    complete));
+            return with(changed);
+        }
+
+        /**
+         * Returns a snapshot with changed rows, dropping those left empty.
+         */
+        private Snapshot with(final Map<Long, Row> changed) {
+            long[] changedItems = changed.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            long[] nextItems = new long[items.length + changedItems.length];
+            Row[] nextRows = new Row[nextItems.length];
+            int size = 0;
+            int next = 0;
+            for (int position = 0; position <= items.length; position++) {
+                long item = position < items.length ? items[position] : Long.MAX_VALUE;
+                for (; next < changedItems.length && changedItems[next] <= item; next++) {
+                    Row row = changed.get(changedItems[next]);
+                    if (row.subscribers > 0 || row.items.length > 0) {
+                        nextItems[size] = changedItems[next];
+                        nextRows[size++] = row;
+                    }
+                }
+                if (position < items.length && !changed.containsKey(item)) {
+                    nextItems[size] = item;
+                    nextRows[size++] = rows[position];
+                }
+            }
+            return new Snapshot(Arrays.copyOf(nextItems, size), Arrays.copyOf(nextRows, size));
+        }
+    }
+
+    /**
+     * The subscribers of an item, and its most often co-subscribed items by decreasing count. A complete row has
+     * never been pruned, so it holds all co-subscribed items.
+     */
+    private static final class Row {
+
+        private final int subscribers;
+        private final long[] items;
+        private final int[] counts;
+        private final boolean complete;
+
+        private Row(final int subscribers, final long[] items, final int[] counts, final boolean complete) {
+            this.subscribers = subscribers;
+            this.items = items;
+            this.counts = counts;
+            this.complete = complete;
+        }
+
+        /**
+         * Keeps the {@code top} positive counts, the greatest first, then by item.
+         *
+         * @param complete whether the counts are all those of the item, rather than those of a pruned row.
+         */
+        private static Row of(final int subscribers, final LongIntHashMap counts, final int top,
+                              final boolean complete) {
+            long[] candidates = counts.keys();
+            long[] ranked = new long[candidates.length];
+            int size = 0;
+            for (int i = 0; i < candidates.length; i++) {
+                int count = counts.get(candidates[i]);
+                if (count > 0) {
+                    // Sorts by count, then by position among the items in ascending order
+                    ranked[size++] = (long) count << 32 | Integer.MAX_VALUE - i;
+                }
+            }
+            Arrays.sort(ranked, 0, size);
+            int kept = Math.min(top, size);
+            long[] items = new long[kept];
+            int[] keptCounts = new int[kept];
+            for (int i = 0; i < kept; i++) {
+                long rank = ranked[size - 1 - i];
+                items[i] = candidates[Integer.MAX_VALUE - (int) rank];
+                keptCounts[i] = (int) (rank >>> 32);
+            }
+            return new Row(subscribers, items, keptCounts, complete && kept == size);
+        }
+
+        private LongIntHashMap counts() {
+            LongIntHashMap counts = new LongIntHashMap(items.length + 1);
+            for (int i = 0; i < items.length; i++) {
+                counts.addTo(items[i], this.counts[i]);
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.event.SubscriptionChangeListener;
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.model.dto.RelatedItemDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.repository.CoSubscriptionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Finds the events and categories most often subscribed to by the subscribers of an event or category, with a
+ * {@link CoSubscriptionIndex} kept up to date with the database.
+ * <p>
+ * The index is rebuilt from the subscriptions of all active users in the background once the application is
+ * ready, and then on {@code user-service.co-subscriptions.rebuild-cron} (every night by default); queries fail
+ * with 503 until the first rebuild is done. Once a bulk subscription change is committed, the other
+ * subscriptions of the changed users are counted and applied to the index in the background, one change at a time
+ * and after any rebuild in progress; users with more than {@value CoSubscriptionIndex#MAXIMUM_ITEMS_PER_USER}
+ * subscriptions are skipped, as by rebuilds. Subscriptions of deleted users are only dropped by the next rebuild.
+ * <p>
+ * As the other subscriptions are read after the commit, concurrent changes to the subscriptions of the same users
+ * drift until the next rebuild: users unsubscribed from two items at the same time may each be read as already
+ * unsubscribed from the other item, so the pair is never decremented, and users subscribed to two items at the same
+ * time may be counted twice for the pair.
+ */
+@Slf4j
+public class CoSubscriptionService implements SubscriptionChangeListener {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final CoSubscriptionIndex index;
+    private final CoSubscriptionRepository coSubscriptionRepository;
+    private final BulkSubscriptionRepository bulkSubscriptionRepository;
+    private final ExecutorService executor;
+
+    /**
+     * @param index                      The index of the co-subscriptions.
+     * @param coSubscriptionRepository   Reads the subscriptions of users.
+     * @param bulkSubscriptionRepository Reads the subscriptions of the users of bulk subscription changes.
+     * @param executor                   Runs the rebuilds of the index and applies changes, one at a time; shut
+     *                                   down with the service.
+     */
+    public CoSubscriptionService(final CoSubscriptionIndex index,
+                                 final CoSubscriptionRepository coSubscriptionRepository,
+                                 final BulkSubscriptionRepository bulkSubscriptionRepository,
+                                 final ExecutorService executor) {
+        this.index = index;
+        this.coSubscriptionRepository = coSubscriptionRepository;
+        this.bulkSubscriptionRepository = bulkSubscriptionRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Finds the events and categories most often co-subscribed with an event or category.
+     *
+     * @param target The subscription table of the item.
+     * @param itemId The ID of the event or category.
+     * @param limit  The maximum number of items, at most {@value #MAX_LIMIT}; {@value #DEFAULT_LIMIT} if null.
+     * @return The co-subscribed items, the most often co-subscribed first; none for items without subscribers.
+     * @throws InvalidRequestParameterException if the limit is out of range.
+     * @throws ServiceUnavailableException      if the index has not been built yet.
+     */
+    public List<RelatedItemDto> related(final Target target, final long itemId, @Nullable final Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new InvalidRequestParameterException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!index.isReady()) {
+            throw new ServiceUnavailableException("The co-subscription index is being built");
+        }
+        return index.related(CoSubscriptionIndex.item(target, itemId), limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    /**
+     * Rebuilds the index from the subscriptions of all active users.
+     */
+    public void rebuild() {
+        try {
+            long start = System.nanoTime();
+            long[] range = coSubscriptionRepository.activeUserIdRange();
+            if (range == null) {
+                range = new long[]{1, 0};
+            }
+            index.rebuild(range[0], range[1], (fromId, toId, handler) ->
+                    coSubscriptionRepository.forEachUser(fromId, toId, handler::handle));
+            log.info("Rebuilt the co-subscription index of users {} to {} in {} ms", range[0], range[1],
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Could not rebuild the co-subscription index", ex);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::rebuild);
+    }
+
+    @Scheduled(cron = "${user-service.co-subscriptions.rebuild-cron:0 15 4 * * *}")
+    public void scheduleRebuild() {
+        executor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Applies a committed bulk subscription change to the index in the background.
+     *
+     * @param event The subscription change.
+     */
+    @Override
+    @TransactionalEventListener
+    public void onSubscriptionsChanged(final SubscriptionsChangedEvent event) {
+        if (event.getUserIds() != null) {
+            executor.execute(() -> apply(event));
+        }
+    }
+
+    /**
+     * Counts the other subscriptions of the users of a committed bulk subscription change, and applies them to the
+     * index.
+     *
+     * @param event The subscription change.
+     */
+    void apply(final SubscriptionsChangedEvent event) {
+        try {
+            int sign = Long.signum(event.getDelta());
+            LongIntHashMap coSubscribers = new LongIntHashMap();
+            long users = bulkSubscriptionRepository.coSubscriptions(event.getTarget(), event.getItemId(),
+                    event.getUserIds(), CoSubscriptionIndex.MAXIMUM_ITEMS_PER_USER - 1, (target, itemId, count) ->
+                            coSubscribers.addTo(CoSubscriptionIndex.item(target, itemId), sign * (int) count));
+            index.apply(CoSubscriptionIndex.item(event.getTarget(), event.getItemId()), sign * (int) users,
+                    coSubscribers);
+        } catch (RuntimeException ex) {
+            log.warn("Could not apply the change of {} subscriptions to {} {} to the co-subscription index,"
+                    + " it is left out until the next rebuild", event.getDelta(), event.getTarget(),
+                    event.getItemId(), ex);
+        }
+    }
+}
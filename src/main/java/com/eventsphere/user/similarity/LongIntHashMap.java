@@ -0,0 +1,134 @@
+package com.eventsphere.user.similarity;
+
+import java.util.Arrays;
+
+/**
+ * Map of {@code long} keys to {@code int} values with open addressing and linear probing, without boxing keys,
+ * values or entries. Absent keys have the value 0.
+ */
+final class LongIntHashMap {
+
+    /**
+     * Consumer of the entries of a map.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        void accept(long key, int value);
+    }
+
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+
+    LongIntHashMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * @param expected the number of keys held without resizing.
+     */
+    LongIntHashMap(final int expected) {
+        int capacity = Integer.highestOneBit(Math.max(MINIMUM_CAPACITY, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(final long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); used[slot]; slot = slot + 1 & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds to the value of a key, adding the key if absent.
+     *
+     * @param key   the key.
+     * @param delta the value to add.
+     */
+    void addTo(final long key, final int delta) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; used[slot]; slot = slot + 1 & mask) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        used[slot] = true;
+        // At most half full
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Adds the values of another map to those of this one.
+     *
+     * @param other the other map.
+     */
+    void addAll(final LongIntHashMap other) {
+        other.forEach(this::addTo);
+    }
+
+    void forEach(final EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys in ascending order.
+     *
+     * @return the keys.
+     */
+    long[] keys() {
+        long[] present = new long[size];
+        int[] next = {0};
+        forEach((key, value) -> present[next[0]++] = key);
+        Arrays.sort(present);
+        return present;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i], mask);
+                while (used[slot]) {
+                    slot = slot + 1 & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    private static int slot(final long key, final int mask) {
+        // Fibonacci hashing spreads the consecutive IDs of items over the table
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+    }
+}
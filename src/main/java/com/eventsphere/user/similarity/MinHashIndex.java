@@ -0,0 +1,484 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.model.dto.SimilarUserDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Index of the MinHash signatures of users, finding the users whose interests and subscriptions are the most
+ * similar to those of a user without comparing it to all of them.
+ *
+ * <p>Each feature of a user (an interest, a subscribed event or category) is hashed with {@value #HASHES} hash
+ * functions, and the minimum of each function over the features forms the signature of the user. Two signatures
+ * agree on a function with a probability equal to the Jaccard similarity of the feature sets, estimated as the
+ * fraction of agreeing functions. Signatures are split into {@value #BANDS} bands of {@value #ROWS} functions
+ * (locality-sensitive hashing): only users agreeing on a whole band with the user are compared, found by band
+ * hash without scanning, so a user with a similarity of 0.5 is compared with a probability of 99%, and one with
+ * a similarity of 0.2 with a probability of 48%. At most {@value #MAXIMUM_CANDIDATES} users are compared per
+ * query.</p>
+ *
+ * <p>Signatures are held in a generation of flat arrays: the user IDs in ascending order, their signatures, and
+ * per band the positions of the users sorted by band hash, about 200 bytes per user. A generation is built in
+ * parallel on a {@link ForkJoinPool} and never changed. Signatures changed since are kept in an overlay, scanned
+ * by every query and folded into a new generation once it holds {@code mergeThreshold} users. Adding a feature
+ * lowers a signature in place, removing one needs the signature to be recomputed from all features.</p>
+ */
+public class MinHashIndex implements MeterBinder {
+
+    public static final int EVENT = 1;
+    public static final int CATEGORY = 2;
+    public static final int INTEREST = 3;
+
+    static final int HASHES = 32;
+    static final int BANDS = 16;
+    static final int ROWS = HASHES / BANDS;
+    static final int MAXIMUM_CANDIDATES = 10_000;
+
+    private static final int[] REMOVED = new int[0];
+    private static final int PARALLEL_GRAIN = 4096;
+    private static final long SEED = 0x5EED_0F_5EA5L;
+    private static final Comparator<SimilarUserDto> BEST_LAST = Comparator
+            .comparingDouble(SimilarUserDto::getSimilarity)
+            .thenComparing(SimilarUserDto::getUserId, Comparator.reverseOrder());
+
+    private final long[] seeds = new SplittableRandom(SEED).longs(HASHES).toArray();
+    private final ForkJoinPool pool;
+    private final int mergeThreshold;
+    private final Map<Long, int[]> overlay = new ConcurrentHashMap<>();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder comparisons = new LongAdder();
+
+    private volatile Generation generation = new Generation(new long[0], new int[0], new int[BANDS][0]);
+    private volatile boolean ready;
+    private volatile double lastRebuildSeconds;
+
+    /**
+     * Creates an empty index, not ready until it is first rebuilt.
+     *
+     * @param pool           the pool building the generations, shut down with the index.
+     * @param mergeThreshold the number of changed users folded into a new generation.
+     */
+    public MinHashIndex(final ForkJoinPool pool, final int mergeThreshold) {
+        if (mergeThreshold < 1) {
+            throw new IllegalArgumentException("Merge threshold must be positive");
+        }
+        this.pool = pool;
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    /**
+     * Returns a feature, to be added to a signature.
+     *
+     * @param kind the kind of feature: {@link #EVENT}, {@link #CATEGORY} or {@link #INTEREST}.
+     * @param item the ID of the event or category, or the hash of the interest.
+     * @return the feature.
+     */
+    public static long feature(final int kind, final long item) {
+        return item ^ kind * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Whether the index has been rebuilt at least once, so that it holds all users.
+     *
+     * @return whether the index is ready.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds a feature to the signature of a user, once the change is committed.
+     *
+     * @param userId  the ID of the user.
+     * @param feature the feature.
+     */
+    public void add(final long userId, final long feature) {
+        overlay.compute(userId, (id, changed) -> {
+            int[] current = changed != null ? changed : generation.signature(id);
+            int[] next = current == null || current == REMOVED ? empty() : current.clone();
+            boolean lowered = false;
+            for (int i = 0; i < HASHES; i++) {
+                int hash = hash(feature, i);
+                if (hash < next[i]) {
+                    next[i] = hash;
+                    lowered = true;
+                }
+            }
+            return lowered ? next : changed;
+        });
+    }
+
+    /**
+     * Replaces the signature of a user with the one of all its features.
+     *
+     * @param userId   the ID of the user.
+     * @param features the features of the user, none if it was deleted.
+     */
+    public void put(final long userId, final long[] features) {
+        overlay.put(userId, features.length == 0 ? REMOVED : signature(features));
+    }
+
+    /**
+     * Finds the users most similar to a user.
+     *
+     * @param userId the ID of the user.
+     * @param limit  the maximum number of users.
+     * @return the similar users, the most similar first; none if the user has no features.
+     */
+    public List<SimilarUserDto> similar(final long userId, final int limit) {
+        queries.increment();
+        Generation current = generation;
+        int[] signature = overlay.get(userId);
+        int offset = 0;
+        if (signature == null) {
+            int slot = current.slot(userId);
+            signature = slot >= 0 ? current.signatures : REMOVED;
+            offset = slot * HASHES;
+        }
+        if (signature == REMOVED) {
+            return List.of();
+        }
+
+        PriorityQueue<SimilarUserDto> best = new PriorityQueue<>(limit + 1, BEST_LAST);
+        Set<Long> compared = new HashSet<>();
+        compared.add(userId);
+        for (int band = 0; band < BANDS && compared.size() <= MAXIMUM_CANDIDATES; band++) {
+            int bandHash = bandHash(signature, offset, band);
+            int[] positions = current.bands[band];
+            for (int i = current.firstOf(band, bandHash);
+                 i < positions.length && current.bandHash(positions[i], band) == bandHash
+                         && compared.size() <= MAXIMUM_CANDIDATES; i++) {
+                long candidate = current.userIds[positions[i]];
+                // Changed users are compared with their signature in the overlay
+                if (!overlay.containsKey(candidate) && compared.add(candidate)) {
+                    offer(best, limit, candidate, agreement(signature, offset, current.signatures,
+                            positions[i] * HASHES));
+                }
+            }
+        }
+        for (Map.Entry<Long, int[]> changed : overlay.entrySet()) {
+            int[] candidate = changed.getValue();
+            if (candidate != REMOVED && compared.size() <= MAXIMUM_CANDIDATES
+                    && sharesBand(signature, offset, candidate) && compared.add(changed.getKey())) {
+                offer(best, limit, changed.getKey(), agreement(signature, offset, candidate, 0));
+            }
+        }
+        comparisons.add(compared.size() - 1);
+
+        List<SimilarUserDto> similar = new ArrayList<>(best);
+        similar.sort(BEST_LAST.reversed());
+        return similar;
+    }
+
+    /**
+     * Builds a new generation from the features of all users, replacing the current one. The overlay is read
+     * before the features are loaded, so users changed while they are loaded keep their overlay signature.
+     *
+     * @param loader loads the features of all users, in ascending order of ID.
+     */
+    public synchronized void rebuild(final Supplier<Features> loader) {
+        long start = System.nanoTime();
+        Map<Long, int[]> changed = new HashMap<>(overlay);
+        Features features = loader.get();
+
+        int size = features.size;
+        int[] signatures = new int[size * HASHES];
+        pool.invoke(new RangeTask(0, size, PARALLEL_GRAIN, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                System.arraycopy(signature(features.features[i]), 0, signatures, i * HASHES, HASHES);
+            }
+        }));
+        replace(index(Arrays.copyOf(features.userIds, size), signatures), changed);
+        ready = true;
+        lastRebuildSeconds = (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * Whether the overlay holds enough changed users to be folded into a new generation.
+     *
+     * @return whether to merge.
+     */
+    public boolean needsMerge() {
+        return overlay.size() >= mergeThreshold;
+    }
+
+    /**
+     * Folds the overlay into a new generation, if it holds enough changed users.
+     */
+    public synchronized void merge() {
+        if (!needsMerge()) {
+            return;
+        }
+        Map<Long, int[]> changed = new HashMap<>(overlay);
+        Generation current = generation;
+        long[] changedIds = changed.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+        // Merges the unchanged users of the generation with the changed users, both sorted by ID
+        long[] userIds = new long[current.userIds.length + changedIds.length];
+        int[] signatures = new int[userIds.length * HASHES];
+        int size = 0;
+        int next = 0;
+        for (int slot = 0; slot <= current.userIds.length; slot++) {
+            long userId = slot < current.userIds.length ? current.userIds[slot] : Long.MAX_VALUE;
+            for (; next < changedIds.length && changedIds[next] <= userId; next++) {
+                int[] signature = changed.get(changedIds[next]);
+                if (signature != REMOVED) {
+                    userIds[size] = changedIds[next];
+                    System.arraycopy(signature, 0, signatures, size++ * HASHES, HASHES);
+                }
+            }
+            if (slot < current.userIds.length && !changed.containsKey(userId)) {
+                userIds[size] = userId;
+                System.arraycopy(current.signatures, slot * HASHES, signatures, size++ * HASHES, HASHES);
+            }
+        }
+        replace(index(Arrays.copyOf(userIds, size), Arrays.copyOf(signatures, size * HASHES)), changed);
+    }
+
+    /**
+     * Shuts down the pool building the generations.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("user_service.similar_users.users", this, index -> index.generation.userIds.length)
+                .description("Users in the current generation of the similar users index")
+                .register(registry);
+        Gauge.builder("user_service.similar_users.changed", overlay, Map::size)
+                .description("Users changed since the current generation of the similar users index was built")
+                .register(registry);
+        TimeGauge.builder("user_service.similar_users.rebuild.duration", this, TimeUnit.SECONDS,
+                        index -> index.lastRebuildSeconds)
+                .description("Duration of the last rebuild of the similar users index")
+                .register(registry);
+        FunctionCounter.builder("user_service.similar_users.queries", queries, LongAdder::sum)
+                .description("Queries of the similar users index")
+                .register(registry);
+        FunctionCounter.builder("user_service.similar_users.comparisons", comparisons, LongAdder::sum)
+                .description("Signatures compared by the queries of the similar users index")
+                .register(registry);
+    }
+
+    /**
+     * Sorts the users of each band by band hash, in parallel, to form a generation.
+     */
+    private Generation index(final long[] userIds, final int[] signatures) {
+        Generation indexed = new Generation(userIds, signatures, new int[BANDS][]);
+        pool.invoke(new RangeTask(0, BANDS, 1, (from, to) -> {
+            for (int band = from; band < to; band++) {
+                long[] keys = new long[userIds.length];
+                for (int slot = 0; slot < userIds.length; slot++) {
+                    keys[slot] = (long) indexed.bandHash(slot, band) << 32 | slot;
+                }
+                Arrays.sort(keys);
+                int[] positions = new int[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    positions[i] = (int) keys[i];
+                }
+                indexed.bands[band] = positions;
+            }
+        }));
+        return indexed;
+    }
+
+    /**
+     * Makes a generation current, and drops from the overlay the users it holds, unless they changed again.
+     */
+    private void replace(final Generation next, final Map<Long, int[]> folded) {
+        generation = next;
+        folded.forEach(overlay::remove);
+    }
+
+    private int[] signature(final long[] features) {
+        int[] signature = empty();
+        for (long feature : features) {
+            for (int i = 0; i < HASHES; i++) {
+                signature[i] = Math.min(signature[i], hash(feature, i));
+            }
+        }
+        return signature;
+    }
+
+    private int hash(final long feature, final int function) {
+        // Finalizer of MurmurHash3, a different function per seed
+        long hash = feature ^ seeds[function];
+        hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ hash >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return (int) (hash ^ hash >>> 33);
+    }
+
+    private static int[] empty() {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    private static int bandHash(final int[] signature, final int offset, final int band) {
+        int hash = 1;
+        for (int i = offset + band * ROWS; i < offset + (band + 1) * ROWS; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return hash;
+    }
+
+    private static boolean sharesBand(final int[] signature, final int offset, final int[] candidate) {
+        for (int band = 0; band < BANDS; band++) {
+            if (bandHash(signature, offset, band) == bandHash(candidate, 0, band)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int agreement(final int[] signature, final int offset, final int[] other, final int otherOffset) {
+        int agreeing = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signature[offset + i] == other[otherOffset + i]) {
+                agreeing++;
+            }
+        }
+        return agreeing;
+    }
+
+    private static void offer(final PriorityQueue<SimilarUserDto> best, final int limit, final long userId,
+                              final int agreeing) {
+        best.add(new SimilarUserDto(userId, (double) agreeing / HASHES));
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    /**
+     * Features of users in ascending order of ID, loaded for a rebuild.
+     */
+    public static class Features {
+
+        private long[] userIds = new long[1024];
+        private long[][] features = new long[1024][];
+        private int size;
+
+        /**
+         * Adds the features of a user.
+         *
+         * @param userId   the ID of the user, greater than the previous one.
+         * @param features the features of the user.
+         */
+        public void add(final long userId, final long[] features) {
+            if (size > 0 && userId <= userIds[size - 1]) {
+                throw new IllegalArgumentException("Users must be added in ascending order of ID");
+            }
+            if (size == userIds.length) {
+                userIds = Arrays.copyOf(userIds, size * 2);
+                this.features = Arrays.copyOf(this.features, size * 2);
+            }
+            userIds[size] = userId;
+            this.features[size++] = features;
+        }
+    }
+
+    /**
+     * Immutable signatures of users, with their positions sorted by band hash.
+     */
+    private static final class Generation {
+
+        private final long[] userIds;
+        private final int[] signatures;
+        private final int[][] bands;
+
+        private Generation(final long[] userIds, final int[] signatures, final int[][] bands) {
+            this.userIds = userIds;
+            this.signatures = signatures;
+            this.bands = bands;
+        }
+
+        private int slot(final long userId) {
+            return Arrays.binarySearch(userIds, userId);
+        }
+
+        private int[] signature(final long userId) {
+            int slot = slot(userId);
+            return slot >= 0 ? Arrays.copyOfRange(signatures, slot * HASHES, (slot + 1) * HASHES) : null;
+        }
+
+        private int bandHash(final int slot, final int band) {
+            return MinHashIndex.bandHash(signatures, slot * HASHES, band);
+        }
+
+        /**
+         * Finds the first position of a band hash in a band, or where it would be.
+         */
+        private int firstOf(final int band, final int bandHash) {
+            int[] positions = bands[band];
+            int low = 0;
+            int high = positions.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (bandHash(positions[middle], band) < bandHash) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Runs a loop over a range of indices, split in halves down to a grain run in parallel.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final Range body;
+
+        private RangeTask(final int from, final int to, final int grain, final Range body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, grain, body), new RangeTask(middle, to, grain, body));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Range {
+
+        void run(int from, int to);
+    }
+}
@@ -0,0 +1,184 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.event.SubscriptionChangeListener;
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.model.dto.SimilarUserDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.repository.UserFeatureRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds users similar to a user by interests and subscriptions, with a {@link MinHashIndex} kept up to date
+ * with the database.
+ * <p>
+ * The index is rebuilt from all active users in the background once the application is ready, and then on
+ * {@code user-service.similar-users.rebuild-cron} (every night by default); queries fail with 503 until the
+ * first rebuild is done. Bulk subscriptions add their item to the signatures of the subscribed users once committed.
+ * Unsubscribed, changed and deleted users are recomputed from the database every
+ * {@code user-service.similar-users.refresh-interval} (1 second by default), in batches of {@value #BATCH_SIZE}.
+ */
+@Slf4j
+public class SimilarUsersService implements SubscriptionChangeListener {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    static final int BATCH_SIZE = 1000;
+
+    private final MinHashIndex index;
+    private final UserFeatureRepository userFeatureRepository;
+    private final ExecutorService executor;
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean merging = new AtomicBoolean();
+
+    /**
+     * @param index                 The index of the signatures.
+     * @param userFeatureRepository Reads the features of users.
+     * @param executor              Runs the rebuilds and merges of the index, one at a time; shut down with the
+     *                              service.
+     */
+    public SimilarUsersService(final MinHashIndex index, final UserFeatureRepository userFeatureRepository,
+                               final ExecutorService executor) {
+        this.index = index;
+        this.userFeatureRepository = userFeatureRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Finds the users most similar to a user.
+     *
+     * @param userId The ID of the user.
+     * @param limit  The maximum number of users, at most {@value #MAX_LIMIT}; {@value #DEFAULT_LIMIT} if null.
+     * @return The similar users, the most similar first; none for unknown users and users without interests or
+     * subscriptions.
+     * @throws InvalidRequestParameterException if the limit is out of range.
+     * @throws ServiceUnavailableException      if the index has not been built yet.
+     */
+    public List<SimilarUserDto> similar(final long userId, @Nullable final Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new InvalidRequestParameterException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!index.isReady()) {
+            throw new ServiceUnavailableException("The similar users index is being built");
+        }
+        return index.similar(userId, limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    /**
+     * Rebuilds the index from the features of all active users.
+     */
+    public void rebuild() {
+        try {
+            long start = System.nanoTime();
+            long[] users = {0};
+            index.rebuild(() -> {
+                MinHashIndex.Features features = new MinHashIndex.Features();
+                users[0] = userFeatureRepository.forEachUser(null, features::add);
+                return features;
+            });
+            log.info("Rebuilt the similar users index of {} users in {} ms", users[0],
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Could not rebuild the similar users index", ex);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::rebuild);
+    }
+
+    @Scheduled(cron = "${user-service.similar-users.rebuild-cron:0 0 4 * * *}")
+    public void scheduleRebuild() {
+        executor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Updates the signatures of the users whose subscriptions a committed bulk change changed.
+     *
+     * @param event The subscription change.
+     */
+    @Override
+    @TransactionalEventListener
+    public void onSubscriptionsChanged(final SubscriptionsChangedEvent event) {
+        if (event.getUserIds() == null) {
+            return;
+        }
+        long feature = MinHashIndex.feature(
+                event.getTarget() == Target.EVENT ? MinHashIndex.EVENT : MinHashIndex.CATEGORY, event.getItemId());
+        for (long userId : event.getUserIds()) {
+            if (event.getDelta() > 0) {
+                index.add(userId, feature);
+            } else {
+                stale.add(userId);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(final UserChangedEvent event) {
+        stale.add(event.getUserId());
+    }
+
+    /**
+     * Recomputes the signatures of stale users, and folds the changed signatures into a new generation once
+     * there are enough of them.
+     */
+    @Scheduled(fixedDelayString = "${user-service.similar-users.refresh-interval:PT1S}")
+    public void refresh() {
+        Iterator<Long> iterator = stale.iterator();
+        while (iterator.hasNext()) {
+            List<Long> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            try {
+                Set<Long> withoutFeatures = new HashSet<>(batch);
+                userFeatureRepository.forEachUser(batch, (userId, features) -> {
+                    index.put(userId, features);
+                    withoutFeatures.remove(userId);
+                });
+                withoutFeatures.forEach(userId -> index.put(userId, new long[0]));
+            } catch (RuntimeException ex) {
+                log.warn("Could not refresh {} users of the similar users index, retrying with the next refresh",
+                        batch.size(), ex);
+                stale.addAll(batch);
+                break;
+            }
+        }
+
+        if (index.needsMerge() && merging.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    index.merge();
+                } finally {
+                    merging.set(false);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventsphere.user.util;
+
+import com.eventsphere.user.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent loads of the same key into a single call.
+ *
+ * <p>The first caller for a key runs the loader on its own thread. Callers arriving while that load is in
+ * flight wait for its outcome instead of running their own: they receive a copy of the result, made with the
+ * given copier so callers can modify what they get, or the same exception the load threw. Nothing is kept
+ * once a load completes, so this is not a cache.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final UnaryOperator<V> copier;
+
+    /**
+     * Creates a single-flight group.
+     *
+     * @param timeout how long a caller waits for a load started by another caller.
+     * @param copier  copies a result handed to a waiting caller.
+     */
+    public SingleFlight(final Duration timeout, final UnaryOperator<V> copier) {
+        this.timeout = timeout;
+        this.copier = copier;
+    }
+
+    /**
+     * Loads the value for a key, or waits for the load of the same key that is already in flight.
+     *
+     * @param key    the key to load; loads of a null key are not coalesced.
+     * @param loader loads the value; only called if no load of the key is in flight.
+     * @return the loaded value.
+     * @throws ServiceUnavailableException if waiting for the load in flight times out or is interrupted.
+     */
+    public V load(final K key, final Supplier<V> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the load of a key that is in flight, if any, so later callers start a new load. Callers
+     * already waiting still get its outcome. Call after a change to the underlying data.
+     *
+     * @param key the key whose load to detach.
+     */
+    public void forget(final K key) {
+        if (key != null) {
+            inFlight.remove(key);
+        }
+    }
+
+    private V await(final CompletableFuture<V> flight) {
+        try {
+            return copier.apply(flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) ex.getCause();
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException("Timed out waiting for a concurrent load");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for a concurrent load");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.eventsphere.user.validation;
+
+/**
+ * Limits and messages of the user constraints, shared by the annotations on {@link com.eventsphere.user.model.User}
+ * and its DTOs and by {@link UserValidator}, which must report the same messages.
+ */
+public final class UserConstraints {
+
+    public static final int USERNAME_MIN_LENGTH = 3;
+    public static final int USERNAME_MAX_LENGTH = 50;
+    public static final int PASSWORD_MIN_LENGTH = 6;
+    public static final int PASSWORD_MAX_LENGTH = 255;
+    public static final int NAME_MIN_LENGTH = 3;
+    public static final int NAME_MAX_LENGTH = 50;
+
+    /**
+     * At least one ASCII letter and one ASCII digit, on a single line.
+     */
+    public static final String PASSWORD_PATTERN = "^(?=.*[a-zA-Z])(?=.*[0-9]).+$";
+
+    public static final String USERNAME_REQUIRED = "Provide a username";
+    public static final String USERNAME_TOO_SHORT = "Username must be at least 3 characters";
+    public static final String USERNAME_TOO_LONG = "Username must be no more than 50 characters";
+    public static final String PASSWORD_REQUIRED = "Provide a password";
+    public static final String PASSWORD_TOO_SHORT = "Password must be at least 6 characters";
+    public static final String PASSWORD_TOO_LONG = "Password must be no more than 255 characters";
+    public static final String PASSWORD_TOO_WEAK = "Password must have at least 1 number and 1 letter";
+    public static final String EMAIL_REQUIRED = "Provide an email";
+    public static final String EMAIL_INVALID = "Provide a valid email";
+    public static final String FIRST_NAME_TOO_SHORT = "First name must be at least 3 characters";
+    public static final String FIRST_NAME_TOO_LONG = "First name must be no more than 50 characters";
+    public static final String LAST_NAME_TOO_SHORT = "Last name must be at least 3 characters";
+    public static final String LAST_NAME_TOO_LONG = "Last name must be no more than 50 characters";
+    public static final String DATE_OF_BIRTH_NOT_PAST = "Birth date must be in the past";
+    public static final String CREATED_AT_SET = "Cannot manually set creation date";
+    public static final String UPDATED_AT_SET = "Cannot manually set modification date";
+
+    private UserConstraints() {
+    }
+}
@@ -0,0 +1,229 @@
+package com.eventsphere.user.validation;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import jakarta.validation.ConstraintViolation;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.time.Clock;
+import java.util.Date;
+
+import static com.eventsphere.user.validation.UserConstraints.*;
+
+/**
+ * Hand-written validator for request bodies of type {@link User}, {@link UserDto} and {@link ChangePasswordDto}.
+ *
+ * <p>It checks the same constraints as their annotations and reports the same field errors, with the same
+ * messages, as Hibernate Validator does, but without reflection and without allocating when the object is
+ * valid. The password rule {@link UserConstraints#PASSWORD_PATTERN} is checked in a single pass over the
+ * characters. Emails are accepted on a fast path when they are plain ASCII dot-atoms; anything else (quoted
+ * local parts, IP literals, non-ASCII characters, invalid addresses) is handed to Hibernate Validator, so
+ * both always agree. Other types are validated by Hibernate Validator.</p>
+ */
+public class UserValidator implements Validator {
+
+    private static final int MAX_EMAIL_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_EMAIL_DOMAIN_LENGTH = 255;
+    private static final int MAX_EMAIL_DOMAIN_LABEL_LENGTH = 63;
+
+    private static final boolean[] ATOM_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ATOM_CHARS[c] = true;
+            ATOM_CHARS[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ATOM_CHARS[c] = true;
+        }
+        for (char c : "!#$%&'*+/=?^_`{|}~".toCharArray()) {
+            ATOM_CHARS[c] = true;
+        }
+    }
+
+    private final jakarta.validation.Validator fallback;
+    private final SpringValidatorAdapter delegate;
+    private final Clock clock;
+
+    /**
+     * Creates a validator.
+     *
+     * @param fallback the Bean Validation validator, used for emails off the fast path and for other types.
+     */
+    public UserValidator(final jakarta.validation.Validator fallback) {
+        this(fallback, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a validator.
+     *
+     * @param fallback the Bean Validation validator, used for emails off the fast path and for other types.
+     * @param clock    the clock {@code dateOfBirth} is compared with.
+     */
+    public UserValidator(final jakarta.validation.Validator fallback, final Clock clock) {
+        this.fallback = fallback;
+        this.delegate = new SpringValidatorAdapter(fallback);
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean supports(final Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public void validate(final Object target, final Errors errors) {
+        if (target instanceof User user) {
+            validateUser(user, errors);
+        } else if (target instanceof UserDto userDto) {
+            validateUserDto(userDto, errors);
+        } else if (target instanceof ChangePasswordDto passwordDto) {
+            validatePassword(errors, "newPassword", passwordDto.getNewPassword());
+        } else {
+            delegate.validate(target, errors);
+        }
+    }
+
+    private void validateUser(final User user, final Errors errors) {
+        if (user.getUsername() == null) {
+            errors.rejectValue("username", "NotNull", USERNAME_REQUIRED);
+        }
+        size(errors, "username", user.getUsername(),
+                USERNAME_MIN_LENGTH, USERNAME_TOO_SHORT, USERNAME_MAX_LENGTH, USERNAME_TOO_LONG);
+        if (user.getPassword() == null) {
+            errors.rejectValue("password", "NotNull", PASSWORD_REQUIRED);
+        }
+        validatePassword(errors, "password", user.getPassword());
+        if (user.getEmail() == null) {
+            errors.rejectValue("email", "NotNull", EMAIL_REQUIRED);
+        }
+        email(errors, User.class, user.getEmail());
+        size(errors, "firstName", user.getFirstName(),
+                NAME_MIN_LENGTH, FIRST_NAME_TOO_SHORT, NAME_MAX_LENGTH, FIRST_NAME_TOO_LONG);
+        size(errors, "lastName", user.getLastName(),
+                NAME_MIN_LENGTH, LAST_NAME_TOO_SHORT, NAME_MAX_LENGTH, LAST_NAME_TOO_LONG);
+        past(errors, user.getDateOfBirth());
+        if (user.getCreatedAt() != null) {
+            errors.rejectValue("createdAt", "Null", CREATED_AT_SET);
+        }
+        if (user.getUpdatedAt() != null) {
+            errors.rejectValue("updatedAt", "Null", UPDATED_AT_SET);
+        }
+    }
+
+    private void validateUserDto(final UserDto userDto, final Errors errors) {
+        size(errors, "username", userDto.getUsername(),
+                USERNAME_MIN_LENGTH, USERNAME_TOO_SHORT, USERNAME_MAX_LENGTH, USERNAME_TOO_LONG);
+        email(errors, UserDto.class, userDto.getEmail());
+        size(errors, "firstName", userDto.getFirstName(),
+                NAME_MIN_LENGTH, FIRST_NAME_TOO_SHORT, NAME_MAX_LENGTH, FIRST_NAME_TOO_LONG);
+        size(errors, "lastName", userDto.getLastName(),
+                NAME_MIN_LENGTH, LAST_NAME_TOO_SHORT, NAME_MAX_LENGTH, LAST_NAME_TOO_LONG);
+        past(errors, userDto.getDateOfBirth());
+    }
+
+    private static void size(final Errors errors, final String field, final String value,
+                             final int min, final String tooShort, final int max, final String tooLong) {
+        if (value == null) {
+            return;
+        }
+        if (value.length() < min) {
+            errors.rejectValue(field, "Size", tooShort);
+        }
+        if (value.length() > max) {
+            errors.rejectValue(field, "Size", tooLong);
+        }
+    }
+
+    private static void validatePassword(final Errors errors, final String field, final String password) {
+        size(errors, field, password, PASSWORD_MIN_LENGTH, PASSWORD_TOO_SHORT, PASSWORD_MAX_LENGTH, PASSWORD_TOO_LONG);
+        if (password != null && !isStrongPassword(password)) {
+            errors.rejectValue(field, "Pattern", PASSWORD_TOO_WEAK);
+        }
+    }
+
+    /**
+     * Single-pass equivalent of {@link UserConstraints#PASSWORD_PATTERN} matched against the whole value: at least
+     * one character, an ASCII letter and an ASCII digit, and no line terminator, since {@code .} does not match
+     * one.
+     */
+    static boolean isStrongPassword(final String password) {
+        boolean letter = false;
+        boolean digit = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                letter = true;
+            } else if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return letter && digit;
+    }
+
+    private void email(final Errors errors, final Class<?> type, final String email) {
+        if (email == null || email.isEmpty() || isPlainEmail(email)) {
+            return;
+        }
+        for (ConstraintViolation<?> violation : fallback.validateValue(type, "email", email)) {
+            errors.rejectValue("email", "Email", violation.getMessage());
+        }
+    }
+
+    /**
+     * Whether the email is an ASCII dot-atom local part, an {@code @}, and a domain of ASCII labels, which
+     * Hibernate Validator's {@code @Email} always accepts. {@code false} means the email needs the full check,
+     * not that it is invalid.
+     */
+    static boolean isPlainEmail(final String email) {
+        int at = email.lastIndexOf('@');
+        if (at <= 0 || at > MAX_EMAIL_LOCAL_PART_LENGTH || email.length() - at - 1 > MAX_EMAIL_DOMAIN_LENGTH) {
+            return false;
+        }
+
+        boolean previousDot = true;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (previousDot) {
+                    return false;
+                }
+                previousDot = true;
+            } else if (c == '-' || c < ATOM_CHARS.length && ATOM_CHARS[c]) {
+                previousDot = false;
+            } else {
+                return false;
+            }
+        }
+        if (previousDot) {
+            return false;
+        }
+
+        int labelStart = at + 1;
+        for (int i = labelStart; i <= email.length(); i++) {
+            char c = i == email.length() ? '.' : email.charAt(i);
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_EMAIL_DOMAIN_LABEL_LENGTH
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (c != '-' && !(c < ATOM_CHARS.length && ATOM_CHARS[c])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void past(final Errors errors, final Date date) {
+        if (date != null && date.getTime() >= clock.millis()) {
+            errors.rejectValue("dateOfBirth", "Past", DATE_OF_BIRTH_NOT_PAST);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Move the monthly partitioned "user_event_subscription" table aside, keeping its id sequence
+ALTER TABLE user_event_subscription RENAME TO user_event_subscription_old;
+ALTER TABLE user_event_subscription_old RENAME CONSTRAINT user_event_subscription_pkey TO user_event_subscription_old_pkey;
+ALTER TABLE user_event_subscription_old RENAME CONSTRAINT user_event_subscription_user_id_fkey1
+    TO user_event_subscription_old_user_id_fkey;
+ALTER INDEX user_event_subscription_user_id_idx RENAME TO user_event_subscription_old_user_id_idx;
+ALTER INDEX user_event_subscription_event_id_idx RENAME TO user_event_subscription_old_event_id_idx;
+ALTER SEQUENCE user_event_subscription_id_seq OWNED BY NONE;
+
+-- Create the "user_event_subscription" table, partitioned by hash of the event, so lookups of an event only read
+-- one partition; no query filters on the creation date
+CREATE TABLE user_event_subscription
+(
+    id         BIGINT    NOT NULL DEFAULT nextval('user_event_subscription_id_seq'),
+    user_id    BIGINT REFERENCES user_service_schema."user" (id),
+    event_id   BIGINT    NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, event_id)
+) PARTITION BY HASH (event_id);
+
+CREATE INDEX user_event_subscription_user_id_idx ON user_event_subscription (user_id);
+CREATE INDEX user_event_subscription_event_id_idx ON user_event_subscription (event_id);
+-- Used by the SubscriptionExpirer
+CREATE INDEX user_event_subscription_created_at_idx ON user_event_subscription (created_at);
+
+DO
+$$
+    BEGIN
+        FOR remainder IN 0..15
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF user_event_subscription'
+                                   || ' FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                               'user_event_subscription_h' || remainder, remainder);
+            END LOOP;
+    END
+$$;
+
+-- Copy the existing subscriptions, a subscription without an event not being one, and drop the old table with its
+-- monthly partitions
+INSERT INTO user_event_subscription (id, user_id, event_id, created_at)
+SELECT id, user_id, event_id, created_at
+FROM user_event_subscription_old
+WHERE event_id IS NOT NULL;
+
+DROP TABLE user_event_subscription_old;
+ALTER SEQUENCE user_event_subscription_id_seq OWNED BY user_event_subscription.id;
@@ -0,0 +1,15 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Remove duplicate event subscriptions, keeping the oldest one; duplicates are always in the same partition
+DELETE FROM user_event_subscription s
+    USING user_event_subscription d
+WHERE s.user_id = d.user_id
+  AND s.event_id = d.event_id
+  AND s.id > d.id;
+
+-- Allow a user to subscribe to an event only once, which the partition key being part of it makes possible; the
+-- constraint also serves lookups by user
+ALTER TABLE user_event_subscription
+    ADD CONSTRAINT user_event_subscription_user_id_event_id_key UNIQUE (user_id, event_id);
+DROP INDEX user_event_subscription_user_id_idx;
@@ -0,0 +1,71 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Position of each user in the change feed of GET v1/users/modified: the transaction that last wrote it, then the
+-- order of the write. The feed only returns the writes of transactions older than every running one, so a write
+-- is returned once committed, however late, and never skipped
+CREATE SEQUENCE user_change_seq;
+ALTER TABLE "user"
+    ADD COLUMN change_xid BIGINT,
+    ADD COLUMN change_seq BIGINT;
+
+-- Existing users keep their order, before any later write
+UPDATE "user" u
+SET change_xid = 0,
+    change_seq = o.change_seq
+FROM (SELECT id, row_number() OVER (ORDER BY updated_at, id) AS change_seq FROM "user") o
+WHERE u.id = o.id;
+SELECT setval('user_change_seq', (SELECT coalesce(max(change_seq), 0) + 1 FROM "user"), false);
+
+ALTER TABLE "user"
+    ALTER COLUMN change_xid SET NOT NULL,
+    ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE INDEX user_change_xid_change_seq_idx ON "user" (change_xid, change_seq);
+DROP INDEX user_updated_at_id_idx;
+
+CREATE FUNCTION user_change_position() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::TEXT::BIGINT;
+    NEW.change_seq := nextval('user_service_schema.user_change_seq');
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER user_change_position
+    BEFORE INSERT OR UPDATE
+    ON "user"
+    FOR EACH ROW
+EXECUTE FUNCTION user_change_position();
+
+-- Position of the last user purged from the feed: cursors before it may have missed a tombstone
+CREATE TABLE user_change_horizon
+(
+    id         BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    change_xid BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL
+);
+INSERT INTO user_change_horizon (change_xid, change_seq)
+VALUES (0, 0);
+
+CREATE FUNCTION user_change_horizon_advance() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE user_service_schema.user_change_horizon h
+    SET change_xid = p.change_xid,
+        change_seq = p.change_seq
+    FROM (SELECT change_xid, change_seq FROM purged ORDER BY change_xid DESC, change_seq DESC LIMIT 1) p
+    WHERE (p.change_xid, p.change_seq) > (h.change_xid, h.change_seq);
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER user_change_horizon_advance
+    AFTER DELETE
+    ON "user"
+    REFERENCING OLD TABLE AS purged
+    FOR EACH STATEMENT
+EXECUTE FUNCTION user_change_horizon_advance();
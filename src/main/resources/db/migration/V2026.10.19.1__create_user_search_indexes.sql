@@ -0,0 +1,17 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Enable trigram matching for fuzzy user search
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+-- Create prefix indexes on the searchable "user" columns
+CREATE INDEX user_username_prefix_idx ON "user" (lower(username) text_pattern_ops);
+CREATE INDEX user_first_name_prefix_idx ON "user" (lower(first_name) text_pattern_ops);
+CREATE INDEX user_last_name_prefix_idx ON "user" (lower(last_name) text_pattern_ops);
+CREATE INDEX user_email_prefix_idx ON "user" (lower(email) text_pattern_ops);
+
+-- Create trigram indexes on the searchable "user" columns
+CREATE INDEX user_username_trgm_idx ON "user" USING GIN (lower(username) public.gin_trgm_ops);
+CREATE INDEX user_first_name_trgm_idx ON "user" USING GIN (lower(first_name) public.gin_trgm_ops);
+CREATE INDEX user_last_name_trgm_idx ON "user" USING GIN (lower(last_name) public.gin_trgm_ops);
+CREATE INDEX user_email_trgm_idx ON "user" USING GIN (lower(email) public.gin_trgm_ops);
@@ -0,0 +1,16 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Create the "idempotency_key" table, holding the first response to each Idempotency-Key until it expires
+CREATE TABLE idempotency_key
+(
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint     BYTEA     NOT NULL,
+    status          SMALLINT  NOT NULL,
+    content_type    VARCHAR(255),
+    location        VARCHAR(2048),
+    body            BYTEA     NOT NULL,
+    expires_at      TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idempotency_key_expires_at_idx ON idempotency_key (expires_at);
@@ -0,0 +1,19 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Add the deletion date to the "user" table; deleted users are kept as tombstones until they are purged
+ALTER TABLE "user" ADD COLUMN deleted_at TIMESTAMP;
+
+-- Keep usernames and emails unique among active users only, so they can be reused as soon as a user is deleted
+ALTER TABLE "user" DROP CONSTRAINT user_username_key;
+ALTER TABLE "user" DROP CONSTRAINT user_email_key;
+CREATE UNIQUE INDEX user_username_active_idx ON "user" (username) WHERE deleted_at IS NULL;
+CREATE UNIQUE INDEX user_email_active_idx ON "user" (email) WHERE deleted_at IS NULL;
+
+-- Create the partial index the purger finds tombstones with
+CREATE INDEX user_deleted_at_idx ON "user" (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Create indexes on the user references, so dependent rows are purged without scanning their tables
+CREATE INDEX user_interest_user_id_idx ON user_interest (user_id);
+CREATE INDEX user_event_subscription_user_id_idx ON user_event_subscription (user_id);
+CREATE INDEX user_category_subscription_user_id_idx ON user_category_subscription (user_id);
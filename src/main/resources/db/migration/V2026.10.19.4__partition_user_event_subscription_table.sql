@@ -0,0 +1,47 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Move the existing "user_event_subscription" table aside, keeping its id sequence
+ALTER TABLE user_event_subscription RENAME TO user_event_subscription_old;
+ALTER TABLE user_event_subscription_old RENAME CONSTRAINT user_event_subscription_pkey TO user_event_subscription_old_pkey;
+ALTER INDEX user_event_subscription_user_id_idx RENAME TO user_event_subscription_old_user_id_idx;
+ALTER SEQUENCE user_event_subscription_id_seq OWNED BY NONE;
+
+-- Create the "user_event_subscription" table, partitioned by month of creation
+CREATE TABLE user_event_subscription
+(
+    id         BIGINT    NOT NULL DEFAULT nextval('user_event_subscription_id_seq'),
+    user_id    BIGINT REFERENCES user_service_schema."user" (id),
+    event_id   BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX user_event_subscription_user_id_idx ON user_event_subscription (user_id);
+CREATE INDEX user_event_subscription_event_id_idx ON user_event_subscription (event_id, created_at);
+
+-- Create the monthly partitions, from the oldest subscription to 3 months ahead; later ones are created by the
+-- SubscriptionPartitionMaintainer
+DO
+$$
+    DECLARE
+        partition_start DATE := date_trunc('month',
+                COALESCE((SELECT min(created_at) FROM user_event_subscription_old), LOCALTIMESTAMP));
+    BEGIN
+        WHILE partition_start <= date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months'
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF user_event_subscription FOR VALUES FROM (%L) TO (%L)',
+                               'user_event_subscription_p' || to_char(partition_start, 'YYYYMM'),
+                               partition_start, partition_start + INTERVAL '1 month');
+                partition_start := partition_start + INTERVAL '1 month';
+            END LOOP;
+    END
+$$;
+
+-- Copy the existing subscriptions and drop the old table
+INSERT INTO user_event_subscription (id, user_id, event_id, created_at)
+SELECT id, user_id, event_id, COALESCE(created_at, LOCALTIMESTAMP)
+FROM user_event_subscription_old;
+
+DROP TABLE user_event_subscription_old;
+ALTER SEQUENCE user_event_subscription_id_seq OWNED BY user_event_subscription.id;
@@ -0,0 +1,14 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Remove duplicate category subscriptions, keeping the oldest one
+DELETE FROM user_category_subscription s
+    USING user_category_subscription d
+WHERE s.user_id = d.user_id
+  AND s.category_id = d.category_id
+  AND s.id > d.id;
+
+-- Allow a user to subscribe to a category only once; the constraint also serves lookups by user
+ALTER TABLE user_category_subscription
+    ADD CONSTRAINT user_category_subscription_user_id_category_id_key UNIQUE (user_id, category_id);
+DROP INDEX user_category_subscription_user_id_idx;
@@ -0,0 +1,9 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Every user has a position in the change feed, ordered by (updated_at, id)
+UPDATE "user" SET updated_at = coalesce(created_at, LOCALTIMESTAMP) WHERE updated_at IS NULL;
+ALTER TABLE "user" ALTER COLUMN updated_at SET NOT NULL;
+
+-- Serves GET v1/users/modified; deleted users stay in it, to be returned as tombstones
+CREATE INDEX user_updated_at_id_idx ON "user" (updated_at, id);
@@ -0,0 +1,27 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Create the "user_job" table, holding the bulk jobs run over the id range of the users
+CREATE TABLE user_job
+(
+    id         BIGSERIAL PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    status     VARCHAR(20)  NOT NULL,
+    min_id     BIGINT       NOT NULL,
+    max_id     BIGINT       NOT NULL,
+    chunk_size INTEGER      NOT NULL,
+    error      VARCHAR(1000),
+    created_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create the "user_job_chunk" table, the checkpoints of the jobs: a row is inserted in the transaction of each
+-- chunk, so a chunk is processed once even if the job is resumed or runs on two instances
+CREATE TABLE user_job_chunk
+(
+    job_id       BIGINT    NOT NULL REFERENCES user_job (id) ON DELETE CASCADE,
+    from_id      BIGINT    NOT NULL,
+    changed      INTEGER   NOT NULL,
+    completed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id, from_id)
+);
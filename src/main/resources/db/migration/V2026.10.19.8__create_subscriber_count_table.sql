@@ -0,0 +1,26 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Create the "subscriber_count" table, holding the number of active users subscribed to each event and category.
+-- Instances add their subscription changes to it in batches, and a periodic recount fixes any drift
+CREATE TABLE subscriber_count
+(
+    target      VARCHAR(10) NOT NULL,
+    item_id     BIGINT      NOT NULL,
+    subscribers BIGINT      NOT NULL,
+    PRIMARY KEY (target, item_id)
+);
+
+INSERT INTO subscriber_count (target, item_id, subscribers)
+SELECT 'EVENT', s.event_id, count(*)
+FROM user_event_subscription s
+         JOIN "user" u ON u.id = s.user_id AND u.deleted_at IS NULL
+WHERE s.event_id IS NOT NULL
+GROUP BY s.event_id;
+
+INSERT INTO subscriber_count (target, item_id, subscribers)
+SELECT 'CATEGORY', s.category_id, count(*)
+FROM user_category_subscription s
+         JOIN "user" u ON u.id = s.user_id AND u.deleted_at IS NULL
+WHERE s.category_id IS NOT NULL
+GROUP BY s.category_id;
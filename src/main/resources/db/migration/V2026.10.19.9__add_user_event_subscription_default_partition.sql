@@ -0,0 +1,6 @@
+-- Set search path to user_service_schema
+SET search_path TO user_service_schema;
+
+-- Create the default partition of "user_event_subscription", so subscriptions created past the last monthly
+-- partition are still accepted; the SubscriptionPartitionMaintainer moves them once their month's partition exists
+CREATE TABLE user_event_subscription_default PARTITION OF user_event_subscription DEFAULT;
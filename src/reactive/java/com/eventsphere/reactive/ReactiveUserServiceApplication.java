@@ -0,0 +1,28 @@
+package com.eventsphere.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+public class ReactiveUserServiceApplication {
+
+    /**
+     * Entry point for the reactive variant of the User Service, built by the {@code reactive} Maven profile.
+     * <p>
+     * It serves the same v1/users API as {@link com.eventsphere.user.UserServiceApplication} on WebFlux and
+     * R2DBC, with the user model, validation and error bodies of the servlet service. Only the beans of this
+     * package are started: none of the servlet endpoints, caches, limits or jobs.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveUserServiceApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.eventsphere.reactive.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reactive (WebFlux + R2DBC) configuration of the {@link com.eventsphere.reactive.ReactiveUserServiceApplication}.
+ *
+ * <p>The R2DBC connection pool reuses the JDBC datasource settings: the URL is
+ * {@code spring.datasource.url} with the {@code jdbc:} prefix replaced by {@code r2dbc:}, unless
+ * {@code user-service.reactive.r2dbc-url} is set, and holds up to {@code user-service.reactive.pool.max-size}
+ * connections (20 by default). Spring Boot's own R2DBC auto-configuration backs off, since it would require
+ * {@code spring.r2dbc.url}.</p>
+ *
+ * <p>With a connection factory present Spring Boot does not set up the JDBC datasource, so there is no JPA in
+ * this application, and Flyway connects through {@code spring.flyway.url}.</p>
+ */
+@Configuration
+public class ReactiveConfig {
+
+    public static final String R2DBC_URL_PROPERTY = "user-service.reactive.r2dbc-url";
+    public static final String POOL_MAX_SIZE_PROPERTY = "user-service.reactive.pool.max-size";
+
+    private static final int DEFAULT_POOL_MAX_SIZE = 20;
+
+    /**
+     * Runs on Netty rather than on Tomcat, which is also on the classpath and would be picked first.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(final Environment environment) {
+        String url = environment.getProperty(R2DBC_URL_PROPERTY,
+                environment.getRequiredProperty("spring.datasource.url").replaceFirst("^jdbc:", "r2dbc:"));
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        String username = environment.getProperty("spring.datasource.username");
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        String password = environment.getProperty("spring.datasource.password");
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        int maxSize = environment.getProperty(POOL_MAX_SIZE_PROPERTY, Integer.class, DEFAULT_POOL_MAX_SIZE);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(Math.min(maxSize, 10))
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(final ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
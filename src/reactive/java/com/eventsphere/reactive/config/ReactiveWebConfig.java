@@ -0,0 +1,26 @@
+package com.eventsphere.reactive.config;
+
+import com.eventsphere.user.validation.UserValidator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux configuration, the reactive counterpart of {@link com.eventsphere.user.config.WebConfig}.
+ *
+ * <p>{@code @Valid} request bodies are checked by {@link UserValidator}, as in the servlet service.</p>
+ */
+@Configuration
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final jakarta.validation.Validator validator;
+
+    public ReactiveWebConfig(final jakarta.validation.Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new UserValidator(validator);
+    }
+}
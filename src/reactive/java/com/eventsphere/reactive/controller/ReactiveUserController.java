@@ -0,0 +1,104 @@
+package com.eventsphere.reactive.controller;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive variant of {@link com.eventsphere.user.controller.UserController}, served by the
+ * {@link com.eventsphere.reactive.ReactiveUserServiceApplication}. Paths, status codes, links and error bodies are
+ * the same as in the servlet controller; responses are JSON only.
+ */
+public interface ReactiveUserController {
+
+    /**
+     * Retrieves a list of all users.
+     *
+     * @param exchange The current exchange, used to build the links.
+     * @return Mono of the ResponseEntity with the list of users and HTTP status OK.
+     */
+    @Operation(summary = "Retrieves a list of all users", description = "Retrieves a list of all users")
+    Mono<ResponseEntity<CollectionModel<User>>> getAllUsers(ServerWebExchange exchange);
+
+    /**
+     * Retrieves a specific user by their ID.
+     *
+     * @param id       The ID of the user to retrieve.
+     * @param exchange The current exchange, used to build the links.
+     * @return Mono of the ResponseEntity with the user object and HTTP status OK.
+     */
+    @Operation(summary = "Finds user by id", description = "Finds user by id from path variable")
+    Mono<ResponseEntity<User>> getUser(Long id, ServerWebExchange exchange);
+
+    /**
+     * Retrieves the users with the given IDs.
+     *
+     * @param ids      The IDs of the users to retrieve.
+     * @param exchange The current exchange, used to build the links.
+     * @return Mono of the ResponseEntity with the list of found users, ordered by ID, and HTTP status OK.
+     */
+    @Operation(summary = "Finds users by ids", description = "Finds users by a list of ids, at most 100. " +
+            "Ids that do not exist are skipped")
+    Mono<ResponseEntity<CollectionModel<User>>> getUsersByIds(List<Long> ids, ServerWebExchange exchange);
+
+    /**
+     * Searches users by prefix and fuzzy match over username, first name, last name and email.
+     *
+     * @param query    The search query.
+     * @param after    The ID of the last user from the previous page, if any.
+     * @param limit    The maximum number of users to return.
+     * @param exchange The current exchange, used to build the links.
+     * @return Mono of the ResponseEntity with the list of matching users, ordered by ID, and HTTP status OK.
+     */
+    @Operation(summary = "Searches users", description = "Searches users by prefix and fuzzy match over username, " +
+            "first name, last name and email. Results are ordered by id; follow the next link to continue")
+    Mono<ResponseEntity<CollectionModel<User>>> searchUsers(String query, Long after, Integer limit,
+                                                            ServerWebExchange exchange);
+
+    /**
+     * Creates a new user.
+     *
+     * @param user     The user object to create.
+     * @param exchange The current exchange, used to build the links and the location.
+     * @return Mono of the ResponseEntity with the created user object and HTTP status CREATED.
+     */
+    @Operation(summary = "Creates new user", description = "Creates new user with response body in request")
+    Mono<ResponseEntity<User>> createUser(User user, ServerWebExchange exchange);
+
+    /**
+     * Updates an existing user with partial data.
+     *
+     * @param id       The ID of the user to update.
+     * @param userDto  The user data to update.
+     * @param exchange The current exchange, used to build the links.
+     * @return Mono of the ResponseEntity with the updated user object and HTTP status OK.
+     */
+    @Operation(summary = "Partially updates user", description = "Update user from path variable with fields in request body")
+    Mono<ResponseEntity<User>> updateUser(Long id, UserDto userDto, ServerWebExchange exchange);
+
+    /**
+     * Changes the password of a user.
+     *
+     * @param id          The ID of the user to change the password.
+     * @param passwordDto The old and new passwords.
+     * @return Mono of the ResponseEntity with HTTP status OK.
+     */
+    @Operation(summary = "Changes user's password", description = "Change user's password through request body using PasswordDTO")
+    Mono<ResponseEntity<Void>> changePassword(Long id, ChangePasswordDto passwordDto);
+
+    /**
+     * Deletes a user.
+     *
+     * @param id The ID of the user to delete.
+     * @return Mono of the ResponseEntity with HTTP status OK.
+     */
+    @Operation(summary = "Deletes user by id", description = "Deletes user by id from path variable")
+    Mono<ResponseEntity<Void>> deleteUser(Long id);
+}
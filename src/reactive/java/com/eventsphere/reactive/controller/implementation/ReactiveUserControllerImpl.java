@@ -0,0 +1,208 @@
+package com.eventsphere.reactive.controller.implementation;
+
+import com.eventsphere.reactive.controller.ReactiveUserController;
+import com.eventsphere.reactive.service.ReactiveUserService;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.WebFluxLink;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+/**
+ * Default implementation of {@link ReactiveUserController}
+ */
+@RestController
+@RequestMapping("v1/users")
+@RequiredArgsConstructor
+public class ReactiveUserControllerImpl implements ReactiveUserController {
+
+    private static final String GET_USER_REL = "get-user";
+    private static final String CHANGE_PASSWORD_REL = "change-password";
+    private static final String CREATE_USER_REL = "create-user";
+    private static final String GET_ALL_USERS_REL = "get-all-users";
+    private static final String SELF_REL = "self";
+    private static final String NEXT_REL = "next";
+
+    private final ReactiveUserService userService;
+
+    @Override
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<CollectionModel<User>>> getAllUsers(final ServerWebExchange exchange) {
+        return toCollectionModel(userService.getAll(), exchange, List.of(
+                linkTo(methodOn(ReactiveUserControllerImpl.class).getAllUsers(null), exchange).withRel(SELF_REL),
+                linkTo(methodOn(ReactiveUserControllerImpl.class).createUser(new User(), null), exchange)
+                        .withRel(CREATE_USER_REL)
+        )).map(ResponseEntity::ok);
+    }
+
+    @Override
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<User>> getUser(@PathVariable final Long id, final ServerWebExchange exchange) {
+        return userService.get(id)
+                .flatMap(user -> withLinks(user, List.of(
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).getUser(id, null), exchange)
+                                .withRel(SELF_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).getAllUsers(null), exchange)
+                                .withRel(GET_ALL_USERS_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).createUser(user, null), exchange)
+                                .withRel(CREATE_USER_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class)
+                                .changePassword(id, new ChangePasswordDto()), exchange).withRel(CHANGE_PASSWORD_REL)
+                )))
+                .map(ResponseEntity::ok);
+    }
+
+    @Override
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<CollectionModel<User>>> getUsersByIds(@RequestParam("ids") final List<Long> ids,
+                                                                     final ServerWebExchange exchange) {
+        return toCollectionModel(userService.getAllById(ids), exchange, List.of(
+                linkTo(methodOn(ReactiveUserControllerImpl.class).getUsersByIds(ids, null), exchange)
+                        .withRel(SELF_REL)
+        )).map(ResponseEntity::ok);
+    }
+
+    @Override
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<CollectionModel<User>>> searchUsers(
+            @RequestParam("q") final String query,
+            @RequestParam(value = "after", required = false) final Long after,
+            @RequestParam(value = "limit", required = false) final Integer limit,
+            final ServerWebExchange exchange
+    ) {
+        return toCollectionModel(userService.search(query, after, limit), exchange, List.of(
+                linkTo(methodOn(ReactiveUserControllerImpl.class).searchUsers(query, after, limit, null), exchange)
+                        .withRel(SELF_REL)
+        )).flatMap(userCollectionModel -> {
+            List<User> users = new ArrayList<>(userCollectionModel.getContent());
+            if (users.size() != UserService.searchLimit(limit)) {
+                return Mono.just(userCollectionModel);
+            }
+            Long lastId = users.get(users.size() - 1).getId();
+            return withLinks(userCollectionModel, List.of(
+                    linkTo(methodOn(ReactiveUserControllerImpl.class).searchUsers(query, lastId, limit, null), exchange)
+                            .withRel(NEXT_REL)
+            ));
+        }).map(ResponseEntity::ok);
+    }
+
+    @Override
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.CREATED)
+    public Mono<ResponseEntity<User>> createUser(@Valid @RequestBody final User user,
+                                                 final ServerWebExchange exchange) {
+        return userService.create(user)
+                .flatMap(createdUser -> withLinks(createdUser, List.of(
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).createUser(user, null), exchange)
+                                .withRel(SELF_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).getAllUsers(null), exchange)
+                                .withRel(GET_ALL_USERS_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).getUser(createdUser.getId(), null), exchange)
+                                .withRel(GET_USER_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class)
+                                .changePassword(createdUser.getId(), new ChangePasswordDto()), exchange)
+                                .withRel(CHANGE_PASSWORD_REL)
+                )))
+                .map(createdUser -> {
+                    URI location = UriComponentsBuilder.fromHttpRequest(exchange.getRequest())
+                            .path("/{id}")
+                            .buildAndExpand(createdUser.getId())
+                            .toUri();
+
+                    return ResponseEntity.created(location).body(createdUser);
+                });
+    }
+
+    @Override
+    @PatchMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<User>> updateUser(
+            @PathVariable final Long id,
+            @Valid @RequestBody final UserDto userDto,
+            final ServerWebExchange exchange
+    ) {
+        return userService.update(id, userDto)
+                .flatMap(updatedUser -> withLinks(updatedUser, List.of(
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).updateUser(id, userDto, null), exchange)
+                                .withRel(SELF_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).getAllUsers(null), exchange)
+                                .withRel(GET_ALL_USERS_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).createUser(updatedUser, null), exchange)
+                                .withRel(CREATE_USER_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class)
+                                .changePassword(id, new ChangePasswordDto()), exchange).withRel(CHANGE_PASSWORD_REL)
+                )))
+                .map(ResponseEntity::ok);
+    }
+
+    @Override
+    @PatchMapping(value = "/{id}/change-password", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<Void>> changePassword(
+            @PathVariable final Long id,
+            @Valid @RequestBody final ChangePasswordDto passwordDto
+    ) {
+        return userService.changePassword(id, passwordDto)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+    }
+
+    @Override
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable final Long id) {
+        return userService.delete(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+    }
+
+    /**
+     * Adds the {@code get-user} and {@code change-password} links to each user and collects them into a model
+     * with the given links.
+     */
+    private Mono<CollectionModel<User>> toCollectionModel(final Flux<User> users, final ServerWebExchange exchange,
+                                                          final List<WebFluxLink> links) {
+        return users
+                .concatMap(user -> withLinks(user, List.of(
+                        linkTo(methodOn(ReactiveUserControllerImpl.class).getUser(user.getId(), null), exchange)
+                                .withRel(GET_USER_REL),
+                        linkTo(methodOn(ReactiveUserControllerImpl.class)
+                                .changePassword(user.getId(), new ChangePasswordDto()), exchange)
+                                .withRel(CHANGE_PASSWORD_REL)
+                )))
+                .collectList()
+                .flatMap(list -> withLinks(CollectionModel.of(list), links));
+    }
+
+    private static <T extends RepresentationModel<? extends T>> Mono<T> withLinks(final T model,
+                                                                                 final List<WebFluxLink> links) {
+        return Flux.fromIterable(links)
+                .concatMap(WebFluxLink::toMono)
+                .collectList()
+                .map(resolvedLinks -> {
+                    model.add(resolvedLinks);
+                    return model;
+                });
+    }
+}
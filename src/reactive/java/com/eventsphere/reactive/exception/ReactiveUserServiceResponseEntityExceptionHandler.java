@@ -0,0 +1,129 @@
+package com.eventsphere.reactive.exception;
+
+import com.eventsphere.user.exception.BeanValidationErrorDetails;
+import com.eventsphere.user.exception.ErrorDetails;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.PasswordException;
+import com.eventsphere.user.exception.UserAlreadyExistsException;
+import com.eventsphere.user.exception.UserNotFoundException;
+import com.eventsphere.user.exception.UserNotValidException;
+import com.eventsphere.user.exception.UserServiceResponseEntityExceptionHandler;
+import com.eventsphere.user.util.ErrorUtils;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Global exception handler for the reactive variant of the UserService. Returns the same statuses and
+ * error bodies as {@link UserServiceResponseEntityExceptionHandler}.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveUserServiceResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
+
+    /**
+     * Handles all exceptions and returns an error response with an internal server error status.
+     *
+     * @param ex       the exception to handle.
+     * @param exchange the current exchange.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler(Exception.class)
+    public final ResponseEntity<ErrorDetails> handleAllExceptions(Exception ex, ServerWebExchange exchange) {
+        log.error(ex.getMessage());
+
+        return errorResponse(ex, exchange, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Handles UserNotFoundException and returns an error response with a not found status.
+     *
+     * @param ex       the exception to handle.
+     * @param exchange the current exchange.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler(UserNotFoundException.class)
+    public final ResponseEntity<ErrorDetails> handleUserNotFoundException(Exception ex, ServerWebExchange exchange) {
+        log.warn(ex.getMessage());
+
+        return errorResponse(ex, exchange, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles UserNotValidException, PasswordException and InvalidRequestParameterException
+     * and returns an error response with a bad request status.
+     *
+     * @param ex       the exception to handle.
+     * @param exchange the current exchange.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler({UserNotValidException.class, PasswordException.class, InvalidRequestParameterException.class})
+    public final ResponseEntity<ErrorDetails> handleUserNotValidExceptionException(Exception ex,
+                                                                                  ServerWebExchange exchange) {
+        log.warn(ex.getMessage());
+
+        return errorResponse(ex, exchange, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles UserAlreadyExistsException and returns an error response with a conflict status.
+     *
+     * @param ex       the exception to handle.
+     * @param exchange the current exchange.
+     * @return a ResponseEntity containing the error details and status.
+     */
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public final ResponseEntity<ErrorDetails> handleUserAlreadyExistsException(Exception ex,
+                                                                              ServerWebExchange exchange) {
+        log.warn(ex.getMessage());
+
+        return errorResponse(ex, exchange, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles WebExchangeBindException and returns an error response with a bad request status.
+     *
+     * @param ex       the exception to handle.
+     * @param headers  the headers for the response.
+     * @param status   the status for the response.
+     * @param exchange the current exchange.
+     * @return a Mono of the ResponseEntity containing the error details and status.
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException ex,
+            @NotNull HttpHeaders headers,
+            @NotNull HttpStatusCode status,
+            ServerWebExchange exchange
+    ) {
+        BeanValidationErrorDetails errorDetails = new BeanValidationErrorDetails(LocalDateTime.now(),
+                ErrorUtils.getFieldErrors(ex.getFieldErrors()), description(exchange));
+
+        return Mono.just(new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST));
+    }
+
+    private static ResponseEntity<ErrorDetails> errorResponse(Exception ex, ServerWebExchange exchange,
+                                                              HttpStatus status) {
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(), description(exchange));
+
+        return new ResponseEntity<>(errorDetails, status);
+    }
+
+    /**
+     * Describes the request the same way as {@code WebRequest.getDescription(false)} in the servlet stack.
+     */
+    private static String description(ServerWebExchange exchange) {
+        return "uri=" + exchange.getRequest().getPath().value();
+    }
+}
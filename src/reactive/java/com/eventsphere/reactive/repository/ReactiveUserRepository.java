@@ -0,0 +1,160 @@
+package com.eventsphere.reactive.repository;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.repository.UserRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository}, over the same table, used by the reactive variant
+ * of the API.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private static final String TABLE = "user_service_schema.\"user\"";
+    private static final String ACTIVE = " AND " + User.ACTIVE_CLAUSE;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<User> findAll() {
+        return databaseClient.sql("SELECT * FROM " + TABLE + " WHERE " + User.ACTIVE_CLAUSE)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Mono<User> findById(final long id) {
+        return databaseClient.sql("SELECT * FROM " + TABLE + " WHERE id = :id" + ACTIVE)
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    public Flux<User> findAllById(final Collection<Long> ids) {
+        return databaseClient.sql("SELECT * FROM " + TABLE + " WHERE id = ANY(:ids)" + ACTIVE)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    /**
+     * @see UserRepository#search
+     */
+    public Flux<User> search(final String term, final String prefix, final long after, final int limit) {
+        return databaseClient.sql(UserRepository.SEARCH_QUERY)
+                .bind("term", term)
+                .bind("prefix", prefix)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(final long id) {
+        return exists("id", id);
+    }
+
+    public Mono<Boolean> existsByUsername(final String username) {
+        return exists("username", username);
+    }
+
+    public Mono<Boolean> existsByEmail(final String email) {
+        return exists("email", email);
+    }
+
+    /**
+     * Inserts a new user. The ID and timestamps are assigned by the database.
+     *
+     * @param user The user to insert.
+     * @return The inserted user, as stored.
+     */
+    public Mono<User> insert(final User user) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("INSERT INTO " + TABLE
+                + " (username, password, email, first_name, last_name, date_of_birth)"
+                + " VALUES (:username, :password, :email, :firstName, :lastName, :dateOfBirth)"
+                + " RETURNING *");
+        return bindColumns(spec, user)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    /**
+     * Updates all writable columns of an existing user and sets its modification date.
+     *
+     * @param user The user to update.
+     * @return The updated user, as stored, or empty if it no longer exists.
+     */
+    public Mono<User> update(final User user) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE " + TABLE
+                + " SET username = :username, password = :password, email = :email, first_name = :firstName,"
+                + " last_name = :lastName, date_of_birth = :dateOfBirth, updated_at = CURRENT_TIMESTAMP"
+                + " WHERE id = :id" + ACTIVE + " RETURNING *");
+        return bindColumns(spec.bind("id", user.getId()), user)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    /**
+     * @see UserRepository#softDeleteById
+     */
+    public Mono<Long> softDeleteById(final long id) {
+        return databaseClient.sql(UserRepository.SOFT_DELETE_QUERY)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Boolean> exists(final String column, final Object value) {
+        return databaseClient.sql("SELECT EXISTS(SELECT 1 FROM " + TABLE
+                        + " WHERE " + column + " = :value" + ACTIVE + ")")
+                .bind("value", value)
+                .map(row -> Boolean.TRUE.equals(row.get(0, Boolean.class)))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec,
+                                                                 final User user) {
+        spec = bind(spec, "username", user.getUsername(), String.class);
+        spec = bind(spec, "password", user.getPassword(), String.class);
+        spec = bind(spec, "email", user.getEmail(), String.class);
+        spec = bind(spec, "firstName", user.getFirstName(), String.class);
+        spec = bind(spec, "lastName", user.getLastName(), String.class);
+        return bind(spec, "dateOfBirth",
+                user.getDateOfBirth() == null ? null : user.getDateOfBirth().toLocalDate(), LocalDate.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(final DatabaseClient.GenericExecuteSpec spec,
+                                                          final String name, final Object value,
+                                                          final Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static User toUser(final Readable row) {
+        User user = new User();
+        user.setId(row.get("id", Long.class));
+        user.setUsername(row.get("username", String.class));
+        user.setPassword(row.get("password", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setFirstName(row.get("first_name", String.class));
+        user.setLastName(row.get("last_name", String.class));
+
+        LocalDate dateOfBirth = row.get("date_of_birth", LocalDate.class);
+        user.setDateOfBirth(dateOfBirth == null ? null : Date.valueOf(dateOfBirth));
+        LocalDateTime createdAt = row.get("created_at", LocalDateTime.class);
+        user.setCreatedAt(createdAt == null ? null : Timestamp.valueOf(createdAt));
+        LocalDateTime updatedAt = row.get("updated_at", LocalDateTime.class);
+        user.setUpdatedAt(updatedAt == null ? null : Timestamp.valueOf(updatedAt));
+        return user;
+    }
+}
@@ -0,0 +1,216 @@
+package com.eventsphere.reactive.service;
+
+import com.eventsphere.reactive.repository.ReactiveUserRepository;
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.PasswordException;
+import com.eventsphere.user.exception.UserAlreadyExistsException;
+import com.eventsphere.user.exception.UserNotFoundException;
+import com.eventsphere.user.exception.UserNotValidException;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link UserService}, with the same rules and errors, used by the reactive
+ * variant of the API.
+ * <p>
+ * Every write publishes a {@link UserChangedEvent} once it has been saved.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Retrieves all users.
+     *
+     * @return Flux of {@link User} objects.
+     */
+    public Flux<User> getAll() {
+        return userRepository.findAll();
+    }
+
+    /**
+     * Retrieves a specific user by their ID.
+     *
+     * @param id The ID of the user to retrieve.
+     * @return Mono of the {@link User}, failing with {@link UserNotFoundException} if it is not found.
+     */
+    public Mono<User> get(final Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)));
+    }
+
+    /**
+     * Retrieves the users with the given IDs. IDs that do not exist are skipped.
+     *
+     * @param ids The IDs of the users to retrieve, at most {@value UserService#BULK_MAX_IDS}.
+     * @return Flux of {@link User} objects, ordered by ID, failing with {@link InvalidRequestParameterException}
+     * if no IDs or too many IDs are given.
+     */
+    public Flux<User> getAllById(final Collection<Long> ids) {
+        return Flux.defer(() -> {
+            UserService.checkBulkIds(ids);
+            return userRepository.findAllById(ids).sort(Comparator.comparing(User::getId));
+        });
+    }
+
+    /**
+     * Searches users by prefix and fuzzy match over username, first name, last name and email.
+     *
+     * @param query The search query.
+     * @param after The ID after which to continue the search, or null to start from the beginning.
+     * @param limit The maximum number of users to return, or null for the default.
+     * @return Flux of matching {@link User} objects, ordered by ID, failing with
+     * {@link InvalidRequestParameterException} if the query is too short or the limit is not positive.
+     * @see UserService#search
+     */
+    public Flux<User> search(final String query, final Long after, final Integer limit) {
+        return Flux.defer(() -> {
+            String term = UserService.searchTerm(query, limit);
+            return userRepository.search(
+                    term,
+                    UserService.escapeLikePattern(term) + "%",
+                    after == null ? 0L : after,
+                    UserService.searchLimit(limit)
+            );
+        });
+    }
+
+    /**
+     * Creates a new user.
+     *
+     * @param user The {@link User} object to create.
+     * @return Mono of the created {@link User}, failing with {@link UserAlreadyExistsException} if a user with
+     * the same username or email already exists.
+     */
+    public Mono<User> create(final User user) {
+        return userRepository.existsByUsername(user.getUsername())
+                .flatMap(usernameExists -> usernameExists
+                        ? Mono.error(new UserAlreadyExistsException("This username is already registered"))
+                        : userRepository.existsByEmail(user.getEmail()))
+                .flatMap(emailExists -> emailExists
+                        ? Mono.error(new UserAlreadyExistsException("This email is already registered"))
+                        : save(user, userRepository::insert));
+    }
+
+    /**
+     * Updates an existing user with partial data. (PATCH)
+     *
+     * @param userId  The ID of the user to update.
+     * @param userDto The {@link UserDto} object containing the partial user data.
+     * @return Mono of the updated {@link User}, failing with {@link UserNotFoundException} if the user is not
+     * found or {@link UserAlreadyExistsException} if the updated username or email is already registered.
+     */
+    public Mono<User> update(final Long userId, final UserDto userDto) {
+        return get(userId)
+                .flatMap(userFromDb -> checkUsernameUpdate(userFromDb.getUsername(), userDto.getUsername())
+                        .then(checkEmailUpdate(userFromDb.getEmail(), userDto.getEmail()))
+                        .thenReturn(userFromDb))
+                .flatMap(userFromDb -> {
+                    if (userDto.getUsername() != null) {
+                        userFromDb.setUsername(userDto.getUsername());
+                    }
+                    if (userDto.getEmail() != null) {
+                        userFromDb.setEmail(userDto.getEmail());
+                    }
+                    if (userDto.getFirstName() != null) {
+                        userFromDb.setFirstName(userDto.getFirstName());
+                    }
+                    if (userDto.getLastName() != null) {
+                        userFromDb.setLastName(userDto.getLastName());
+                    }
+                    if (userDto.getDateOfBirth() != null) {
+                        userFromDb.setDateOfBirth(userDto.getDateOfBirth());
+                    }
+                    return save(userFromDb, this::updateExisting);
+                });
+    }
+
+    /**
+     * Changes the password of a user.
+     *
+     * @param userId      The ID of the user to change the password.
+     * @param passwordDto The {@link ChangePasswordDto} object containing the old and new passwords.
+     * @return Mono completing once the password is changed, failing with {@link UserNotFoundException} if the
+     * user is not found or {@link PasswordException} if the old password is incorrect or the new passwords
+     * don't match.
+     */
+    public Mono<Void> changePassword(final Long userId, final ChangePasswordDto passwordDto) {
+        return get(userId)
+                .flatMap(userFromDb -> {
+                    if (!userFromDb.getPassword().equals(passwordDto.getOldPassword())) {
+                        return Mono.error(new PasswordException("Incorrect old password"));
+                    } else if (!passwordDto.getNewPassword().equals(passwordDto.getConfirmPassword())) {
+                        return Mono.error(new PasswordException("Passwords don't match"));
+                    }
+                    userFromDb.setPassword(passwordDto.getNewPassword());
+                    return save(userFromDb, this::updateExisting);
+                })
+                .then();
+    }
+
+    /**
+     * Deletes a user.
+     *
+     * @param id The ID of the user to delete.
+     * @return Mono completing once the user is deleted, failing with {@link UserNotFoundException} if the user
+     * is not found.
+     */
+    public Mono<Void> delete(final Long id) {
+        return userRepository.softDeleteById(id)
+                .flatMap(deleted -> {
+                    if (deleted == 0) {
+                        return Mono.error(new UserNotFoundException(id));
+                    }
+                    eventPublisher.publishEvent(new UserChangedEvent(id));
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> checkUsernameUpdate(final String usernameFromDb, final String updatedUsername) {
+        if (usernameFromDb == null || updatedUsername == null || updatedUsername.equals(usernameFromDb)) {
+            return Mono.empty();
+        }
+        return userRepository.existsByUsername(updatedUsername)
+                .flatMap(exists -> exists
+                        ? Mono.error(new UserAlreadyExistsException("This username is already registered"))
+                        : Mono.empty());
+    }
+
+    private Mono<Void> checkEmailUpdate(final String emailFromDb, final String updatedEmail) {
+        if (emailFromDb == null || updatedEmail == null || updatedEmail.equals(emailFromDb)) {
+            return Mono.empty();
+        }
+        return userRepository.existsByEmail(updatedEmail)
+                .flatMap(exists -> exists
+                        ? Mono.error(new UserAlreadyExistsException("This email is already registered"))
+                        : Mono.empty());
+    }
+
+    private Mono<User> updateExisting(final User user) {
+        return userRepository.update(user)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(user.getId())));
+    }
+
+    private Mono<User> save(final User user, final Function<User, Mono<User>> operation) {
+        return operation.apply(user)
+                .onErrorMap(ex -> !(ex instanceof UserNotFoundException),
+                        ex -> new UserNotValidException("Invalid User data: " + Arrays.toString(ex.getStackTrace())))
+                .doOnNext(savedUser -> eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId())));
+    }
+}
@@ -0,0 +1,200 @@
+package com.eventsphere.reactive.controller;
+
+import com.eventsphere.reactive.controller.implementation.ReactiveUserControllerImpl;
+import com.eventsphere.reactive.service.ReactiveUserService;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.UserAlreadyExistsException;
+import com.eventsphere.user.exception.UserNotFoundException;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.UserDto;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.hateoas.HypermediaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(ReactiveUserControllerImpl.class)
+@ImportAutoConfiguration(HypermediaAutoConfiguration.class)
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserService userService;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = webTestClient.mutate().baseUrl("http://localhost").build();
+    }
+
+    @Test
+    void getAllUsersTest() {
+        // Given
+        when(userService.getAll()).thenReturn(Flux.just(new User(1L, "user", "password1", "example@example.com")));
+
+        // When & Then
+        webTestClient.get().uri("/v1/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.userList[0].id").isEqualTo(1)
+                .jsonPath("$._embedded.userList[0].username").isEqualTo("user")
+                .jsonPath("$._embedded.userList[0]._links.get-user.href").isEqualTo("http://localhost/v1/users/1")
+                .jsonPath("$._links.self.href").isEqualTo("http://localhost/v1/users");
+    }
+
+    @Test
+    void getExistingUserTest() {
+        // Given
+        when(userService.get(1L)).thenReturn(Mono.just(new User(1L, "John", "password1", "john@example.com")));
+
+        // When & Then
+        webTestClient.get().uri("/v1/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.username").isEqualTo("John")
+                .jsonPath("$._links.self.href").isEqualTo("http://localhost/v1/users/1")
+                .jsonPath("$._links.change-password.href").isEqualTo("http://localhost/v1/users/1/change-password");
+    }
+
+    @Test
+    void getNonExistingUserTest() {
+        // Given
+        when(userService.get(1L)).thenReturn(Mono.error(new UserNotFoundException(1L)));
+
+        // When & Then
+        webTestClient.get().uri("/v1/users/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Can't find user with id 1")
+                .jsonPath("$.details").isEqualTo("uri=/v1/users/1");
+    }
+
+    @Test
+    void getUsersByTooManyIdsTest() {
+        // Given
+        when(userService.getAllById(anyList()))
+                .thenReturn(Flux.error(new InvalidRequestParameterException("At most 100 ids can be requested at once")));
+
+        // When & Then
+        webTestClient.get().uri("/v1/users?ids=1,2,3")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(userService, never()).getAll();
+    }
+
+    @Test
+    void searchUsersFullPageTest() {
+        // Given
+        when(userService.search("john", null, 2)).thenReturn(Flux.just(
+                new User(1L, "john_doe", "password1", "john@example.com"),
+                new User(7L, "johnny", "password1", "johnny@example.com")
+        ));
+
+        // When & Then
+        webTestClient.get().uri("/v1/users/search?q=john&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.userList[1].id").isEqualTo(7)
+                .jsonPath("$._links.next.href").isEqualTo("http://localhost/v1/users/search?q=john&after=7&limit=2");
+    }
+
+    @Test
+    void createValidUserTest() {
+        // Given
+        User user = new User(1L, "John", "password1", "john@example.com");
+        when(userService.create(any(User.class))).thenReturn(Mono.just(user));
+
+        // When & Then
+        webTestClient.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Gson().toJson(user))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("location", "http://localhost/v1/users/1")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.username").isEqualTo("John");
+    }
+
+    @Test
+    void createInvalidUserTest() {
+        // Given
+        User user = new User("us", "pw", "invalid-email");
+
+        // When & Then
+        webTestClient.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Gson().toJson(user))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().doesNotExist("location")
+                .expectBody()
+                .jsonPath("$.message.username[0]").isEqualTo("Username must be at least 3 characters")
+                .jsonPath("$.message.email[0]").isEqualTo("Provide a valid email")
+                .jsonPath("$.details").isEqualTo("uri=/v1/users");
+        verify(userService, never()).create(any(User.class));
+    }
+
+    @Test
+    void createUserAlreadyExistsByUsername() {
+        // Given
+        User user = new User(2L, "John", "password2", "john2@example.com");
+        when(userService.create(any(User.class)))
+                .thenReturn(Mono.error(new UserAlreadyExistsException("This username is already registered")));
+
+        // When & Then
+        webTestClient.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Gson().toJson(user))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectHeader().doesNotExist("location");
+    }
+
+    @Test
+    void validPatchUserTest() {
+        // Given
+        when(userService.update(eq(1L), any(UserDto.class)))
+                .thenReturn(Mono.just(new User(1L, "John", "password1", "john@example.com")));
+
+        // When & Then
+        webTestClient.patch().uri("/v1/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstName\":\"updateFName\"}")
+                .exchange()
+                .expectStatus().isOk();
+        verify(userService).update(eq(1L), any(UserDto.class));
+    }
+
+    @Test
+    void deleteNonExistingUser() {
+        // Given
+        when(userService.delete(1L)).thenReturn(Mono.error(new UserNotFoundException(1L)));
+
+        // When & Then
+        webTestClient.delete().uri("/v1/users/1")
+                .exchange()
+                .expectStatus().isNotFound();
+        verify(userService).delete(1L);
+    }
+}
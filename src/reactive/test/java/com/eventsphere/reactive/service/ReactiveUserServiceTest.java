@@ -0,0 +1,158 @@
+package com.eventsphere.reactive.service;
+
+import com.eventsphere.reactive.repository.ReactiveUserRepository;
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.PasswordException;
+import com.eventsphere.user.exception.UserAlreadyExistsException;
+import com.eventsphere.user.exception.UserNotFoundException;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveUserServiceTest {
+
+    private ReactiveUserService userService;
+    private ReactiveUserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = Mockito.mock(ReactiveUserRepository.class);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        userService = new ReactiveUserService(userRepository, eventPublisher);
+    }
+
+    @Test
+    void getInvalidIdShouldFailWithUserNotFound() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(userService.get(1L))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getAllByIdShouldReturnUsersOrderedById() {
+        // Given
+        User user1 = new User(1L, "user1", "password1", "user1@example.com");
+        User user3 = new User(3L, "user3", "password1", "user3@example.com");
+        when(userRepository.findAllById(List.of(3L, 1L))).thenReturn(Flux.just(user3, user1));
+
+        // When & Then
+        StepVerifier.create(userService.getAllById(List.of(3L, 1L)))
+                .expectNext(user1, user3)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllByTooManyIdsShouldFail() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, UserService.BULK_MAX_IDS + 1).boxed().toList();
+
+        // When & Then
+        StepVerifier.create(userService.getAllById(ids))
+                .expectError(InvalidRequestParameterException.class)
+                .verify();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void searchShouldPassNormalizedTermAndPrefix() {
+        // Given
+        when(userRepository.search("jo_n", "jo\\_n%", 5L, UserService.SEARCH_MAX_LIMIT)).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(userService.search("  Jo_N ", 5L, 500))
+                .verifyComplete();
+        verify(userRepository).search("jo_n", "jo\\_n%", 5L, UserService.SEARCH_MAX_LIMIT);
+    }
+
+    @Test
+    void createWithExistingEmailShouldFail() {
+        // Given
+        User user = new User("user1", "password1", "user1@example.com");
+        when(userRepository.existsByUsername("user1")).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail("user1@example.com")).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(userService.create(user))
+                .expectErrorMessage("This email is already registered")
+                .verify();
+        verify(userRepository, never()).insert(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createShouldInsertUserAndPublishEvent() {
+        // Given
+        User user = new User("user1", "password1", "user1@example.com");
+        User savedUser = new User(1L, "user1", "password1", "user1@example.com");
+        when(userRepository.existsByUsername("user1")).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail("user1@example.com")).thenReturn(Mono.just(false));
+        when(userRepository.insert(user)).thenReturn(Mono.just(savedUser));
+
+        // When & Then
+        StepVerifier.create(userService.create(user))
+                .expectNext(savedUser)
+                .verifyComplete();
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void updateWithExistingUsernameShouldFail() {
+        // Given
+        UserDto userDto = new UserDto();
+        userDto.setUsername("taken");
+        when(userRepository.findById(1L))
+                .thenReturn(Mono.just(new User(1L, "user1", "password1", "user1@example.com")));
+        when(userRepository.existsByUsername("taken")).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(userService.update(1L, userDto))
+                .expectError(UserAlreadyExistsException.class)
+                .verify();
+        verify(userRepository, never()).update(any());
+    }
+
+    @Test
+    void changePasswordWithIncorrectOldPasswordShouldFail() {
+        // Given
+        when(userRepository.findById(1L))
+                .thenReturn(Mono.just(new User(1L, "user1", "password1", "user1@example.com")));
+
+        // When & Then
+        StepVerifier.create(userService.changePassword(1L,
+                        new ChangePasswordDto("wrong1", "password2", "password2")))
+                .expectErrorMessage("Incorrect old password")
+                .verify();
+        verify(userRepository, never()).update(any());
+    }
+
+    @Test
+    void deleteNonExistingUserShouldFail() {
+        // Given
+        when(userRepository.softDeleteById(1L)).thenReturn(Mono.just(0L));
+
+        // When & Then
+        StepVerifier.create(userService.delete(1L))
+                .expectError(UserNotFoundException.class)
+                .verify();
+        verifyNoInteractions(eventPublisher);
+    }
+}
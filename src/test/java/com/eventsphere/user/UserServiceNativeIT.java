@@ -0,0 +1,246 @@
+package com.eventsphere.user;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test of every {@code UserControllerImpl} endpoint against the native executable.
+ * <p>
+ * Runs in the {@code native} build profile, which passes the executable path in the {@code native.executable}
+ * system property. The application is started against an embedded PostgreSQL instance and logs to
+ * {@code native-smoke-test.log} next to the executable; the time until the first successful request and the
+ * resident memory of the process are printed for the build log.
+ */
+@EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserServiceNativeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final String NEW_USER = """
+            {"username": "native_user", "password": "password1", "email": "native@example.com"}""";
+
+    private static EmbeddedPostgres postgres;
+    private static Process application;
+    private static HttpClient client;
+    private static String baseUrl;
+    private static String createdUserUrl;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE event_sphere");
+        }
+
+        int port = freePort();
+        baseUrl = "http://localhost:" + port + "/v1/users";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        Path executable = Path.of(System.getProperty("native.executable"));
+        long start = System.nanoTime();
+        application = new ProcessBuilder(List.of(
+                executable.toString(),
+                "-Dspring.config.import=classpath:bootstrap.properties",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "event_sphere"),
+                "--spring.datasource.username=postgres",
+                "--spring.flyway.schemas=user_service_schema",
+                "--spring.cloud.config.fail-fast=false",
+                "--eureka.client.register-with-eureka=false",
+                "--eureka.client.fetch-registry=false"))
+                .redirectErrorStream(true)
+                .redirectOutput(executable.resolveSibling("native-smoke-test.log").toFile())
+                .start();
+
+        awaitFirstRequest();
+        long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("Native smoke test: first request served after %d ms, %s%n",
+                startupMillis, residentMemory(application.pid()));
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (application != null) {
+            application.destroy();
+            application.waitFor(10, TimeUnit.SECONDS);
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void getAllUsersTest() throws Exception {
+        HttpResponse<String> response = send(get(baseUrl));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"_embedded\""));
+    }
+
+    @Test
+    @Order(2)
+    void createUserTest() throws Exception {
+        HttpResponse<String> response = send(json(baseUrl, "POST", NEW_USER));
+
+        assertEquals(201, response.statusCode());
+        createdUserUrl = response.headers().firstValue("location").orElseThrow();
+        assertTrue(response.body().contains("\"native_user\""));
+    }
+
+    @Test
+    @Order(3)
+    void createInvalidUserTest() throws Exception {
+        HttpResponse<String> response = send(json(baseUrl, "POST", """
+                {"username": "us", "password": "pw", "email": "invalid-email"}"""));
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Username must be at least 3 characters"));
+    }
+
+    @Test
+    @Order(4)
+    void createExistingUserTest() throws Exception {
+        HttpResponse<String> response = send(json(baseUrl, "POST", NEW_USER));
+
+        assertEquals(409, response.statusCode());
+        assertTrue(response.body().contains("This username is already registered"));
+    }
+
+    @Test
+    @Order(5)
+    void getUserTest() throws Exception {
+        HttpResponse<String> response = send(get(createdUserUrl));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"native@example.com\""));
+        assertTrue(response.body().contains("\"change-password\""));
+    }
+
+    @Test
+    @Order(6)
+    void getUserAsXmlTest() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(createdUserUrl))
+                .header("Accept", "application/xml")
+                .build());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("<username>native_user</username>"));
+    }
+
+    @Test
+    @Order(7)
+    void searchUsersTest() throws Exception {
+        HttpResponse<String> response = send(get(baseUrl + "/search?q=native"));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"native_user\""));
+    }
+
+    @Test
+    @Order(8)
+    void updateUserTest() throws Exception {
+        HttpResponse<String> response = send(json(createdUserUrl, "PATCH", """
+                {"firstName": "Native", "lastName": "Image", "dateOfBirth": "2001-01-01"}"""));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"Native\""));
+    }
+
+    @Test
+    @Order(9)
+    void changePasswordTest() throws Exception {
+        HttpResponse<String> wrongPassword = send(json(createdUserUrl + "/change-password", "PATCH", """
+                {"old": "password0", "new": "password2", "confirm": "password2"}"""));
+        HttpResponse<String> response = send(json(createdUserUrl + "/change-password", "PATCH", """
+                {"old": "password1", "new": "password2", "confirm": "password2"}"""));
+
+        assertEquals(400, wrongPassword.statusCode());
+        assertTrue(wrongPassword.body().contains("Incorrect old password"));
+        assertEquals(200, response.statusCode());
+    }
+
+    @Test
+    @Order(10)
+    void deleteUserTest() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(createdUserUrl)).DELETE().build());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(404, send(get(createdUserUrl)).statusCode());
+    }
+
+    private static void awaitFirstRequest() throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(application.isAlive(), "Native executable exited during startup");
+            try {
+                if (send(get(baseUrl)).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        fail("Native executable did not serve a request within " + STARTUP_TIMEOUT);
+    }
+
+    private static String residentMemory(final long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return "resident memory unavailable on this platform";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:") || line.startsWith("VmHWM:"))
+                .map(line -> line.replaceAll("\\s+", " "))
+                .reduce((rss, peak) -> rss + ", " + peak)
+                .orElse("resident memory unavailable");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static HttpRequest get(final String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Accept", "application/json").build();
+    }
+
+    private static HttpRequest json(final String url, final String method, final String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpResponse<String> send(final HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,160 @@
+package com.eventsphere.user.cache;
+
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.model.User;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapUserDirectoryTest {
+
+    @Test
+    void getShouldReturnStoredColumns() {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 16, Duration.ofMinutes(1));
+        User user = new User(1L, "zoë", "Password1!", "zoe@example.com");
+        user.setFirstName("Zoë");
+        user.setDateOfBirth(Date.valueOf(LocalDate.of(1990, 2, 28)));
+        user.setCreatedAt(Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000)));
+        user.setUpdatedAt(Timestamp.valueOf(LocalDateTime.of(2024, 6, 7, 8, 9, 10, 654_321_000)));
+
+        // When
+        directory.put(user, directory.version(1L));
+        User storedUser = directory.get(1L);
+
+        // Then
+        assertEquals(1L, storedUser.getId());
+        assertEquals("zoë", storedUser.getUsername());
+        assertEquals("Password1!", storedUser.getPassword());
+        assertEquals("zoe@example.com", storedUser.getEmail());
+        assertEquals("Zoë", storedUser.getFirstName());
+        assertNull(storedUser.getLastName());
+        assertEquals(user.getDateOfBirth(), storedUser.getDateOfBirth());
+        assertEquals(user.getCreatedAt(), storedUser.getCreatedAt());
+        assertEquals(user.getUpdatedAt(), storedUser.getUpdatedAt());
+        assertNull(directory.get(2L));
+    }
+
+    @Test
+    void changedUserShouldBeRemovedAndNotStoredFromEarlierLoad() {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 16, Duration.ofMinutes(1));
+        long versionBeforeLoad = directory.version(1L);
+        directory.put(user(1L), versionBeforeLoad);
+
+        // When
+        directory.onUserChanged(new UserChangedEvent(1L));
+        directory.put(user(1L), versionBeforeLoad);
+
+        // Then
+        assertNull(directory.get(1L));
+        directory.put(user(1L), directory.version(1L));
+        assertNotNull(directory.get(1L));
+    }
+
+    @Test
+    void expiredUserShouldBeMissingAndReplacedWhenLoadedAgain() {
+        // Given
+        long[] now = {0};
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 16, 4096, Duration.ofSeconds(30),
+                () -> now[0]);
+        directory.put(user(1L), directory.version(1L));
+
+        // When
+        now[0] = Duration.ofSeconds(30).toNanos();
+        User expiredUser = directory.get(1L);
+        User changedUser = user(1L);
+        changedUser.setEmail("changed@example.com");
+        directory.put(changedUser, directory.version(1L));
+
+        // Then
+        assertNull(expiredUser);
+        assertEquals("changed@example.com", directory.get(1L).getEmail());
+        assertEquals(1, directory.snapshot().getEntries());
+    }
+
+    @Test
+    void fullDirectoryShouldCompactDeadRecords() {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(1024, 64, 256, Duration.ofMinutes(1),
+                Ticker.systemTicker());
+        long id = 1;
+        while (directory.snapshot().getUsedBytes() + 64 < 1024) {
+            directory.put(user(id), directory.version(id));
+            id++;
+        }
+        for (long removed = 1; removed < id; removed += 2) {
+            directory.remove(removed);
+        }
+
+        // When
+        for (long added = id; added < id + 4; added++) {
+            directory.put(user(added), directory.version(added));
+        }
+
+        // Then
+        assertEquals(1, directory.snapshot().getCompactions());
+        for (long kept = 2; kept < id + 4; kept++) {
+            if (kept < id && kept % 2 == 1) {
+                assertNull(directory.get(kept));
+            } else {
+                assertEquals("user" + kept, directory.get(kept).getUsername());
+            }
+        }
+    }
+
+    @Test
+    void fullDirectoryShouldRejectUsers() {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 3, Duration.ofMinutes(1));
+
+        // When
+        for (long id = 1; id <= 4; id++) {
+            directory.put(user(id), directory.version(id));
+        }
+
+        // Then
+        assertEquals(3, directory.snapshot().getEntries());
+        assertNull(directory.get(4L));
+    }
+
+    @Test
+    void indexShouldMatchMapAfterRandomPutsAndRemovals() {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(1 << 20, 1000, Duration.ofMinutes(1));
+        Map<Long, Boolean> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(1500);
+            if (random.nextBoolean() && expected.size() < 1000) {
+                directory.put(user(id), directory.version(id));
+                expected.put(id, true);
+            } else {
+                directory.remove(id);
+                expected.remove(id);
+            }
+        }
+
+        // Then
+        for (long id = 1; id <= 1500; id++) {
+            assertEquals(expected.containsKey(id), directory.get(id) != null, "user " + id);
+        }
+        assertEquals(expected.size(), directory.snapshot().getEntries());
+    }
+
+    private static User user(final long id) {
+        return new User(id, "user" + id, "Password1!", "user" + id + "@example.com");
+    }
+}
@@ -0,0 +1,174 @@
+package com.eventsphere.user.cache;
+
+import com.eventsphere.user.event.UserChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserResponseCacheFilterTest {
+
+    private static final String USER_JSON = "{\"id\":1,\"username\":\"user1\"}";
+
+    private UserResponseCache cache;
+    private UserResponseCacheFilter filter;
+    private UserResponseCacheInterceptor interceptor;
+    private AtomicInteger dispatches;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserResponseCache(100, Duration.ofMinutes(1));
+        filter = new UserResponseCacheFilter(cache);
+        interceptor = new UserResponseCacheInterceptor(cache);
+        dispatches = new AtomicInteger();
+        chain = (request, response) -> {
+            dispatches.incrementAndGet();
+            response.setContentType("application/hal+json");
+            response.getOutputStream().write(USER_JSON.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    void secondRequestShouldBeServedFromCache() throws Exception {
+        // Given
+        MockHttpServletResponse first = perform(get("/v1/users/1"), chain);
+
+        // When
+        MockHttpServletResponse second = perform(get("/v1/users/1"), chain);
+
+        // Then
+        assertEquals(1, dispatches.get());
+        assertEquals(USER_JSON, first.getContentAsString());
+        assertEquals(USER_JSON, second.getContentAsString());
+        assertEquals("application/hal+json", second.getContentType());
+        assertEquals(USER_JSON.length(), second.getContentLength());
+    }
+
+    @Test
+    void expiredResponseShouldNotBeServed() throws Exception {
+        // Given
+        cache = new UserResponseCache(100, Duration.ZERO);
+        filter = new UserResponseCacheFilter(cache);
+        interceptor = new UserResponseCacheInterceptor(cache);
+
+        // When
+        perform(get("/v1/users/1"), chain);
+        perform(get("/v1/users/1"), chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void changedUserShouldNotBeServedFromCache() throws Exception {
+        // Given
+        perform(get("/v1/users/1"), chain);
+
+        // When
+        cache.onUserChanged(new UserChangedEvent(1L));
+        perform(get("/v1/users/1"), chain);
+        perform(get("/v1/users/1"), chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void responseRenderedBeforeChangeShouldNotBeCached() throws Exception {
+        // Given
+        FilterChain changingChain = (request, response) -> {
+            chain.doFilter(request, response);
+            cache.onUserChanged(new UserChangedEvent(1L));
+        };
+
+        // When
+        perform(get("/v1/users/1"), changingChain);
+        perform(get("/v1/users/1"), chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void requestsShouldBeCachedPerAcceptHeader() throws Exception {
+        // Given
+        MockHttpServletRequest xmlRequest = get("/v1/users/1");
+        xmlRequest.addHeader("Accept", "application/xml");
+
+        // When
+        perform(get("/v1/users/1"), chain);
+        perform(xmlRequest, chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void errorResponseShouldNotBeCached() throws Exception {
+        // Given
+        FilterChain notFoundChain = (request, response) -> {
+            dispatches.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.setContentType("application/json");
+        };
+
+        // When
+        perform(get("/v1/users/1"), notFoundChain);
+        MockHttpServletResponse response = perform(get("/v1/users/1"), notFoundChain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, response.getStatus());
+    }
+
+    @Test
+    void requestWithQueryStringShouldNotBeCached() throws Exception {
+        // Given
+        MockHttpServletRequest request = get("/v1/users/1");
+        request.setQueryString("fields=id");
+
+        // When
+        perform(request, chain);
+        perform(request, chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void otherPathsShouldNotBeCached() throws Exception {
+        // When
+        perform(get("/v1/users/search"), chain);
+        perform(get("/v1/users/search"), chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    private MockHttpServletResponse perform(final MockHttpServletRequest request, final FilterChain filterChain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // Dispatches to the controller unless the interceptor serves the response
+        filter.doFilter(request, response, (filteredRequest, filteredResponse) -> {
+            if (interceptor.preHandle((HttpServletRequest) filteredRequest, (HttpServletResponse) filteredResponse,
+                    new Object())) {
+                filterChain.doFilter(filteredRequest, filteredResponse);
+            }
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest get(final String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
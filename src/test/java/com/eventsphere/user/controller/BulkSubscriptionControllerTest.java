@@ -0,0 +1,122 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.controller.implementation.BulkSubscriptionControllerImpl;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.model.dto.BulkSubscriptionResultDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.service.BulkSubscriptionService;
+import com.eventsphere.user.service.BulkSubscriptionService.Format;
+import com.eventsphere.user.service.SubscriberCounters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BulkSubscriptionControllerImpl.class)
+class BulkSubscriptionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkSubscriptionService bulkSubscriptionService;
+
+    @MockBean
+    private SubscriberCounters subscriberCounters;
+
+    @Test
+    void subscribeToCategoryTest() throws Exception {
+        // Given
+        when(bulkSubscriptionService.subscribe(eq(Target.CATEGORY), eq(7L), any(InputStream.class), eq(Format.TEXT)))
+                .thenReturn(new BulkSubscriptionResultDto(3, 2, 0, 1));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/users/subscriptions/categories/7/subscribe")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("1\n2\n2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.skipped").value(1));
+    }
+
+    @Test
+    void unsubscribeFromEventWithCsvHeaderTest() throws Exception {
+        // Given
+        when(bulkSubscriptionService.unsubscribe(eq(Target.EVENT), eq(42L), any(InputStream.class),
+                eq(Format.CSV_WITH_HEADER)))
+                .thenReturn(new BulkSubscriptionResultDto(2, 0, 2, 0));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/users/subscriptions/events/42/unsubscribe")
+                        .contentType("text/csv; header=present")
+                        .content("user_id\n1\n2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    void subscribeWithInvalidUserIdTest() throws Exception {
+        // Given
+        when(bulkSubscriptionService.subscribe(eq(Target.EVENT), eq(42L), any(InputStream.class), eq(Format.TEXT)))
+                .thenThrow(new InvalidRequestParameterException("Invalid user id list"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/users/subscriptions/events/42/subscribe")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("abc\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid user id list"));
+    }
+
+    @Test
+    void subscribeWithJsonBodyTest() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/users/subscriptions/categories/7/subscribe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isUnsupportedMediaType());
+        verifyNoInteractions(bulkSubscriptionService);
+    }
+
+    @Test
+    void getEventSubscribersTest() throws Exception {
+        // Given
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        counts.put(42L, 1500L);
+        counts.put(43L, 0L);
+        when(subscriberCounters.get(Target.EVENT, List.of(42L, 43L))).thenReturn(counts);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/subscriptions/events/subscribers")
+                        .param("ids", "42", "43"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.42").value(1500))
+                .andExpect(jsonPath("$.43").value(0));
+    }
+
+    @Test
+    void getCategorySubscribersWithTooManyIdsTest() throws Exception {
+        // Given
+        when(subscriberCounters.get(eq(Target.CATEGORY), any()))
+                .thenThrow(new InvalidRequestParameterException("At most 1000 ids can be requested at once"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/subscriptions/categories/subscribers")
+                        .param("ids", "1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.controller.implementation.CoSubscriptionControllerImpl;
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.model.dto.RelatedItemDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.similarity.CoSubscriptionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = CoSubscriptionControllerImpl.class, properties = "user-service.co-subscriptions.enabled=true")
+class CoSubscriptionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CoSubscriptionService coSubscriptionService;
+
+    @Test
+    void getRelatedToEventTest() throws Exception {
+        // Given
+        when(coSubscriptionService.related(Target.EVENT, 1L, 2)).thenReturn(List.of(
+                new RelatedItemDto(Target.CATEGORY, 4, 30, 0.75), new RelatedItemDto(Target.EVENT, 2, 10, 0.25)));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/subscriptions/events/1/related").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].target").value("CATEGORY"))
+                .andExpect(jsonPath("$[0].itemId").value(4))
+                .andExpect(jsonPath("$[0].coSubscribers").value(30))
+                .andExpect(jsonPath("$[0].share").value(0.75))
+                .andExpect(jsonPath("$[1].itemId").value(2));
+    }
+
+    @Test
+    void getRelatedToCategoryWhileIndexIsBuiltTest() throws Exception {
+        // Given
+        when(coSubscriptionService.related(Target.CATEGORY, 1L, null))
+                .thenThrow(new ServiceUnavailableException("The co-subscription index is being built"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/subscriptions/categories/1/related"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("The co-subscription index is being built"));
+    }
+}
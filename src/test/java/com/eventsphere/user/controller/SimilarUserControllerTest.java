@@ -0,0 +1,53 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.controller.implementation.SimilarUserControllerImpl;
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.model.dto.SimilarUserDto;
+import com.eventsphere.user.similarity.SimilarUsersService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = SimilarUserControllerImpl.class, properties = "user-service.similar-users.enabled=true")
+class SimilarUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SimilarUsersService similarUsersService;
+
+    @Test
+    void getSimilarUsersTest() throws Exception {
+        // Given
+        when(similarUsersService.similar(1L, 2))
+                .thenReturn(List.of(new SimilarUserDto(5, 0.75), new SimilarUserDto(3, 0.5)));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1/similar").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(5))
+                .andExpect(jsonPath("$[0].similarity").value(0.75))
+                .andExpect(jsonPath("$[1].userId").value(3));
+    }
+
+    @Test
+    void getSimilarUsersWhileIndexIsBuiltTest() throws Exception {
+        // Given
+        when(similarUsersService.similar(1L, null))
+                .thenThrow(new ServiceUnavailableException("The similar users index is being built"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1/similar"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("The similar users index is being built"));
+    }
+}
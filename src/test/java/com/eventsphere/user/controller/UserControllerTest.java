@@ -1,12 +1,18 @@
 package com.eventsphere.user.controller;
 
 import com.eventsphere.user.controller.implementation.UserControllerImpl;
+import com.eventsphere.user.exception.CursorExpiredException;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.ServiceUnavailableException;
 import com.eventsphere.user.exception.UserAlreadyExistsException;
 import com.eventsphere.user.exception.UserNotFoundException;
 import com.eventsphere.user.model.User;
 import com.eventsphere.user.model.dto.ChangePasswordDto;
 import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.model.dto.UserFieldsDto;
 import com.eventsphere.user.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.junit.jupiter.api.Test;
@@ -19,13 +25,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(UserControllerImpl.class)
+// A response cached by one test would hide the mocked service of the next ones
+@WebMvcTest(value = UserControllerImpl.class, properties = "user-service.response-cache.enabled=false")
 class UserControllerTest {
 
     @Autowired
@@ -66,6 +76,239 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("john@example.com"));
     }
 
+    @Test
+    void getUserTimedOutTest() throws Exception {
+        // Given
+        when(userService.get(1L)).thenThrow(new ServiceUnavailableException("Timed out waiting for a concurrent load"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Timed out waiting for a concurrent load"));
+    }
+
+    @Test
+    void getExistingUserAsXmlTest() throws Exception {
+        // Given
+        User user = new User(1L, "John", "password1", "john@example.com");
+        when(userService.get(1L)).thenReturn(user);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1")
+                        .accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+                .andExpect(xpath("/User/username").string("John"));
+    }
+
+    @Test
+    void getExistingUserAsCborTest() throws Exception {
+        // Given
+        User user = new User(1L, "John", "password1", "john@example.com");
+        when(userService.get(1L)).thenReturn(user);
+
+        // When
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode node = new CBORMapper().readTree(body);
+        assertEquals(1L, node.get("id").asLong());
+        assertEquals("John", node.get("username").asText());
+        assertEquals("john@example.com", node.get("email").asText());
+    }
+
+    @Test
+    void getUsersByIdsTest() throws Exception {
+        // Given
+        List<User> users = new ArrayList<>();
+        users.add(new User(1L, "user1", "password1", "user1@example.com"));
+        users.add(new User(3L, "user3", "password1", "user3@example.com"));
+        when(userService.getAllById(List.of(1L, 2L, 3L))).thenReturn(users);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userList[0].id").value(1))
+                .andExpect(jsonPath("$._embedded.userList[1].id").value(3));
+        verify(userService, never()).getAll();
+    }
+
+    @Test
+    void getUsersByTooManyIdsTest() throws Exception {
+        // Given
+        when(userService.getAllById(anyList()))
+                .thenThrow(new InvalidRequestParameterException("At most 100 ids can be requested at once"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users").param("ids", "1,2,3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserFieldsTest() throws Exception {
+        // Given
+        when(userService.getFields(1L, List.of("username")))
+                .thenReturn(new UserFieldsDto(1L, Map.of("username", "John")));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1").param("fields", "username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("John"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$._links").doesNotExist());
+        verify(userService, never()).get(anyLong());
+    }
+
+    @Test
+    void getUserFieldsWithLinksTest() throws Exception {
+        // Given
+        when(userService.getFields(1L, List.of("username")))
+                .thenReturn(new UserFieldsDto(1L, Map.of("username", "John")));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1").param("fields", "username,_links"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("John"))
+                .andExpect(jsonPath("$._links.self.href").exists());
+    }
+
+    @Test
+    void getUserFieldsUnknownFieldTest() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1").param("fields", "username,password"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void getNonExistingUserFieldsTest() throws Exception {
+        // Given
+        when(userService.getFields(anyLong(), anyList())).thenThrow(new UserNotFoundException(1L));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/1").param("fields", "id"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllUserFieldsByIdsTest() throws Exception {
+        // Given
+        when(userService.getAllFieldsById(List.of(1L, 3L), List.of("id", "email"))).thenReturn(List.of(
+                new UserFieldsDto(1L, Map.of("id", 1L, "email", "user1@example.com")),
+                new UserFieldsDto(3L, Map.of("id", 3L, "email", "user3@example.com"))));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users").param("ids", "1,3").param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userList[0].id").value(1))
+                .andExpect(jsonPath("$._embedded.userList[1].email").value("user3@example.com"))
+                .andExpect(jsonPath("$._embedded.userList[1].username").doesNotExist())
+                .andExpect(jsonPath("$._links").doesNotExist());
+        verify(userService, never()).getAllById(anyList());
+    }
+
+    @Test
+    void searchUsersTest() throws Exception {
+        // Given
+        List<User> users = new ArrayList<>();
+        users.add(new User(1L, "john_doe", "password1", "john@example.com"));
+        when(userService.search("john", null, null)).thenReturn(users);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/search").param("q", "john"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userList[0].id").value(1))
+                .andExpect(jsonPath("$._embedded.userList[0].username").value("john_doe"))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @Test
+    void searchUsersFullPageTest() throws Exception {
+        // Given
+        List<User> users = new ArrayList<>();
+        users.add(new User(1L, "john_doe", "password1", "john@example.com"));
+        users.add(new User(7L, "johnny", "password1", "johnny@example.com"));
+        when(userService.search("john", null, 2)).thenReturn(users);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/search")
+                        .param("q", "john")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/v1/users/search?q=john&after=7&limit=2"));
+    }
+
+    @Test
+    void searchUsersInvalidQueryTest() throws Exception {
+        // Given
+        when(userService.search("jo", null, null))
+                .thenThrow(new InvalidRequestParameterException("Search query must be at least 3 characters"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/search").param("q", "jo"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getModifiedUsersTest() throws Exception {
+        // Given
+        User user = new User(1L, "john_doe", "password1", "john@example.com");
+        user.setUpdatedAt(Timestamp.valueOf("2026-10-19 10:00:00.123456"));
+        user.setChangeXid(1200L);
+        user.setChangeSeq(43L);
+        User deletedUser = new User(2L, "jane_doe", "password1", "jane@example.com");
+        deletedUser.setUpdatedAt(Timestamp.valueOf("2026-10-19 10:00:00.123456"));
+        deletedUser.setDeletedAt(deletedUser.getUpdatedAt());
+        deletedUser.setChangeXid(1201L);
+        deletedUser.setChangeSeq(44L);
+        when(userService.getModified("1200,42", null)).thenReturn(List.of(user, deletedUser));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/modified").param("after", "1200,42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userChangeList[0].id").value(1))
+                .andExpect(jsonPath("$._embedded.userChangeList[0].deleted").value(false))
+                .andExpect(jsonPath("$._embedded.userChangeList[0].cursor").value("1200,43"))
+                .andExpect(jsonPath("$._embedded.userChangeList[0].user.username").value("john_doe"))
+                .andExpect(jsonPath("$._embedded.userChangeList[0]._links.get-user.href")
+                        .value("http://localhost/v1/users/1"))
+                .andExpect(jsonPath("$._embedded.userChangeList[1].id").value(2))
+                .andExpect(jsonPath("$._embedded.userChangeList[1].deleted").value(true))
+                .andExpect(jsonPath("$._embedded.userChangeList[1].user").doesNotExist())
+                .andExpect(jsonPath("$._embedded.userChangeList[1]._links").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/v1/users/modified?after=1201%2C44&limit=100"));
+    }
+
+    @Test
+    void getModifiedUsersExpiredCursorTest() throws Exception {
+        // Given
+        when(userService.getModified("1200,42", null)).thenThrow(new CursorExpiredException("Purged"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/modified").param("after", "1200,42"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void getModifiedUsersEmptyPageTest() throws Exception {
+        // Given
+        when(userService.getModified("1200,42", 10)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/modified")
+                        .param("after", "1200,42")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/v1/users/modified?after=1200%2C42&limit=10"));
+    }
+
     @Test
     void createValidUserTest() throws Exception {
         // Given
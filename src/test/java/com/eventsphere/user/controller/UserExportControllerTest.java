@@ -0,0 +1,94 @@
+package com.eventsphere.user.controller;
+
+import com.eventsphere.user.controller.implementation.UserExportControllerImpl;
+import com.eventsphere.user.service.UserExportService;
+import com.eventsphere.user.service.UserExportService.Format;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserExportControllerImpl.class)
+class UserExportControllerTest {
+
+    private static final String NDJSON = "{\"id\":1}\n{\"id\":2}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserExportService userExportService;
+
+    @Test
+    void exportNdjsonTest() throws Exception {
+        // Given
+        writesNdjson();
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/export").param("columns", "id"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(NDJSON));
+    }
+
+    @Test
+    void exportGzipTest() throws Exception {
+        // Given
+        writesNdjson();
+
+        // When
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/export")
+                        .param("columns", "id")
+                        .header("Accept-Encoding", "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals(NDJSON, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportUnknownFormatTest() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userExportService);
+    }
+
+    @Test
+    void exportUnknownColumnTest() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/users/export").param("columns", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+        verifyNoInteractions(userExportService);
+    }
+
+    private void writesNdjson() throws Exception {
+        when(userExportService.export(eq(Format.NDJSON), eq(List.of("id")), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(NDJSON.getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+    }
+}
@@ -0,0 +1,284 @@
+package com.eventsphere.user.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private static final String USER_JSON = "{\"id\":1,\"username\":\"user1\"}";
+    private static final String CREATE_JSON = "{\"username\":\"user1\"}";
+    private static final List<String> EXCLUDED_PATHS = List.of("/v1/users/subscriptions/**");
+
+    private IdempotencyFilter filter;
+    private AtomicInteger dispatches;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100),
+                new ObjectMapper().findAndRegisterModules(), Duration.ofSeconds(5), 1024, EXCLUDED_PATHS);
+        dispatches = new AtomicInteger();
+        chain = (request, response) -> {
+            dispatches.incrementAndGet();
+            assertEquals(CREATE_JSON, new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_CREATED);
+            ((HttpServletResponse) response).setHeader("Location", "http://localhost/v1/users/1");
+            response.setContentType("application/hal+json");
+            response.getOutputStream().write(USER_JSON.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    void retryShouldReplayFirstResponse() throws Exception {
+        // Given
+        MockHttpServletResponse first = perform(post("key-1", CREATE_JSON), chain);
+
+        // When
+        MockHttpServletResponse retry = perform(post("key-1", CREATE_JSON), chain);
+
+        // Then
+        assertEquals(1, dispatches.get());
+        assertEquals(HttpServletResponse.SC_CREATED, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("http://localhost/v1/users/1", retry.getHeader("Location"));
+        assertEquals("application/hal+json", retry.getContentType());
+        assertEquals(USER_JSON, retry.getContentAsString());
+    }
+
+    @Test
+    void keyReusedForDifferentRequestShouldBeRejected() throws Exception {
+        // Given
+        perform(post("key-1", CREATE_JSON), chain);
+
+        // When
+        MockHttpServletResponse response = perform(post("key-1", "{\"username\":\"user2\"}"), chain);
+
+        // Then
+        assertEquals(1, dispatches.get());
+        assertEquals(422, response.getStatus());
+        assertTrue(response.getContentAsString().contains("different request"));
+    }
+
+    @Test
+    void keyReusedWithDifferentAcceptShouldBeRejected() throws Exception {
+        // Given
+        perform(post("key-1", CREATE_JSON), chain);
+        MockHttpServletRequest request = post("key-1", CREATE_JSON);
+        request.addHeader("Accept", "application/xml");
+
+        // When
+        MockHttpServletResponse response = perform(request, chain);
+
+        // Then
+        assertEquals(1, dispatches.get());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void sameKeyFromOtherCallerShouldNotBeReplayed() throws Exception {
+        // Given
+        MockHttpServletRequest first = post("key-1", CREATE_JSON);
+        first.addHeader("Authorization", "Bearer caller-1");
+        perform(first, chain);
+        MockHttpServletRequest other = post("key-1", CREATE_JSON);
+        other.addHeader("Authorization", "Bearer caller-2");
+
+        // When
+        MockHttpServletResponse response = perform(other, chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void oversizedBodyShouldBeRejected() throws Exception {
+        // Given
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100),
+                new ObjectMapper().findAndRegisterModules(), Duration.ofSeconds(5), 8, EXCLUDED_PATHS);
+
+        // When
+        MockHttpServletResponse response = perform(post("key-1", CREATE_JSON), chain);
+
+        // Then
+        assertEquals(0, dispatches.get());
+        assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+    }
+
+    @Test
+    void bulkSubscriptionRequestShouldNotBeBuffered() throws Exception {
+        // Given
+        MockHttpServletRequest request = post("key-1", "1\n2\n");
+        request.setRequestURI("/v1/users/subscriptions/events/1");
+        FilterChain bulkChain = (chainRequest, response) -> {
+            dispatches.incrementAndGet();
+            assertSame(request, chainRequest);
+        };
+
+        // When
+        perform(request, bulkChain);
+        perform(request, bulkChain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void bufferedBodyShouldNotifyReadListener() throws Exception {
+        // Given
+        AtomicInteger allDataRead = new AtomicInteger();
+        FilterChain asyncChain = (request, response) -> request.getInputStream().setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.incrementAndGet();
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                fail(t);
+            }
+        });
+
+        // When
+        perform(post("key-1", CREATE_JSON), asyncChain);
+
+        // Then
+        assertEquals(1, allDataRead.get());
+    }
+
+    @Test
+    void serverErrorShouldNotBeStored() throws Exception {
+        // Given
+        FilterChain failingChain = (request, response) -> {
+            dispatches.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        };
+        perform(post("key-1", CREATE_JSON), failingChain);
+
+        // When
+        MockHttpServletResponse retry = perform(post("key-1", CREATE_JSON), chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void requestWithoutKeyShouldNotBeStored() throws Exception {
+        // When
+        perform(post(null, CREATE_JSON), chain);
+        perform(post(null, CREATE_JSON), chain);
+
+        // Then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void concurrentRetryShouldWaitForFirstRequest() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chain.doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> first =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("key-1", CREATE_JSON), slowChain));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<MockHttpServletResponse> retry =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("key-1", CREATE_JSON), chain));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertEquals(HttpServletResponse.SC_CREATED, first.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("true", retry.get().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, dispatches.get());
+    }
+
+    @Test
+    void retryTimingOutOnFirstRequestShouldConflict() throws Exception {
+        // Given
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100),
+                new ObjectMapper().findAndRegisterModules(), Duration.ofMillis(50), 1024, EXCLUDED_PATHS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chain.doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> first =
+                CompletableFuture.supplyAsync(() -> performUnchecked(post("key-1", CREATE_JSON), slowChain));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        MockHttpServletResponse retry = perform(post("key-1", CREATE_JSON), chain);
+        release.countDown();
+
+        // Then
+        assertEquals(HttpServletResponse.SC_CONFLICT, retry.getStatus());
+        assertEquals(HttpServletResponse.SC_CREATED, first.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    private MockHttpServletResponse perform(final MockHttpServletRequest request, final FilterChain filterChain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private MockHttpServletResponse performUnchecked(final MockHttpServletRequest request,
+                                                     final FilterChain filterChain) {
+        try {
+            return perform(request, filterChain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest post(final String key, final String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/users");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
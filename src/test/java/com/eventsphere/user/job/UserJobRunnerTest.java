@@ -0,0 +1,207 @@
+package com.eventsphere.user.job;
+
+import com.eventsphere.user.event.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserJobRunnerTest {
+
+    private static final long JOB_ID = 7;
+    private static final int CHUNK_SIZE = 1000;
+    private static final String CHUNK_CHECKPOINT = "INSERT INTO user_service_schema.user_job_chunk";
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private List<Long> processedChunks;
+    private int checkpointedChunks;
+    private RuntimeException failure;
+    private String status;
+    private UserJobRunner runner;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        processedChunks = new CopyOnWriteArrayList<>();
+        status = UserJobRunner.RUNNING;
+
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, GeneratedKeyHolder.class).getKeyList().add(Map.of("id", JOB_ID));
+            return 1;
+        });
+        when(jdbcTemplate.update(startsWith(CHUNK_CHECKPOINT), eq(JOB_ID), anyLong())).thenReturn(1);
+        when(jdbcTemplate.query(startsWith("SELECT j.*"), any(RowMapper.class), eq(JOB_ID)))
+                .thenAnswer(invocation -> List.of(progress()));
+        when(jdbcTemplate.update(startsWith("UPDATE user_service_schema.user_job SET status"), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    status = invocation.getArgument(1);
+                    return 1;
+                });
+
+        UserJob job = new UserJob() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public List<Long> process(final JdbcTemplate template, final long fromId, final long toId,
+                                      final LocalDateTime startedAt) {
+                if (failure != null) {
+                    throw failure;
+                }
+                processedChunks.add(fromId);
+                return List.of(fromId);
+            }
+        };
+        runner = new UserJobRunner(List.of(job), jdbcTemplate, transactionTemplate, eventPublisher,
+                directExecutor(), 2);
+    }
+
+    @Test
+    void startShouldProcessEveryChunkAndComplete() {
+        // When
+        UserJobRunner.Progress progress = runner.start("test", CHUNK_SIZE);
+
+        // Then
+        assertEquals(List.of(1L, 1001L, 2001L), processedChunks.stream().sorted().toList());
+        assertEquals(UserJobRunner.COMPLETED, progress.getStatus());
+        assertEquals(100.0, progress.getPercent());
+        verify(eventPublisher, times(3)).publishEvent(any(UserChangedEvent.class));
+        verify(jdbcTemplate, times(3)).update(startsWith("UPDATE user_service_schema.user_job_chunk SET changed"),
+                eq(1), eq(JOB_ID), anyLong());
+    }
+
+    @Test
+    void startShouldRejectUnknownJobsAndChunkSizes() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> runner.start("unknown", CHUNK_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> runner.start("test", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> runner.start("test", UserJobRunner.MAXIMUM_CHUNK_SIZE + 1));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void checkpointedChunksShouldBeSkipped() {
+        // Given
+        when(jdbcTemplate.update(startsWith(CHUNK_CHECKPOINT), eq(JOB_ID), eq(1001L))).thenReturn(0);
+
+        // When
+        runner.start("test", CHUNK_SIZE);
+
+        // Then
+        assertEquals(List.of(1L, 2001L), processedChunks.stream().sorted().toList());
+        verify(eventPublisher, times(2)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void resumeShouldSkipCompletedChunks() {
+        // Given
+        status = UserJobRunner.PAUSED;
+        checkpointedChunks = 2;
+        when(jdbcTemplate.queryForList(startsWith("SELECT from_id"), eq(Long.class), eq(JOB_ID)))
+                .thenReturn(List.of(1L, 2001L));
+
+        // When
+        runner.resume(JOB_ID);
+
+        // Then
+        assertEquals(List.of(1001L), processedChunks);
+        assertEquals(UserJobRunner.COMPLETED, status);
+    }
+
+    @Test
+    void failedChunkShouldFailJob() {
+        // Given
+        failure = new IllegalStateException("duplicate key");
+
+        // When
+        UserJobRunner.Progress progress = runner.start("test", CHUNK_SIZE);
+
+        // Then
+        assertEquals(UserJobRunner.FAILED, progress.getStatus());
+        verify(jdbcTemplate).update(startsWith("UPDATE user_service_schema.user_job SET status"),
+                eq(UserJobRunner.FAILED), eq("duplicate key"), eq(JOB_ID));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void completedJobShouldNotResume() {
+        // Given
+        status = UserJobRunner.COMPLETED;
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> runner.resume(JOB_ID));
+        assertNull(runner.resume(JOB_ID + 1));
+    }
+
+    /**
+     * The progress of a job over IDs 1 to 2500, from the chunks checkpointed and processed so far.
+     */
+    private UserJobRunner.Progress progress() {
+        int completed = status.equals(UserJobRunner.COMPLETED) ? 3 : checkpointedChunks + processedChunks.size();
+        return new UserJobRunner.Progress(JOB_ID, "test", status, false, 1, 2500, CHUNK_SIZE, 3, completed,
+                completed * 100.0 / 3, processedChunks.size(), null, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    /**
+     * Runs the workers in the calling thread, so a job is over when it is started.
+     */
+    private static ExecutorService directExecutor() {
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(final Runnable command) {
+                command.run();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return List.of();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.eventsphere.user.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void requestsOverLimitShouldBeRejected() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100));
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, limiter.snapshot().getInFlight());
+        assertEquals(1, limiter.snapshot().getRejected());
+    }
+
+    @Test
+    void fastRequestsAtLimitShouldRaiseLimitUpToMax() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4, Duration.ofMillis(100));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            int limit = limiter.snapshot().getLimit();
+            for (int j = 0; j < limit; j++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int j = 0; j < limit; j++) {
+                limiter.release(FAST);
+            }
+        }
+
+        // Then
+        assertEquals(4, limiter.snapshot().getLimit());
+        assertEquals(0, limiter.snapshot().getInFlight());
+    }
+
+    @Test
+    void fastRequestsBelowHalfOfLimitShouldNotRaiseLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, Duration.ofMillis(100));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+
+        // Then
+        assertEquals(10, limiter.snapshot().getLimit());
+    }
+
+    @Test
+    void slowRequestsShouldLowerLimitDownToMin() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, Duration.ofMillis(100));
+
+        // When
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW);
+        int limitAfterOneSlowRequest = limiter.snapshot().getLimit();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW);
+        }
+
+        // Then
+        assertEquals(9, limitAfterOneSlowRequest);
+        assertEquals(2, limiter.snapshot().getLimit());
+    }
+
+    @Test
+    void invalidLimitsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter(5, 6, 10, Duration.ofMillis(100)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter(1, 0, 10, Duration.ofMillis(100)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.eventsphere.user.limit;
+
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        readLimiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofSeconds(1));
+        writeLimiter = new AdaptiveConcurrencyLimiter(1, 1, 10, Duration.ofSeconds(1));
+        interceptor = new ConcurrencyLimitInterceptor(new ConcurrencyLimits(Map.of(
+                ConcurrencyLimits.EndpointClass.READ, readLimiter,
+                ConcurrencyLimits.EndpointClass.WRITE, writeLimiter
+        )));
+    }
+
+    @Test
+    void writeOverLimitShouldBeRejectedWithRetryAfter() {
+        // Given
+        assertTrue(interceptor.preHandle(request("POST"), new MockHttpServletResponse(), new Object()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When & Then
+        assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("PATCH"), response, new Object()));
+        assertEquals(ConcurrencyLimitInterceptor.RETRY_AFTER_SECONDS, response.getHeader("Retry-After"));
+        assertEquals(1, writeLimiter.snapshot().getRejected());
+    }
+
+    @Test
+    void readsShouldNotUseWriteBudget() {
+        // Given
+        assertTrue(interceptor.preHandle(request("POST"), new MockHttpServletResponse(), new Object()));
+
+        // When
+        boolean admitted = interceptor.preHandle(request("GET"), new MockHttpServletResponse(), new Object());
+
+        // Then
+        assertTrue(admitted);
+        assertEquals(1, readLimiter.snapshot().getInFlight());
+        assertEquals(1, writeLimiter.snapshot().getInFlight());
+    }
+
+    @Test
+    void completedRequestShouldReleaseItsPermitOnce() {
+        // Given
+        MockHttpServletRequest request = request("DELETE");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+
+        // When
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        assertEquals(0, writeLimiter.snapshot().getInFlight());
+        assertTrue(interceptor.preHandle(request("DELETE"), new MockHttpServletResponse(), new Object()));
+    }
+
+    private static MockHttpServletRequest request(final String method) {
+        return new MockHttpServletRequest(method, "/v1/users/1");
+    }
+}
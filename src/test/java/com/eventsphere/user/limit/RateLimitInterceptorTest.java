@@ -0,0 +1,91 @@
+package com.eventsphere.user.limit;
+
+import com.eventsphere.user.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private TokenBucketLimiter clientLimiter;
+    private TokenBucketLimiter apiKeyLimiter;
+    private TokenBucketLimiter userLimiter;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        clientLimiter = new TokenBucketLimiter(10, Duration.ofMinutes(1), 100);
+        apiKeyLimiter = new TokenBucketLimiter(10, Duration.ofMinutes(1), 100);
+        userLimiter = new TokenBucketLimiter(1, Duration.ofMinutes(15), 100);
+        interceptor = new RateLimitInterceptor(HttpMethod.PATCH, "change-password", Map.of(
+                RateLimitInterceptor.Key.CLIENT, clientLimiter,
+                RateLimitInterceptor.Key.API_KEY, apiKeyLimiter,
+                RateLimitInterceptor.Key.USER, userLimiter
+        ), "X-API-Key");
+    }
+
+    @Test
+    void requestOverUserLimitShouldBeRejectedWithRetryAfter() {
+        // Given
+        assertTrue(interceptor.preHandle(request("PATCH", "1"), new MockHttpServletResponse(), new Object()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When & Then
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("PATCH", "1"), response, new Object()));
+        assertEquals("900", response.getHeader("Retry-After"));
+        assertTrue(ex.getMessage().contains("user"));
+        assertEquals(1, userLimiter.snapshot().getRejected());
+    }
+
+    @Test
+    void otherUserShouldNotBeLimited() {
+        // Given
+        assertTrue(interceptor.preHandle(request("PATCH", "1"), new MockHttpServletResponse(), new Object()));
+
+        // When & Then
+        assertTrue(interceptor.preHandle(request("PATCH", "2"), new MockHttpServletResponse(), new Object()));
+        assertEquals(2, clientLimiter.snapshot().getAdmitted());
+    }
+
+    @Test
+    void apiKeyShouldOnlyBeLimitedWhenPresent() {
+        // Given
+        MockHttpServletRequest request = request("PATCH", "1");
+        request.addHeader("X-API-Key", "key");
+
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(request("PATCH", "2"), new MockHttpServletResponse(), new Object());
+
+        // Then
+        assertEquals(1, apiKeyLimiter.snapshot().getAdmitted());
+        assertEquals(1, apiKeyLimiter.snapshot().getKeys());
+    }
+
+    @Test
+    void otherMethodsShouldPassThrough() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.preHandle(request("GET", "1"), new MockHttpServletResponse(), new Object()));
+        }
+
+        // Then
+        assertEquals(0, userLimiter.snapshot().getAdmitted());
+    }
+
+    private static MockHttpServletRequest request(final String method, final String id) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/v1/users/" + id + "/change-password");
+        request.setRemoteAddr("10.0.0.1");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+}
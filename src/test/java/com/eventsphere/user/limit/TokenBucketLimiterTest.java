@@ -0,0 +1,70 @@
+package com.eventsphere.user.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private AtomicLong now;
+    private TokenBucketLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+        limiter = new TokenBucketLimiter(3, Duration.ofSeconds(3), 1000, now::get);
+    }
+
+    @Test
+    void fullBucketShouldAdmitBurstThenReject() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long waitNanos = limiter.tryAcquire("10.0.0.1");
+
+        // Then
+        assertEquals(TimeUnit.SECONDS.toNanos(1), waitNanos);
+        assertEquals(3, limiter.snapshot().getAdmitted());
+        assertEquals(1, limiter.snapshot().getRejected());
+    }
+
+    @Test
+    void bucketShouldRefillOverTime() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1");
+        }
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        // Then
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void keysShouldHaveSeparateBuckets() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1");
+        }
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void invalidConfigurationShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, Duration.ofSeconds(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, Duration.ofSeconds(1), 0));
+    }
+}
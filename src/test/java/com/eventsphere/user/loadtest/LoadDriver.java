@@ -0,0 +1,223 @@
+package com.eventsphere.user.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: each thread sends one request at a time, picking the operation at random by the
+ * weights of the mix, and records its latency and status.
+ */
+class LoadDriver {
+
+    private static final int IDS_PER_BULK_GET = 10;
+    private static final String PASSWORD = "passw0rd";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestOperation[] schedule;
+    private final long firstUserId;
+    private final long lastUserId;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Creates a driver.
+     *
+     * @param baseUrl     the URL of {@code v1/users}.
+     * @param mix         the weight of each operation.
+     * @param firstUserId the first ID of the seeded users, which requests on a single user pick from.
+     * @param lastUserId  the last ID of the seeded users.
+     */
+    LoadDriver(final String baseUrl, final Map<LoadTestOperation, Integer> mix,
+               final long firstUserId, final long lastUserId) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.firstUserId = firstUserId;
+        this.lastUserId = lastUserId;
+
+        List<LoadTestOperation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        this.schedule = slots.toArray(LoadTestOperation[]::new);
+    }
+
+    /**
+     * Sends requests from the given number of threads for the given duration.
+     *
+     * @param threads  the number of concurrent clients.
+     * @param duration how long to send requests.
+     * @return the samples of each operation.
+     * @throws InterruptedException if interrupted while waiting for the clients.
+     */
+    Map<LoadTestOperation, Samples> run(final int threads, final Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Map<LoadTestOperation, Samples>> perThread = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Map<LoadTestOperation, Samples> samples = new EnumMap<>(LoadTestOperation.class);
+            perThread.add(samples);
+            Thread thread = new Thread(() -> drive(deadline, samples), "load-client-" + i);
+            thread.start();
+            clients.add(thread);
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+
+        Map<LoadTestOperation, Samples> merged = new EnumMap<>(LoadTestOperation.class);
+        for (Map<LoadTestOperation, Samples> samples : perThread) {
+            samples.forEach((operation, s) -> merged.computeIfAbsent(operation, key -> new Samples()).addAll(s));
+        }
+        return merged;
+    }
+
+    private void drive(final long deadline, final Map<LoadTestOperation, Samples> samples) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            LoadTestOperation operation = schedule[random.nextInt(schedule.length)];
+            HttpRequest request = request(operation, random);
+            Samples operationSamples = samples.computeIfAbsent(operation, key -> new Samples());
+
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            operationSamples.add(System.nanoTime() - start, status);
+        }
+    }
+
+    private HttpRequest request(final LoadTestOperation operation, final ThreadLocalRandom random) {
+        long id = random.nextLong(firstUserId, lastUserId + 1);
+        return switch (operation) {
+            case GET -> get(operation, baseUrl + "/" + id);
+            case GET_FIELDS -> get(operation, baseUrl + "/" + id + "?fields=id,username,email");
+            case GET_BY_IDS -> {
+                StringBuilder ids = new StringBuilder().append(id);
+                for (int i = 1; i < IDS_PER_BULK_GET; i++) {
+                    ids.append(',').append(random.nextLong(firstUserId, lastUserId + 1));
+                }
+                yield get(operation, baseUrl + "?ids=" + ids);
+            }
+            case SEARCH -> get(operation, baseUrl + "/search?q=load_user_" + random.nextInt(1, 10_000));
+            case CREATE -> {
+                String username = "load_new_" + runId + "_" + sequence.incrementAndGet();
+                yield json(operation, baseUrl, "POST", "{\"username\":\"" + username + "\",\"password\":\""
+                        + PASSWORD + "\",\"email\":\"" + username + "@example.com\"}");
+            }
+            case UPDATE -> json(operation, baseUrl + "/" + id, "PATCH",
+                    "{\"firstName\":\"Name" + random.nextInt(1000) + "\"}");
+            case CHANGE_PASSWORD -> json(operation, baseUrl + "/" + id + "/change-password", "PATCH",
+                    "{\"old\":\"" + PASSWORD + "\",\"new\":\"" + PASSWORD + "\",\"confirm\":\"" + PASSWORD + "\"}");
+        };
+    }
+
+    private static HttpRequest get(final LoadTestOperation operation, final String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "application/json")
+                .header(OperationAllocationFilter.OPERATION_HEADER, operation.id())
+                .build();
+    }
+
+    private static HttpRequest json(final LoadTestOperation operation, final String url, final String method,
+                                    final String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .header(OperationAllocationFilter.OPERATION_HEADER, operation.id())
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * The latencies and outcomes of the requests of one operation.
+     */
+    static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long clientErrors;
+        private long serverErrors;
+        private long failures;
+
+        void add(final long latencyNanos, final int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 0) {
+                failures++;
+            } else if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        void addAll(final Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], 200);
+            }
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+            failures += other.failures;
+        }
+
+        int count() {
+            return count;
+        }
+
+        long clientErrors() {
+            return clientErrors;
+        }
+
+        long serverErrors() {
+            return serverErrors;
+        }
+
+        long failures() {
+            return failures;
+        }
+
+        /**
+         * Returns the latency at a percentile, by the nearest-rank method.
+         *
+         * @param percentile the percentile, between 0 and 100.
+         * @return the latency in nanoseconds, or 0 without samples.
+         */
+        long percentile(final double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * count);
+            return sorted[Math.max(0, Math.min(count, rank) - 1)];
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.eventsphere.user.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load test run: throughput, latency percentiles, errors and allocations of each operation. It is
+ * written as JSON, so a later run can be compared with it as a baseline.
+ *
+ * @param users      the number of seeded users.
+ * @param threads    the number of concurrent clients.
+ * @param seconds    how long the measurement ran.
+ * @param mix        the operations and their weights.
+ * @param operations the results by operation.
+ */
+record LoadReport(long users, int threads, long seconds, String mix, Map<String, OperationResult> operations) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Results of one operation.
+     *
+     * @param requests                    the requests sent.
+     * @param throughput                  the requests per second.
+     * @param p50Millis                   the median latency.
+     * @param p99Millis                   the 99th percentile latency.
+     * @param p999Millis                  the 99.9th percentile latency.
+     * @param clientErrors                the 4xx responses.
+     * @param serverErrors                the 5xx responses.
+     * @param failures                    the requests without a response.
+     * @param allocatedBytesPerRequest    the bytes the service allocated per request.
+     * @param allocatedMegabytesPerSecond the bytes the service allocated per second for this operation, in MB.
+     */
+    record OperationResult(long requests, double throughput, double p50Millis, double p99Millis, double p999Millis,
+                           long clientErrors, long serverErrors, long failures, double allocatedBytesPerRequest,
+                           double allocatedMegabytesPerSecond) {
+    }
+
+    static LoadReport of(final long users, final int threads, final Duration duration, final String mix,
+                         final Map<LoadTestOperation, LoadDriver.Samples> samples,
+                         final Map<String, Long> allocatedBytes) {
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, OperationResult> operations = new LinkedHashMap<>();
+        samples.forEach((operation, s) -> {
+            long bytes = allocatedBytes.getOrDefault(operation.id(), 0L);
+            operations.put(operation.id(), new OperationResult(
+                    s.count(),
+                    s.count() / seconds,
+                    s.percentile(50) / NANOS_PER_MILLI,
+                    s.percentile(99) / NANOS_PER_MILLI,
+                    s.percentile(99.9) / NANOS_PER_MILLI,
+                    s.clientErrors(),
+                    s.serverErrors(),
+                    s.failures(),
+                    s.count() == 0 ? 0 : (double) bytes / s.count(),
+                    bytes / seconds / 1e6));
+        });
+        return new LoadReport(users, threads, duration.toSeconds(), mix, operations);
+    }
+
+    static LoadReport read(final Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void write(final Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    /**
+     * Formats the report as a table, one operation per line.
+     *
+     * @return the table.
+     */
+    String format() {
+        StringBuilder table = new StringBuilder(String.format(
+                "Load test: %d users, %d threads, %d s, mix %s%n", users, threads, seconds, mix));
+        table.append(String.format("%-16s %9s %9s %9s %9s %9s %7s %7s %7s %11s %9s%n", "operation", "requests",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "4xx", "5xx", "failed", "alloc B/req", "alloc MB/s"));
+        operations.forEach((operation, result) -> table.append(String.format(
+                "%-16s %9d %9.1f %9.2f %9.2f %9.2f %7d %7d %7d %11.0f %9.1f%n", operation, result.requests(),
+                result.throughput(), result.p50Millis(), result.p99Millis(), result.p999Millis(),
+                result.clientErrors(), result.serverErrors(), result.failures(),
+                result.allocatedBytesPerRequest(), result.allocatedMegabytesPerSecond())));
+        return table.toString();
+    }
+
+    /**
+     * Compares this report with a baseline: an operation regresses when its throughput drops, or its p99 latency
+     * or allocations per request grow, by more than the tolerance.
+     *
+     * @param baseline  the report of an earlier run.
+     * @param tolerance the relative change allowed, e.g. 0.2 for 20%.
+     * @return a description of each regression, empty if there is none.
+     */
+    List<String> regressionsAgainst(final LoadReport baseline, final double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        operations.forEach((operation, result) -> {
+            OperationResult before = baseline.operations().get(operation);
+            if (before == null) {
+                return;
+            }
+            if (result.throughput() < before.throughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s: throughput %.1f -> %.1f req/s",
+                        operation, before.throughput(), result.throughput()));
+            }
+            if (result.p99Millis() > before.p99Millis() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.2f -> %.2f ms",
+                        operation, before.p99Millis(), result.p99Millis()));
+            }
+            if (result.allocatedBytesPerRequest() > before.allocatedBytesPerRequest() * (1 + tolerance)) {
+                regressions.add(String.format("%s: allocations %.0f -> %.0f B/request",
+                        operation, before.allocatedBytesPerRequest(), result.allocatedBytesPerRequest()));
+            }
+        });
+        return regressions;
+    }
+}
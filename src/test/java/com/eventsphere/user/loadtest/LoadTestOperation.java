@@ -0,0 +1,56 @@
+package com.eventsphere.user.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@code UserController} requests the load test sends, by the name used in the mix and the report.
+ */
+enum LoadTestOperation {
+    GET("get"),
+    GET_FIELDS("get-fields"),
+    GET_BY_IDS("get-by-ids"),
+    SEARCH("search"),
+    CREATE("create"),
+    UPDATE("update"),
+    CHANGE_PASSWORD("change-password");
+
+    static final String DEFAULT_MIX = "get=60,get-fields=5,get-by-ids=5,search=10,create=5,update=10,change-password=5";
+
+    private final String id;
+
+    LoadTestOperation(final String id) {
+        this.id = id;
+    }
+
+    String id() {
+        return id;
+    }
+
+    static LoadTestOperation of(final String id) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.id.equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + id + ", expected one of "
+                        + Arrays.stream(values()).map(LoadTestOperation::id).toList()));
+    }
+
+    /**
+     * Parses a mix such as {@code get=90,update=10} into the weight of each operation.
+     *
+     * @param mix the operations and their weights, separated by commas.
+     * @return the weights by operation.
+     */
+    static Map<LoadTestOperation, Integer> parseMix(final String mix) {
+        Map<LoadTestOperation, Integer> weights = new EnumMap<>(LoadTestOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || Integer.parseInt(parts[1].trim()) < 0) {
+                throw new IllegalArgumentException("Expected operation=weight, got " + entry);
+            }
+            weights.put(of(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
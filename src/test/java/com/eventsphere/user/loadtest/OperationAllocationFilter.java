@@ -0,0 +1,65 @@
+package com.eventsphere.user.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-side filter of the load test: adds up the bytes the request thread allocates while serving each
+ * request, by the operation named in the {@value #OPERATION_HEADER} header. Requests are served on one thread,
+ * so this is everything the service allocates for them, from the first filter to the written response.
+ */
+class OperationAllocationFilter extends OncePerRequestFilter {
+
+    static final String OPERATION_HEADER = "X-Load-Test-Operation";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, LongAdder> allocatedBytes = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        String operation = request.getHeader(OPERATION_HEADER);
+        if (operation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            allocatedBytes.computeIfAbsent(operation, key -> new LongAdder())
+                    .add(THREADS.getCurrentThreadAllocatedBytes() - before);
+        }
+    }
+
+    /**
+     * Forgets the allocations recorded so far, e.g. those of the warm-up.
+     */
+    void reset() {
+        allocatedBytes.clear();
+    }
+
+    /**
+     * Returns the bytes allocated since the last {@link #reset()}, by operation.
+     *
+     * @return the allocated bytes.
+     */
+    Map<String, Long> allocatedBytes() {
+        Map<String, Long> bytes = new TreeMap<>();
+        allocatedBytes.forEach((operation, adder) -> bytes.put(operation, adder.sum()));
+        return bytes;
+    }
+}
@@ -0,0 +1,207 @@
+package com.eventsphere.user.loadtest;
+
+import com.eventsphere.user.UserServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the {@code UserController} endpoints, without Eureka, the config server or any other service.
+ * <p>
+ * Runs in the {@code load-test} build profile. The application is started in this JVM against an embedded
+ * PostgreSQL instance (it refuses to run as root), or against {@code load-test.datasource.url} when set, which
+ * is seeded with {@code load-test.users} users and their subscriptions. Clients then send a mix of reads and
+ * writes for {@code load-test.duration} after a warm-up, and the throughput, latency percentiles and allocations
+ * of each operation are printed for the build log and written to {@code load-test.report}. When
+ * {@code load-test.baseline} names the report of an earlier run, the two are compared.
+ * <p>
+ * System properties, with their defaults:
+ * <ul>
+ *     <li>{@code load-test.users}: 1000000</li>
+ *     <li>{@code load-test.subscriptions-per-user}: 3 event and 3 category subscriptions</li>
+ *     <li>{@code load-test.threads}: 8</li>
+ *     <li>{@code load-test.warmup}: PT15S</li>
+ *     <li>{@code load-test.duration}: PT60S</li>
+ *     <li>{@code load-test.mix}: {@value LoadTestOperation#DEFAULT_MIX}</li>
+ *     <li>{@code load-test.report}: target/load-test-report.json</li>
+ *     <li>{@code load-test.baseline}: none</li>
+ *     <li>{@code load-test.tolerance}: 0.2, the relative change allowed before a regression is reported</li>
+ *     <li>{@code load-test.fail-on-regression}: false</li>
+ * </ul>
+ */
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class UserServiceLoadIT {
+
+    private static final String PREFIX = "load-test.";
+    private static final int SEED_BATCH = 100_000;
+    private static final int CATEGORIES = 50;
+    private static final int EVENTS = 10_000;
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext application;
+    private static OperationAllocationFilter allocationFilter;
+    private static String baseUrl;
+    private static long users;
+    private static long firstUserId;
+    private static long lastUserId;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        String url = System.getProperty(PREFIX + "datasource.url");
+        String username = System.getProperty(PREFIX + "datasource.username", "postgres");
+        String password = System.getProperty(PREFIX + "datasource.password", "");
+        if (url == null) {
+            postgres = EmbeddedPostgres.start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE DATABASE event_sphere");
+            }
+            url = postgres.getJdbcUrl("postgres", "event_sphere");
+        }
+
+        allocationFilter = new OperationAllocationFilter();
+        FilterRegistrationBean<OperationAllocationFilter> registration =
+                new FilterRegistrationBean<>(allocationFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        application = new SpringApplicationBuilder(UserServiceApplication.class)
+                .initializers(context -> context.getBeanFactory()
+                        .registerSingleton("loadTestAllocationFilter", registration))
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.flyway.schemas=user_service_schema",
+                        "--spring.cloud.config.fail-fast=false",
+                        "--eureka.client.enabled=false",
+                        "--user-service.rate-limit.enabled=false");
+        baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port") + "/v1/users";
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            seed(connection, Long.getLong(PREFIX + "users", 1_000_000),
+                    Integer.getInteger(PREFIX + "subscriptions-per-user", 3));
+        }
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (application != null) {
+            application.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void loadTest() throws Exception {
+        int threads = Integer.getInteger(PREFIX + "threads", 8);
+        Duration warmup = Duration.parse(System.getProperty(PREFIX + "warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty(PREFIX + "duration", "PT60S"));
+        String mix = System.getProperty(PREFIX + "mix", LoadTestOperation.DEFAULT_MIX);
+
+        LoadDriver driver = new LoadDriver(baseUrl, LoadTestOperation.parseMix(mix), firstUserId, lastUserId);
+        driver.run(threads, warmup);
+        allocationFilter.reset();
+        Map<LoadTestOperation, LoadDriver.Samples> samples = driver.run(threads, duration);
+
+        LoadReport report = LoadReport.of(users, threads, duration, mix, samples, allocationFilter.allocatedBytes());
+        System.out.print(report.format());
+        Path reportPath = Path.of(System.getProperty(PREFIX + "report", "target/load-test-report.json"));
+        report.write(reportPath);
+        System.out.println("Load test report written to " + reportPath.toAbsolutePath());
+
+        report.operations().forEach((operation, result) -> {
+            assertEquals(0, result.serverErrors(), operation + " returned server errors");
+            assertEquals(0, result.failures(), operation + " requests failed without a response");
+        });
+
+        String baseline = System.getProperty(PREFIX + "baseline");
+        if (baseline != null && Files.exists(Path.of(baseline))) {
+            double tolerance = Double.parseDouble(System.getProperty(PREFIX + "tolerance", "0.2"));
+            List<String> regressions = report.regressionsAgainst(LoadReport.read(Path.of(baseline)), tolerance);
+            regressions.forEach(regression -> System.out.println("Load test regression: " + regression));
+            if (Boolean.getBoolean(PREFIX + "fail-on-regression")) {
+                assertTrue(regressions.isEmpty(), "Regressions against " + baseline + ": " + regressions);
+            }
+        }
+    }
+
+    /**
+     * Inserts the missing {@code load_user_<n>} users, all with the password the driver sends, and gives each
+     * new user event and category subscriptions. A database seeded by an earlier run is reused as is.
+     */
+    private static void seed(final Connection connection, final long target, final int subscriptionsPerUser)
+            throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO user_service_schema");
+            long existing = queryLong(statement,
+                    "SELECT count(*) FROM \"user\" WHERE username LIKE 'load\\_user\\_%'");
+            // Ids are taken before any insert, so the subscriptions of every new user are seeded
+            long previousMaxId = queryLong(statement, "SELECT coalesce(max(id), 0) FROM \"user\"");
+
+            for (long from = existing + 1; from <= target; from += SEED_BATCH) {
+                long to = Math.min(target, from + SEED_BATCH - 1);
+                statement.execute("INSERT INTO \"user\" (username, password, email, first_name, last_name, "
+                        + "date_of_birth) SELECT 'load_user_' || n, 'passw0rd', 'load_user_' || n || '@example.com', "
+                        + "'First' || n % 1000, 'Last' || n % 997, DATE '1970-01-01' + (n % 15000)::int "
+                        + "FROM generate_series(" + from + ", " + to + ") n");
+            }
+            if (existing < target) {
+                String newUsers = "SELECT id FROM \"user\" WHERE username LIKE 'load\\_user\\_%' AND id > "
+                        + previousMaxId;
+                statement.execute("INSERT INTO user_category_subscription (user_id, category_id) "
+                        + "SELECT u.id, 1 + (u.id + s * 7) % " + CATEGORIES + " FROM (" + newUsers + ") u, "
+                        + "generate_series(0, " + (subscriptionsPerUser - 1) + ") s");
+                statement.execute("INSERT INTO user_event_subscription (user_id, event_id) "
+                        + "SELECT u.id, 1 + (u.id * 31 + s * 97) % " + EVENTS + " FROM (" + newUsers + ") u, "
+                        + "generate_series(0, " + (subscriptionsPerUser - 1) + ") s");
+                statement.execute("ANALYZE");
+
+                long expected = (target - existing) * subscriptionsPerUser;
+                for (String table : List.of("user_category_subscription", "user_event_subscription")) {
+                    assertEquals(expected, queryLong(statement, "SELECT count(*) FROM " + table
+                            + " WHERE user_id IN (" + newUsers + ")"), "Subscriptions seeded in " + table);
+                }
+            }
+
+            try (ResultSet ids = statement.executeQuery(
+                    "SELECT count(*), min(id), max(id) FROM \"user\" WHERE username LIKE 'load\\_user\\_%'")) {
+                ids.next();
+                users = ids.getLong(1);
+                firstUserId = ids.getLong(2);
+                lastUserId = ids.getLong(3);
+            }
+        }
+        System.out.printf("Load test: %d users seeded after %d s%n",
+                users, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private static long queryLong(final Statement statement, final String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.eventsphere.user.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationAccountingFilterTest {
+
+    private static final int ALLOCATED = 1 << 20;
+
+    private RequestAllocations allocations;
+    private SimpleMeterRegistry registry;
+    private AllocationAccountingFilter filter;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        assertTrue(AllocationAccountingFilter.isSupported());
+        allocations = new RequestAllocations();
+        registry = new SimpleMeterRegistry();
+        allocations.bindTo(registry);
+        filter = new AllocationAccountingFilter(allocations);
+        chain = (request, response) -> response.getOutputStream().write(new byte[ALLOCATED]);
+    }
+
+    @Test
+    void requestShouldBeRecordedByMatchedPattern() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users/1");
+        FilterChain matchingChain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/users/{id}");
+            chain.doFilter(req, res);
+        };
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), matchingChain);
+        filter.doFilter(request, new MockHttpServletResponse(), matchingChain);
+
+        // Then
+        RequestAllocations.Snapshot snapshot = allocations.snapshot().get("GET /v1/users/{id}");
+        assertEquals(2, snapshot.getRequests());
+        assertTrue(snapshot.getBytes() >= 2L * ALLOCATED);
+        assertTrue(snapshot.getMaxBytes() >= ALLOCATED);
+
+        DistributionSummary summary = registry.get(RequestAllocations.METER_NAME)
+                .tag("method", "GET").tag("uri", "/v1/users/{id}").summary();
+        assertEquals(2, summary.count());
+        assertEquals(snapshot.getBytes(), (long) summary.totalAmount());
+    }
+
+    @Test
+    void requestServedByFilterShouldBeRecordedByObservedPattern() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users/1");
+        ServerRequestObservationContext observationContext =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        observationContext.setPathPattern("/v1/users/{id}");
+        request.setAttribute(ServerHttpObservationFilter.CURRENT_OBSERVATION_CONTEXT_ATTRIBUTE, observationContext);
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(1, allocations.snapshot().get("GET /v1/users/{id}").getRequests());
+    }
+
+    @Test
+    void unmatchedRequestShouldBeRecordedAsUnknown() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/nowhere"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(1, allocations.snapshot().get("POST " + AllocationAccountingFilter.UNKNOWN_URI).getRequests());
+    }
+
+    @Test
+    void snapshotShouldListEndpointAllocatingMostFirst() {
+        // Given
+        allocations.record("GET", "/v1/users/{id}", 100);
+        allocations.record("GET", "/v1/users", 10_000);
+        allocations.record("PATCH", "/v1/users/{id}", 1_000);
+
+        // When
+        Set<String> endpoints = allocations.snapshot().keySet();
+
+        // Then
+        assertIterableEquals(List.of("GET /v1/users", "PATCH /v1/users/{id}", "GET /v1/users/{id}"),
+                endpoints);
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventsphere.user.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationProfilerTest {
+
+    private static volatile Object sink;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void profileShouldAttributeAllocationsToSitesAndEndpoints() throws Exception {
+        // Given
+        AllocationProfiler profiler = new AllocationProfiler(directory, "1000/s", "com.eventsphere.");
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread allocator = new Thread(() -> {
+            while (running.get()) {
+                RequestEvent request = new RequestEvent();
+                request.begin();
+                for (int i = 0; i < 100; i++) {
+                    allocate();
+                }
+                request.method = "GET";
+                request.uri = "/v1/users";
+                request.commit();
+            }
+        });
+        allocator.start();
+
+        // When
+        AllocationProfiler.Profile profile;
+        try {
+            profile = profiler.profile(Duration.ofSeconds(2), 5);
+        } finally {
+            running.set(false);
+            allocator.join();
+        }
+
+        // Then
+        assertTrue(profile.getSamples() > 0);
+        assertTrue(profile.getEstimatedBytes() > 0);
+        assertTrue(Files.size(Path.of(profile.getRecording())) > 0);
+        assertTrue(profile.getTopSites().size() <= 5);
+        assertTrue(profile.getTopSites().stream().anyMatch(site -> site.getFrame()
+                        .startsWith("long[] at " + AllocationProfilerTest.class.getName() + ".allocate")),
+                () -> "Expected allocate() among " + frames(profile.getTopSites()));
+        assertTrue(profile.getTopEndpoints().stream().anyMatch(site -> site.getFrame().equals("GET /v1/users")),
+                () -> "Expected GET /v1/users among " + frames(profile.getTopEndpoints()));
+    }
+
+    @Test
+    void concurrentProfileShouldBeRefused() throws Exception {
+        // Given
+        AllocationProfiler profiler = new AllocationProfiler(directory, "100/s", "com.eventsphere.");
+        CountDownLatch started = new CountDownLatch(1);
+        Thread first = new Thread(() -> {
+            started.countDown();
+            try {
+                profiler.profile(Duration.ofSeconds(2), 5);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        first.start();
+        started.await();
+        Thread.sleep(500);
+
+        // When
+        AllocationProfiler.Profile second = profiler.profile(Duration.ofMillis(100), 5);
+        first.join();
+
+        // Then
+        assertNull(second);
+    }
+
+    @Test
+    void arrayDescriptorsShouldBeShownAsSourceNames() {
+        assertEquals("java.lang.String", AllocationProfiler.Samples.typeName("java.lang.String"));
+        assertEquals("byte[]", AllocationProfiler.Samples.typeName("[B"));
+        assertEquals("java.lang.Object[][]", AllocationProfiler.Samples.typeName("[[Ljava.lang.Object;"));
+    }
+
+    private static List<String> frames(final List<AllocationProfiler.Site> sites) {
+        return sites.stream().map(AllocationProfiler.Site::getFrame).toList();
+    }
+
+    private static void allocate() {
+        sink = new long[1024];
+    }
+}
@@ -0,0 +1,309 @@
+package com.eventsphere.user.repository;
+
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs {@link BulkSubscriptionRepository} against PostgreSQL with the Flyway migrations applied: an embedded
+ * instance, or {@code test.datasource.url} when set, as the CI workflow does. The embedded instance refuses to run
+ * as root, so the tests are skipped there, except on CI ({@code CI} set) where they fail instead. Each test runs in
+ * a transaction that is rolled back.
+ */
+class BulkSubscriptionRepositoryTest {
+
+    private static final String PREFIX = "test.datasource.";
+    private static final long EVENT_ID = 9_000_001;
+    private static final long OTHER_EVENT_ID = 9_000_002;
+    private static final long CATEGORY_ID = 9_000_003;
+    private static final long UNKNOWN_USER_ID = Long.MAX_VALUE;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private BulkSubscriptionRepository repository;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        String url = System.getProperty(PREFIX + "url");
+        DataSource dataSource;
+        if (url == null) {
+            assumeFalse("root".equals(System.getProperty("user.name")) && System.getenv("CI") == null,
+                    "The embedded PostgreSQL refuses to run as root, set " + PREFIX + "url instead");
+            postgres = EmbeddedPostgres.start();
+            dataSource = postgres.getPostgresDatabase();
+        } else {
+            dataSource = new DriverManagerDataSource(url, System.getProperty(PREFIX + "username", "postgres"),
+                    System.getProperty(PREFIX + "password", ""));
+        }
+
+        Flyway.configure().dataSource(dataSource).schemas("user_service_schema").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void subscribeShouldSkipDuplicateIdsAndExistingSubscriptions() {
+        inRolledBackTransaction(users -> {
+            // Given
+            long subscribed = users.get("subscribed");
+            long other = users.get("other");
+            jdbcTemplate.update("INSERT INTO " + Target.EVENT.table() + " (user_id, event_id) VALUES (?, ?)",
+                    subscribed, EVENT_ID);
+            long copied = repository.stage(ids(other, other, subscribed), false, false);
+
+            // When
+            long[] subscribedUsers = repository.subscribeReturningUsers(Target.EVENT, EVENT_ID);
+
+            // Then
+            assertEquals(3, copied);
+            assertArrayEquals(new long[]{other}, subscribedUsers);
+            assertEquals(2, subscriptions(Target.EVENT, EVENT_ID));
+        });
+    }
+
+    @Test
+    void subscribeShouldNotBlockImportsOfOtherEvents() {
+        inRolledBackTransaction(users -> {
+            // Given
+            repository.stage(ids(users.get("subscribed")), false, false);
+            repository.subscribe(Target.EVENT, EVENT_ID);
+
+            // When
+            long created = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+                // Users created by the uncommitted test transaction are not visible here
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '2s'");
+                long userId = jdbcTemplate.queryForObject("SELECT min(id) FROM user_service_schema.\"user\" u"
+                        + " WHERE u." + User.ACTIVE_CLAUSE, Long.class);
+                repository.stage(ids(userId), false, false);
+                try {
+                    return repository.subscribe(Target.EVENT, OTHER_EVENT_ID);
+                } finally {
+                    status.setRollbackOnly();
+                }
+            })).orTimeout(10, TimeUnit.SECONDS).join();
+
+            // Then
+            assertEquals(1, created);
+        });
+    }
+
+    @Test
+    void subscribeToCategoryShouldSkipExistingSubscriptions() {
+        inRolledBackTransaction(users -> {
+            // Given
+            long subscribed = users.get("subscribed");
+            long other = users.get("other");
+            jdbcTemplate.update("INSERT INTO " + Target.CATEGORY.table() + " (user_id, category_id) VALUES (?, ?)",
+                    subscribed, CATEGORY_ID);
+            repository.stage(ids(subscribed, other, other), false, false);
+
+            // When
+            long created = repository.subscribe(Target.CATEGORY, CATEGORY_ID);
+
+            // Then
+            assertEquals(1, created);
+            assertEquals(2, subscriptions(Target.CATEGORY, CATEGORY_ID));
+        });
+    }
+
+    @Test
+    void subscribeShouldSkipUnknownAndDeletedUsers() {
+        inRolledBackTransaction(users -> {
+            // Given
+            repository.stage(ids(users.get("deleted"), UNKNOWN_USER_ID), false, false);
+
+            // When
+            long created = repository.subscribe(Target.EVENT, EVENT_ID);
+
+            // Then
+            assertEquals(0, created);
+            assertEquals(0, subscriptions(Target.EVENT, EVENT_ID));
+        });
+    }
+
+    @Test
+    void unsubscribeShouldOnlyRemoveStagedUsers() {
+        inRolledBackTransaction(users -> {
+            // Given
+            long subscribed = users.get("subscribed");
+            long other = users.get("other");
+            jdbcTemplate.update("INSERT INTO " + Target.EVENT.table() + " (user_id, event_id) VALUES (?, ?), (?, ?)",
+                    subscribed, EVENT_ID, other, EVENT_ID);
+            repository.stage(ids(subscribed, UNKNOWN_USER_ID), false, false);
+
+            // When
+            long[] unsubscribedUsers = repository.unsubscribeReturningUsers(Target.EVENT, EVENT_ID);
+
+            // Then
+            assertArrayEquals(new long[]{subscribed}, unsubscribedUsers);
+            assertEquals(1, subscriptions(Target.EVENT, EVENT_ID));
+        });
+    }
+
+    @Test
+    void unsubscribeShouldSkipDeletedUsers() {
+        inRolledBackTransaction(users -> {
+            // Given
+            long subscribed = users.get("subscribed");
+            long deleted = users.get("deleted");
+            jdbcTemplate.update("INSERT INTO " + Target.EVENT.table() + " (user_id, event_id) VALUES (?, ?), (?, ?)",
+                    subscribed, EVENT_ID, deleted, EVENT_ID);
+            repository.stage(ids(subscribed, deleted), false, false);
+
+            // When
+            long removed = repository.unsubscribe(Target.EVENT, EVENT_ID);
+
+            // Then
+            assertEquals(1, removed);
+            assertEquals(1, subscriptions(Target.EVENT, EVENT_ID));
+        });
+    }
+
+    @Test
+    void malformedLineShouldBeRejected() {
+        inRolledBackTransaction(users -> {
+            // When
+            InvalidRequestParameterException ex = assertThrows(InvalidRequestParameterException.class,
+                    () -> repository.stage(stream(users.get("other") + "\nnot-an-id\n"), false, false));
+
+            // Then
+            assertTrue(ex.getMessage().startsWith("Invalid user id list: "), ex.getMessage());
+            assertTrue(ex.getMessage().contains("not-an-id"), ex.getMessage());
+        });
+    }
+
+    @Test
+    void csvHeaderShouldBeSkippedOnlyWhenDeclared() {
+        inRolledBackTransaction(users -> {
+            // Given
+            String csv = "user_id\n" + users.get("subscribed") + "\n" + users.get("other") + "\n";
+
+            // When
+            long copied = repository.stage(stream(csv), true, true);
+
+            // Then
+            assertEquals(2, copied);
+            assertEquals(2, repository.subscribe(Target.EVENT, EVENT_ID));
+        });
+        inRolledBackTransaction(users -> assertThrows(InvalidRequestParameterException.class,
+                () -> repository.stage(stream("user_id\n" + users.get("other") + "\n"), true, false)));
+    }
+
+    @Test
+    void coSubscriptionsShouldCountGivenUsersOfOtherItems() {
+        inRolledBackTransaction(users -> {
+            // Given
+            long[] userIds = givenCoSubscriptions(users);
+            Map<String, Long> counts = new HashMap<>();
+
+            // When
+            long counted = repository.coSubscriptions(Target.EVENT, EVENT_ID, userIds, 2, (target, itemId, count) ->
+                    counts.put(target + " " + itemId, count));
+
+            // Then
+            assertEquals(2, counted);
+            assertEquals(Map.of("EVENT " + OTHER_EVENT_ID, 2L, "CATEGORY " + CATEGORY_ID, 1L), counts);
+        });
+    }
+
+    @Test
+    void coSubscriptionsShouldSkipUsersWithTooManyOtherItems() {
+        inRolledBackTransaction(users -> {
+            // Given
+            long[] userIds = givenCoSubscriptions(users);
+            Map<String, Long> counts = new HashMap<>();
+
+            // When
+            long counted = repository.coSubscriptions(Target.EVENT, EVENT_ID, userIds, 1, (target, itemId, count) ->
+                    counts.put(target + " " + itemId, count));
+
+            // Then
+            assertEquals(1, counted);
+            assertEquals(Map.of("EVENT " + OTHER_EVENT_ID, 1L), counts);
+        });
+    }
+
+    /**
+     * Subscribes "subscribed" and "other" to the event, "subscribed" to one other event and "other" to one other
+     * event and a category.
+     */
+    private long[] givenCoSubscriptions(final Map<String, Long> users) {
+        long subscribed = users.get("subscribed");
+        long other = users.get("other");
+        jdbcTemplate.update("INSERT INTO " + Target.EVENT.table() + " (user_id, event_id) VALUES (?, ?), (?, ?)",
+                subscribed, OTHER_EVENT_ID, other, OTHER_EVENT_ID);
+        jdbcTemplate.update("INSERT INTO " + Target.CATEGORY.table() + " (user_id, category_id) VALUES (?, ?)",
+                other, CATEGORY_ID);
+        repository.stage(ids(subscribed, other), false, false);
+        return repository.subscribeReturningUsers(Target.EVENT, EVENT_ID);
+    }
+
+    /**
+     * Runs a test with a new repository and three users, "subscribed", "other" and "deleted", in a transaction
+     * that is rolled back afterwards.
+     */
+    private void inRolledBackTransaction(final Consumer<Map<String, Long>> test) {
+        transactionTemplate.executeWithoutResult(status -> {
+            repository = new BulkSubscriptionRepository(jdbcTemplate);
+            Map<String, Long> users = new HashMap<>();
+            for (String name : new String[]{"subscribed", "other", "deleted"}) {
+                users.put(name, jdbcTemplate.queryForObject("INSERT INTO user_service_schema.\"user\""
+                                + " (username, password, email, deleted_at) VALUES (?, 'password1', ?, ?) RETURNING id",
+                        Long.class, "bulk_" + name, "bulk_" + name + "@example.com",
+                        name.equals("deleted") ? Timestamp.valueOf("2026-01-01 00:00:00") : null));
+            }
+            try {
+                test.accept(users);
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private static long subscriptions(final Target target, final long itemId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + target.table()
+                + " WHERE " + target.column() + " = ?", Long.class, itemId);
+    }
+
+    private static ByteArrayInputStream ids(final long... userIds) {
+        StringBuilder lines = new StringBuilder();
+        Arrays.stream(userIds).forEach(id -> lines.append(id).append('\n'));
+        return stream(lines.toString());
+    }
+
+    private static ByteArrayInputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
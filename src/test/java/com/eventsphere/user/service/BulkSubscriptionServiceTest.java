@@ -0,0 +1,121 @@
+package com.eventsphere.user.service;
+
+import com.eventsphere.user.event.SubscriptionChangeListener;
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.model.dto.BulkSubscriptionResultDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.service.BulkSubscriptionService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class BulkSubscriptionServiceTest {
+
+    private BulkSubscriptionRepository bulkSubscriptionRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private BulkSubscriptionService bulkSubscriptionService;
+
+    @BeforeEach
+    void setUp() {
+        bulkSubscriptionRepository = mock(BulkSubscriptionRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        bulkSubscriptionService = new BulkSubscriptionService(bulkSubscriptionRepository, eventPublisher, listeners());
+    }
+
+    @Test
+    void subscribeShouldReportInsertedAndSkipped() {
+        // Given
+        InputStream userIds = new ByteArrayInputStream("1\n2\n3\n".getBytes());
+        when(bulkSubscriptionRepository.stage(userIds, false, false)).thenReturn(3L);
+        when(bulkSubscriptionRepository.subscribe(Target.CATEGORY, 7L)).thenReturn(2L);
+
+        // When
+        BulkSubscriptionResultDto result = bulkSubscriptionService.subscribe(Target.CATEGORY, 7L, userIds, Format.TEXT);
+
+        // Then
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(0, result.getDeleted());
+        assertEquals(1, result.getSkipped());
+        ArgumentCaptor<SubscriptionsChangedEvent> event = ArgumentCaptor.forClass(SubscriptionsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Target.CATEGORY, event.getValue().getTarget());
+        assertEquals(7L, event.getValue().getItemId());
+        assertEquals(2L, event.getValue().getDelta());
+    }
+
+    @Test
+    void unsubscribeShouldStageCsvAndReportDeleted() {
+        // Given
+        InputStream userIds = new ByteArrayInputStream("user_id\n1\n2\n".getBytes());
+        when(bulkSubscriptionRepository.stage(userIds, true, true)).thenReturn(2L);
+        when(bulkSubscriptionRepository.unsubscribe(Target.EVENT, 42L)).thenReturn(2L);
+
+        // When
+        BulkSubscriptionResultDto result =
+                bulkSubscriptionService.unsubscribe(Target.EVENT, 42L, userIds, Format.CSV_WITH_HEADER);
+
+        // Then
+        assertEquals(2, result.getReceived());
+        assertEquals(0, result.getInserted());
+        assertEquals(2, result.getDeleted());
+        assertEquals(0, result.getSkipped());
+        verify(bulkSubscriptionRepository, never()).subscribe(any(), anyLong());
+        ArgumentCaptor<SubscriptionsChangedEvent> event = ArgumentCaptor.forClass(SubscriptionsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(-2L, event.getValue().getDelta());
+    }
+
+    @Test
+    void unsubscribeShouldPublishUsersWhenListenersNeedThem() {
+        // Given
+        bulkSubscriptionService = new BulkSubscriptionService(bulkSubscriptionRepository, eventPublisher,
+                listeners(mock(SubscriptionChangeListener.class)));
+        InputStream userIds = new ByteArrayInputStream("1\n2\n3\n".getBytes());
+        when(bulkSubscriptionRepository.stage(userIds, false, false)).thenReturn(3L);
+        when(bulkSubscriptionRepository.unsubscribeReturningUsers(Target.EVENT, 42L)).thenReturn(new long[]{1, 3});
+
+        // When
+        BulkSubscriptionResultDto result = bulkSubscriptionService.unsubscribe(Target.EVENT, 42L, userIds, Format.TEXT);
+
+        // Then
+        assertEquals(2, result.getDeleted());
+        verify(bulkSubscriptionRepository, never()).unsubscribe(any(), anyLong());
+        ArgumentCaptor<SubscriptionsChangedEvent> event = ArgumentCaptor.forClass(SubscriptionsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(-2L, event.getValue().getDelta());
+        assertArrayEquals(new long[]{1, 3}, event.getValue().getUserIds());
+    }
+
+    @Test
+    void subscribeWithoutChangesShouldNotPublishEvent() {
+        // Given
+        InputStream userIds = new ByteArrayInputStream("1\n".getBytes());
+        when(bulkSubscriptionRepository.stage(userIds, false, false)).thenReturn(1L);
+        when(bulkSubscriptionRepository.subscribe(Target.EVENT, 42L)).thenReturn(0L);
+
+        // When
+        bulkSubscriptionService.subscribe(Target.EVENT, 42L, userIds, Format.TEXT);
+
+        // Then
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<SubscriptionChangeListener> listeners(final SubscriptionChangeListener... listeners) {
+        ObjectProvider<SubscriptionChangeListener> provider = mock(ObjectProvider.class);
+        when(provider.stream()).thenAnswer(invocation -> Stream.of(listeners));
+        return provider;
+    }
+}
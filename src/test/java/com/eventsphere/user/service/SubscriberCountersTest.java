@@ -0,0 +1,130 @@
+package com.eventsphere.user.service;
+
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SubscriberCountersTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SubscriberCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counters = new SubscriberCounters(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushShouldAddPendingChangesInOneSortedBatch() {
+        // Given
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 9, 3));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 4, 2));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 9, -1));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 5, 1));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 5, -1));
+
+        // When
+        counters.flush();
+        counters.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertArrayEquals(new Object[]{"EVENT", 4L, 2L, 2L}, batch.getValue().get(0));
+        assertArrayEquals(new Object[]{"EVENT", 9L, 2L, 2L}, batch.getValue().get(1));
+    }
+
+    @Test
+    void flushShouldOnlyKeepItemsChangedSinceTheirChangesWereRead() {
+        // Given
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 1, 3));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 2, 1));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 2, 1));
+            return new int[]{1, 1};
+        });
+
+        // When
+        counters.flush();
+
+        // Then
+        assertEquals(1, counters.pendingItems(Target.EVENT));
+        assertEquals(0, counters.pendingItems(Target.CATEGORY));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushShouldKeepChangesPending() {
+        // Given
+        List<List<Object[]>> batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenAnswer(invocation -> {
+                    batches.add(invocation.getArgument(1));
+                    return new int[]{1};
+                });
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.CATEGORY, 7, 5));
+
+        // When
+        counters.flush();
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.CATEGORY, 7, 1));
+        counters.flush();
+
+        // Then
+        assertEquals(1, batches.size());
+        assertArrayEquals(new Object[]{"CATEGORY", 7L, 6L, 6L}, batches.get(0).get(0));
+    }
+
+    @Test
+    void getShouldAddPendingChangesToStoredCounts() throws Exception {
+        // Given
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("item_id")).thenReturn(1L);
+        when(resultSet.getLong("subscribers")).thenReturn(10L);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 1, -2));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 3, 4));
+        counters.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.CATEGORY, 2, 8));
+
+        // When
+        Map<Long, Long> counts = counters.get(Target.EVENT, List.of(3L, 2L, 1L));
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L), List.copyOf(counts.keySet()));
+        assertEquals(4L, counts.get(3L));
+        assertEquals(0L, counts.get(2L));
+        assertEquals(8L, counts.get(1L));
+    }
+
+    @Test
+    void getShouldRejectNoOrTooManyIds() {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> counters.get(Target.EVENT, List.of()));
+        assertThrows(InvalidRequestParameterException.class, () -> counters.get(Target.EVENT,
+                LongStream.rangeClosed(1, SubscriberCounters.MAX_IDS + 1).boxed().toList()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventsphere.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SubscriptionExpirerTest {
+
+    private static final int RETENTION_MONTHS = 24;
+    private static final int BATCH_SIZE = 2;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any()))
+                .thenReturn(List.of("user_event_subscription_h0", "user_event_subscription_h1"));
+    }
+
+    @Test
+    void expireShouldDeleteOldSubscriptionsOfEachPartitionInBatches() {
+        // Given
+        when(jdbcTemplate.update(startsWith("DELETE FROM user_service_schema.user_event_subscription_h0 "),
+                eq(RETENTION_MONTHS), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE, 1);
+        SubscriptionExpirer expirer = new SubscriptionExpirer(jdbcTemplate, RETENTION_MONTHS, BATCH_SIZE);
+
+        // When
+        expirer.expire();
+
+        // Then
+        verify(jdbcTemplate, times(2)).update(and(
+                        startsWith("DELETE FROM user_service_schema.user_event_subscription_h0 "),
+                        contains("FROM user_service_schema.user_event_subscription_h0 WHERE created_at < ")),
+                eq(RETENTION_MONTHS), eq(BATCH_SIZE));
+        verify(jdbcTemplate, times(1)).update(startsWith("DELETE FROM user_service_schema.user_event_subscription_h1 "),
+                eq(RETENTION_MONTHS), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void expireShouldKeepEverythingWithoutRetention() {
+        // Given
+        SubscriptionExpirer expirer = new SubscriptionExpirer(jdbcTemplate, 0, BATCH_SIZE);
+
+        // When
+        expirer.expire();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
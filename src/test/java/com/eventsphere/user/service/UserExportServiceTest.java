@@ -0,0 +1,95 @@
+package com.eventsphere.user.service;
+
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.repository.UserExportRepository;
+import com.eventsphere.user.service.UserExportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserExportServiceTest {
+
+    private UserExportRepository userExportRepository;
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userExportRepository = mock(UserExportRepository.class);
+        userExportService = new UserExportService(userExportRepository);
+    }
+
+    @Test
+    void exportNdjsonShouldWriteOneObjectPerLine() throws Exception {
+        // Given
+        List<String> columns = List.of("id", "firstName", "dateOfBirth", "createdAt");
+        exportRows(List.of("id", "first_name", "date_of_birth", "created_at"),
+                new Object[]{1L, "John", Date.valueOf("1990-01-31"), Timestamp.valueOf("2026-10-19 12:00:00")},
+                new Object[]{2L, null, null, Timestamp.valueOf("2026-10-19 12:30:00")});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = userExportService.export(Format.NDJSON, columns, out);
+
+        // Then
+        assertEquals(2, rows);
+        assertEquals("""
+                {"id":1,"firstName":"John","dateOfBirth":"1990-01-31","createdAt":"2026-10-19T12:00"}
+                {"id":2,"firstName":null,"dateOfBirth":null,"createdAt":"2026-10-19T12:30"}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportCsvShouldQuoteFieldsWhenNeeded() throws Exception {
+        // Given
+        exportRows(List.of("id", "last_name"),
+                new Object[]{1L, "Smith, Jr."},
+                new Object[]{2L, "O\"Neil"},
+                new Object[]{3L, null});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        userExportService.export(Format.CSV, List.of("id", "lastName"), out);
+
+        // Then
+        assertEquals("id,lastName\r\n1,\"Smith, Jr.\"\r\n2,\"O\"\"Neil\"\r\n3,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportShouldDefaultToAllColumnsButPassword() throws Exception {
+        // When
+        userExportService.export(Format.CSV, null, new ByteArrayOutputStream());
+
+        // Then
+        verify(userExportRepository).export(eq(List.of("id", "username", "email", "first_name", "last_name",
+                "date_of_birth", "created_at", "updated_at")), any());
+    }
+
+    @Test
+    void exportUnknownColumnShouldFail() throws Exception {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class,
+                () -> userExportService.export(Format.CSV, List.of("id", "password"), new ByteArrayOutputStream()));
+        verify(userExportRepository, never()).export(any(), any());
+    }
+
+    private void exportRows(final List<String> dbColumns, final Object[]... rows) throws Exception {
+        when(userExportRepository.export(eq(dbColumns), any())).thenAnswer(invocation -> {
+            UserExportRepository.RowHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                handler.handle(row);
+            }
+            return (long) rows.length;
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.eventsphere.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserPurgerTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private JdbcTemplate jdbcTemplate;
+    private UserPurger userPurger;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        userPurger = new UserPurger(jdbcTemplate, BATCH_SIZE, Duration.ofDays(7));
+    }
+
+    @Test
+    void purgeShouldDeleteInBatchesUntilOneIsNotFull() {
+        // Given
+        when(jdbcTemplate.update(startsWith("DELETE FROM user_service_schema.user_event_subscription"), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE, BATCH_SIZE, 1);
+
+        // When
+        userPurger.purge();
+
+        // Then
+        verify(jdbcTemplate, times(3))
+                .update(startsWith("DELETE FROM user_service_schema.user_event_subscription"), eq(BATCH_SIZE));
+        verify(jdbcTemplate, times(1))
+                .update(startsWith("DELETE FROM user_service_schema.user_interest"), eq(BATCH_SIZE));
+        verify(jdbcTemplate, times(1))
+                .update(startsWith("DELETE FROM user_service_schema.user_category_subscription"), eq(BATCH_SIZE));
+        verify(jdbcTemplate, times(1))
+                .update(startsWith("DELETE FROM user_service_schema.\"user\""), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void purgeShouldDeleteDependentRowsBeforeUsers() {
+        // When
+        userPurger.purge();
+
+        // Then
+        var inOrder = inOrder(jdbcTemplate);
+        for (String table : UserPurger.DEPENDENT_TABLES) {
+            inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM user_service_schema." + table), eq(BATCH_SIZE));
+        }
+        inOrder.verify(jdbcTemplate).update(
+                matches("(?s)DELETE FROM user_service_schema\\.\"user\".*NOT EXISTS.*"), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void purgeShouldKeepTombstonesForTheirRetention() {
+        // When
+        userPurger.purge();
+
+        // Then
+        verify(jdbcTemplate).update(
+                matches("(?s)DELETE FROM user_service_schema\\.\"user\".*deleted_at < LOCALTIMESTAMP"
+                        + " - make_interval\\(secs => 604800\\).*"), eq(BATCH_SIZE));
+    }
+}
@@ -1,5 +1,9 @@
 package com.eventsphere.user.service;
 
+import com.eventsphere.user.cache.OffHeapUserDirectory;
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.exception.CursorExpiredException;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
 import com.eventsphere.user.exception.PasswordException;
 import com.eventsphere.user.exception.UserAlreadyExistsException;
 import com.eventsphere.user.exception.UserNotFoundException;
@@ -11,11 +15,15 @@ import com.eventsphere.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.sql.Date;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,11 +32,14 @@ class UserServiceTest {
 
     private UserService userService;
     private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
         userRepository = Mockito.mock(UserRepository.class);
-        userService = new UserService(userRepository);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        userService = new UserService(userRepository, eventPublisher, Duration.ofSeconds(2),
+                null);
     }
 
     @Test
@@ -71,6 +82,188 @@ class UserServiceTest {
         assertThrows(UserNotFoundException.class, () -> userService.get(userId));
     }
 
+    @Test
+    void getAllByIdShouldReturnUsersOrderedById() {
+        // Given
+        List<Long> ids = List.of(2L, 1L, 3L);
+        User user1 = new User(1L, "user1", "password1", "user1@example.com");
+        User user2 = new User(2L, "user2", "password1", "user2@example.com");
+        when(userRepository.findAllById(ids)).thenReturn(List.of(user2, user1));
+
+        // When
+        List<User> actualUsers = userService.getAllById(ids);
+
+        // Then
+        assertEquals(List.of(user1, user2), actualUsers);
+    }
+
+    @Test
+    void getShouldLoadUserOnceIntoDirectory() throws UserNotFoundException {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 16, Duration.ofMinutes(1));
+        userService = new UserService(userRepository, eventPublisher, Duration.ofSeconds(2),
+                directory);
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(new User(1L, "user1", "password1", "user1@example.com")));
+
+        // When
+        userService.get(1L);
+        User cachedUser = userService.get(1L);
+        directory.onUserChanged(new UserChangedEvent(1L));
+        userService.get(1L);
+
+        // Then
+        assertEquals("user1@example.com", cachedUser.getEmail());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getAllByIdShouldOnlyLoadUsersMissingFromDirectory() {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 16, Duration.ofMinutes(1));
+        userService = new UserService(userRepository, eventPublisher, Duration.ofSeconds(2),
+                directory);
+        directory.put(new User(2L, "user2", "password1", "user2@example.com"), directory.version(2L));
+        when(userRepository.findAllById(Set.of(1L, 3L)))
+                .thenReturn(List.of(new User(1L, "user1", "password1", "user1@example.com")));
+
+        // When
+        List<User> actualUsers = userService.getAllById(List.of(3L, 2L, 1L));
+
+        // Then
+        assertEquals(List.of(1L, 2L), actualUsers.stream().map(User::getId).toList());
+        assertNotNull(directory.get(1L));
+    }
+
+    @Test
+    void getAllByIdWithoutIdsShouldThrowInvalidRequestParameterException() {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> userService.getAllById(List.of()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getAllByIdWithTooManyIdsShouldThrowInvalidRequestParameterException() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, UserService.BULK_MAX_IDS + 1).boxed().toList();
+
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> userService.getAllById(ids));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void projectedFieldsShouldDropLinksAndDuplicates() {
+        // When
+        List<String> properties = UserService.projectedFields(List.of(" username", "_links", "email", "username"));
+
+        // Then
+        assertEquals(List.of("username", "email"), properties);
+    }
+
+    @Test
+    void projectedFieldsWithUnknownOrHiddenFieldShouldThrowInvalidRequestParameterException() {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> UserService.projectedFields(List.of("password")));
+        assertThrows(InvalidRequestParameterException.class, () -> UserService.projectedFields(List.of("_links")));
+    }
+
+    @Test
+    void getFieldsInvalidIdShouldThrowUserNotFoundException() {
+        // Given
+        when(userRepository.findFields(List.of("username"), List.of(1L))).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> userService.getFields(1L, List.of("username")));
+    }
+
+    @Test
+    void searchShouldMatchPrefixLiterally() {
+        // Given
+        List<User> expectedUsers = List.of(new User(1L, "john_doe", "password1", "john@example.com"));
+        when(userRepository.search("john_d", "john\\_d%", 0L, UserService.SEARCH_DEFAULT_LIMIT))
+                .thenReturn(expectedUsers);
+
+        // When
+        List<User> actualUsers = userService.search(" John_D ", null, null);
+
+        // Then
+        assertEquals(expectedUsers, actualUsers);
+    }
+
+    @Test
+    void searchShouldCapLimit() {
+        // When
+        userService.search("john", 42L, 1000);
+
+        // Then
+        verify(userRepository).search("john", "john%", 42L, UserService.SEARCH_MAX_LIMIT);
+    }
+
+    @Test
+    void searchShortQueryShouldThrowInvalidRequestParameterException() {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> userService.search("jo", null, null));
+        verify(userRepository, never()).search(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchNonPositiveLimitShouldThrowInvalidRequestParameterException() {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> userService.search("john", null, 0));
+    }
+
+    @Test
+    void getModifiedShouldContinueAfterCursor() {
+        // Given
+        User user = new User(8L, "john_doe", "password1", "john@example.com");
+        user.setChangeXid(1200L);
+        user.setChangeSeq(43L);
+        when(userRepository.findModifiedAfter(1200L, 42L, UserService.CHANGES_DEFAULT_LIMIT)).thenReturn(List.of(user));
+
+        // When
+        List<User> users = userService.getModified("1200,42", null);
+
+        // Then
+        assertEquals(List.of(user), users);
+        assertEquals("1200,43", UserService.cursor(users.get(0)));
+    }
+
+    @Test
+    void getModifiedShouldStartFromBeginningAndCapLimit() {
+        // When
+        userService.getModified(null, 100_000);
+
+        // Then
+        verify(userRepository).findModifiedAfter(0L, 0L, UserService.CHANGES_MAX_LIMIT);
+        verify(userRepository, never()).isPurgedAfter(anyLong(), anyLong());
+    }
+
+    @Test
+    void getModifiedAfterPurgedTombstonesShouldThrowCursorExpiredException() {
+        // Given
+        when(userRepository.isPurgedAfter(1200L, 42L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(CursorExpiredException.class, () -> userService.getModified("1200,42", null));
+    }
+
+    @Test
+    void getModifiedWithModificationDateCursorShouldThrowCursorExpiredException() {
+        // When & Then
+        assertThrows(CursorExpiredException.class, () -> userService.getModified("2026-10-19T10:00:00.000001,7", null));
+        verify(userRepository, never()).findModifiedAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getModifiedMalformedCursorShouldThrowInvalidRequestParameterException() {
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> userService.getModified("yesterday", null));
+        assertThrows(InvalidRequestParameterException.class, () -> userService.getModified("1200,x", null));
+        assertThrows(InvalidRequestParameterException.class, () -> userService.getModified(null, 0));
+        verify(userRepository, never()).findModifiedAfter(anyLong(), anyLong(), anyInt());
+    }
+
     @Test
     void saveValidUserShouldSaveUser() throws UserNotValidException {
         // Given
@@ -86,6 +279,7 @@ class UserServiceTest {
         assertNull(actualSavedUser.getCreatedAt());
         assertNull(actualSavedUser.getUpdatedAt());
         verify(userRepository, times(1)).save(userToSave);
+        verify(eventPublisher).publishEvent(argThat((UserChangedEvent event) -> event.getUserId() == 1L));
     }
 
     @Test
@@ -156,6 +350,28 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(expectedUpdatedUser);
     }
 
+    @Test
+    void updateShouldReadUserFromDatabaseRatherThanDirectory() throws UserNotFoundException, UserAlreadyExistsException {
+        // Given
+        OffHeapUserDirectory directory = new OffHeapUserDirectory(4096, 16, Duration.ofMinutes(1));
+        userService = new UserService(userRepository, eventPublisher, Duration.ofSeconds(2),
+                directory);
+        directory.put(new User(1L, "user1", "password1", "stale@example.com"), directory.version(1L));
+        User userFromDb = new User(1L, "user1", "password2", "user1@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userFromDb));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserDto userDto = new UserDto();
+        userDto.setFirstName("John");
+
+        // When
+        User updatedUser = userService.update(1L, userDto);
+
+        // Then
+        assertEquals("user1@example.com", updatedUser.getEmail());
+        assertEquals("password2", updatedUser.getPassword());
+        assertEquals("John", updatedUser.getFirstName());
+    }
+
     @Test
     void updatePartialUserDataShouldThrowUserNotFoundException() {
         // Given
@@ -348,14 +564,30 @@ class UserServiceTest {
         verify(userRepository, never()).save(userFromDb);
     }
 
+    @Test
+    void deleteUserExistingIdShouldDeleteUser() throws UserNotFoundException {
+        // Given
+        Long userId = 1L;
+        when(userRepository.softDeleteById(userId)).thenReturn(1);
+
+        // When
+        userService.delete(userId);
+
+        // Then
+        verify(userRepository).softDeleteById(userId);
+        verify(userRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(argThat((UserChangedEvent event) -> event.getUserId().equals(userId)));
+    }
+
     @Test
     void deleteUserNonExistingIdShouldThrowUserNotFoundException() {
         // Given
         Long userId = 1L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.softDeleteById(userId)).thenReturn(0);
 
         // When & Then
         assertThrows(UserNotFoundException.class, () -> userService.delete(userId));
         verify(userRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -0,0 +1,152 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.model.dto.RelatedItemDto;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoSubscriptionIndexTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+    private static final long EVENT_1 = CoSubscriptionIndex.item(Target.EVENT, 1);
+    private static final long EVENT_2 = CoSubscriptionIndex.item(Target.EVENT, 2);
+    private static final long EVENT_9 = CoSubscriptionIndex.item(Target.EVENT, 9);
+    private static final long CATEGORY_1 = CoSubscriptionIndex.item(Target.CATEGORY, 1);
+
+    @Test
+    void rebuildShouldCountCoSubscriptionsAcrossChunks() {
+        // Given
+        CoSubscriptionIndex index = new CoSubscriptionIndex(POOL, 50);
+        assertFalse(index.isReady());
+
+        // When
+        rebuild(index, Map.of(
+                1L, new long[]{EVENT_1, EVENT_2, CATEGORY_1},
+                2L, new long[]{EVENT_1, EVENT_2},
+                CoSubscriptionIndex.CHUNK_USERS + 1L, new long[]{CATEGORY_1, EVENT_1},
+                CoSubscriptionIndex.CHUNK_USERS * 2L + 5, new long[]{EVENT_2, EVENT_1}));
+
+        // Then
+        assertTrue(index.isReady());
+        List<RelatedItemDto> related = index.related(EVENT_1, 10);
+        assertEquals(2, related.size());
+        assertRelated(related.get(0), Target.EVENT, 2, 3, 0.75);
+        assertRelated(related.get(1), Target.CATEGORY, 1, 2, 0.5);
+        assertRelated(index.related(CATEGORY_1, 10).get(0), Target.EVENT, 1, 2, 1.0);
+        assertEquals(1, index.related(EVENT_1, 1).size());
+        assertTrue(index.related(EVENT_9, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildShouldKeepTopItemsAndSkipUsersWithTooManySubscriptions() {
+        // Given
+        CoSubscriptionIndex index = new CoSubscriptionIndex(POOL, 1);
+        long[] tooMany = LongStream.rangeClosed(1, CoSubscriptionIndex.MAXIMUM_ITEMS_PER_USER + 1)
+                .map(id -> CoSubscriptionIndex.item(Target.EVENT, id))
+                .toArray();
+
+        // When
+        rebuild(index, Map.of(
+                1L, new long[]{EVENT_1, EVENT_2, CATEGORY_1},
+                2L, new long[]{EVENT_1, EVENT_2},
+                3L, tooMany));
+
+        // Then
+        List<RelatedItemDto> related = index.related(EVENT_1, 10);
+        assertEquals(1, related.size());
+        assertRelated(related.get(0), Target.EVENT, 2, 2, 1.0);
+        assertTrue(index.related(CoSubscriptionIndex.item(Target.EVENT, 100), 10).isEmpty());
+    }
+
+    @Test
+    void applyShouldUpdateBothRows() {
+        // Given
+        CoSubscriptionIndex index = new CoSubscriptionIndex(POOL, 50);
+        rebuild(index, Map.of(1L, new long[]{EVENT_1, EVENT_2}, 2L, new long[]{EVENT_1}));
+        LongIntHashMap subscribed = new LongIntHashMap();
+        subscribed.addTo(EVENT_1, 2);
+        subscribed.addTo(EVENT_2, 1);
+
+        // When
+        index.apply(EVENT_9, 2, subscribed);
+
+        // Then
+        assertRelated(index.related(EVENT_9, 10).get(0), Target.EVENT, 1, 2, 1.0);
+        assertRelated(index.related(EVENT_9, 10).get(1), Target.EVENT, 2, 1, 0.5);
+        assertRelated(index.related(EVENT_1, 10).get(0), Target.EVENT, 9, 2, 1.0);
+
+        // When
+        LongIntHashMap unsubscribed = new LongIntHashMap();
+        unsubscribed.addTo(EVENT_1, -2);
+        unsubscribed.addTo(EVENT_2, -1);
+        index.apply(EVENT_9, -2, unsubscribed);
+
+        // Then
+        assertTrue(index.related(EVENT_9, 10).isEmpty());
+        assertEquals(List.of(2L), index.related(EVENT_1, 10).stream().map(RelatedItemDto::getItemId).toList());
+    }
+
+    @Test
+    void applyShouldSkipPairsPrunedFromRows() {
+        // Given
+        CoSubscriptionIndex index = new CoSubscriptionIndex(POOL, 1);
+        rebuild(index, Map.of(
+                1L, new long[]{EVENT_1, EVENT_2},
+                2L, new long[]{EVENT_1, EVENT_2},
+                3L, new long[]{EVENT_1, CATEGORY_1}));
+        LongIntHashMap subscribed = new LongIntHashMap();
+        subscribed.addTo(EVENT_1, 5);
+        subscribed.addTo(EVENT_2, 1);
+        LongIntHashMap subscribedToCategory = new LongIntHashMap();
+        subscribedToCategory.addTo(EVENT_1, 3);
+
+        // When
+        index.apply(EVENT_9, 5, subscribed);
+        index.apply(CATEGORY_1, 3, subscribedToCategory);
+
+        // Then
+        assertRelated(index.related(EVENT_9, 10).get(0), Target.EVENT, 1, 5, 1.0);
+        assertRelated(index.related(CATEGORY_1, 10).get(0), Target.EVENT, 1, 4, 1.0);
+        assertRelated(index.related(EVENT_1, 10).get(0), Target.EVENT, 2, 2, 2.0 / 3);
+        assertRelated(index.related(EVENT_2, 10).get(0), Target.EVENT, 1, 2, 1.0);
+    }
+
+    @Test
+    void changesDuringRebuildShouldBeAppliedToNewSnapshot() {
+        // Given
+        CoSubscriptionIndex index = new CoSubscriptionIndex(POOL, 50);
+        LongIntHashMap subscribed = new LongIntHashMap();
+        subscribed.addTo(EVENT_1, 1);
+
+        // When
+        index.rebuild(1, 2, (fromId, toId, handler) -> {
+            handler.handle(1, new long[]{EVENT_1, EVENT_2});
+            index.apply(EVENT_9, 1, subscribed);
+        });
+
+        // Then
+        assertRelated(index.related(EVENT_9, 10).get(0), Target.EVENT, 1, 1, 1.0);
+        assertEquals(2, index.related(EVENT_1, 10).size());
+    }
+
+    private static void rebuild(final CoSubscriptionIndex index, final Map<Long, long[]> users) {
+        TreeMap<Long, long[]> sorted = new TreeMap<>(users);
+        index.rebuild(sorted.firstKey(), sorted.lastKey(), (fromId, toId, handler) ->
+                sorted.subMap(fromId, true, toId, true).forEach(handler::handle));
+    }
+
+    private static void assertRelated(final RelatedItemDto related, final Target target, final long itemId,
+                                      final long coSubscribers, final double share) {
+        assertEquals(target, related.getTarget());
+        assertEquals(itemId, related.getItemId());
+        assertEquals(coSubscribers, related.getCoSubscribers());
+        assertEquals(share, related.getShare());
+    }
+}
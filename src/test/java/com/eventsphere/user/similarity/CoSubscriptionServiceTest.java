@@ -0,0 +1,102 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.repository.BulkSubscriptionRepository;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.repository.CoSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CoSubscriptionServiceTest {
+
+    private CoSubscriptionIndex index;
+    private CoSubscriptionRepository coSubscriptionRepository;
+    private BulkSubscriptionRepository bulkSubscriptionRepository;
+    private ExecutorService executor;
+    private CoSubscriptionService service;
+
+    @BeforeEach
+    void setUp() {
+        index = mock(CoSubscriptionIndex.class);
+        coSubscriptionRepository = mock(CoSubscriptionRepository.class);
+        bulkSubscriptionRepository = mock(BulkSubscriptionRepository.class);
+        executor = mock(ExecutorService.class);
+        service = new CoSubscriptionService(index, coSubscriptionRepository, bulkSubscriptionRepository, executor);
+    }
+
+    @Test
+    void relatedShouldRejectLimitsOutOfRange() {
+        // Given
+        when(index.isReady()).thenReturn(true);
+
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> service.related(Target.EVENT, 1, 0));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> service.related(Target.EVENT, 1, CoSubscriptionService.MAX_LIMIT + 1));
+        service.related(Target.CATEGORY, 3, null);
+        verify(index).related(CoSubscriptionIndex.item(Target.CATEGORY, 3), CoSubscriptionService.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void relatedShouldFailUntilIndexIsBuilt() {
+        // When & Then
+        assertThrows(ServiceUnavailableException.class, () -> service.related(Target.EVENT, 1, 5));
+        verify(index, never()).related(anyLong(), anyInt());
+    }
+
+    @Test
+    void rebuildShouldReadActiveUsers() {
+        // Given
+        when(coSubscriptionRepository.activeUserIdRange()).thenReturn(new long[]{3, 70});
+
+        // When
+        service.rebuild();
+
+        // Then
+        verify(index).rebuild(eq(3L), eq(70L), any());
+    }
+
+    @Test
+    void committedUnsubscriptionsShouldBeSubtractedFromIndex() {
+        // Given
+        long[] userIds = {3, 4, 5};
+        when(bulkSubscriptionRepository.coSubscriptions(eq(Target.EVENT), eq(7L), eq(userIds),
+                eq(CoSubscriptionIndex.MAXIMUM_ITEMS_PER_USER - 1), any())).thenAnswer(invocation -> {
+                    BulkSubscriptionRepository.CoSubscriptionHandler handler = invocation.getArgument(4);
+                    handler.handle(Target.EVENT, 8, 2);
+                    handler.handle(Target.CATEGORY, 7, 1);
+                    return 2L;
+                });
+
+        // When
+        service.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 7, -3, userIds));
+
+        // Then
+        ArgumentCaptor<Runnable> change = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(change.capture());
+        verifyNoInteractions(index);
+        change.getValue().run();
+        verify(index).apply(eq(CoSubscriptionIndex.item(Target.EVENT, 7)), eq(-2), argThat(coSubscribers ->
+                coSubscribers.size() == 2
+                        && coSubscribers.get(CoSubscriptionIndex.item(Target.EVENT, 8)) == -2
+                        && coSubscribers.get(CoSubscriptionIndex.item(Target.CATEGORY, 7)) == -1));
+    }
+
+    @Test
+    void changesWithoutUsersShouldBeIgnored() {
+        // When
+        service.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.EVENT, 7, 3));
+
+        // Then
+        verifyNoInteractions(executor, bulkSubscriptionRepository, index);
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventsphere.user.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void addToShouldKeepValuesWhileResizing() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap();
+
+        // When
+        for (long key = -500; key < 500; key++) {
+            map.addTo(key, 1);
+            map.addTo(key, (int) key);
+        }
+
+        // Then
+        assertEquals(1000, map.size());
+        assertEquals(1, map.get(0));
+        assertEquals(-499, map.get(-500));
+        assertEquals(500, map.get(499));
+        assertEquals(0, map.get(500));
+        assertEquals(-500, map.keys()[0]);
+    }
+
+    @Test
+    void addAllShouldAddValuesOfOtherMap() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(1, 2);
+        LongIntHashMap other = new LongIntHashMap();
+        other.addTo(1, 3);
+        other.addTo(Long.MAX_VALUE, 4);
+
+        // When
+        map.addAll(other);
+
+        // Then
+        assertEquals(5, map.get(1));
+        assertEquals(4, map.get(Long.MAX_VALUE));
+        assertArrayEquals(new long[]{1, Long.MAX_VALUE}, map.keys());
+    }
+}
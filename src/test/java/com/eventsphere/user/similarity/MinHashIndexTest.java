@@ -0,0 +1,128 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.model.dto.SimilarUserDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashIndexTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+
+    @Test
+    void similarShouldRankIdenticalUsersFirstAndSkipDisjointUsers() {
+        // Given
+        MinHashIndex index = new MinHashIndex(POOL, 100);
+        index.rebuild(() -> features(
+                1, range(1, 10),
+                2, range(1, 10),
+                3, range(1, 9),
+                4, range(100, 110)));
+
+        // When
+        List<SimilarUserDto> similar = index.similar(1, 10);
+
+        // Then
+        assertEquals(2L, similar.get(0).getUserId());
+        assertEquals(1.0, similar.get(0).getSimilarity());
+        assertEquals(3L, similar.get(1).getUserId());
+        assertTrue(similar.get(1).getSimilarity() < 1.0);
+        assertTrue(similar.stream().noneMatch(user -> user.getUserId() == 1 || user.getUserId() == 4));
+        assertEquals(1, index.similar(1, 1).size());
+    }
+
+    @Test
+    void addShouldLowerSignatureOfUser() {
+        // Given
+        MinHashIndex index = new MinHashIndex(POOL, 100);
+        index.rebuild(() -> features(1, range(1, 3), 2, range(1, 2), 3, range(50, 52)));
+
+        // When
+        index.add(2, MinHashIndex.feature(MinHashIndex.EVENT, 3));
+        index.add(5, MinHashIndex.feature(MinHashIndex.EVENT, 50));
+
+        // Then
+        assertEquals(2L, index.similar(1, 1).get(0).getUserId());
+        assertEquals(1.0, index.similar(1, 1).get(0).getSimilarity());
+        assertEquals(3L, index.similar(5, 1).get(0).getUserId());
+    }
+
+    @Test
+    void putWithoutFeaturesShouldRemoveUser() {
+        // Given
+        MinHashIndex index = new MinHashIndex(POOL, 100);
+        index.rebuild(() -> features(1, range(1, 5), 2, range(1, 5)));
+
+        // When
+        index.put(2, new long[0]);
+
+        // Then
+        assertTrue(index.similar(1, 10).isEmpty());
+        assertTrue(index.similar(2, 10).isEmpty());
+        assertTrue(index.similar(3, 10).isEmpty());
+    }
+
+    @Test
+    void mergeShouldFoldChangedUsersIntoGeneration() {
+        // Given
+        MinHashIndex index = new MinHashIndex(POOL, 2);
+        index.rebuild(() -> features(1, range(1, 5), 3, range(1, 5), 5, range(1, 5)));
+        index.put(3, new long[0]);
+        index.put(4, range(1, 5));
+        assertTrue(index.needsMerge());
+
+        // When
+        index.merge();
+
+        // Then
+        assertFalse(index.needsMerge());
+        assertEquals(List.of(4L, 5L), index.similar(1, 10).stream().map(SimilarUserDto::getUserId).toList());
+        assertTrue(index.similar(3, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildShouldKeepUsersChangedWhileLoading() {
+        // Given
+        MinHashIndex index = new MinHashIndex(POOL, 100);
+        index.put(1, range(1, 5));
+        assertFalse(index.isReady());
+
+        // When
+        index.rebuild(() -> {
+            MinHashIndex.Features features = features(1, range(1, 5), 2, range(1, 5));
+            index.put(2, range(20, 25));
+            return features;
+        });
+
+        // Then
+        assertTrue(index.isReady());
+        assertTrue(index.similar(1, 10).isEmpty());
+        assertTrue(index.similar(2, 10).isEmpty());
+    }
+
+    @Test
+    void featuresShouldBeAddedInAscendingOrder() {
+        // Given
+        MinHashIndex.Features features = new MinHashIndex.Features();
+        features.add(2, range(1, 2));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> features.add(2, range(1, 2)));
+    }
+
+    private static long[] range(final long from, final long to) {
+        return LongStream.rangeClosed(from, to).map(item -> MinHashIndex.feature(MinHashIndex.EVENT, item)).toArray();
+    }
+
+    private static MinHashIndex.Features features(final Object... usersAndFeatures) {
+        MinHashIndex.Features features = new MinHashIndex.Features();
+        for (int i = 0; i < usersAndFeatures.length; i += 2) {
+            features.add(((Number) usersAndFeatures[i]).longValue(), (long[]) usersAndFeatures[i + 1]);
+        }
+        return features;
+    }
+}
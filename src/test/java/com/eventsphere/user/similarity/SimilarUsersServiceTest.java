@@ -0,0 +1,85 @@
+package com.eventsphere.user.similarity;
+
+import com.eventsphere.user.event.SubscriptionsChangedEvent;
+import com.eventsphere.user.event.UserChangedEvent;
+import com.eventsphere.user.exception.InvalidRequestParameterException;
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.repository.BulkSubscriptionRepository.Target;
+import com.eventsphere.user.repository.UserFeatureRepository;
+import com.eventsphere.user.repository.UserValuesHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SimilarUsersServiceTest {
+
+    private MinHashIndex index;
+    private UserFeatureRepository userFeatureRepository;
+    private SimilarUsersService service;
+
+    @BeforeEach
+    void setUp() {
+        index = mock(MinHashIndex.class);
+        userFeatureRepository = mock(UserFeatureRepository.class);
+        service = new SimilarUsersService(index, userFeatureRepository, mock(ExecutorService.class));
+    }
+
+    @Test
+    void similarShouldRejectLimitsOutOfRange() {
+        // Given
+        when(index.isReady()).thenReturn(true);
+
+        // When & Then
+        assertThrows(InvalidRequestParameterException.class, () -> service.similar(1, 0));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> service.similar(1, SimilarUsersService.MAX_LIMIT + 1));
+        service.similar(1, null);
+        verify(index).similar(1, SimilarUsersService.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void similarShouldFailUntilIndexIsBuilt() {
+        // When & Then
+        assertThrows(ServiceUnavailableException.class, () -> service.similar(1, 5));
+        verify(index, never()).similar(anyLong(), anyInt());
+    }
+
+    @Test
+    void refreshShouldRecomputeChangedUsers() {
+        // Given
+        long[] features = {42};
+        doAnswer(invocation -> {
+            invocation.getArgument(1, UserValuesHandler.class).handle(1, features);
+            return 1L;
+        }).when(userFeatureRepository).forEachUser(any(), any());
+        service.onUserChanged(new UserChangedEvent(1L));
+        service.onUserChanged(new UserChangedEvent(2L));
+
+        // When
+        service.refresh();
+        service.refresh();
+
+        // Then
+        verify(userFeatureRepository).forEachUser(argThat(userIds -> userIds.containsAll(List.of(1L, 2L))), any());
+        verify(index).put(1, features);
+        verify(index).put(eq(2L), aryEq(new long[0]));
+    }
+
+    @Test
+    void committedSubscriptionsShouldUpdateSignaturesOfChangedUsers() {
+        // When
+        service.onSubscriptionsChanged(new SubscriptionsChangedEvent(Target.CATEGORY, 7, 2, new long[]{3, 4}));
+
+        // Then
+        long feature = MinHashIndex.feature(MinHashIndex.CATEGORY, 7);
+        verify(index).add(3, feature);
+        verify(index).add(4, feature);
+    }
+}
@@ -0,0 +1,176 @@
+package com.eventsphere.user.util;
+
+import com.eventsphere.user.exception.ServiceUnavailableException;
+import com.eventsphere.user.exception.UserNotFoundException;
+import com.eventsphere.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Thread> followerThreads = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseLoad.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLoadsShouldShareOneCall() throws Exception {
+        // Given
+        SingleFlight<Long, User> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), User::new);
+        User loaded = new User(1L, "user1", "password1", "user1@example.com");
+        Future<User> leader = executor.submit(() -> singleFlight.load(1L, blockingLoader(() -> loaded)));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<Future<User>> followers = startFollowers(() -> singleFlight.load(1L, countingLoader(() -> loaded)));
+        releaseLoad.countDown();
+
+        // Then
+        assertSame(loaded, leader.get(5, TimeUnit.SECONDS));
+        for (Future<User> follower : followers) {
+            User user = follower.get(5, TimeUnit.SECONDS);
+            assertNotSame(loaded, user);
+            assertEquals("user1", user.getUsername());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void exceptionShouldBeSharedWithWaitingCallers() throws Exception {
+        // Given
+        SingleFlight<Long, User> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), User::new);
+        UserNotFoundException notFound = new UserNotFoundException(1L);
+        Future<User> leader = executor.submit(() -> singleFlight.load(1L, blockingLoader(() -> {
+            throw notFound;
+        })));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<Future<User>> followers = startFollowers(() -> singleFlight.load(1L, countingLoader(() -> null)));
+        releaseLoad.countDown();
+
+        // Then
+        assertSame(notFound, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        for (Future<User> follower : followers) {
+            assertSame(notFound,
+                    assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void waitingCallerShouldTimeOut() throws Exception {
+        // Given
+        SingleFlight<Long, User> singleFlight = new SingleFlight<>(Duration.ofMillis(50), User::new);
+        executor.submit(() -> singleFlight.load(1L, blockingLoader(User::new)));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(ServiceUnavailableException.class, () -> singleFlight.load(1L, countingLoader(User::new)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void callerAfterForgetShouldStartNewLoad() throws Exception {
+        // Given
+        SingleFlight<Long, User> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), User::new);
+        User stale = new User(1L, "stale", "password1", "user1@example.com");
+        User fresh = new User(1L, "fresh", "password1", "user1@example.com");
+        Future<User> leader = executor.submit(() -> singleFlight.load(1L, blockingLoader(() -> stale)));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When
+        singleFlight.forget(1L);
+        User user = singleFlight.load(1L, countingLoader(() -> fresh));
+        releaseLoad.countDown();
+
+        // Then
+        assertSame(fresh, user);
+        assertSame(stale, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void sequentialLoadsShouldNotBeCoalesced() {
+        // Given
+        SingleFlight<Long, User> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), User::new);
+
+        // When
+        singleFlight.load(1L, countingLoader(User::new));
+        singleFlight.load(1L, countingLoader(User::new));
+        singleFlight.load(null, countingLoader(User::new));
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    private Supplier<User> blockingLoader(final Supplier<User> loader) {
+        return countingLoader(() -> {
+            loadStarted.countDown();
+            try {
+                assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        });
+    }
+
+    private Supplier<User> countingLoader(final Supplier<User> loader) {
+        return () -> {
+            loads.incrementAndGet();
+            return loader.get();
+        };
+    }
+
+    /**
+     * Starts the followers and returns once all of them are waiting for the load in flight.
+     */
+    private List<Future<User>> startFollowers(final Supplier<User> follower) throws InterruptedException {
+        List<Future<User>> futures = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            futures.add(executor.submit(() -> {
+                synchronized (followerThreads) {
+                    followerThreads.add(Thread.currentThread());
+                }
+                return follower.get();
+            }));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && !allFollowersWaiting()) {
+            Thread.sleep(1);
+        }
+        return futures;
+    }
+
+    private boolean allFollowersWaiting() {
+        synchronized (followerThreads) {
+            return followerThreads.size() == FOLLOWERS && followerThreads.stream()
+                    .allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.eventsphere.user.validation;
+
+import com.eventsphere.user.model.User;
+import com.eventsphere.user.model.dto.ChangePasswordDto;
+import com.eventsphere.user.model.dto.UserDto;
+import com.eventsphere.user.util.ErrorUtils;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserValidatorTest {
+
+    private static final List<String> PASSWORDS = Arrays.asList(null, "", "a1", "abc12", "abc123", "abcdef",
+            "123456", "ABC123", "abc 123", "abc\n123", "abc123\n", "abc\r123", "abc\u2028123", "abc\u0085123",
+            "\u00e4\u00f6\u00fc123", "\u00e4\u00f6\u00fcabc", "\u0661\u0662\u0663abc", "x1".repeat(127) + "x", "x1".repeat(128));
+    private static final List<String> EMAILS = Arrays.asList(null, "", "a@b", "a@b.c", "john.doe@example.com",
+            "John.Doe@Example.COM", "a!#$%&'*+/=?^_`{|}~-@x.y", "a.b.c@d.e.f", ".a@b.c", "a.@b.c", "a..b@c.d",
+            "a@.b", "a@b.", "a@b..c", "a@-b.c", "a@b-.c", "a@b--c.d", "a@", "@b.c", "a", "a@b@c.d", "a b@c.d",
+            "\"a b\"@c.d", "\"a\"@c.d", "a@[127.0.0.1]", "a@[IPv6:::1]", "a@b_c.d", "\u00fc@b.de", "a@b\u00fc.de",
+            "a@xn--bcher-kva.ch", "a@b.c ", "a(b)@c.d", "a@b,c", "x".repeat(64) + "@b.c", "x".repeat(65) + "@b.c",
+            "a@" + "x".repeat(63) + ".c", "a@" + "x".repeat(64) + ".c", "a@" + "x.".repeat(127) + "x",
+            "a@" + "x.".repeat(128) + "x", "a@b.c\n");
+    private static final List<String> USERNAMES = Arrays.asList(null, "", "ab", "abc", "x".repeat(50),
+            "x".repeat(51), "\u00e4\u00e4\u00e4\u00e4");
+
+    private static Validator hibernateValidator;
+    private static SpringValidatorAdapter reference;
+    private static UserValidator userValidator;
+
+    @BeforeAll
+    static void setUp() {
+        hibernateValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        reference = new SpringValidatorAdapter(hibernateValidator);
+        userValidator = new UserValidator(hibernateValidator);
+    }
+
+    @Test
+    void validUserShouldHaveNoErrors() {
+        // Given
+        User user = new User("john_doe", "passw0rd", "john@example.com");
+        user.setDateOfBirth(Date.valueOf("1990-01-01"));
+
+        // When
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(user, "user");
+        userValidator.validate(user, errors);
+
+        // Then
+        assertFalse(errors.hasErrors());
+    }
+
+    @Test
+    void userErrorsShouldMatchBeanValidation() {
+        // Given
+        List<User> users = new ArrayList<>();
+        for (String username : USERNAMES) {
+            users.add(new User(username, "passw0rd", "john@example.com"));
+        }
+        for (String password : PASSWORDS) {
+            users.add(new User("john_doe", password, "john@example.com"));
+        }
+        for (String email : EMAILS) {
+            users.add(new User("john_doe", "passw0rd", email));
+        }
+        for (String name : USERNAMES) {
+            User user = new User("john_doe", "passw0rd", "john@example.com");
+            user.setFirstName(name);
+            user.setLastName(name);
+            users.add(user);
+        }
+        User dated = new User(null, null, null);
+        dated.setDateOfBirth(new Date(System.currentTimeMillis() + 86_400_000L));
+        dated.setCreatedAt(new Timestamp(0));
+        dated.setUpdatedAt(new Timestamp(0));
+        users.add(dated);
+        User born = new User("ab", "abc", "a@b.");
+        born.setDateOfBirth(Date.valueOf("1990-01-01"));
+        users.add(born);
+
+        // When & Then
+        for (User user : users) {
+            assertSameErrors(user, "user");
+        }
+    }
+
+    @Test
+    void userDtoErrorsShouldMatchBeanValidation() {
+        // Given
+        List<UserDto> userDtos = new ArrayList<>();
+        for (String username : USERNAMES) {
+            UserDto userDto = new UserDto();
+            userDto.setUsername(username);
+            userDto.setFirstName(username);
+            userDto.setLastName(username);
+            userDtos.add(userDto);
+        }
+        for (String email : EMAILS) {
+            UserDto userDto = new UserDto();
+            userDto.setEmail(email);
+            userDtos.add(userDto);
+        }
+        UserDto dated = new UserDto();
+        dated.setDateOfBirth(new Date(System.currentTimeMillis() + 86_400_000L));
+        userDtos.add(dated);
+
+        // When & Then
+        for (UserDto userDto : userDtos) {
+            assertSameErrors(userDto, "userDto");
+        }
+    }
+
+    @Test
+    void changePasswordDtoErrorsShouldMatchBeanValidation() {
+        for (String password : PASSWORDS) {
+            assertSameErrors(new ChangePasswordDto("old", password, password), "changePasswordDto");
+        }
+    }
+
+    @Test
+    void randomEmailsShouldMatchBeanValidation() {
+        // Given
+        Random random = new Random(42);
+        String alphabet = "ab.-@_\"[]:\u00fc1 ";
+
+        // When & Then
+        for (int i = 0; i < 20_000; i++) {
+            char[] chars = new char[1 + random.nextInt(12)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            UserDto userDto = new UserDto();
+            userDto.setEmail(new String(chars));
+            assertSameErrors(userDto, "userDto");
+        }
+    }
+
+    @Test
+    void otherTypesShouldBeDelegated() {
+        // Given
+        Map<String, String> target = Map.of();
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(target, "map");
+
+        // When
+        userValidator.validate(target, errors);
+
+        // Then
+        assertTrue(userValidator.supports(Map.class));
+        assertFalse(errors.hasErrors());
+    }
+
+    private static void assertSameErrors(final Object target, final String name) {
+        BeanPropertyBindingResult expected = new BeanPropertyBindingResult(target, name);
+        reference.validate(target, expected);
+        BeanPropertyBindingResult actual = new BeanPropertyBindingResult(target, name);
+        userValidator.validate(target, actual);
+
+        assertEquals(asSets(ErrorUtils.getFieldErrors(expected.getFieldErrors())),
+                asSets(ErrorUtils.getFieldErrors(actual.getFieldErrors())), () -> "Errors differ for " + target);
+    }
+
+    private static Map<String, Set<String>> asSets(final Map<String, List<String>> fieldErrors) {
+        return fieldErrors.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> new HashSet<>(entry.getValue())));
+    }
+}